@@ -1,10 +1,9 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import { Order, PaginatedResult } from '@types';
 import { apiClient } from '../services/api';
 
 interface UseOrdersResult {
   orders: Order[];
-  total: number;
   hasNext: boolean;
   hasPrevious: boolean;
   pageSize: number;
@@ -17,17 +16,22 @@ interface UseOrdersResult {
 
 export const useOrders = (userId: string | null, pageSize: number = 10): UseOrdersResult => {
   const [orders, setOrders] = useState<Order[]>([]);
-  const [total, setTotal] = useState(0);
   const [hasNext, setHasNext] = useState(false);
   const [hasPrevious, setHasPrevious] = useState(false);
   const [currentPage, setCurrentPage] = useState(1);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
+  // cursors[n] opens page n + 1; the server pages by cursor, so pages are reached by walking forward from the first.
+  const cursors = useRef<(string | null)[]>([null]);
+
+  useEffect(() => {
+    cursors.current = [null];
+    setCurrentPage(1);
+  }, [userId, pageSize]);
 
   const fetchOrders = async () => {
     if (!userId) {
       setOrders([]);
-      setTotal(0);
       setHasNext(false);
       setHasPrevious(false);
       setLoading(false);
@@ -37,10 +41,10 @@ export const useOrders = (userId: string | null, pageSize: number = 10): UseOrde
     try {
       setLoading(true);
       setError(null);
-      const offset = (currentPage - 1) * pageSize;
-      const page: PaginatedResult<Order> = await apiClient.getOrdersPage(userId, pageSize, offset);
+      const cursor = cursors.current[currentPage - 1] ?? null;
+      const page: PaginatedResult<Order> = await apiClient.getOrdersPage(userId, pageSize, cursor);
+      cursors.current[currentPage] = page.nextCursor;
       setOrders(page.items);
-      setTotal(page.total);
       setHasNext(page.hasNext);
       setHasPrevious(page.hasPrevious);
     } catch (err) {
@@ -58,7 +62,6 @@ export const useOrders = (userId: string | null, pageSize: number = 10): UseOrde
 
   return {
     orders,
-    total,
     hasNext,
     hasPrevious,
     pageSize,
@@ -20,7 +20,6 @@ const OrdersPage: FC = () => {
   const { user } = useAuthContext();
   const {
     orders: apiOrders,
-    total: apiTotal,
     hasNext,
     hasPrevious,
     currentPage,
@@ -37,8 +36,6 @@ const OrdersPage: FC = () => {
   const [selectedOrderId, setSelectedOrderId] = useState<string | null>(null);
 
   const orders = apiOrders;
-  const totalOrders = apiTotal;
-  const totalPages = Math.max(1, Math.ceil(totalOrders / PAGE_SIZE));
   const canGoPrevious = currentPage > 1 && hasPrevious;
   const canGoNext = hasNext;
 
@@ -353,8 +350,8 @@ const OrdersPage: FC = () => {
         {orders.length > 0 && (
           <div className="orders-pagination">
             <div className="orders-pagination-summary">
-              Showing {Math.min((currentPage - 1) * PAGE_SIZE + 1, totalOrders)}-
-              {Math.min(currentPage * PAGE_SIZE, totalOrders)} of {totalOrders} orders
+              Showing {(currentPage - 1) * PAGE_SIZE + 1}-
+              {(currentPage - 1) * PAGE_SIZE + orders.length} orders
             </div>
             <div className="orders-pagination-controls">
               <button
@@ -365,7 +362,7 @@ const OrdersPage: FC = () => {
                 Previous
               </button>
               <span className="orders-pagination-status">
-                Page {currentPage} of {totalPages}
+                Page {currentPage}
               </span>
               <button
                 className="order-action-btn"
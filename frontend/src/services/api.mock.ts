@@ -180,16 +180,17 @@ export class MockApiClient extends BaseApiClient implements ApiClientContract {
     }));
   }
 
-  async getOrdersPage(userId: string, limit = 10, offset = 0): Promise<PaginatedResult<Order>> {
+  async getOrdersPage(userId: string, limit = 10, cursor: string | null = null): Promise<PaginatedResult<Order>> {
     const allOrders = await this.getOrders(userId);
+    const offset = cursor ? Number(cursor) : 0;
     const items = allOrders.slice(offset, offset + limit);
+    const hasNext = offset + limit < allOrders.length;
     return {
       items,
-      offset,
       limit,
-      total: allOrders.length,
-      hasNext: offset + limit < allOrders.length,
+      hasNext,
       hasPrevious: offset > 0,
+      nextCursor: hasNext ? String(offset + limit) : null,
     };
   }
 
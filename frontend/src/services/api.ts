@@ -427,20 +427,19 @@ class RemoteApiClient extends BaseApiClient implements ApiClientContract {
     return Promise.all(orders.map((backendOrder: any) => this.mapBackendOrderToOrder(backendOrder, userId)));
   }
 
-  async getOrdersPage(userId: string, limit = 10, offset = 0): Promise<PaginatedResult<Order>> {
+  async getOrdersPage(userId: string, limit = 10, cursor: string | null = null): Promise<PaginatedResult<Order>> {
     const response = await this.cartClient.get(`/api/order/customer/${userId}/paged`, {
-      params: { limit, offset },
+      params: { limit, cursor: cursor ?? undefined },
     });
     const payload = response.data || {};
     const items = Array.isArray(payload.items) ? payload.items : [];
 
     return {
       items: await Promise.all(items.map((backendOrder: any) => this.mapBackendOrderToOrder(backendOrder, userId))),
-      offset: Number(payload.offset ?? offset),
       limit: Number(payload.limit ?? limit),
-      total: Number(payload.total ?? items.length),
       hasNext: Boolean(payload.hasNext),
       hasPrevious: Boolean(payload.hasPrevious),
+      nextCursor: payload.nextCursor ?? null,
     };
   }
 
@@ -21,7 +21,7 @@ export interface ApiClientContract {
   updateCartItem(userId: string, sku: string, quantity: number, price: number, currency: string): Promise<Cart>;
   createOrder(userId: string): Promise<Order>;
   getOrders(userId: string): Promise<Order[]>;
-  getOrdersPage(userId: string, limit?: number, offset?: number): Promise<PaginatedResult<Order>>;
+  getOrdersPage(userId: string, limit?: number, cursor?: string | null): Promise<PaginatedResult<Order>>;
   createPayment(command: PaymentCommand): Promise<Payment>;
   processPayment(paymentId: string): Promise<Payment>;
   retryPayment(paymentId: string): Promise<Payment>;
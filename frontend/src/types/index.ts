@@ -74,11 +74,11 @@ export interface ApiResponse<T> {
 
 export interface PaginatedResult<T> {
   items: T[];
-  offset: number;
   limit: number;
-  total: number;
   hasNext: boolean;
   hasPrevious: boolean;
+  /** Opaque token for the following page, or null on the last page. */
+  nextCursor: string | null;
 }
 
 /**
@@ -0,0 +1,105 @@
+package com.metao.book.product.application.similarity;
+
+import com.metao.book.product.application.similarity.MinHashSimilarityBuilder.Document;
+import com.metao.book.product.application.similarity.MinHashSimilarityBuilder.SimilarityGraph;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Time to compute the neighbours that {@code GET /products/{sku}/related?mode=similar} serves, split into the two
+ * phases of a rebuild: signing the catalog page by page, and LSH bucketing plus ranking. The catalog is made of
+ * clusters of ten near-duplicate titles, so every product has nine true neighbours. Compare the {@code parallelism}
+ * rows of one phase to see how it scales with the fork/join pool; database I/O is not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MinHashSimilarityBuilderBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+    private static final int CLUSTER_SIZE = 10;
+
+    @Param({"100000"})
+    private int products;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private List<List<Document>> pages;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        pages = new ArrayList<>();
+        var random = new SplittableRandom(42);
+        List<Document> page = new ArrayList<>(PAGE_SIZE);
+        for (int product = 0; product < products; product++) {
+            page.add(document(product, random));
+            if (page.size() == PAGE_SIZE) {
+                pages.add(page);
+                page = new ArrayList<>(PAGE_SIZE);
+            }
+        }
+        if (!page.isEmpty()) {
+            pages.add(page);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int sign() {
+        return signed().size();
+    }
+
+    @Benchmark
+    public SimilarityGraph build(Signed signed) {
+        return signed.builder.build();
+    }
+
+    private MinHashSimilarityBuilder signed() {
+        var builder = new MinHashSimilarityBuilder(16, 4, 10, 50, 0.2, pool);
+        pages.forEach(builder::add);
+        return builder;
+    }
+
+    /**
+     * A title shared by the cluster apart from its volume number, and a description shared by the cluster.
+     */
+    private static Document document(int product, SplittableRandom random) {
+        int cluster = product / CLUSTER_SIZE;
+        String title = "chronicles of the kingdom%d series%d saga%d volume %d"
+            .formatted(cluster % 97, cluster, cluster % 1009, random.nextInt(CLUSTER_SIZE));
+        String description = "book %d about topic%d and topic%d with a long story across many chapters"
+            .formatted(cluster, cluster % 1013, cluster % 7919);
+        return new Document("SKU-%08d".formatted(product), title, description);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Signed {
+
+        private MinHashSimilarityBuilder builder;
+
+        @Setup(Level.Invocation)
+        public void setUp(MinHashSimilarityBuilderBenchmark benchmark) {
+            builder = benchmark.signed();
+        }
+    }
+}
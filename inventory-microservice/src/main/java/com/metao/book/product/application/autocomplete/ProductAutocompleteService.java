@@ -0,0 +1,151 @@
+package com.metao.book.product.application.autocomplete;
+
+import com.metao.book.product.application.dto.ProductSuggestionDTO;
+import com.metao.book.product.application.popularity.PopularityTracker;
+import com.metao.book.product.application.popularity.PopularityTracker.TrendingProduct;
+import com.metao.book.product.domain.model.aggregate.ProductAggregate;
+import com.metao.book.product.domain.repository.ProductRepository;
+import com.metao.book.shared.domain.product.ProductSku;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Title autocomplete backed by an in-memory {@link TitlePrefixIndex}.
+ * <p>
+ * The index is built from the catalog once the application is ready. After that it is kept current by polling for
+ * products updated since the last refresh, so writes from any inventory node show up within one refresh interval.
+ * <p>
+ * In-stock products rank above out-of-stock ones; within each group the popularity estimate of
+ * {@link PopularityTracker} decides. Popularity changes without a product update, so the trending products, and the
+ * ones that were trending at the previous pass, are re-scored every rescore interval.
+ */
+@Slf4j
+@Service
+public class ProductAutocompleteService {
+
+    private static final double IN_STOCK_SCORE = 1.0;
+
+    private final ProductRepository productRepository;
+    private final PopularityTracker popularityTracker;
+    private final TitlePrefixIndex index;
+    private final int topK;
+    private volatile Instant refreshCursor;
+    private Set<String> trendingSkus = Set.of();
+
+    @Value("${product.autocomplete.enabled:true}")
+    private boolean enabled;
+
+    @Value("${product.autocomplete.page-size:500}")
+    private int pageSize;
+
+    @Value("${product.autocomplete.clock-skew:5s}")
+    private Duration clockSkew;
+
+    public ProductAutocompleteService(
+        ProductRepository productRepository,
+        PopularityTracker popularityTracker,
+        @Value("${product.autocomplete.top-k:10}") int topK
+    ) {
+        this.productRepository = productRepository;
+        this.popularityTracker = popularityTracker;
+        this.topK = topK;
+        this.index = new TitlePrefixIndex(topK);
+    }
+
+    public List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+        return index.suggest(prefix, Math.max(0, Math.min(limit, topK))).stream()
+            .map(suggestion -> new ProductSuggestionDTO(suggestion.sku(), suggestion.title()))
+            .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void buildOnStartup() {
+        if (enabled) {
+            Thread.ofVirtual().name("product-autocomplete-build").start(this::build);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.autocomplete.refresh-interval:1s}")
+    void refresh() {
+        var cursor = refreshCursor;
+        if (!enabled || cursor == null) {
+            return;
+        }
+        var polledAt = Instant.now();
+        List<ProductSku> updated = productRepository.findSkusUpdatedAfter(cursor.minus(clockSkew));
+        if (!updated.isEmpty()) {
+            var products = productRepository.findBySkus(updated);
+            synchronized (index) {
+                products.forEach(this::index);
+            }
+            log.debug("Refreshed {} autocomplete entries updated since {}", products.size(), cursor);
+        }
+        refreshCursor = polledAt;
+    }
+
+    @Scheduled(fixedDelayString = "${product.autocomplete.rescore-interval:30s}")
+    void rescore() {
+        if (!enabled || refreshCursor == null) {
+            return;
+        }
+        Set<String> trending = popularityTracker.trending(Integer.MAX_VALUE).stream()
+            .map(TrendingProduct::sku)
+            .collect(Collectors.toSet());
+        Set<String> skus = new HashSet<>(trending);
+        skus.addAll(trendingSkus);
+        if (!skus.isEmpty()) {
+            var products = productRepository.findBySkus(skus.stream().map(ProductSku::of).toList());
+            synchronized (index) {
+                products.forEach(this::index);
+            }
+            log.debug("Re-scored {} autocomplete entries by popularity", products.size());
+        }
+        trendingSkus = trending;
+    }
+
+    void build() {
+        long startedAt = System.nanoTime();
+        var cursor = Instant.now();
+        try {
+            ProductSku after = null;
+            List<ProductAggregate> page;
+            do {
+                page = productRepository.findPageOrderedBySku(after, pageSize);
+                synchronized (index) {
+                    page.forEach(this::index);
+                }
+                if (!page.isEmpty()) {
+                    after = page.getLast().getId();
+                }
+            } while (page.size() == pageSize);
+            refreshCursor = cursor;
+            log.info("Built product autocomplete index: entries={}, elapsedMs={}",
+                index.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to build product autocomplete index", ex);
+        }
+    }
+
+    private void index(ProductAggregate product) {
+        index.upsert(product.getId().value(), product.getTitle().value(), score(product));
+    }
+
+    /**
+     * Stock contributes one point and popularity less than one, mapped by {@code p / (p + 1)}, so popularity orders
+     * products within the in-stock and the out-of-stock group but never lifts one over the other.
+     */
+    double score(ProductAggregate product) {
+        double popularity = Math.max(0, popularityTracker.score(product.getId().value()));
+        return (product.isInStock() ? IN_STOCK_SCORE : 0.0) + popularity / (popularity + 1);
+    }
+}
@@ -0,0 +1,231 @@
+package com.metao.book.product.application.autocomplete;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Compressed (radix) trie over normalized product titles in which every node keeps its top-k suggestions.
+ * <p>
+ * Nodes are immutable. Updates copy the nodes on the path from the root to the changed title and recompute the
+ * top-k of those nodes from their children, then publish the new root through a volatile field. Lookups therefore
+ * never lock and always see a consistent version of the trie. A lookup costs one walk down the prefix and returns
+ * an array that was precomputed when the trie was updated.
+ * <p>
+ * Writers are expected to be serialized by the caller.
+ */
+public final class TitlePrefixIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Comparator<Suggestion> RANKING = Comparator
+        .comparingDouble(Suggestion::score).reversed()
+        .thenComparing(Suggestion::title)
+        .thenComparing(Suggestion::sku);
+
+    private final int topK;
+    private final Map<String, String> keysBySku = new HashMap<>();
+    private volatile Node root = new Node("", NO_CHILDREN, NO_SUGGESTIONS, NO_SUGGESTIONS);
+
+    public TitlePrefixIndex(int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("topK must be at least one");
+        }
+        this.topK = topK;
+    }
+
+    public record Suggestion(String sku, String title, double score) {
+    }
+
+    /**
+     * Lowercases, strips diacritics and collapses every run of non-alphanumeric characters into a single space.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null) {
+                return List.of();
+            }
+            int matched = commonPrefixLength(child.label, key, position);
+            if (position + matched == key.length()) {
+                node = child;
+                break;
+            }
+            if (matched < child.label.length()) {
+                return List.of();
+            }
+            node = child;
+            position += matched;
+        }
+        Suggestion[] top = node.top;
+        return List.of(Arrays.copyOf(top, Math.min(limit, top.length)));
+    }
+
+    /**
+     * Inserts or replaces the suggestion for a SKU.
+     */
+    public void upsert(String sku, String title, double score) {
+        remove(sku);
+        String key = normalize(title);
+        if (key.isEmpty()) {
+            return;
+        }
+        root = insert(root, key, 0, new Suggestion(sku, title, score));
+        keysBySku.put(sku, key);
+    }
+
+    public void remove(String sku) {
+        String key = keysBySku.remove(sku);
+        if (key != null) {
+            Node updated = delete(root, key, 0, sku);
+            root = updated != null ? updated : new Node("", NO_CHILDREN, NO_SUGGESTIONS, NO_SUGGESTIONS);
+        }
+    }
+
+    public int size() {
+        return keysBySku.size();
+    }
+
+    private Node insert(Node node, String key, int position, Suggestion suggestion) {
+        if (position == key.length()) {
+            Suggestion[] terminals = Arrays.copyOf(node.terminals, node.terminals.length + 1);
+            terminals[terminals.length - 1] = suggestion;
+            return node(node.label, node.children, terminals);
+        }
+        int index = node.childIndex(key.charAt(position));
+        if (index < 0) {
+            Node leaf = node(key.substring(position), NO_CHILDREN, new Suggestion[]{suggestion});
+            return node(node.label, insertChild(node.children, -index - 1, leaf), node.terminals);
+        }
+        Node child = node.children[index];
+        int matched = commonPrefixLength(child.label, key, position);
+        Node replacement;
+        if (matched == child.label.length()) {
+            replacement = insert(child, key, position + matched, suggestion);
+        } else {
+            Node tail = node(child.label.substring(matched), child.children, child.terminals);
+            Node split = node(child.label.substring(0, matched), new Node[]{tail}, NO_SUGGESTIONS);
+            replacement = insert(split, key, position + matched, suggestion);
+        }
+        Node[] children = node.children.clone();
+        children[index] = replacement;
+        return node(node.label, children, node.terminals);
+    }
+
+    private Node delete(Node node, String key, int position, String sku) {
+        Node[] children = node.children;
+        Suggestion[] terminals = node.terminals;
+        if (position == key.length()) {
+            terminals = Arrays.stream(terminals)
+                .filter(suggestion -> !suggestion.sku().equals(sku))
+                .toArray(Suggestion[]::new);
+        } else {
+            int index = node.childIndex(key.charAt(position));
+            if (index < 0) {
+                return node;
+            }
+            Node child = children[index];
+            Node replacement = delete(child, key, position + child.label.length(), sku);
+            children = children.clone();
+            if (replacement == null) {
+                children = removeChild(children, index);
+            } else {
+                children[index] = replacement;
+            }
+        }
+        if (node.label.isEmpty()) {
+            return node(node.label, children, terminals);
+        }
+        if (terminals.length == 0 && children.length == 0) {
+            return null;
+        }
+        if (terminals.length == 0 && children.length == 1) {
+            Node only = children[0];
+            return node(node.label + only.label, only.children, only.terminals);
+        }
+        return node(node.label, children, terminals);
+    }
+
+    private Node node(String label, Node[] children, Suggestion[] terminals) {
+        List<Suggestion> candidates = new ArrayList<>(terminals.length + children.length * topK);
+        candidates.addAll(Arrays.asList(terminals));
+        for (Node child : children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(RANKING);
+        Suggestion[] top = candidates.subList(0, Math.min(topK, candidates.size())).toArray(NO_SUGGESTIONS);
+        return new Node(label, children, terminals, top);
+    }
+
+    private static Node[] insertChild(Node[] children, int index, Node child) {
+        Node[] updated = new Node[children.length + 1];
+        System.arraycopy(children, 0, updated, 0, index);
+        updated[index] = child;
+        System.arraycopy(children, index, updated, index + 1, children.length - index);
+        return updated;
+    }
+
+    private static Node[] removeChild(Node[] children, int index) {
+        Node[] updated = new Node[children.length - 1];
+        System.arraycopy(children, 0, updated, 0, index);
+        System.arraycopy(children, index + 1, updated, index, children.length - index - 1);
+        return updated;
+    }
+
+    private static int commonPrefixLength(String label, String key, int position) {
+        int max = Math.min(label.length(), key.length() - position);
+        int length = 0;
+        while (length < max && label.charAt(length) == key.charAt(position + length)) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Children are sorted by the first character of their label, which is unique among siblings.
+     */
+    private record Node(String label, Node[] children, Suggestion[] terminals, Suggestion[] top) {
+
+        private Node child(char first) {
+            int index = childIndex(first);
+            return index < 0 ? null : children[index];
+        }
+
+        private int childIndex(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char candidate = children[middle].label.charAt(0);
+                if (candidate < first) {
+                    low = middle + 1;
+                } else if (candidate > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.metao.book.product.application.config;
 
 import com.metao.book.product.ProductCreatedEvent;
+import com.metao.book.shared.InventoryReservationRequestedEvent;
 import com.metao.book.shared.ProductUpdatedEvent;
 import io.confluent.kafka.serializers.protobuf.KafkaProtobufDeserializer;
 import io.confluent.kafka.serializers.protobuf.KafkaProtobufDeserializerConfig;
@@ -68,6 +69,11 @@ public class KafkaConsumerConfig {
         return createConsumerFactory(ProductUpdatedEvent.class);
     }
 
+    @Bean
+    public ConsumerFactory<String, InventoryReservationRequestedEvent> inventoryReservationRequestedEventConsumerFactory() {
+        return createConsumerFactory(InventoryReservationRequestedEvent.class);
+    }
+
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, ProductCreatedEvent> productCreatedEventKafkaListenerContainerFactory(
         ConsumerFactory<String, ProductCreatedEvent> productCreatedEventConsumerFactory,
@@ -88,6 +94,16 @@ public class KafkaConsumerConfig {
         return factory;
     }
 
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, InventoryReservationRequestedEvent> inventoryReservationRequestedEventKafkaListenerContainerFactory(
+        ConsumerFactory<String, InventoryReservationRequestedEvent> inventoryReservationRequestedEventConsumerFactory,
+        DefaultErrorHandler productErrorHandler
+    ) {
+        var factory = createListenerContainerFactory(inventoryReservationRequestedEventConsumerFactory, productErrorHandler);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        return factory;
+    }
+
     private <T> ConcurrentKafkaListenerContainerFactory<String, T> createListenerContainerFactory(
         ConsumerFactory<String, T> consumerFactory,
         DefaultErrorHandler errorHandler
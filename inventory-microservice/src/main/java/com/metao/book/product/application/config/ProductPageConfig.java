@@ -0,0 +1,9 @@
+package com.metao.book.product.application.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ProductPageProperties.class)
+public class ProductPageConfig {
+}
@@ -0,0 +1,19 @@
+package com.metao.book.product.application.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Per-branch deadlines for the composite product page endpoint.
+ *
+ * <p>Bound to the {@code product.page} prefix. The product branch is mandatory; when the related-products or
+ * categories branch misses its deadline the page is returned without it.</p>
+ */
+@ConfigurationProperties(prefix = "product.page")
+public record ProductPageProperties(
+    @DefaultValue("500ms") Duration productTimeout,
+    @DefaultValue("300ms") Duration relatedTimeout,
+    @DefaultValue("300ms") Duration categoriesTimeout
+) {
+}
@@ -0,0 +1,23 @@
+package com.metao.book.product.application.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A batch of catalog changes. Pass {@code nextToken} as {@code since} to resume; keep polling while {@code hasMore}.
+ */
+public record ProductChangesDTO(List<Change> changes, String nextToken, boolean hasMore) {
+
+    public record Change(
+        String sku,
+        String title,
+        String imageUrl,
+        BigDecimal price,
+        String currency,
+        BigDecimal volume,
+        boolean inStock,
+        Instant updatedTime
+    ) {
+    }
+}
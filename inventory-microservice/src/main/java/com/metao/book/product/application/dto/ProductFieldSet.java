@@ -0,0 +1,91 @@
+package com.metao.book.product.application.dto;
+
+import com.metao.book.product.domain.repository.ProductProjection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldset requested through the {@code fields} parameter of the product list endpoints, e.g.
+ * {@code fields=title,price,imageUrl}. The SKU is always included. A missing or blank parameter selects every field.
+ */
+public record ProductFieldSet(Set<Field> fields) {
+
+    public static final ProductFieldSet ALL = new ProductFieldSet(EnumSet.allOf(Field.class));
+
+    public ProductFieldSet {
+        fields = Collections.unmodifiableSet(EnumSet.copyOf(fields));
+    }
+
+    public enum Field {
+        SKU("sku", ProductDTO::sku),
+        TITLE("title", ProductDTO::title),
+        DESCRIPTION("description", ProductDTO::description),
+        IMAGE_URL("imageUrl", ProductDTO::imageUrl),
+        PRICE("price", ProductDTO::price),
+        CURRENCY("currency", ProductDTO::currency),
+        VOLUME("volume", ProductDTO::volume),
+        CATEGORIES("categories", ProductDTO::categories),
+        CREATED_TIME("createdTime", ProductDTO::createdTime),
+        UPDATED_TIME("updatedTime", ProductDTO::updatedTime),
+        IN_STOCK("inStock", ProductDTO::inStock);
+
+        private static final Map<String, Field> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toMap(Field::jsonName, Function.identity()));
+
+        private final String jsonName;
+        private final Function<ProductDTO, Object> accessor;
+
+        Field(String jsonName, Function<ProductDTO, Object> accessor) {
+            this.jsonName = jsonName;
+            this.accessor = accessor;
+        }
+
+        public String jsonName() {
+            return jsonName;
+        }
+    }
+
+    public static ProductFieldSet parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<Field> selected = EnumSet.of(Field.SKU);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            Field field = Field.BY_NAME.get(trimmed);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown product field: " + trimmed);
+            }
+            selected.add(field);
+        }
+        return selected.size() == Field.values().length ? ALL : new ProductFieldSet(selected);
+    }
+
+    public boolean isAll() {
+        return fields.size() == Field.values().length;
+    }
+
+    /**
+     * The parts of the product the repository has to load to serve this fieldset.
+     */
+    public ProductProjection projection() {
+        return new ProductProjection(fields.contains(Field.DESCRIPTION), fields.contains(Field.CATEGORIES));
+    }
+
+    public Map<String, Object> project(ProductDTO product) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (Field field : fields) {
+            projected.put(field.jsonName, field.accessor.apply(product));
+        }
+        return projected;
+    }
+}
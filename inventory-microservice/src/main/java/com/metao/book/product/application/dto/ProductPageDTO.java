@@ -0,0 +1,25 @@
+package com.metao.book.product.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.metao.book.product.domain.category.dto.CategoryDTO;
+import java.util.List;
+
+/**
+ * Composite payload for rendering a product page in one round trip.
+ *
+ * @param degraded names of the optional branches that failed or timed out and were returned empty
+ */
+public record ProductPageDTO(
+    @JsonProperty("product")
+    ProductDTO product,
+
+    @JsonProperty("related")
+    List<ProductDTO> related,
+
+    @JsonProperty("categories")
+    List<CategoryDTO> categories,
+
+    @JsonProperty("degraded")
+    List<String> degraded
+) {
+}
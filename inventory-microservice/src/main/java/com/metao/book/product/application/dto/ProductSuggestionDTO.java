@@ -0,0 +1,12 @@
+package com.metao.book.product.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record ProductSuggestionDTO(
+    @JsonProperty("sku")
+    String sku,
+
+    @JsonProperty("title")
+    String title
+) {
+}
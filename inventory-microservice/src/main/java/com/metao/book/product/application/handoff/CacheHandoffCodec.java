@@ -0,0 +1,80 @@
+package com.metao.book.product.application.handoff;
+
+import com.metao.book.product.application.mapper.ProductBinaryCodec;
+import com.metao.book.product.domain.model.aggregate.ProductAggregate;
+import com.metao.book.product.domain.repository.ProductProjection;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary wire format for handing cached category pages from one inventory node to another.
+ * <p>
+ * Layout: magic, format version and entry count, then each entry as its key, the time it has left in the sender's
+ * cache and its products as {@link ProductBinaryCodec} records. Every product carries its persistence version so the
+ * receiver can validate it against the database before trusting the page.
+ */
+public final class CacheHandoffCodec {
+
+    static final int MAGIC = 0x43484F31;
+    static final int FORMAT_VERSION = 2;
+    private static final int BUFFER_BYTES = 64 * 1_024;
+
+    private CacheHandoffCodec() {
+    }
+
+    public static void write(List<CategoryPageEntry> entries, OutputStream target) throws IOException {
+        var out = new DataOutputStream(new BufferedOutputStream(target, BUFFER_BYTES));
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(entries.size());
+        for (CategoryPageEntry entry : entries) {
+            out.writeUTF(entry.categoryName());
+            out.writeInt(entry.offset());
+            out.writeInt(entry.limit());
+            out.writeBoolean(entry.projection().description());
+            out.writeBoolean(entry.projection().categories());
+            out.writeLong(entry.remainingTtl().toMillis());
+            out.writeInt(entry.products().size());
+            for (ProductAggregate product : entry.products()) {
+                ProductBinaryCodec.write(out, product);
+            }
+        }
+        out.flush();
+    }
+
+    public static List<CategoryPageEntry> read(InputStream source) throws IOException {
+        var in = new DataInputStream(new BufferedInputStream(source, BUFFER_BYTES));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a cache handoff stream");
+        }
+        int formatVersion = in.readInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported cache handoff format version " + formatVersion);
+        }
+        int entryCount = in.readInt();
+        List<CategoryPageEntry> entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            String categoryName = in.readUTF();
+            int offset = in.readInt();
+            int limit = in.readInt();
+            var projection = new ProductProjection(in.readBoolean(), in.readBoolean());
+            var remainingTtl = Duration.ofMillis(in.readLong());
+            int productCount = in.readInt();
+            List<ProductAggregate> products = new ArrayList<>(productCount);
+            for (int p = 0; p < productCount; p++) {
+                products.add(ProductBinaryCodec.read(in));
+            }
+            entries.add(new CategoryPageEntry(categoryName, offset, limit, projection, remainingTtl,
+                List.copyOf(products)));
+        }
+        return entries;
+    }
+}
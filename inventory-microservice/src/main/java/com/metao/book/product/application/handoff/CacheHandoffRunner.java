@@ -0,0 +1,175 @@
+package com.metao.book.product.application.handoff;
+
+import com.metao.book.product.application.service.ProductDomainService;
+import com.metao.book.product.domain.model.aggregate.ProductAggregate;
+import com.metao.book.product.domain.model.valueobject.CategoryName;
+import com.metao.book.product.domain.repository.ProductRepository;
+import com.metao.book.shared.domain.product.ProductSku;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warms the category page cache of a starting node from a live peer.
+ * <p>
+ * Application runners complete before Spring Boot reports the readiness state as accepting traffic, so the node only
+ * joins the load balancer once the handoff has finished, failed or timed out. Peers are tried in random order and the
+ * first one that answers wins. Every received page is checked against the database before it is cached: its SKUs
+ * must be the ones the category page has now, in the same order, and every product must still have the received
+ * version. Versions are read in one query per batch; a page that fails either check is dropped rather than served
+ * stale. Imported pages expire when they would have expired on the peer. Requests carry the shared secret the peer's
+ * export endpoint requires.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "product.cache-handoff.enabled", havingValue = "true")
+public class CacheHandoffRunner implements ApplicationRunner {
+
+    public static final String EXPORT_PATH = "/internal/cache/category-pages";
+    public static final String SECRET_HEADER = "X-Cache-Handoff-Secret";
+    private static final int VERSION_BATCH_SIZE = 1_000;
+
+    private final ProductDomainService productDomainService;
+    private final ProductRepository productRepository;
+    private final HttpClient httpClient;
+
+    @Value("${product.cache-handoff.peers:}")
+    private String peers;
+
+    @Value("${product.cache-handoff.self-url:}")
+    private String selfUrl;
+
+    @Value("${product.cache-handoff.secret:}")
+    private String secret;
+
+    @Value("${product.cache-handoff.max-entries:256}")
+    private int maxEntries;
+
+    @Value("${product.cache-handoff.request-timeout:5s}")
+    private Duration requestTimeout;
+
+    public CacheHandoffRunner(
+        ProductDomainService productDomainService,
+        ProductRepository productRepository,
+        @Value("${product.cache-handoff.connect-timeout:500ms}") Duration connectTimeout
+    ) {
+        this.productDomainService = productDomainService;
+        this.productRepository = productRepository;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(connectTimeout).build();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (secret.isBlank()) {
+            log.warn("Cache handoff skipped: product.cache-handoff.secret is not set");
+            return;
+        }
+        long startedAt = System.nanoTime();
+        for (String peer : candidatePeers()) {
+            Optional<List<CategoryPageEntry>> received = fetch(peer);
+            if (received.isEmpty()) {
+                continue;
+            }
+            long receivedAt = System.nanoTime();
+            List<CategoryPageEntry> valid = validate(received.get());
+            productDomainService.importCategoryPages(age(valid, Duration.ofNanos(System.nanoTime() - receivedAt)));
+            log.info("Cache handoff from {}: received={}, imported={}, elapsedMs={}",
+                peer, received.get().size(), valid.size(), (System.nanoTime() - startedAt) / 1_000_000);
+            return;
+        }
+        log.info("Cache handoff skipped: no live peer among [{}]", peers);
+    }
+
+    List<CategoryPageEntry> validate(List<CategoryPageEntry> entries) {
+        List<ProductSku> skus = entries.stream()
+            .flatMap(entry -> entry.products().stream())
+            .map(ProductAggregate::getId)
+            .distinct()
+            .toList();
+        Map<ProductSku, Long> currentVersions = new HashMap<>();
+        for (int from = 0; from < skus.size(); from += VERSION_BATCH_SIZE) {
+            var batch = skus.subList(from, Math.min(skus.size(), from + VERSION_BATCH_SIZE));
+            currentVersions.putAll(productRepository.findVersionsBySkus(batch));
+        }
+        return entries.stream()
+            .filter(entry -> entry.products().stream().allMatch(product ->
+                currentVersions.containsKey(product.getId())
+                    && Objects.equals(currentVersions.get(product.getId()), product.getVersion())))
+            .filter(this::hasCurrentMembership)
+            .toList();
+    }
+
+    /**
+     * Whether the page still lists the same products: a product added to or removed from the category shifts the page
+     * without changing the version of any product on it.
+     */
+    private boolean hasCurrentMembership(CategoryPageEntry entry) {
+        List<ProductSku> current = productRepository.findSkusByCategory(
+            CategoryName.of(entry.categoryName()), entry.offset(), entry.limit());
+        return current.equals(entry.products().stream().map(ProductAggregate::getId).toList());
+    }
+
+    private static List<CategoryPageEntry> age(List<CategoryPageEntry> entries, Duration elapsed) {
+        return entries.stream()
+            .map(entry -> new CategoryPageEntry(entry.categoryName(), entry.offset(), entry.limit(),
+                entry.projection(), entry.remainingTtl().minus(elapsed), entry.products()))
+            .toList();
+    }
+
+    private List<String> candidatePeers() {
+        List<String> candidates = new ArrayList<>(Arrays.stream(peers.split(","))
+            .map(String::trim)
+            .map(peer -> peer.endsWith("/") ? peer.substring(0, peer.length() - 1) : peer)
+            .filter(peer -> !peer.isEmpty() && !peer.equals(selfUrl))
+            .distinct()
+            .toList());
+        Collections.shuffle(candidates);
+        return candidates;
+    }
+
+    private Optional<List<CategoryPageEntry>> fetch(String peer) {
+        var request = HttpRequest.newBuilder(URI.create(peer + EXPORT_PATH + "?limit=" + maxEntries))
+            .timeout(requestTimeout)
+            .header(SECRET_HEADER, secret)
+            .GET()
+            .build();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request,
+                HttpResponse.BodyHandlers.ofInputStream());
+            try (var body = response.body()) {
+                if (response.statusCode() != 200) {
+                    log.debug("Cache handoff peer {} answered {}", peer, response.statusCode());
+                    return Optional.empty();
+                }
+                return Optional.of(CacheHandoffCodec.read(body));
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.debug("Cache handoff peer {} unavailable: {}", peer, ex.toString());
+            return Optional.empty();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.metao.book.product.application.handoff;
+
+import com.metao.book.product.domain.model.aggregate.ProductAggregate;
+import com.metao.book.product.domain.repository.ProductProjection;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * One cached category page, as exported to and imported from a peer node. {@code remainingTtl} is the time the page
+ * had left in the exporting node's cache.
+ */
+public record CategoryPageEntry(
+    String categoryName,
+    int offset,
+    int limit,
+    ProductProjection projection,
+    Duration remainingTtl,
+    List<ProductAggregate> products
+) {
+}
@@ -0,0 +1,134 @@
+package com.metao.book.product.application.mapper;
+
+import com.metao.book.product.domain.model.aggregate.ProductAggregate;
+import com.metao.book.product.domain.model.entity.ProductCategory;
+import com.metao.book.product.domain.model.valueobject.CategoryId;
+import com.metao.book.product.domain.model.valueobject.CategoryName;
+import com.metao.book.product.domain.model.valueobject.ImageUrl;
+import com.metao.book.product.domain.model.valueobject.ProductDescription;
+import com.metao.book.shared.domain.financial.Money;
+import com.metao.book.shared.domain.product.ProductSku;
+import com.metao.book.shared.domain.product.ProductTitle;
+import com.metao.book.shared.domain.product.Quantity;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Binary record of one product, shared by the catalog snapshot file and the cache handoff stream.
+ * <p>
+ * The SKU comes first so a reader can compare it before decoding the rest. Strings are length-prefixed UTF-8,
+ * decimals are scale plus unscaled bytes and instants are seconds plus nanos, so every value round-trips exactly. The
+ * persistence version is kept, with {@link Long#MIN_VALUE} standing for none.
+ */
+public final class ProductBinaryCodec {
+
+    private static final long NULL_VERSION = Long.MIN_VALUE;
+
+    private ProductBinaryCodec() {
+    }
+
+    public static void write(DataOutput out, ProductAggregate product) throws IOException {
+        writeString(out, product.getId().value());
+        writeString(out, product.getTitle().value());
+        writeString(out, product.getDescription().value());
+        writeString(out, product.getImageUrl().getValue());
+        writeString(out, product.getMoney().currency().getCurrencyCode());
+        writeDecimal(out, product.getMoney().fixedPointAmount());
+        writeDecimal(out, product.getVolume().value());
+        writeInstant(out, product.getCreatedTime());
+        writeInstant(out, product.getUpdatedTime());
+        out.writeLong(product.getVersion() == null ? NULL_VERSION : product.getVersion());
+        out.writeInt(product.getCategories().size());
+        for (ProductCategory category : product.getCategories()) {
+            writeString(out, category.getId().value());
+            writeString(out, category.getName().value());
+        }
+    }
+
+    public static ProductAggregate read(DataInput in) throws IOException {
+        return readAfterSku(in, ProductSku.of(readSku(in)));
+    }
+
+    /**
+     * Reads the SKU that starts a record, leaving the input at the rest of it.
+     */
+    public static String readSku(DataInput in) throws IOException {
+        return readString(in);
+    }
+
+    /**
+     * Reads the rest of a record whose SKU was already read with {@link #readSku(DataInput)}.
+     */
+    public static ProductAggregate readAfterSku(DataInput in, ProductSku sku) throws IOException {
+        var title = ProductTitle.of(readString(in));
+        var description = ProductDescription.of(readString(in));
+        var imageUrl = ImageUrl.of(readString(in));
+        var currency = Currency.getInstance(readString(in));
+        var price = readDecimal(in);
+        var volume = readDecimal(in);
+        var createdTime = readInstant(in);
+        var updatedTime = readInstant(in);
+        long version = in.readLong();
+        int categoryCount = in.readInt();
+        Set<ProductCategory> categories = new HashSet<>(categoryCount * 2);
+        for (int i = 0; i < categoryCount; i++) {
+            var categoryId = CategoryId.of(readString(in));
+            categories.add(ProductCategory.of(categoryId, CategoryName.of(readString(in))));
+        }
+        return new ProductAggregate(
+            sku,
+            title,
+            description,
+            Quantity.of(volume),
+            Money.of(currency, price),
+            createdTime,
+            updatedTime,
+            imageUrl,
+            categories,
+            version == NULL_VERSION ? null : version
+        );
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDecimal(DataOutput out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeInt(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInput in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readInt()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeInstant(DataOutput out, Instant value) throws IOException {
+        out.writeLong(value.getEpochSecond());
+        out.writeInt(value.getNano());
+    }
+
+    private static Instant readInstant(DataInput in) throws IOException {
+        return Instant.ofEpochSecond(in.readLong(), in.readInt());
+    }
+}
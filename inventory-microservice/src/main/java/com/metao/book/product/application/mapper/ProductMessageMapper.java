@@ -0,0 +1,68 @@
+package com.metao.book.product.application.mapper;
+
+import com.google.protobuf.Timestamp;
+import com.metao.book.product.application.dto.ProductDTO;
+import com.metao.book.product.application.dto.ProductFieldSet;
+import com.metao.book.product.application.dto.ProductFieldSet.Field;
+import com.metao.book.shared.ProductListMessage;
+import com.metao.book.shared.ProductMessage;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Maps product DTOs to their protobuf representation. Fields outside the requested fieldset are left unset.
+ */
+public final class ProductMessageMapper {
+
+    private ProductMessageMapper() {
+    }
+
+    public static ProductListMessage toListMessage(List<ProductDTO> products, ProductFieldSet fieldSet) {
+        var builder = ProductListMessage.newBuilder();
+        products.forEach(product -> builder.addProducts(toMessage(product, fieldSet)));
+        return builder.build();
+    }
+
+    public static ProductMessage toMessage(ProductDTO product, ProductFieldSet fieldSet) {
+        var fields = fieldSet.fields();
+        var builder = ProductMessage.newBuilder().setSku(product.sku());
+        if (fields.contains(Field.TITLE) && product.title() != null) {
+            builder.setTitle(product.title());
+        }
+        if (fields.contains(Field.DESCRIPTION) && product.description() != null) {
+            builder.setDescription(product.description());
+        }
+        if (fields.contains(Field.IMAGE_URL) && product.imageUrl() != null) {
+            builder.setImageUrl(product.imageUrl());
+        }
+        if (fields.contains(Field.PRICE) && product.price() != null) {
+            builder.setPrice(product.price().toPlainString());
+        }
+        if (fields.contains(Field.CURRENCY) && product.currency() != null) {
+            builder.setCurrency(product.currency().getCurrencyCode());
+        }
+        if (fields.contains(Field.VOLUME) && product.volume() != null) {
+            builder.setVolume(product.volume().toPlainString());
+        }
+        if (fields.contains(Field.CATEGORIES) && product.categories() != null) {
+            builder.addAllCategories(product.categories());
+        }
+        if (fields.contains(Field.CREATED_TIME) && product.createdTime() != null) {
+            builder.setCreatedTime(toTimestamp(product.createdTime()));
+        }
+        if (fields.contains(Field.UPDATED_TIME) && product.updatedTime() != null) {
+            builder.setUpdatedTime(toTimestamp(product.updatedTime()));
+        }
+        if (fields.contains(Field.IN_STOCK)) {
+            builder.setInStock(product.inStock());
+        }
+        return builder.build();
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return Timestamp.newBuilder()
+            .setSeconds(instant.getEpochSecond())
+            .setNanos(instant.getNano())
+            .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.metao.book.product.application.popularity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.apache.commons.codec.digest.MurmurHash3;
+
+/**
+ * Count-min sketch over string keys with lock-free updates and periodic halving.
+ * <p>
+ * Memory is fixed at {@code depth * width} counters whatever the number of distinct keys. Estimates never
+ * undercount. The overcount is bounded by roughly {@code e / width} of the total count, with probability
+ * {@code 1 - e^-depth}. {@link #decay()} halves every counter, which gives older events exponentially less weight.
+ * <p>
+ * Every row hashes the UTF-8 bytes of the key with MurmurHash3 under its own seed, so keys that collide in one row
+ * are unlikely to collide in another.
+ */
+public final class DecayingCountMinSketch {
+
+    private static final int[] SEEDS = {
+        0x9E3779B9, 0xC2B2AE3D, 0x165667B1, 0xD6E8FEB8, 0xBF58476D, 0x2545F491, 0x27D4EB2F, 0x94D049BB
+    };
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    public DecayingCountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("depth must be between 1 and " + SEEDS.length);
+        }
+        if (width < 2 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width must be a power of two");
+        }
+        this.depth = depth;
+        this.mask = width - 1;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    public void add(String key, long count) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        for (int row = 0; row < depth; row++) {
+            counters.getAndAdd(index(row, bytes), count);
+        }
+    }
+
+    public long estimate(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, bytes)));
+        }
+        return estimate;
+    }
+
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, value -> value >> 1);
+        }
+    }
+
+    private int index(int row, byte[] key) {
+        long hash = MurmurHash3.hash128x64(key, 0, key.length, SEEDS[row])[0];
+        return row * (mask + 1) + (int) (hash & mask);
+    }
+}
@@ -0,0 +1,117 @@
+package com.metao.book.product.application.popularity;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tracks how hot each SKU is from product views and sales.
+ * <p>
+ * Views and sold units are counted in two decaying count-min sketches. The popularity score is
+ * {@code views + saleWeight * sales}. A bounded candidate set keeps the heavy hitters: a SKU enters it when its
+ * score beats the weakest current entry, and the set is pruned back to capacity when it doubles. Memory is constant
+ * whatever the catalog size. Recording only performs atomic counter updates and, for hot SKUs, a concurrent-map put.
+ */
+@Component
+public class PopularityTracker {
+
+    private final DecayingCountMinSketch views;
+    private final DecayingCountMinSketch sales;
+    private final double saleWeight;
+    private final int capacity;
+    private final Map<String, Boolean> candidates = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+    private volatile double admissionThreshold;
+
+    public PopularityTracker(
+        @Value("${product.popularity.sketch-depth:4}") int depth,
+        @Value("${product.popularity.sketch-width:4096}") int width,
+        @Value("${product.popularity.sale-weight:10}") double saleWeight,
+        @Value("${product.popularity.top-k:100}") int capacity
+    ) {
+        this.views = new DecayingCountMinSketch(depth, width);
+        this.sales = new DecayingCountMinSketch(depth, width);
+        this.saleWeight = saleWeight;
+        this.capacity = capacity;
+    }
+
+    public record TrendingProduct(String sku, double score, long views, long sales) {
+    }
+
+    public void recordView(String sku) {
+        views.add(sku, 1);
+        offer(sku);
+    }
+
+    public void recordSale(String sku, long quantity) {
+        if (quantity > 0) {
+            sales.add(sku, quantity);
+            offer(sku);
+        }
+    }
+
+    /**
+     * Decayed popularity score of a SKU.
+     */
+    public double score(String sku) {
+        return views.estimate(sku) + saleWeight * sales.estimate(sku);
+    }
+
+    /**
+     * Whether the SKU currently ranks among the heavy hitters, for cache admission and prewarm decisions.
+     */
+    public boolean isHot(String sku) {
+        return candidates.containsKey(sku) && score(sku) >= admissionThreshold;
+    }
+
+    public List<TrendingProduct> trending(int limit) {
+        return candidates.keySet().stream()
+            .map(sku -> new TrendingProduct(sku, score(sku), views.estimate(sku), sales.estimate(sku)))
+            .filter(product -> product.score() > 0)
+            .sorted(Comparator.comparingDouble(TrendingProduct::score).reversed()
+                .thenComparing(TrendingProduct::sku))
+            .limit(Math.max(0, Math.min(limit, capacity)))
+            .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${product.popularity.decay-interval:5m}")
+    public void decay() {
+        views.decay();
+        sales.decay();
+        prune();
+    }
+
+    private void offer(String sku) {
+        if (candidates.containsKey(sku)) {
+            return;
+        }
+        if (candidates.size() < capacity || score(sku) > admissionThreshold) {
+            candidates.put(sku, Boolean.TRUE);
+            if (candidates.size() > capacity * 2) {
+                prune();
+            }
+        }
+    }
+
+    private void prune() {
+        if (!pruning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            var ranked = trending(Integer.MAX_VALUE);
+            var kept = ranked.subList(0, Math.min(capacity, ranked.size()));
+            Set<String> keptSkus = kept.stream().map(TrendingProduct::sku).collect(Collectors.toSet());
+            candidates.keySet().retainAll(keptSkus);
+            admissionThreshold = kept.size() < capacity ? 0 : kept.getLast().score();
+        } finally {
+            pruning.set(false);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.metao.book.product.application.port;
+
+import com.metao.book.product.domain.model.aggregate.ProductAggregate;
+import com.metao.book.shared.domain.product.ProductSku;
+import java.util.Optional;
+
+/**
+ * Read-side catalog snapshot that can answer product lookups without touching the database.
+ */
+public interface CatalogSnapshotPort {
+
+    /**
+     * Returns the product from the snapshot, or empty when the snapshot is disabled, not loaded, or the SKU changed
+     * after the snapshot was written.
+     */
+    Optional<ProductAggregate> findBySku(ProductSku sku);
+
+    /**
+     * Marks a SKU as changed so later reads fall through to the database until the next snapshot is written.
+     */
+    void markChanged(ProductSku sku);
+}
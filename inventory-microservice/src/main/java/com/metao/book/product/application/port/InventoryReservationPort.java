@@ -0,0 +1,18 @@
+package com.metao.book.product.application.port;
+
+import com.metao.book.shared.domain.product.ProductSku;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public interface InventoryReservationPort {
+
+    /**
+     * Reduces the volume of every requested SKU, or of none of them when any SKU is unknown or short, in one
+     * statement. Returns one result per requested SKU.
+     */
+    List<LineResult> reserve(Map<ProductSku, BigDecimal> quantities);
+
+    record LineResult(ProductSku sku, BigDecimal requested, BigDecimal available, boolean reserved) {
+    }
+}
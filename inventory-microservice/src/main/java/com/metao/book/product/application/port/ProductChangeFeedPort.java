@@ -0,0 +1,27 @@
+package com.metao.book.product.application.port;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+public interface ProductChangeFeedPort {
+
+    /**
+     * Current state of every product whose change sequence is greater than {@code afterSequence}, in sequence
+     * order. Changes that a still running transaction could yet be ordered before are held back, so a write that
+     * commits late cannot be skipped by a client that already moved past it.
+     */
+    List<ProductChange> findChangesAfter(long afterSequence, int limit);
+
+    record ProductChange(
+        long sequence,
+        String sku,
+        String title,
+        String imageUrl,
+        BigDecimal price,
+        String currency,
+        BigDecimal volume,
+        Instant updatedTime
+    ) {
+    }
+}
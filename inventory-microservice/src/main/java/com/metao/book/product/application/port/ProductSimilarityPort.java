@@ -0,0 +1,22 @@
+package com.metao.book.product.application.port;
+
+import com.metao.book.product.application.similarity.MinHashSimilarityBuilder.Neighbour;
+import com.metao.book.shared.domain.product.ProductSku;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public interface ProductSimilarityPort {
+
+    /**
+     * Replaces the stored neighbours of the given SKUs, most similar first.
+     */
+    void replaceNeighbours(Map<String, List<Neighbour>> neighboursBySku, Instant computedAt);
+
+    /**
+     * Removes neighbours left over from builds before the given instant, such as those of deleted products.
+     */
+    int deleteComputedBefore(Instant computedAt);
+
+    List<ProductSku> findNeighbourSkus(ProductSku sku, int limit);
+}
@@ -0,0 +1,83 @@
+package com.metao.book.product.application.service;
+
+import com.metao.book.product.application.dto.ProductChangesDTO;
+import com.metao.book.product.application.port.ProductChangeFeedPort;
+import com.metao.book.product.application.port.ProductChangeFeedPort.ProductChange;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves the catalog change feed. Every write to a product takes the next value of a database sequence, so a client
+ * that remembers the last sequence it saw can fetch only what changed since. Each change carries the current compact
+ * state of the product rather than a field diff, which keeps replays after a lost token harmless.
+ * <p>
+ * Tokens are opaque to clients; an empty token starts from the beginning of the catalog.
+ */
+@Service
+public class ProductChangeFeedService {
+
+    private static final String TOKEN_PREFIX = "v1:";
+
+    private final ProductChangeFeedPort productChangeFeed;
+    private final int maxBatchSize;
+
+    public ProductChangeFeedService(
+        ProductChangeFeedPort productChangeFeed,
+        @Value("${product.changes.max-batch-size:1000}") int maxBatchSize
+    ) {
+        this.productChangeFeed = productChangeFeed;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public ProductChangesDTO getChanges(String since, int limit) {
+        long afterSequence = decodeToken(since);
+        int batchSize = Math.max(1, Math.min(limit, maxBatchSize));
+        List<ProductChange> changes = productChangeFeed.findChangesAfter(afterSequence, batchSize);
+        long lastSequence = changes.isEmpty() ? afterSequence : changes.getLast().sequence();
+        return new ProductChangesDTO(
+            changes.stream().map(ProductChangeFeedService::toDto).toList(),
+            encodeToken(lastSequence),
+            changes.size() == batchSize
+        );
+    }
+
+    static String encodeToken(long sequence) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((TOKEN_PREFIX + sequence).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static long decodeToken(String token) {
+        if (token == null || token.isBlank()) {
+            return 0L;
+        }
+        long sequence;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.US_ASCII);
+            sequence = decoded.startsWith(TOKEN_PREFIX) ? Long.parseLong(decoded.substring(TOKEN_PREFIX.length())) : -1;
+        } catch (IllegalArgumentException ex) {
+            // Malformed Base64 or a non-numeric sequence.
+            sequence = -1;
+        }
+        if (sequence < 0) {
+            throw new IllegalArgumentException("Invalid change token: " + token);
+        }
+        return sequence;
+    }
+
+    private static ProductChangesDTO.Change toDto(ProductChange change) {
+        return new ProductChangesDTO.Change(
+            change.sku(),
+            change.title(),
+            change.imageUrl(),
+            change.price(),
+            change.currency(),
+            change.volume(),
+            change.volume() != null && change.volume().compareTo(BigDecimal.ZERO) > 0,
+            change.updatedTime()
+        );
+    }
+}
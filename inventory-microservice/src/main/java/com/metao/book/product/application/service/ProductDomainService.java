@@ -2,8 +2,14 @@ package com.metao.book.product.application.service;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.metao.book.product.application.dto.CreateProductCommand;
 import com.metao.book.product.application.dto.UpdateProductCommand;
+import com.metao.book.product.application.handoff.CategoryPageEntry;
+import com.metao.book.product.application.port.CatalogSnapshotPort;
+import com.metao.book.product.application.port.InventoryReservationPort;
+import com.metao.book.product.application.port.InventoryReservationPort.LineResult;
+import com.metao.book.product.application.port.ProductSimilarityPort;
 import com.metao.book.product.domain.exception.CategoryNotFoundException;
 import com.metao.book.product.domain.exception.IdempotencyKeyConflictException;
 import com.metao.book.product.domain.exception.ProductNotFoundException;
@@ -14,6 +20,7 @@ import com.metao.book.product.domain.model.valueobject.ImageUrl;
 import com.metao.book.product.domain.model.valueobject.ProductDescription;
 import com.metao.book.shared.domain.product.ProductTitle;
 import com.metao.book.product.domain.repository.CategoryRepository;
+import com.metao.book.product.domain.repository.ProductProjection;
 import com.metao.book.product.domain.repository.ProductRepository;
 import com.metao.book.product.infrastructure.persistence.repository.ProductCreateIdempotencyRepository;
 import com.metao.book.shared.domain.base.DomainEvent;
@@ -26,8 +33,12 @@ import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import lombok.NonNull;
@@ -48,14 +59,37 @@ import org.springframework.validation.annotation.Validated;
 public class ProductDomainService {
 
     private static final int CATEGORY_PAGE_CACHE_MAXIMUM_SIZE = 1_024;
+    private static final Duration CATEGORY_PAGE_TTL = Duration.ofSeconds(15);
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ProductCreateIdempotencyRepository productCreateIdempotencyRepository;
     private final DomainEventPublisher eventPublisher;
+    private final CatalogSnapshotPort catalogSnapshot;
+    private final ProductSimilarityPort productSimilarity;
+    private final InventoryReservationPort inventoryReservation;
     private final Cache<CategoryPageKey, List<ProductAggregate>> categoryPageCache = Caffeine.newBuilder()
         .maximumSize(CATEGORY_PAGE_CACHE_MAXIMUM_SIZE)
-        .expireAfterWrite(Duration.ofSeconds(15))
+        .expireAfter(new Expiry<CategoryPageKey, List<ProductAggregate>>() {
+            @Override
+            public long expireAfterCreate(CategoryPageKey key, List<ProductAggregate> page, long currentTime) {
+                return CATEGORY_PAGE_TTL.toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(
+                CategoryPageKey key, List<ProductAggregate> page, long currentTime, long currentDuration
+            ) {
+                return CATEGORY_PAGE_TTL.toNanos();
+            }
+
+            @Override
+            public long expireAfterRead(
+                CategoryPageKey key, List<ProductAggregate> page, long currentTime, long currentDuration
+            ) {
+                return currentDuration;
+            }
+        })
         .build();
     /**
      * Create a new product
@@ -130,7 +164,7 @@ public class ProductDomainService {
         if (!inserted) {
             return CreateProductResult.ALREADY_EXISTS;
         }
-        invalidateReadCaches();
+        invalidateReadCaches(productSku);
         publishEvents(product);
         return CreateProductResult.CREATED;
     }
@@ -149,7 +183,7 @@ public class ProductDomainService {
         product.updatePrice(newPrice);
 
         productRepository.save(product);
-        invalidateReadCaches();
+        invalidateReadCaches(productSku);
 
         log.info("Product updated successfully with ID: {}", product.getId());
         publishEvents(product);
@@ -162,8 +196,10 @@ public class ProductDomainService {
     @Transactional(readOnly = true)
     public ProductAggregate getProductBySku(@NotNull String sku) {
         log.debug("Getting product by SKU: {}", sku);
-        return productRepository.findBySku(ProductSku.of(sku))
-            .orElseThrow(() -> new ProductNotFoundException(ProductSku.of(sku)));
+        var productSku = ProductSku.of(sku);
+        return catalogSnapshot.findBySku(productSku)
+            .or(() -> productRepository.findBySku(productSku))
+            .orElseThrow(() -> new ProductNotFoundException(productSku));
     }
 
     /**
@@ -181,7 +217,20 @@ public class ProductDomainService {
         if (productSkus.isEmpty()) {
             return List.of();
         }
-        return productRepository.findBySkus(productSkus);
+        List<ProductAggregate> products = new ArrayList<>(productSkus.size());
+        List<ProductSku> missing = new ArrayList<>();
+        for (ProductSku productSku : productSkus) {
+            catalogSnapshot.findBySku(productSku)
+                .ifPresentOrElse(products::add, () -> missing.add(productSku));
+        }
+        if (missing.isEmpty()) {
+            return products;
+        }
+        if (products.isEmpty()) {
+            return productRepository.findBySkus(missing);
+        }
+        products.addAll(productRepository.findBySkus(missing));
+        return products;
     }
 
     /**
@@ -199,6 +248,18 @@ public class ProductDomainService {
             .toList();
     }
 
+    /**
+     * Search products by keyword, loading only the parts selected by the projection
+     */
+    @Transactional(readOnly = true)
+    public List<ProductAggregate> searchProducts(String keyword, int offset, int limit, ProductProjection projection) {
+        if (keyword == null) {
+            return List.of();
+        }
+        log.debug("Searching products with keyword: {} ({})", keyword, projection);
+        return productRepository.searchByKeyword(keyword, offset, limit, projection);
+    }
+
     /**
      * Get products by category
      */
@@ -209,11 +270,70 @@ public class ProductDomainService {
         }
         log.debug("Getting products by category: {}", categoryName);
 
-        CategoryPageKey cacheKey = new CategoryPageKey(categoryName.value(), offset, limit);
+        CategoryPageKey cacheKey = new CategoryPageKey(categoryName.value(), offset, limit, ProductProjection.FULL);
         return categoryPageCache.get(cacheKey, ignored ->
             List.copyOf(productRepository.findByCategory(categoryName, offset, limit)));
     }
 
+    /**
+     * Get products by category, loading only the parts selected by the projection. Each projection is cached
+     * separately.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductAggregate> getProductsByCategory(
+        CategoryName categoryName, int offset, int limit, ProductProjection projection
+    ) {
+        if (categoryName == null) {
+            return List.of();
+        }
+        log.debug("Getting products by category: {} ({})", categoryName, projection);
+
+        CategoryPageKey cacheKey = new CategoryPageKey(categoryName.value(), offset, limit, projection);
+        return categoryPageCache.get(cacheKey, ignored ->
+            List.copyOf(productRepository.findByCategory(categoryName, offset, limit, projection)));
+    }
+
+    /**
+     * The most frequently used cached category pages, hottest first, with the time each has left in the cache, for
+     * handing over to a starting peer.
+     */
+    public List<CategoryPageEntry> exportHotCategoryPages(int limit) {
+        Map<CategoryPageKey, List<ProductAggregate>> hottest = categoryPageCache.policy().eviction()
+            .map(eviction -> eviction.hottest(limit))
+            .orElseGet(categoryPageCache::asMap);
+        var expiry = categoryPageCache.policy().expireVariably().orElseThrow();
+        return hottest.entrySet().stream()
+            .limit(limit)
+            .map(entry -> new CategoryPageEntry(
+                entry.getKey().categoryName(),
+                entry.getKey().offset(),
+                entry.getKey().limit(),
+                entry.getKey().projection(),
+                expiry.getExpiresAfter(entry.getKey()).orElse(Duration.ZERO),
+                entry.getValue()
+            ))
+            .filter(entry -> entry.remainingTtl().isPositive())
+            .toList();
+    }
+
+    /**
+     * Seeds the category page cache with pages received from a peer. Callers validate the pages first. A page expires
+     * when it would have expired on the peer, so a handoff never extends how long a page may be served.
+     */
+    public void importCategoryPages(List<CategoryPageEntry> entries) {
+        var expiry = categoryPageCache.policy().expireVariably().orElseThrow();
+        for (CategoryPageEntry entry : entries) {
+            Duration ttl = entry.remainingTtl().compareTo(CATEGORY_PAGE_TTL) < 0
+                ? entry.remainingTtl()
+                : CATEGORY_PAGE_TTL;
+            if (!ttl.isPositive()) {
+                continue;
+            }
+            var key = new CategoryPageKey(entry.categoryName(), entry.offset(), entry.limit(), entry.projection());
+            expiry.putIfAbsent(key, List.copyOf(entry.products()), ttl);
+        }
+    }
+
     /**
      * Get related products using domain service
      */
@@ -228,6 +348,64 @@ public class ProductDomainService {
         return relatedProducts.stream().toList();
     }
 
+    /**
+     * Get related products by shared categories, loading only the parts selected by the projection
+     */
+    @Transactional(readOnly = true)
+    public List<ProductAggregate> getRelatedProducts(ProductSku sku, int limit, ProductProjection projection) {
+        if (sku == null) {
+            return List.of();
+        }
+        log.debug("Getting related products for SKU: {} ({})", sku, projection);
+
+        List<CategoryName> categoryNames = categoryNamesOf(sku);
+        if (categoryNames.isEmpty()) {
+            return List.of();
+        }
+        return productRepository.findByCategories(categoryNames, 0, limit, projection)
+            .stream()
+            .filter(p -> !p.getId().equals(sku))
+            .toList();
+    }
+
+    /**
+     * Get products with similar titles and descriptions from the precomputed neighbours, most similar first. Falls
+     * back to shared categories while no neighbours have been computed for the product.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductAggregate> getSimilarProducts(ProductSku sku, int limit) {
+        if (sku == null) {
+            return List.of();
+        }
+        List<ProductSku> neighbours = productSimilarity.findNeighbourSkus(sku, limit);
+        if (neighbours.isEmpty()) {
+            return getRelatedProducts(sku, limit);
+        }
+        Map<ProductSku, Integer> ranks = new HashMap<>();
+        for (int rank = 0; rank < neighbours.size(); rank++) {
+            ranks.put(neighbours.get(rank), rank);
+        }
+        return getProductsBySkus(neighbours.stream().map(ProductSku::value).toList()).stream()
+            .sorted(Comparator.comparing(product -> ranks.get(product.getId())))
+            .toList();
+    }
+
+    /**
+     * Get products with similar titles and descriptions, most similar first, loading only the parts selected by the
+     * projection
+     */
+    @Transactional(readOnly = true)
+    public List<ProductAggregate> getSimilarProducts(ProductSku sku, int limit, ProductProjection projection) {
+        if (sku == null) {
+            return List.of();
+        }
+        List<ProductSku> neighbours = productSimilarity.findNeighbourSkus(sku, limit);
+        if (neighbours.isEmpty()) {
+            return getRelatedProducts(sku, limit, projection);
+        }
+        return productRepository.findBySkus(neighbours, projection);
+    }
+
     /**
      * Assign product to category using domain service
      */
@@ -250,7 +428,7 @@ public class ProductDomainService {
 
         product.addCategory(category);
         productRepository.save(product);
-        invalidateReadCaches();
+        invalidateReadCaches(productSku);
         publishEvents(product);
         log.info("Product {} assigned to category {} successfully", productSku, categoryName);
     }
@@ -269,7 +447,7 @@ public class ProductDomainService {
 
         product.reduceVolume(quantity);
         productRepository.save(product);
-        invalidateReadCaches();
+        invalidateReadCaches(sku);
         publishEvents(product);
         log.info("Product volume reduced successfully for {}", sku);
     }
@@ -294,11 +472,23 @@ public class ProductDomainService {
             log.debug("Skipping atomic volume reduction for {} due to insufficient volume", sku);
             return false;
         }
-        invalidateReadCaches();
+        invalidateReadCaches(productSku);
         log.debug("Product volume reduced atomically for {}", sku);
         return true;
     }
 
+    /**
+     * Reserve the volumes of a whole order in one statement; either every line is reduced or none is.
+     */
+    public List<LineResult> reserveVolumes(Map<ProductSku, BigDecimal> quantities) {
+        quantities.values().forEach(Quantity::of);
+        List<LineResult> results = inventoryReservation.reserve(quantities);
+        results.stream()
+            .filter(LineResult::reserved)
+            .forEach(result -> invalidateReadCaches(result.sku()));
+        return results;
+    }
+
     /**
      * Increase product volume (for restocking)
      */
@@ -313,7 +503,7 @@ public class ProductDomainService {
 
         product.increaseVolume(quantity);
         productRepository.save(product);
-        invalidateReadCaches();
+        invalidateReadCaches(sku);
 
         log.info("Product volume increased successfully for {}", sku);
     }
@@ -328,8 +518,9 @@ public class ProductDomainService {
         //product.clearDomainEvents();
     }
 
-    private void invalidateReadCaches() {
+    private void invalidateReadCaches(ProductSku sku) {
         categoryPageCache.invalidateAll();
+        catalogSnapshot.markChanged(sku);
     }
 
     private String normalizeIdempotencyKey(String idempotencyKey) {
@@ -366,18 +557,11 @@ public class ProductDomainService {
      * Find related products by shared categories
      */
     public List<ProductAggregate> findRelatedProducts(@NonNull ProductSku productSku, int limit) {
-        ProductAggregate product = productRepository.findBySku(productSku)
-            .orElseThrow(() -> new ProductNotFoundException(productSku));
-
-        if (product.getCategories().isEmpty()) {
+        List<CategoryName> categoryNames = categoryNamesOf(productSku);
+        if (categoryNames.isEmpty()) {
             return List.of();
         }
 
-        // Get category names from the product
-        List<CategoryName> categoryNames = product.getCategories().stream()
-            .map(ProductCategory::getName)
-            .toList();
-
         // Find products in same categories, excluding the original product
         return productRepository.findByCategories(categoryNames, 0, limit)
             .stream()
@@ -385,10 +569,20 @@ public class ProductDomainService {
             .toList();
     }
 
+    private List<CategoryName> categoryNamesOf(ProductSku productSku) {
+        ProductAggregate product = productRepository.findBySku(productSku)
+            .orElseThrow(() -> new ProductNotFoundException(productSku));
+
+        return product.getCategories().stream()
+            .map(ProductCategory::getName)
+            .toList();
+    }
+
     private record CategoryPageKey(
         String categoryName,
         int offset,
-        int limit
+        int limit,
+        ProductProjection projection
     ) {
     }
 }
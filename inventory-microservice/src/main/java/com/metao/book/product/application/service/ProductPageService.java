@@ -0,0 +1,161 @@
+package com.metao.book.product.application.service;
+
+import com.metao.book.product.application.config.ProductPageProperties;
+import com.metao.book.product.application.dto.ProductDTO;
+import com.metao.book.product.application.dto.ProductPageDTO;
+import com.metao.book.product.application.mapper.ProductApplicationMapper;
+import com.metao.book.product.domain.category.dto.CategoryDTO;
+import com.metao.book.product.domain.exception.ProductPageUnavailableException;
+import com.metao.book.shared.domain.product.ProductSku;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Builds the composite product page by fetching the product, its related products and the category list in
+ * parallel on virtual threads.
+ * <p>
+ * Every branch gets its own deadline. The product branch is mandatory; the other branches degrade to an empty list
+ * when they fail or time out. Once the page is assembled no branch is left running. Branches that end because they
+ * were cancelled, after a timeout or a failed product branch, are timed as {@code cancelled} rather than
+ * {@code error}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductPageService {
+
+    private static final String BRANCH_TIMER = "inventory.product-page.branch";
+
+    private final ProductDomainService productDomainService;
+    private final ProductApplicationMapper productMapper;
+    private final ProductPageProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ProductPageDTO getProductPage(String sku, int relatedLimit, int categoryLimit) {
+        var product = fork("product", properties.productTimeout(), () ->
+            productMapper.toDTO(productDomainService.getProductBySku(sku)));
+        var related = fork("related", properties.relatedTimeout(), () ->
+            productDomainService.getRelatedProducts(ProductSku.of(sku), relatedLimit).stream()
+                .map(productMapper::toDTO)
+                .toList());
+        var categories = fork("categories", properties.categoriesTimeout(), () ->
+            productDomainService.getCategories(0, categoryLimit).stream()
+                .map(category -> new CategoryDTO(category.getName().value()))
+                .toList());
+
+        ProductDTO productDto;
+        try {
+            productDto = product.join();
+        } catch (RuntimeException ex) {
+            related.cancel();
+            categories.cancel();
+            throw ex;
+        } catch (TimeoutException ex) {
+            related.cancel();
+            categories.cancel();
+            throw new ProductPageUnavailableException(sku, ex);
+        }
+
+        List<String> degraded = new ArrayList<>(2);
+        List<ProductDTO> relatedDtos = related.joinOrDefault(List.of(), degraded);
+        List<CategoryDTO> categoryDtos = categories.joinOrDefault(List.of(), degraded);
+        return new ProductPageDTO(productDto, relatedDtos, categoryDtos, List.copyOf(degraded));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> Branch<T> fork(String name, Duration timeout, Callable<T> task) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        var cancelled = new AtomicBoolean();
+        Future<T> future = executor.submit(() -> {
+            long startedAt = System.nanoTime();
+            try {
+                T result = task.call();
+                timer(name, "success").record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (Exception ex) {
+                String outcome = cancelled.get() ? "cancelled" : "error";
+                timer(name, outcome).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                throw ex;
+            }
+        });
+        return new Branch<>(name, timeout, deadline, future, cancelled);
+    }
+
+    private Timer timer(String branch, String outcome) {
+        return Timer.builder(BRANCH_TIMER)
+            .tag("branch", branch)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private final class Branch<T> {
+
+        private final String name;
+        private final Duration timeout;
+        private final long deadline;
+        private final Future<T> future;
+        private final AtomicBoolean cancelled;
+
+        private Branch(String name, Duration timeout, long deadline, Future<T> future, AtomicBoolean cancelled) {
+            this.name = name;
+            this.timeout = timeout;
+            this.deadline = deadline;
+            this.future = future;
+            this.cancelled = cancelled;
+        }
+
+        private T join() throws TimeoutException {
+            try {
+                return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                cancel();
+                timer(name, "timeout").record(timeout);
+                throw ex;
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(ex.getCause());
+            } catch (InterruptedException ex) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading product page branch " + name, ex);
+            }
+        }
+
+        private T joinOrDefault(T fallback, List<String> degraded) {
+            try {
+                return join();
+            } catch (TimeoutException | RuntimeException ex) {
+                log.warn("Product page branch {} degraded: {}", name, ex.toString());
+                degraded.add(name);
+                return fallback;
+            }
+        }
+
+        private void cancel() {
+            cancelled.set(true);
+            future.cancel(true);
+        }
+    }
+}
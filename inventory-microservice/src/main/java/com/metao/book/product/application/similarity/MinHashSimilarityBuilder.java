@@ -0,0 +1,308 @@
+package com.metao.book.product.application.similarity;
+
+import com.metao.book.product.application.autocomplete.TitlePrefixIndex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Builds the top-N most similar products of every product with MinHash and locality-sensitive hashing.
+ * <p>
+ * Each product becomes a set of features: the words and word pairs of its title and the first words of its
+ * description. A MinHash signature of {@code bands * rowsPerBand} values estimates the Jaccard similarity of two
+ * feature sets as the fraction of equal positions. Instead of comparing all pairs, signatures are cut into bands and
+ * only products that agree on every row of at least one band are compared. With the defaults (16 bands of 4 rows)
+ * pairs above roughly 0.5 similarity are very likely to be found.
+ * <p>
+ * Every phase runs on the given fork/join pool and keeps its state in flat primitive arrays, so memory stays close
+ * to {@code products * (signatureLength * 4 + bands * 12 + neighbours * 8)} bytes. Documents are added page by page
+ * and only their signatures are retained. Instances are not thread-safe and are meant to be used once.
+ */
+public final class MinHashSimilarityBuilder {
+
+    private static final int DESCRIPTION_TOKEN_LIMIT = 64;
+    private static final int SEQUENTIAL_THRESHOLD = 256;
+    private static final long SEED = 0x5EED5EED5EEDL;
+
+    private final int bands;
+    private final int rowsPerBand;
+    private final int signatureLength;
+    private final int neighbours;
+    private final int maxBucketScan;
+    private final double minSimilarity;
+    private final ForkJoinPool pool;
+    private final long[] multipliers;
+    private final long[] increments;
+    private final List<String> skus = new ArrayList<>();
+    private int[] signatures = new int[0];
+
+    public MinHashSimilarityBuilder(
+        int bands,
+        int rowsPerBand,
+        int neighbours,
+        int maxBucketScan,
+        double minSimilarity,
+        ForkJoinPool pool
+    ) {
+        if (bands < 1 || rowsPerBand < 1 || neighbours < 1 || maxBucketScan < 1) {
+            throw new IllegalArgumentException("bands, rowsPerBand, neighbours and maxBucketScan must be positive");
+        }
+        this.bands = bands;
+        this.rowsPerBand = rowsPerBand;
+        this.signatureLength = bands * rowsPerBand;
+        this.neighbours = neighbours;
+        this.maxBucketScan = maxBucketScan;
+        this.minSimilarity = minSimilarity;
+        this.pool = pool;
+        this.multipliers = new long[signatureLength];
+        this.increments = new long[signatureLength];
+        var random = new SplittableRandom(SEED);
+        for (int i = 0; i < signatureLength; i++) {
+            multipliers[i] = random.nextLong() | 1L;
+            increments[i] = random.nextLong();
+        }
+    }
+
+    public record Document(String sku, String title, String description) {
+    }
+
+    public record Neighbour(String sku, double similarity) {
+    }
+
+    /**
+     * Computes and keeps the signatures of a page of documents.
+     */
+    public void add(List<Document> documents) {
+        int offset = skus.size();
+        int required = (offset + documents.size()) * signatureLength;
+        if (required > signatures.length) {
+            signatures = Arrays.copyOf(signatures, Math.max(required, signatures.length + (signatures.length >> 1)));
+        }
+        documents.forEach(document -> skus.add(document.sku()));
+        forEachIndex(documents.size(), i -> sign(documents.get(i), offset + i));
+    }
+
+    public int size() {
+        return skus.size();
+    }
+
+    /**
+     * Finds the neighbours of every added document.
+     */
+    public SimilarityGraph build() {
+        int count = skus.size();
+        int indexBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(1, count - 1)));
+        long[][] buckets = new long[bands][];
+        int[][] positions = new int[bands][];
+        forEachIndex(bands, band -> {
+            long[] keys = new long[count];
+            for (int document = 0; document < count; document++) {
+                keys[document] = (bandHash(document, band) << indexBits) | document;
+            }
+            Arrays.sort(keys);
+            int[] position = new int[count];
+            long indexMask = (1L << indexBits) - 1;
+            for (int i = 0; i < count; i++) {
+                position[(int) (keys[i] & indexMask)] = i;
+            }
+            buckets[band] = keys;
+            positions[band] = position;
+        });
+
+        int[] neighbourIds = new int[count * neighbours];
+        float[] scores = new float[count * neighbours];
+        Arrays.fill(neighbourIds, -1);
+        forEachIndex(count, document ->
+            collectNeighbours(document, indexBits, buckets, positions, neighbourIds, scores));
+        return new SimilarityGraph(List.copyOf(skus), neighbours, neighbourIds, scores);
+    }
+
+    private void sign(Document document, int index) {
+        int base = index * signatureLength;
+        Arrays.fill(signatures, base, base + signatureLength, Integer.MAX_VALUE);
+        for (long feature : features(document)) {
+            long mixed = mix(feature);
+            for (int i = 0; i < signatureLength; i++) {
+                int hash = (int) ((mixed * multipliers[i] + increments[i]) >>> 33);
+                if (hash < signatures[base + i]) {
+                    signatures[base + i] = hash;
+                }
+            }
+        }
+    }
+
+    private static long[] features(Document document) {
+        String[] title = tokens(document.title(), Integer.MAX_VALUE);
+        String[] description = tokens(document.description(), DESCRIPTION_TOKEN_LIMIT);
+        long[] features = new long[title.length * 2 + description.length];
+        int count = 0;
+        for (int i = 0; i < title.length; i++) {
+            features[count++] = title[i].hashCode();
+            if (i + 1 < title.length) {
+                features[count++] = ((long) title[i].hashCode() << 32) ^ title[i + 1].hashCode();
+            }
+        }
+        for (String token : description) {
+            features[count++] = token.hashCode();
+        }
+        return Arrays.copyOf(features, count);
+    }
+
+    private static String[] tokens(String text, int limit) {
+        String normalized = TitlePrefixIndex.normalize(text);
+        if (normalized.isEmpty()) {
+            return new String[0];
+        }
+        String[] tokens = normalized.split(" ");
+        return tokens.length > limit ? Arrays.copyOf(tokens, limit) : tokens;
+    }
+
+    private long bandHash(int document, int band) {
+        int base = document * signatureLength + band * rowsPerBand;
+        long hash = band;
+        for (int row = 0; row < rowsPerBand; row++) {
+            hash = hash * 0x100000001B3L + signatures[base + row];
+        }
+        return mix(hash);
+    }
+
+    private void collectNeighbours(
+        int document,
+        int indexBits,
+        long[][] buckets,
+        int[][] positions,
+        int[] neighbourIds,
+        float[] scores
+    ) {
+        int[] candidates = new int[bands * maxBucketScan * 2];
+        int count = 0;
+        for (int band = 0; band < bands; band++) {
+            long[] keys = buckets[band];
+            int position = positions[band][document];
+            long bucket = keys[position] >>> indexBits;
+            for (int i = position - 1, scanned = 0; i >= 0 && scanned < maxBucketScan; i--, scanned++) {
+                if (keys[i] >>> indexBits != bucket) {
+                    break;
+                }
+                candidates[count++] = (int) (keys[i] & ((1L << indexBits) - 1));
+            }
+            for (int i = position + 1, scanned = 0; i < keys.length && scanned < maxBucketScan; i++, scanned++) {
+                if (keys[i] >>> indexBits != bucket) {
+                    break;
+                }
+                candidates[count++] = (int) (keys[i] & ((1L << indexBits) - 1));
+            }
+        }
+        Arrays.sort(candidates, 0, count);
+        int base = document * neighbours;
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int candidate = candidates[i];
+            if (i > 0 && candidate == candidates[i - 1]) {
+                continue;
+            }
+            float similarity = similarity(document, candidate);
+            if (similarity < minSimilarity || (kept == neighbours && similarity <= scores[base + kept - 1])) {
+                continue;
+            }
+            int slot = Math.min(kept, neighbours - 1);
+            while (slot > 0 && scores[base + slot - 1] < similarity) {
+                scores[base + slot] = scores[base + slot - 1];
+                neighbourIds[base + slot] = neighbourIds[base + slot - 1];
+                slot--;
+            }
+            scores[base + slot] = similarity;
+            neighbourIds[base + slot] = candidate;
+            kept = Math.min(kept + 1, neighbours);
+        }
+    }
+
+    private float similarity(int left, int right) {
+        int leftBase = left * signatureLength;
+        int rightBase = right * signatureLength;
+        int equal = 0;
+        for (int i = 0; i < signatureLength; i++) {
+            if (signatures[leftBase + i] == signatures[rightBase + i]) {
+                equal++;
+            }
+        }
+        return (float) equal / signatureLength;
+    }
+
+    private void forEachIndex(int count, IntConsumer body) {
+        pool.invoke(new RangeAction(0, count, body));
+    }
+
+    private static long mix(long value) {
+        // MurmurHash3 fmix64 finalizer.
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static final class RangeAction extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        private RangeAction(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    body.accept(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeAction(from, middle, body), new RangeAction(middle, to, body));
+        }
+    }
+
+    /**
+     * Neighbours of every document, most similar first, in flat arrays indexed by document.
+     */
+    public static final class SimilarityGraph {
+
+        private final List<String> skus;
+        private final int width;
+        private final int[] neighbourIds;
+        private final float[] scores;
+
+        private SimilarityGraph(List<String> skus, int width, int[] neighbourIds, float[] scores) {
+            this.skus = skus;
+            this.width = width;
+            this.neighbourIds = neighbourIds;
+            this.scores = scores;
+        }
+
+        public int size() {
+            return skus.size();
+        }
+
+        public String sku(int document) {
+            return skus.get(document);
+        }
+
+        public List<Neighbour> neighbours(int document) {
+            List<Neighbour> result = new ArrayList<>(width);
+            for (int i = document * width; i < (document + 1) * width && neighbourIds[i] >= 0; i++) {
+                result.add(new Neighbour(skus.get(neighbourIds[i]), scores[i]));
+            }
+            return result;
+        }
+    }
+}
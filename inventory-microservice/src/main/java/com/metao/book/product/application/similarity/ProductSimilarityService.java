@@ -0,0 +1,153 @@
+package com.metao.book.product.application.similarity;
+
+import com.metao.book.product.application.port.ProductSimilarityPort;
+import com.metao.book.product.application.similarity.MinHashSimilarityBuilder.Document;
+import com.metao.book.product.application.similarity.MinHashSimilarityBuilder.Neighbour;
+import com.metao.book.product.domain.model.aggregate.ProductAggregate;
+import com.metao.book.product.domain.repository.ProductRepository;
+import com.metao.book.shared.domain.product.ProductSku;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Periodically rebuilds the content-based neighbours of every product and stores them for the related-products
+ * endpoint.
+ * <p>
+ * The catalog is read in SKU order page by page and only MinHash signatures are kept in memory. The build runs on a
+ * dedicated fork/join pool so it does not compete with the common pool used by request handling. Each phase is
+ * logged and recorded under the {@code inventory.similarity.build} timer.
+ */
+@Slf4j
+@Service
+public class ProductSimilarityService {
+
+    private static final String BUILD_TIMER = "inventory.similarity.build";
+
+    private final ProductRepository productRepository;
+    private final ProductSimilarityPort productSimilarity;
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${product.similarity.enabled:true}")
+    private boolean enabled;
+
+    @Value("${product.similarity.parallelism:0}")
+    private int parallelism;
+
+    @Value("${product.similarity.page-size:1000}")
+    private int pageSize;
+
+    @Value("${product.similarity.write-batch-size:500}")
+    private int writeBatchSize;
+
+    @Value("${product.similarity.bands:16}")
+    private int bands;
+
+    @Value("${product.similarity.rows-per-band:4}")
+    private int rowsPerBand;
+
+    @Value("${product.similarity.neighbours:10}")
+    private int neighbours;
+
+    @Value("${product.similarity.max-bucket-scan:50}")
+    private int maxBucketScan;
+
+    @Value("${product.similarity.min-similarity:0.2}")
+    private double minSimilarity;
+
+    public ProductSimilarityService(
+        ProductRepository productRepository,
+        ProductSimilarityPort productSimilarity,
+        MeterRegistry meterRegistry
+    ) {
+        this.productRepository = productRepository;
+        this.productSimilarity = productSimilarity;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(
+        initialDelayString = "${product.similarity.initial-delay:1m}",
+        fixedDelayString = "${product.similarity.rebuild-interval:6h}"
+    )
+    public void rebuild() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        var pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        try {
+            rebuild(pool);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to rebuild product similarity", ex);
+        } finally {
+            pool.shutdown();
+            running.set(false);
+        }
+    }
+
+    private void rebuild(ForkJoinPool pool) {
+        var computedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        long startedAt = System.nanoTime();
+        var builder = new MinHashSimilarityBuilder(bands, rowsPerBand, neighbours, maxBucketScan, minSimilarity, pool);
+        ProductSku after = null;
+        List<ProductAggregate> page;
+        do {
+            page = productRepository.findPageOrderedBySku(after, pageSize);
+            builder.add(page.stream().map(ProductSimilarityService::toDocument).toList());
+            if (!page.isEmpty()) {
+                after = page.getLast().getId();
+            }
+        } while (page.size() == pageSize);
+        long signedAt = recordPhase("sign", startedAt);
+
+        var graph = builder.build();
+        long builtAt = recordPhase("lsh", signedAt);
+
+        Map<String, List<Neighbour>> batch = new LinkedHashMap<>();
+        for (int document = 0; document < graph.size(); document++) {
+            batch.put(graph.sku(document), graph.neighbours(document));
+            if (batch.size() == writeBatchSize) {
+                productSimilarity.replaceNeighbours(batch, computedAt);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            productSimilarity.replaceNeighbours(batch, computedAt);
+        }
+        int stale = productSimilarity.deleteComputedBefore(computedAt);
+        long storedAt = recordPhase("store", builtAt);
+
+        log.info("Rebuilt product similarity: products={}, parallelism={}, signMs={}, lshMs={}, storeMs={}, "
+                + "staleRows={}, elapsedMs={}",
+            graph.size(), pool.getParallelism(), millis(signedAt - startedAt), millis(builtAt - signedAt),
+            millis(storedAt - builtAt), stale, millis(storedAt - startedAt));
+    }
+
+    private long recordPhase(String phase, long phaseStartedAt) {
+        long now = System.nanoTime();
+        Timer.builder(BUILD_TIMER)
+            .tag("phase", phase)
+            .register(meterRegistry)
+            .record(now - phaseStartedAt, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    private static Document toDocument(ProductAggregate product) {
+        return new Document(product.getId().value(), product.getTitle().value(), product.getDescription().value());
+    }
+}
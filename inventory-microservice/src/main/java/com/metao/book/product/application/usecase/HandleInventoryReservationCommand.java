@@ -0,0 +1,13 @@
+package com.metao.book.product.application.usecase;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record HandleInventoryReservationCommand(
+    String orderId,
+    List<Line> lines
+) {
+
+    public record Line(String sku, BigDecimal quantity) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.metao.book.product.application.usecase;
+
+import com.metao.book.product.application.popularity.PopularityTracker;
+import com.metao.book.product.application.port.InventoryReservationPort.LineResult;
+import com.metao.book.product.application.port.ProcessedInventoryEventPort;
+import com.metao.book.product.application.service.ProductDomainService;
+import com.metao.book.product.domain.model.event.DomainInventoryReservationProcessedEvent;
+import com.metao.book.product.domain.model.event.DomainInventoryReservationProcessedEvent.Shortfall;
+import com.metao.book.shared.domain.base.DomainEventPublisher;
+import com.metao.book.shared.domain.product.ProductSku;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Applies the reservation of a whole order: every line is reduced in one statement or, when any line is short, none
+ * is. The outcome is published back to the order service with the lines that could not be served.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HandleInventoryReservationUseCase {
+
+    private static final String IDEMPOTENCY_KEY_PREFIX = "reservation:";
+
+    private final ProductDomainService productService;
+    private final ProcessedInventoryEventPort processedInventoryEventPort;
+    private final PopularityTracker popularityTracker;
+    private final DomainEventPublisher eventPublisher;
+
+    @Transactional
+    public void handle(HandleInventoryReservationCommand command) {
+        if (command.orderId() == null || command.orderId().isBlank()) {
+            log.warn("Skipping inventory reservation without order id ({} lines)", command.lines().size());
+            return;
+        }
+
+        boolean firstProcessing = processedInventoryEventPort.markProcessed(IDEMPOTENCY_KEY_PREFIX + command.orderId());
+        if (!firstProcessing) {
+            log.info("Inventory reservation for order {} already processed, skipping.", command.orderId());
+            return;
+        }
+
+        Map<ProductSku, BigDecimal> quantities = new LinkedHashMap<>();
+        command.lines().forEach(line -> quantities.merge(ProductSku.of(line.sku()), line.quantity(), BigDecimal::add));
+
+        List<LineResult> results = productService.reserveVolumes(quantities);
+        List<Shortfall> shortfalls = results.stream()
+            .filter(result -> result.available().compareTo(result.requested()) < 0)
+            .map(result -> new Shortfall(result.sku(), result.requested(), result.available()))
+            .toList();
+        boolean reserved = !results.isEmpty() && results.stream().allMatch(LineResult::reserved);
+
+        if (reserved) {
+            afterCommit(() -> quantities.forEach(
+                (sku, quantity) -> popularityTracker.recordSale(sku.value(), quantity.longValue())));
+            log.info("Inventory reserved for order {} ({} skus).", command.orderId(), quantities.size());
+        } else {
+            log.debug("Inventory reservation for order {} rejected, shortfalls: {}", command.orderId(), shortfalls);
+        }
+        eventPublisher.publish(
+            new DomainInventoryReservationProcessedEvent(command.orderId(), reserved, shortfalls, Instant.now()));
+    }
+
+    /**
+     * Sales count once the reservation is committed, so a rolled back and redelivered order is not counted twice.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+}
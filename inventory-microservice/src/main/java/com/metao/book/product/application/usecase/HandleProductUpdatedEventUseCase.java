@@ -1,11 +1,14 @@
 package com.metao.book.product.application.usecase;
 
+import com.metao.book.product.application.popularity.PopularityTracker;
 import com.metao.book.product.application.port.ProcessedInventoryEventPort;
 import com.metao.book.product.application.service.ProductDomainService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Slf4j
 @Service
@@ -16,6 +19,7 @@ public class HandleProductUpdatedEventUseCase {
 
     private final ProductDomainService productService;
     private final ProcessedInventoryEventPort processedInventoryEventPort;
+    private final PopularityTracker popularityTracker;
 
     @Transactional
     public void handle(HandleProductUpdatedEventCommand command) {
@@ -44,8 +48,25 @@ public class HandleProductUpdatedEventUseCase {
             );
             return;
         }
+        afterCommit(() -> popularityTracker.recordSale(command.sku(), command.volume().longValue()));
 
         log.info("Inventory reduced for sku {} by {} (event {}).",
             command.sku(), command.volume(), command.eventId());
     }
+
+    /**
+     * Sales count once the reduction is committed, so a rolled back and redelivered event is not counted twice.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
 }
@@ -0,0 +1,12 @@
+package com.metao.book.product.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ProductPageUnavailableException extends RuntimeException {
+
+    public ProductPageUnavailableException(String sku, Throwable cause) {
+        super(String.format("Product page for %s could not be loaded in time", sku), cause);
+    }
+}
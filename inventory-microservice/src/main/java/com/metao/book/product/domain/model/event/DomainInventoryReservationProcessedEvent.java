@@ -0,0 +1,45 @@
+package com.metao.book.product.domain.model.event;
+
+import com.metao.book.shared.domain.base.DomainEvent;
+import com.metao.book.shared.domain.product.ProductSku;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Domain event raised once an order-level reservation was applied or rejected, listing the lines that could not be
+ * served when it was rejected.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class DomainInventoryReservationProcessedEvent extends DomainEvent {
+
+    private final String orderId;
+    private final boolean reserved;
+    private final List<Shortfall> shortfalls;
+
+    public DomainInventoryReservationProcessedEvent(
+        @NonNull String orderId,
+        boolean reserved,
+        @NonNull List<Shortfall> shortfalls,
+        @NonNull Instant occurredOn
+    ) {
+        super(occurredOn);
+        this.orderId = orderId;
+        this.reserved = reserved;
+        this.shortfalls = List.copyOf(shortfalls);
+    }
+
+    @NotNull
+    @Override
+    public String getEventType() {
+        return "InventoryReservationProcessed";
+    }
+
+    public record Shortfall(ProductSku sku, BigDecimal requested, BigDecimal available) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.metao.book.product.domain.repository;
+
+/**
+ * Which of the heavy parts of a product a read should load. Products read without their description carry an empty
+ * one, products read without categories carry none.
+ */
+public record ProductProjection(boolean description, boolean categories) {
+
+    public static final ProductProjection FULL = new ProductProjection(true, true);
+}
@@ -4,7 +4,9 @@ import com.metao.book.product.domain.model.aggregate.ProductAggregate;
 import com.metao.book.product.domain.model.valueobject.CategoryName;
 import com.metao.book.shared.domain.product.ProductSku;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -34,21 +36,48 @@ public interface ProductRepository {
      */
     List<ProductAggregate> findBySkus(List<ProductSku> productSkus);
 
+    /**
+     * Find products by SKUs in the given order, loading only the parts selected by the projection
+     */
+    List<ProductAggregate> findBySkus(List<ProductSku> productSkus, ProductProjection projection);
+
     /**
      * Find products by category
      */
     List<ProductAggregate> findByCategory(CategoryName categoryName, int offset, int limit);
 
+    /**
+     * Find products by category, loading only the parts selected by the projection
+     */
+    List<ProductAggregate> findByCategory(
+        CategoryName categoryName, int offset, int limit, ProductProjection projection);
+
+    /**
+     * Find the SKUs of a category page, in the order {@link #findByCategory} returns the products
+     */
+    List<ProductSku> findSkusByCategory(CategoryName categoryName, int offset, int limit);
+
     /**
      * Find products by multiple categories
      */
     List<ProductAggregate> findByCategories(List<CategoryName> categoryNames, int offset, int limit);
 
+    /**
+     * Find products by multiple categories, loading only the parts selected by the projection
+     */
+    List<ProductAggregate> findByCategories(
+        List<CategoryName> categoryNames, int offset, int limit, ProductProjection projection);
+
     /**
      * Search products by keyword
      */
     List<ProductAggregate> searchByKeyword(String keyword, int offset, int limit);
 
+    /**
+     * Search products by keyword, loading only the parts selected by the projection
+     */
+    List<ProductAggregate> searchByKeyword(String keyword, int offset, int limit, ProductProjection projection);
+
     /**
      * Check if product exists
      */
@@ -61,4 +90,19 @@ public interface ProductRepository {
 
     boolean reduceVolumeAtomically(ProductSku sku, BigDecimal quantity);
 
+    /**
+     * Find a page of products ordered by SKU, starting after the given SKU (keyset pagination)
+     */
+    List<ProductAggregate> findPageOrderedBySku(ProductSku afterSku, int limit);
+
+    /**
+     * Find SKUs of products updated after the given instant
+     */
+    List<ProductSku> findSkusUpdatedAfter(Instant since);
+
+    /**
+     * Find the current persistence version of each existing product
+     */
+    Map<ProductSku, Long> findVersionsBySkus(List<ProductSku> productSkus);
+
 }
@@ -1,10 +1,13 @@
 package com.metao.book.product.infrastructure.factory.handler;
 
 import com.metao.book.product.ProductCreatedEvent;
+import com.metao.book.product.application.usecase.HandleInventoryReservationCommand;
+import com.metao.book.product.application.usecase.HandleInventoryReservationUseCase;
 import com.metao.book.product.application.usecase.HandleProductCreatedEventCommand;
 import com.metao.book.product.application.usecase.HandleProductCreatedEventUseCase;
 import com.metao.book.product.application.usecase.HandleProductUpdatedEventCommand;
 import com.metao.book.product.application.usecase.HandleProductUpdatedEventUseCase;
+import com.metao.book.shared.InventoryReservationRequestedEvent;
 import com.metao.book.shared.ProductUpdatedEvent;
 import io.micrometer.core.annotation.Timed;
 import java.math.BigDecimal;
@@ -28,6 +31,7 @@ public class ProductKafkaListenerComponent {
 
     private final HandleProductCreatedEventUseCase handleProductCreatedEventUseCase;
     private final HandleProductUpdatedEventUseCase handleProductUpdatedEventUseCase;
+    private final HandleInventoryReservationUseCase handleInventoryReservationUseCase;
 
     @RetryableTopic(attempts = "1")
     @KafkaListener(id = "${kafka.topic.product-created.id}",
@@ -72,6 +76,40 @@ public class ProductKafkaListenerComponent {
         }
     }
 
+    @RetryableTopic(attempts = "1")
+    @KafkaListener(id = "${kafka.topic.inventory-reservation.id}",
+        topics = "${kafka.topic.inventory-reservation.name}",
+        groupId = "${kafka.topic.inventory-reservation.group-id}",
+        containerFactory = "inventoryReservationRequestedEventKafkaListenerContainerFactory")
+    @Timed(value = "inventory.listener.inventory-reservation", extraTags = {"listener", "inventory-reservation"})
+    public void onInventoryReservationRequested(
+        ConsumerRecord<String, InventoryReservationRequestedEvent> event,
+        Acknowledgment acknowledgment
+    ) {
+        try {
+            handleInventoryReservationUseCase.handle(new HandleInventoryReservationCommand(
+                event.value().getOrderId(),
+                event.value().getLinesList().stream()
+                    .map(line -> new HandleInventoryReservationCommand.Line(
+                        line.getSku(),
+                        BigDecimal.valueOf(line.getQuantity())
+                    ))
+                    .toList()
+            ));
+            acknowledgment.acknowledge();
+        } catch (Exception ex) {
+            log.error(
+                "Failed processing inventory-reservation event: topic={}, key={}, orderId={}, lines={}",
+                event.topic(),
+                event.key(),
+                event.value().getOrderId(),
+                event.value().getLinesCount(),
+                ex
+            );
+            throw ex;
+        }
+    }
+
     @DltHandler
     public void onProductEventDlt(
         ConsumerRecord<String, ?> event,
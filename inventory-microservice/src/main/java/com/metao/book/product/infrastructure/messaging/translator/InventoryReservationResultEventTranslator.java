@@ -0,0 +1,39 @@
+package com.metao.book.product.infrastructure.messaging.translator;
+
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import com.metao.book.product.domain.model.event.DomainInventoryReservationProcessedEvent;
+import com.metao.book.shared.InventoryReservationResultEvent;
+import com.metao.book.shared.domain.base.DomainEvent;
+import com.metao.book.shared.domain.base.ProtobufDomainTranslator;
+import org.springframework.stereotype.Component;
+
+@Component
+public class InventoryReservationResultEventTranslator implements ProtobufDomainTranslator {
+
+    @Override
+    public Message translate(DomainEvent event) {
+        DomainInventoryReservationProcessedEvent domainEvent = (DomainInventoryReservationProcessedEvent) event;
+        Timestamp processedTime = Timestamp.newBuilder()
+            .setSeconds(domainEvent.getOccurredOn().getEpochSecond())
+            .setNanos(domainEvent.getOccurredOn().getNano())
+            .build();
+
+        var builder = InventoryReservationResultEvent.newBuilder()
+            .setOrderId(domainEvent.getOrderId())
+            .setProcessedTime(processedTime)
+            .setReserved(domainEvent.isReserved());
+        domainEvent.getShortfalls().forEach(shortfall -> builder.addShortfalls(
+            InventoryReservationResultEvent.Shortfall.newBuilder()
+                .setSku(shortfall.sku().value())
+                .setRequested(shortfall.requested().doubleValue())
+                .setAvailable(shortfall.available().doubleValue())
+        ));
+        return builder.build();
+    }
+
+    @Override
+    public boolean supports(DomainEvent event) {
+        return event instanceof DomainInventoryReservationProcessedEvent;
+    }
+}
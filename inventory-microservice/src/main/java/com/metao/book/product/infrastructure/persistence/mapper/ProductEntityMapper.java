@@ -4,7 +4,9 @@ import com.metao.book.product.domain.model.aggregate.ProductAggregate;
 import com.metao.book.product.domain.model.entity.ProductCategory;
 import com.metao.book.product.domain.model.valueobject.CategoryId;
 import com.metao.book.product.domain.model.valueobject.CategoryName;
+import com.metao.book.product.domain.model.valueobject.ProductDescription;
 import com.metao.book.product.infrastructure.persistence.entity.ProductEntity;
+import com.metao.book.product.infrastructure.persistence.repository.JpaProductRepository.ProductListingRow;
 import com.metao.book.shared.domain.financial.Money;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -71,6 +73,24 @@ public class ProductEntityMapper {
         );
     }
 
+    /**
+     * Convert a listing row, which carries no description, to domain Product
+     */
+    public ProductAggregate toDomain(ProductListingRow row, Set<ProductCategory> categories) {
+        return new ProductAggregate(
+            row.getSku(),
+            row.getTitle(),
+            ProductDescription.of(""),
+            row.getVolume(),
+            Money.of(row.getPrice().currency(), row.getPrice().doubleAmount()),
+            row.getCreatedTime(),
+            row.getUpdateTime(),
+            row.getImageUrl(),
+            categories,
+            row.getVersion()
+        );
+    }
+
     public ProductCategory toDomain(String categoryId, String categoryName) {
         return ProductCategory.of(CategoryId.of(categoryId), CategoryName.of(categoryName));
     }
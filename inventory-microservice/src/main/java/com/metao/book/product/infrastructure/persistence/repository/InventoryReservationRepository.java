@@ -0,0 +1,81 @@
+package com.metao.book.product.infrastructure.persistence.repository;
+
+import com.metao.book.product.application.port.InventoryReservationPort;
+import com.metao.book.shared.domain.product.ProductSku;
+import io.micrometer.observation.annotation.Observed;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Applies an order-level reservation with a single statement: the requested rows are locked in SKU order, checked
+ * against the requested quantities and decremented only when every line can be served.
+ */
+@Repository
+@RequiredArgsConstructor
+@Observed(name = "inventory.persistence.reservation", contextualName = "inventory-reservation")
+public class InventoryReservationRepository implements InventoryReservationPort {
+
+    private static final String RESERVE_SQL = """
+        WITH requested AS (
+            SELECT sku, quantity
+            FROM unnest(?::varchar[], ?::numeric[]) AS r(sku, quantity)
+        ),
+        locked AS (
+            SELECT p.sku, p.volume
+            FROM product_table p
+            JOIN requested r ON r.sku = p.sku
+            ORDER BY p.sku
+            FOR UPDATE OF p
+        ),
+        shortfall AS (
+            SELECT r.sku
+            FROM requested r
+            LEFT JOIN locked l ON l.sku = r.sku
+            WHERE l.volume IS NULL OR l.volume < r.quantity
+        ),
+        reserved AS (
+            UPDATE product_table p
+               SET volume = p.volume - r.quantity,
+                   version = p.version + 1,
+                   updated_time = now()
+              FROM requested r
+             WHERE p.sku = r.sku
+               AND NOT EXISTS (SELECT 1 FROM shortfall)
+            RETURNING p.sku
+        )
+        SELECT r.sku, r.quantity, COALESCE(l.volume, 0) AS available, s.sku IS NOT NULL AS reserved
+        FROM requested r
+        LEFT JOIN locked l ON l.sku = r.sku
+        LEFT JOIN reserved s ON s.sku = r.sku
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<LineResult> reserve(Map<ProductSku, BigDecimal> quantities) {
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+        String[] skus = quantities.keySet().stream().map(ProductSku::value).toArray(String[]::new);
+        BigDecimal[] amounts = quantities.values().toArray(BigDecimal[]::new);
+        return jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(RESERVE_SQL);
+                statement.setArray(1, connection.createArrayOf("varchar", skus));
+                statement.setArray(2, connection.createArrayOf("numeric", amounts));
+                return statement;
+            },
+            (rs, rowNum) -> new LineResult(
+                ProductSku.of(rs.getString("sku")),
+                rs.getBigDecimal("quantity"),
+                rs.getBigDecimal("available"),
+                rs.getBoolean("reserved")
+            )
+        );
+    }
+}
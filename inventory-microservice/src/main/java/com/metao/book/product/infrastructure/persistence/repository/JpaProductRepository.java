@@ -1,9 +1,14 @@
 package com.metao.book.product.infrastructure.persistence.repository;
 
+import com.metao.book.product.domain.model.valueobject.ImageUrl;
 import com.metao.book.product.infrastructure.persistence.entity.ProductEntity;
+import com.metao.book.shared.domain.financial.Money;
 import com.metao.book.shared.domain.product.ProductSku;
+import com.metao.book.shared.domain.product.ProductTitle;
+import com.metao.book.shared.domain.product.Quantity;
 import io.micrometer.core.annotation.Timed;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -24,6 +29,22 @@ public interface JpaProductRepository extends JpaRepository<ProductEntity, Produ
         String getCategoryName();
     }
 
+    interface ProductVersionRow {
+        ProductSku getSku();
+        Long getVersion();
+    }
+
+    interface ProductListingRow {
+        ProductSku getSku();
+        Long getVersion();
+        Quantity getVolume();
+        ProductTitle getTitle();
+        ImageUrl getImageUrl();
+        Money getPrice();
+        Instant getCreatedTime();
+        Instant getUpdateTime();
+    }
+
     @Timed(value = "inventory.db.product.find-skus-by-category-id")
     @Query("""
         select p.sku
@@ -56,6 +77,31 @@ public interface JpaProductRepository extends JpaRepository<ProductEntity, Produ
         """)
     List<ProductSku> searchSkusByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
+    @Timed(value = "inventory.db.product.find-skus-ordered-by-sku")
+    @Query("""
+        select p.sku
+        from product p
+        order by p.sku.value
+        """)
+    List<ProductSku> findSkusOrderedBySku(Pageable pageable);
+
+    @Timed(value = "inventory.db.product.find-skus-ordered-by-sku-after")
+    @Query("""
+        select p.sku
+        from product p
+        where p.sku.value > :afterSku
+        order by p.sku.value
+        """)
+    List<ProductSku> findSkusOrderedBySkuAfter(@Param("afterSku") String afterSku, Pageable pageable);
+
+    @Timed(value = "inventory.db.product.find-skus-updated-after")
+    @Query("""
+        select p.sku
+        from product p
+        where p.updateTime > :since
+        """)
+    List<ProductSku> findSkusUpdatedAfter(@Param("since") Instant since);
+
     @Timed(value = "inventory.db.product.find-all-by-id")
     List<ProductEntity> findAllById(Iterable<ProductSku> skus);
 
@@ -68,6 +114,23 @@ public interface JpaProductRepository extends JpaRepository<ProductEntity, Produ
         """)
     List<ProductEntity> findAllWithCategoriesBySkuIn(@Param("skus") List<ProductSku> skus);
 
+    @Timed(value = "inventory.db.product.find-listing-rows-by-sku-in")
+    @Query("""
+        select p.sku as sku, p.version as version, p.volume as volume, p.title as title,
+               p.imageUrl as imageUrl, p.price as price, p.createdTime as createdTime, p.updateTime as updateTime
+        from product p
+        where p.sku in :skus
+        """)
+    List<ProductListingRow> findListingRowsBySkuIn(@Param("skus") List<ProductSku> skus);
+
+    @Timed(value = "inventory.db.product.find-version-rows-by-sku-in")
+    @Query("""
+        select p.sku as sku, p.version as version
+        from product p
+        where p.sku in :skus
+        """)
+    List<ProductVersionRow> findVersionRowsBySkuIn(@Param("skus") List<ProductSku> skus);
+
     @Timed(value = "inventory.db.product.find-category-rows-by-sku-in")
     @Query("""
         select p.sku as sku, c.id as categoryId, c.category as categoryName
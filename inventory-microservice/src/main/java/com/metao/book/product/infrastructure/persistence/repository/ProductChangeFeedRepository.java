@@ -0,0 +1,50 @@
+package com.metao.book.product.infrastructure.persistence.repository;
+
+import com.metao.book.product.application.port.ProductChangeFeedPort;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads the change feed in sequence order, up to the last change whose {@code change_horizon} lies below the oldest
+ * transaction still running. Every lower sequence is then either visible or gone for good, so a client that moves
+ * past the batch cannot miss a write that commits later. A product that is written continuously is held back only
+ * while a transaction that started before its last committed write is still running.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductChangeFeedRepository implements ProductChangeFeedPort {
+
+    private static final String FIND_CHANGES_AFTER_SQL = """
+        WITH batch AS (
+            SELECT change_seq, sku, title, image_url, price_value, price_currency, volume, updated_time,
+                   change_horizon <= pg_snapshot_xmin(pg_current_snapshot()) AS settled
+            FROM product_table
+            WHERE change_seq > ?
+            ORDER BY change_seq
+            LIMIT ?
+        )
+        SELECT change_seq, sku, title, image_url, price_value, price_currency, volume, updated_time
+        FROM batch
+        WHERE change_seq <= (SELECT max(change_seq) FROM batch WHERE settled)
+        ORDER BY change_seq
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ProductChange> findChangesAfter(long afterSequence, int limit) {
+        return jdbcTemplate.query(FIND_CHANGES_AFTER_SQL, (rs, rowNum) -> new ProductChange(
+                rs.getLong("change_seq"),
+                rs.getString("sku"),
+                rs.getString("title"),
+                rs.getString("image_url"),
+                rs.getBigDecimal("price_value"),
+                rs.getString("price_currency"),
+                rs.getBigDecimal("volume"),
+                rs.getTimestamp("updated_time").toInstant()
+            ),
+            afterSequence, limit);
+    }
+}
@@ -5,10 +5,12 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.metao.book.product.domain.model.aggregate.ProductAggregate;
 import com.metao.book.product.domain.model.entity.ProductCategory;
 import com.metao.book.product.domain.model.valueobject.CategoryName;
+import com.metao.book.product.domain.repository.ProductProjection;
 import com.metao.book.product.domain.repository.ProductRepository;
 import com.metao.book.product.infrastructure.persistence.entity.CategoryEntity;
 import com.metao.book.product.infrastructure.persistence.entity.ProductEntity;
 import com.metao.book.product.infrastructure.persistence.mapper.ProductEntityMapper;
+import com.metao.book.product.infrastructure.persistence.repository.JpaProductRepository.ProductListingRow;
 import com.metao.book.shared.application.persistence.OffsetBasedPageRequest;
 import com.metao.book.shared.domain.product.ProductSku;
 import io.micrometer.observation.annotation.Observed;
@@ -18,6 +20,7 @@ import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -114,19 +117,41 @@ public class ProductRepositoryImpl implements ProductRepository {
             .toList();
     }
 
+    @Override
+    public List<ProductAggregate> findBySkus(List<ProductSku> productSkus, ProductProjection projection) {
+        return loadProductsInOrder(productSkus, projection);
+    }
+
     @Override
     public List<ProductAggregate> findByCategory(CategoryName categoryName, int offset, int limit) {
-        Pageable pageable = new OffsetBasedPageRequest(offset, limit);
+        return findByCategory(categoryName, offset, limit, ProductProjection.FULL);
+    }
+
+    @Override
+    public List<ProductAggregate> findByCategory(
+        CategoryName categoryName, int offset, int limit, ProductProjection projection
+    ) {
+        return loadProductsInOrder(findSkusByCategory(categoryName, offset, limit), projection);
+    }
+
+    @Override
+    public List<ProductSku> findSkusByCategory(CategoryName categoryName, int offset, int limit) {
         Optional<String> categoryId = resolveCategoryId(categoryName.value());
         if (categoryId.isEmpty()) {
             return List.of();
         }
-        List<ProductSku> skus = jpaProductRepository.findSkusByCategoryId(categoryId.get(), pageable);
-        return loadProductsWithCategoriesInOrder(skus);
+        return jpaProductRepository.findSkusByCategoryId(categoryId.get(), new OffsetBasedPageRequest(offset, limit));
     }
 
     @Override
     public List<ProductAggregate> findByCategories(List<CategoryName> categoryNames, int offset, int limit) {
+        return findByCategories(categoryNames, offset, limit, ProductProjection.FULL);
+    }
+
+    @Override
+    public List<ProductAggregate> findByCategories(
+        List<CategoryName> categoryNames, int offset, int limit, ProductProjection projection
+    ) {
         Pageable pageable = new OffsetBasedPageRequest(offset, limit);
         var names = categoryNames.stream()
             .map(CategoryName::value)
@@ -137,14 +162,21 @@ public class ProductRepositoryImpl implements ProductRepository {
             return List.of();
         }
         List<ProductSku> skus = jpaProductRepository.findSkusByCategoryIds(categoryIds, pageable);
-        return loadProductsWithCategoriesInOrder(skus);
+        return loadProductsInOrder(skus, projection);
     }
 
     @Override
     public List<ProductAggregate> searchByKeyword(String keyword, int offset, int limit) {
+        return searchByKeyword(keyword, offset, limit, ProductProjection.FULL);
+    }
+
+    @Override
+    public List<ProductAggregate> searchByKeyword(
+        String keyword, int offset, int limit, ProductProjection projection
+    ) {
         Pageable pageable = new OffsetBasedPageRequest(offset, limit);
         List<ProductSku> skus = jpaProductRepository.searchSkusByKeyword(keyword, pageable);
-        return loadProductsWithCategoriesInOrder(skus);
+        return loadProductsInOrder(skus, projection);
     }
 
     @Override
@@ -162,6 +194,31 @@ public class ProductRepositoryImpl implements ProductRepository {
         return jpaProductRepository.decrementVolumeIfEnough(sku.value(), quantity) > 0;
     }
 
+    @Override
+    public List<ProductAggregate> findPageOrderedBySku(ProductSku afterSku, int limit) {
+        Pageable pageable = new OffsetBasedPageRequest(0, limit);
+        List<ProductSku> skus = afterSku == null
+            ? jpaProductRepository.findSkusOrderedBySku(pageable)
+            : jpaProductRepository.findSkusOrderedBySkuAfter(afterSku.value(), pageable);
+        return loadProductsWithCategoriesInOrder(skus);
+    }
+
+    @Override
+    public List<ProductSku> findSkusUpdatedAfter(Instant since) {
+        return jpaProductRepository.findSkusUpdatedAfter(since);
+    }
+
+    @Override
+    public Map<ProductSku, Long> findVersionsBySkus(List<ProductSku> productSkus) {
+        if (productSkus == null || productSkus.isEmpty()) {
+            return Map.of();
+        }
+        Map<ProductSku, Long> versions = new HashMap<>();
+        jpaProductRepository.findVersionRowsBySkuIn(productSkus)
+            .forEach(row -> versions.put(row.getSku(), row.getVersion()));
+        return versions;
+    }
+
     private CategoryEntity resolveCategoryEntity(ProductCategory category) {
         String normalizedCategoryName = normalizeCategoryCacheKey(category.getName().value());
         return findCategoryByNaturalId(normalizedCategoryName)
@@ -259,6 +316,38 @@ public class ProductRepositoryImpl implements ProductRepository {
             .loadOptional(categoryName);
     }
 
+    /**
+     * Loads products in SKU order. Without the description only the listing columns are selected, without
+     * categories the category join is skipped.
+     */
+    private List<ProductAggregate> loadProductsInOrder(List<ProductSku> skus, ProductProjection projection) {
+        if (skus == null || skus.isEmpty()) {
+            return List.of();
+        }
+        if (projection.description() && projection.categories()) {
+            return loadProductsWithCategoriesInOrder(skus);
+        }
+        if (projection.description()) {
+            Map<ProductSku, ProductEntity> productsBySku = new HashMap<>();
+            jpaProductRepository.findAllById(skus).forEach(entity -> productsBySku.put(entity.getSku(), entity));
+            return skus.stream()
+                .map(productsBySku::get)
+                .filter(Objects::nonNull)
+                .map(entity -> productEntityMapper.toDomain(entity, Set.of()))
+                .toList();
+        }
+        Map<ProductSku, Set<ProductCategory>> categoriesBySku = projection.categories()
+            ? loadCategoriesBySku(skus)
+            : Map.of();
+        Map<ProductSku, ProductListingRow> rowsBySku = new HashMap<>();
+        jpaProductRepository.findListingRowsBySkuIn(skus).forEach(row -> rowsBySku.put(row.getSku(), row));
+        return skus.stream()
+            .map(rowsBySku::get)
+            .filter(Objects::nonNull)
+            .map(row -> productEntityMapper.toDomain(row, categoriesBySku.getOrDefault(row.getSku(), Set.of())))
+            .toList();
+    }
+
     private List<ProductAggregate> loadProductsWithCategoriesInOrder(List<ProductSku> skus) {
         if (skus == null || skus.isEmpty()) {
             return List.of();
@@ -281,13 +370,16 @@ public class ProductRepositoryImpl implements ProductRepository {
         jpaProductRepository.findAllById(skus)
             .forEach(entity -> productsBySku.put(entity.getSku(), entity));
 
+        return new ProductReadModel(productsBySku, loadCategoriesBySku(skus));
+    }
+
+    private Map<ProductSku, Set<ProductCategory>> loadCategoriesBySku(List<ProductSku> skus) {
         Map<ProductSku, Set<ProductCategory>> categoriesBySku = new HashMap<>();
         jpaProductRepository.findCategoryRowsBySkuIn(skus)
             .forEach(row -> categoriesBySku
                 .computeIfAbsent(row.getSku(), ignored -> new LinkedHashSet<>())
                 .add(productEntityMapper.toDomain(row.getCategoryId(), row.getCategoryName())));
-
-        return new ProductReadModel(productsBySku, categoriesBySku);
+        return categoriesBySku;
     }
 
     private record ProductReadModel(
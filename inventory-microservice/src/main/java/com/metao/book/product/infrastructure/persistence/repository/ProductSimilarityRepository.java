@@ -0,0 +1,73 @@
+package com.metao.book.product.infrastructure.persistence.repository;
+
+import com.metao.book.product.application.port.ProductSimilarityPort;
+import com.metao.book.product.application.similarity.MinHashSimilarityBuilder.Neighbour;
+import com.metao.book.shared.domain.product.ProductSku;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductSimilarityRepository implements ProductSimilarityPort {
+
+    private static final String DELETE_BY_SKU_SQL = """
+        DELETE FROM product_similarity
+        WHERE sku = ?
+        """;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO product_similarity(sku, neighbour_rank, neighbour_sku, score, computed_at)
+        VALUES (?, ?, ?, ?, ?)
+        """;
+
+    private static final String DELETE_COMPUTED_BEFORE_SQL = """
+        DELETE FROM product_similarity
+        WHERE computed_at < ?
+        """;
+
+    private static final String FIND_NEIGHBOURS_SQL = """
+        SELECT neighbour_sku
+        FROM product_similarity
+        WHERE sku = ?
+        ORDER BY neighbour_rank
+        LIMIT ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void replaceNeighbours(Map<String, List<Neighbour>> neighboursBySku, Instant computedAt) {
+        var timestamp = Timestamp.from(computedAt);
+        List<Object[]> deletes = new ArrayList<>(neighboursBySku.size());
+        List<Object[]> inserts = new ArrayList<>();
+        neighboursBySku.forEach((sku, neighbours) -> {
+            deletes.add(new Object[]{sku});
+            for (int rank = 0; rank < neighbours.size(); rank++) {
+                var neighbour = neighbours.get(rank);
+                inserts.add(new Object[]{sku, rank, neighbour.sku(), neighbour.similarity(), timestamp});
+            }
+        });
+        jdbcTemplate.batchUpdate(DELETE_BY_SKU_SQL, deletes);
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+    }
+
+    @Override
+    @Transactional
+    public int deleteComputedBefore(Instant computedAt) {
+        return jdbcTemplate.update(DELETE_COMPUTED_BEFORE_SQL, Timestamp.from(computedAt));
+    }
+
+    @Override
+    public List<ProductSku> findNeighbourSkus(ProductSku sku, int limit) {
+        return jdbcTemplate.query(FIND_NEIGHBOURS_SQL, (rs, rowNum) -> ProductSku.of(rs.getString(1)),
+            sku.value(), limit);
+    }
+}
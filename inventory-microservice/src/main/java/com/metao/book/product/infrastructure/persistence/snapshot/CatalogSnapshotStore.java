@@ -0,0 +1,142 @@
+package com.metao.book.product.infrastructure.persistence.snapshot;
+
+import com.metao.book.product.application.port.CatalogSnapshotPort;
+import com.metao.book.product.domain.model.aggregate.ProductAggregate;
+import com.metao.book.product.domain.repository.ProductRepository;
+import com.metao.book.shared.domain.product.ProductSku;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Memory-mapped catalog snapshot used for warm restarts.
+ * <p>
+ * On startup the last snapshot file is mapped and served immediately. A poller then catches up on products updated
+ * after the snapshot high-water mark and marks them as changed, so those SKUs fall through to the database. The
+ * snapshot is rewritten periodically, which resets the high-water mark and the changed set.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogSnapshotStore implements CatalogSnapshotPort {
+
+    private final ProductRepository productRepository;
+    private final Map<String, Long> changedSkus = new ConcurrentHashMap<>();
+    private volatile MappedCatalogSnapshot snapshot;
+    private volatile Instant catchUpCursor;
+
+    @Value("${product.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${product.snapshot.path:${java.io.tmpdir}/inventory-catalog.snapshot}")
+    private Path path;
+
+    @Value("${product.snapshot.page-size:500}")
+    private int pageSize;
+
+    @Value("${product.snapshot.clock-skew:5s}")
+    private Duration clockSkew;
+
+    @PostConstruct
+    void load() {
+        if (!enabled || !Files.exists(path)) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            var loaded = MappedCatalogSnapshot.open(path);
+            snapshot = loaded;
+            catchUpCursor = loaded.highWaterMark();
+            log.info("Mapped catalog snapshot: path={}, products={}, highWaterMark={}, elapsedMs={}",
+                path, loaded.size(), loaded.highWaterMark(), (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Ignoring unreadable catalog snapshot at {}", path, ex);
+        }
+    }
+
+    @Override
+    public Optional<ProductAggregate> findBySku(ProductSku sku) {
+        var current = snapshot;
+        if (current == null || changedSkus.containsKey(sku.value())) {
+            return Optional.empty();
+        }
+        return current.find(sku);
+    }
+
+    @Override
+    public void markChanged(ProductSku sku) {
+        if (enabled) {
+            changedSkus.put(sku.value(), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Marks products written by any node since the last poll as changed.
+     */
+    @Scheduled(fixedDelayString = "${product.snapshot.catch-up-interval:2s}")
+    void catchUp() {
+        var cursor = catchUpCursor;
+        if (!enabled || snapshot == null || cursor == null) {
+            return;
+        }
+        var polledAt = Instant.now();
+        List<ProductSku> updated = productRepository.findSkusUpdatedAfter(cursor.minus(clockSkew));
+        long markedAt = System.currentTimeMillis();
+        updated.forEach(sku -> changedSkus.put(sku.value(), markedAt));
+        catchUpCursor = polledAt;
+        if (!updated.isEmpty()) {
+            log.debug("Catalog snapshot catch-up marked {} changed products since {}", updated.size(), cursor);
+        }
+    }
+
+    @Scheduled(
+        initialDelayString = "${product.snapshot.initial-write-delay:30s}",
+        fixedDelayString = "${product.snapshot.rewrite-interval:15m}")
+    void rewrite() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        var highWaterMark = Instant.now().minus(clockSkew);
+        var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            int written;
+            try (var writer = CatalogSnapshotWriter.open(temporary, highWaterMark)) {
+                ProductSku after = null;
+                List<ProductAggregate> page;
+                do {
+                    page = productRepository.findPageOrderedBySku(after, pageSize);
+                    for (ProductAggregate product : page) {
+                        writer.append(product);
+                    }
+                    if (!page.isEmpty()) {
+                        after = page.getLast().getId();
+                    }
+                } while (page.size() == pageSize);
+                written = writer.count();
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            snapshot = MappedCatalogSnapshot.open(path);
+            catchUpCursor = highWaterMark;
+            changedSkus.values().removeIf(markedAt -> markedAt < highWaterMark.toEpochMilli());
+            log.info("Wrote catalog snapshot: path={}, products={}, bytes={}, elapsedMs={}",
+                path, written, Files.size(path), (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Failed to write catalog snapshot to {}", path, ex);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.metao.book.product.infrastructure.persistence.snapshot;
+
+import com.metao.book.product.application.mapper.ProductBinaryCodec;
+import com.metao.book.product.domain.model.aggregate.ProductAggregate;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Streams products into the binary catalog snapshot format.
+ * <p>
+ * Layout: a fixed header, the {@link ProductBinaryCodec} records back to back, then an open-addressing hash table of
+ * record offsets keyed by SKU. Records are appended as they arrive so the writer only keeps one offset and one hash
+ * per product in memory, regardless of catalog size.
+ */
+public final class CatalogSnapshotWriter implements Closeable {
+
+    static final int MAGIC = 0x43415431;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 32;
+
+    private final FileChannel channel;
+    private final DataOutputStream out;
+    private final Instant highWaterMark;
+    private long[] offsets = new long[1_024];
+    private int[] hashes = new int[1_024];
+    private int count;
+
+    private CatalogSnapshotWriter(FileChannel channel, Instant highWaterMark) throws IOException {
+        this.channel = channel;
+        this.highWaterMark = highWaterMark;
+        channel.position(HEADER_BYTES);
+        this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1_024));
+    }
+
+    public static CatalogSnapshotWriter open(Path path, Instant highWaterMark) throws IOException {
+        var channel = FileChannel.open(path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        return new CatalogSnapshotWriter(channel, highWaterMark);
+    }
+
+    public void append(ProductAggregate product) throws IOException {
+        long offset = HEADER_BYTES + (long) out.size();
+        if (offset > Integer.MAX_VALUE) {
+            throw new IOException("Catalog snapshot exceeds the 2GB mappable limit");
+        }
+        ensureCapacity();
+        offsets[count] = offset;
+        hashes[count] = hash(product.getId().value());
+        count++;
+        ProductBinaryCodec.write(out, product);
+    }
+
+    public int count() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+        long tableOffset = HEADER_BYTES + (long) out.size();
+        int slotCount = slotCount(count);
+        long[] table = new long[slotCount];
+        for (int i = 0; i < count; i++) {
+            int slot = hashes[i] & (slotCount - 1);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & (slotCount - 1);
+            }
+            table[slot] = offsets[i];
+        }
+
+        var tableBuffer = ByteBuffer.allocate(slotCount * Long.BYTES);
+        tableBuffer.asLongBuffer().put(table);
+        writeFully(tableBuffer, tableOffset);
+
+        var header = ByteBuffer.allocate(HEADER_BYTES)
+            .putInt(MAGIC)
+            .putInt(FORMAT_VERSION)
+            .putLong(highWaterMark.toEpochMilli())
+            .putInt(count)
+            .putInt(slotCount)
+            .putLong(tableOffset)
+            .flip();
+        writeFully(header, 0);
+        channel.force(true);
+        channel.close();
+    }
+
+    static int hash(String sku) {
+        int h = sku.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int slotCount(int entries) {
+        // Keep the load factor at or below 0.5 so linear probing stays short.
+        return Integer.highestOneBit(Math.max(2, entries) * 2 - 1) << 1;
+    }
+
+    private void ensureCapacity() {
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+            hashes = Arrays.copyOf(hashes, count * 2);
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long target = position;
+        while (buffer.hasRemaining()) {
+            target += channel.write(buffer, target);
+        }
+    }
+}
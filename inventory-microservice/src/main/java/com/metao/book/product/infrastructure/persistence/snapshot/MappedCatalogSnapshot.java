@@ -0,0 +1,120 @@
+package com.metao.book.product.infrastructure.persistence.snapshot;
+
+import com.metao.book.product.application.mapper.ProductBinaryCodec;
+import com.metao.book.product.domain.model.aggregate.ProductAggregate;
+import com.metao.book.shared.domain.product.ProductSku;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Read-only view over a catalog snapshot file written by {@link CatalogSnapshotWriter}.
+ * <p>
+ * The file is memory-mapped, so the records and the SKU hash table live in the page cache rather than on the heap.
+ * Records are decoded with {@link ProductBinaryCodec} from a slice of the mapping per lookup and the header is read
+ * with absolute access, which makes a single instance safe to share between request threads.
+ */
+public final class MappedCatalogSnapshot {
+
+    private final MappedByteBuffer buffer;
+    private final Instant highWaterMark;
+    private final int recordCount;
+    private final int slotCount;
+    private final int tableOffset;
+
+    private MappedCatalogSnapshot(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != CatalogSnapshotWriter.MAGIC) {
+            throw new IllegalStateException("Not a catalog snapshot file");
+        }
+        int formatVersion = buffer.getInt(4);
+        if (formatVersion != CatalogSnapshotWriter.FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported catalog snapshot format version " + formatVersion);
+        }
+        this.highWaterMark = Instant.ofEpochMilli(buffer.getLong(8));
+        this.recordCount = buffer.getInt(16);
+        this.slotCount = buffer.getInt(20);
+        this.tableOffset = Math.toIntExact(buffer.getLong(24));
+    }
+
+    public static MappedCatalogSnapshot open(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < CatalogSnapshotWriter.HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot has an invalid size: " + size);
+            }
+            return new MappedCatalogSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    public Instant highWaterMark() {
+        return highWaterMark;
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    public Optional<ProductAggregate> find(ProductSku sku) {
+        String key = sku.value();
+        int slot = CatalogSnapshotWriter.hash(key) & (slotCount - 1);
+        for (int probes = 0; probes < slotCount; probes++) {
+            long offset = buffer.getLong(tableOffset + slot * Long.BYTES);
+            if (offset == 0) {
+                return Optional.empty();
+            }
+            try {
+                var in = recordAt((int) offset);
+                if (key.equals(ProductBinaryCodec.readSku(in))) {
+                    return Optional.of(ProductBinaryCodec.readAfterSku(in, sku));
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Corrupt catalog snapshot record at " + offset, ex);
+            }
+            slot = (slot + 1) & (slotCount - 1);
+        }
+        return Optional.empty();
+    }
+
+    private DataInputStream recordAt(int position) {
+        return new DataInputStream(new BufferInputStream(buffer.slice(position, buffer.limit() - position)));
+    }
+
+    /**
+     * Reads a slice of the mapping; every lookup gets its own slice, so the shared buffer position is never moved.
+     */
+    private static final class BufferInputStream extends InputStream {
+
+        private final ByteBuffer slice;
+
+        private BufferInputStream(ByteBuffer slice) {
+            this.slice = slice;
+        }
+
+        @Override
+        public int read() {
+            return slice.hasRemaining() ? slice.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!slice.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, slice.remaining());
+            slice.get(target, offset, count);
+            return count;
+        }
+    }
+}
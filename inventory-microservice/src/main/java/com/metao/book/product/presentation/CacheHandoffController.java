@@ -0,0 +1,58 @@
+package com.metao.book.product.presentation;
+
+import com.metao.book.product.application.handoff.CacheHandoffCodec;
+import com.metao.book.product.application.handoff.CacheHandoffRunner;
+import com.metao.book.product.application.service.ProductDomainService;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Node-to-node endpoints. Not meant to be routed through the public gateway, and only answered for callers that send
+ * the shared {@code product.cache-handoff.secret}; with no secret configured every request is refused.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/internal/cache")
+public class CacheHandoffController {
+
+    private final ProductDomainService productDomainService;
+
+    @Value("${product.cache-handoff.max-entries:256}")
+    private int maxEntries;
+
+    @Value("${product.cache-handoff.secret:}")
+    private String secret;
+
+    @GetMapping(value = "/category-pages", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCategoryPages(
+        @RequestHeader(value = CacheHandoffRunner.SECRET_HEADER, required = false) String presented,
+        @RequestParam(value = "limit", defaultValue = "256") int limit
+    ) {
+        if (!authorized(presented)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        var entries = productDomainService.exportHotCategoryPages(Math.max(0, Math.min(limit, maxEntries)));
+        log.info("Handing off {} cached category pages", entries.size());
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .body(out -> CacheHandoffCodec.write(entries, out));
+    }
+
+    private boolean authorized(String presented) {
+        return !secret.isBlank() && presented != null && MessageDigest.isEqual(
+            secret.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
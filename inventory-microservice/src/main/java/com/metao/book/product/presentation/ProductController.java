@@ -1,14 +1,29 @@
 package com.metao.book.product.presentation;
 
+import static com.metao.book.shared.config.ProtobufHttpAutoConfiguration.APPLICATION_PROTOBUF_VALUE;
+
+import com.metao.book.product.application.autocomplete.ProductAutocompleteService;
 import com.metao.book.product.application.dto.CreateProductCommand;
 import com.metao.book.product.application.dto.CreateProductDto;
+import com.metao.book.product.application.dto.ProductChangesDTO;
 import com.metao.book.product.application.dto.ProductDTO;
+import com.metao.book.product.application.dto.ProductFieldSet;
+import com.metao.book.product.application.dto.ProductPageDTO;
+import com.metao.book.product.application.dto.ProductSuggestionDTO;
 import com.metao.book.product.application.dto.UpdateProductCommand;
 import com.metao.book.product.application.mapper.ProductApplicationMapper;
+import com.metao.book.product.application.mapper.ProductMessageMapper;
+import com.metao.book.product.application.popularity.PopularityTracker;
+import com.metao.book.product.application.popularity.PopularityTracker.TrendingProduct;
 import com.metao.book.product.application.service.CreateProductResult;
+import com.metao.book.product.application.service.ProductChangeFeedService;
 import com.metao.book.product.application.service.ProductDomainService;
+import com.metao.book.product.application.service.ProductPageService;
 import com.metao.book.product.domain.category.dto.CategoryDTO;
+import com.metao.book.product.domain.model.aggregate.ProductAggregate;
 import com.metao.book.product.domain.model.valueobject.CategoryName;
+import com.metao.book.shared.ProductListMessage;
+import com.metao.book.shared.ProductMessage;
 import com.metao.book.shared.domain.product.ProductSku;
 import com.metao.book.shared.domain.product.Quantity;
 import io.micrometer.core.annotation.Timed;
@@ -44,14 +59,24 @@ public class ProductController {
 
     private final ProductDomainService productDomainService;
     private final ProductApplicationMapper productMapper;
+    private final ProductPageService productPageService;
+    private final ProductAutocompleteService productAutocompleteService;
+    private final PopularityTracker popularityTracker;
+    private final ProductChangeFeedService productChangeFeedService;
 
     @GetMapping(value = "/{sku}")
     public ProductDTO getProduct(@PathVariable @Valid @NotBlank String sku) {
         log.debug("Getting product with SKU: {}", sku);
         var product = productDomainService.getProductBySku(sku);
+        popularityTracker.recordView(product.getId().value());
         return productMapper.toDTO(product);
     }
 
+    @GetMapping(value = "/{sku}", produces = APPLICATION_PROTOBUF_VALUE)
+    public ProductMessage getProductMessage(@PathVariable @Valid @NotBlank String sku) {
+        return ProductMessageMapper.toMessage(getProduct(sku), ProductFieldSet.ALL);
+    }
+
     @GetMapping(value = "/by-skus")
     public List<ProductDTO> getProductsBySkus(@RequestParam("skus") List<String> skus) {
         var products = productDomainService.getProductsBySkus(skus);
@@ -60,6 +85,11 @@ public class ProductController {
             .toList();
     }
 
+    @GetMapping(value = "/by-skus", produces = APPLICATION_PROTOBUF_VALUE)
+    public ProductListMessage getProductsBySkusMessage(@RequestParam("skus") List<String> skus) {
+        return ProductMessageMapper.toListMessage(getProductsBySkus(skus), ProductFieldSet.ALL);
+    }
+
     @PostMapping
     public ResponseEntity<String> createProduct(
         @Valid @RequestBody CreateProductDto dto,
@@ -113,28 +143,67 @@ public class ProductController {
 
     @Timed(value = "inventory.api.product.get-by-category")
     @GetMapping("/category/{categoryName}")
-    public List<ProductDTO> getProductsByCategory(
+    public List<?> getProductsByCategory(
         @PathVariable CategoryName categoryName,
         @RequestParam(value = "offset", defaultValue = "0") int offset,
-        @RequestParam(value = "limit", defaultValue = "10") int limit
+        @RequestParam(value = "limit", defaultValue = "10") int limit,
+        @RequestParam(value = "fields", required = false) String fields
     ) {
         log.debug("Getting products by category: {}", categoryName);
-        return productDomainService.getProductsByCategory(categoryName, offset, limit).stream()
-            .map(productMapper::toDTO)
-            .toList();
+        var fieldSet = ProductFieldSet.parse(fields);
+        var products = productDomainService.getProductsByCategory(categoryName, offset, limit, fieldSet.projection());
+        return render(products, fieldSet);
+    }
+
+    @Timed(value = "inventory.api.product.get-by-category")
+    @GetMapping(value = "/category/{categoryName}", produces = APPLICATION_PROTOBUF_VALUE)
+    public ProductListMessage getProductsByCategoryMessage(
+        @PathVariable CategoryName categoryName,
+        @RequestParam(value = "offset", defaultValue = "0") int offset,
+        @RequestParam(value = "limit", defaultValue = "10") int limit,
+        @RequestParam(value = "fields", required = false) String fields
+    ) {
+        var fieldSet = ProductFieldSet.parse(fields);
+        var products = productDomainService.getProductsByCategory(categoryName, offset, limit, fieldSet.projection());
+        return ProductMessageMapper.toListMessage(products.stream().map(productMapper::toDTO).toList(), fieldSet);
     }
 
     @GetMapping("/search")
-    public List<ProductDTO> searchProducts(
+    public List<?> searchProducts(
         @RequestParam("keyword") String keyword,
         @RequestParam(value = "offset", defaultValue = "0") int offset,
-        @RequestParam(value = "limit", defaultValue = "10") int limit
+        @RequestParam(value = "limit", defaultValue = "10") int limit,
+        @RequestParam(value = "fields", required = false) String fields
     ) {
         log.info("Searching products with keyword: {}", keyword);
-        var products = productDomainService.searchProducts(keyword, offset, limit);
-        return products.stream()
-            .map(productMapper::toDTO)
-            .toList();
+        var fieldSet = ProductFieldSet.parse(fields);
+        var products = productDomainService.searchProducts(keyword, offset, limit, fieldSet.projection());
+        return render(products, fieldSet);
+    }
+
+    @Timed(value = "inventory.api.product.changes")
+    @GetMapping("/changes")
+    public ProductChangesDTO getChanges(
+        @RequestParam(value = "since", required = false) String since,
+        @RequestParam(value = "limit", defaultValue = "500") int limit
+    ) {
+        return productChangeFeedService.getChanges(since, limit);
+    }
+
+    @GetMapping("/trending")
+    public List<TrendingProduct> getTrendingProducts(
+        @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        return popularityTracker.trending(limit);
+    }
+
+    @Timed(value = "inventory.api.product.autocomplete", percentiles = {0.5, 0.99})
+    @GetMapping("/autocomplete")
+    public List<ProductSuggestionDTO> autocomplete(
+        @RequestParam("prefix") String prefix,
+        @RequestParam(value = "limit", defaultValue = "8") int limit
+    ) {
+        return productAutocompleteService.suggest(prefix, limit);
     }
 
     @GetMapping("/categories")
@@ -149,15 +218,31 @@ public class ProductController {
     }
 
     @GetMapping("/{sku}/related")
-    public List<ProductDTO> getRelatedProducts(
+    public List<?> getRelatedProducts(
         @PathVariable String sku,
-        @RequestParam(value = "limit", defaultValue = "5") int limit
+        @RequestParam(value = "limit", defaultValue = "5") int limit,
+        @RequestParam(value = "mode", defaultValue = "category") String mode,
+        @RequestParam(value = "fields", required = false) String fields
     ) {
-        log.info("Getting related products for SKU: {}", sku);
-        var relatedProducts = productDomainService.getRelatedProducts(ProductSku.of(sku), limit);
-        return relatedProducts.stream()
-            .map(productMapper::toDTO)
-            .toList();
+        log.info("Getting related products for SKU: {} (mode {})", sku, mode);
+        var fieldSet = ProductFieldSet.parse(fields);
+        var relatedProducts = "similar".equalsIgnoreCase(mode)
+            ? productDomainService.getSimilarProducts(ProductSku.of(sku), limit, fieldSet.projection())
+            : productDomainService.getRelatedProducts(ProductSku.of(sku), limit, fieldSet.projection());
+        return render(relatedProducts, fieldSet);
+    }
+
+    @Timed(value = "inventory.api.product.get-page")
+    @GetMapping("/{sku}/page")
+    public ProductPageDTO getProductPage(
+        @PathVariable String sku,
+        @RequestParam(value = "relatedLimit", defaultValue = "5") int relatedLimit,
+        @RequestParam(value = "categoryLimit", defaultValue = "10") int categoryLimit
+    ) {
+        log.debug("Getting product page for SKU: {}", sku);
+        var page = productPageService.getProductPage(sku, relatedLimit, categoryLimit);
+        popularityTracker.recordView(page.product().sku());
+        return page;
     }
 
     @PostMapping("/{sku}/categories/{categoryName}")
@@ -189,4 +274,9 @@ public class ProductController {
         log.info("Increasing volume for product {} by {}", sku, quantity);
         productDomainService.increaseProductVolume(ProductSku.of(sku), Quantity.of(quantity));
     }
+
+    private List<?> render(List<ProductAggregate> products, ProductFieldSet fieldSet) {
+        var dtos = products.stream().map(productMapper::toDTO);
+        return fieldSet.isAll() ? dtos.toList() : dtos.map(fieldSet::project).toList();
+    }
 }
@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS product_similarity
+(
+  sku             VARCHAR(255)     NOT NULL,
+  neighbour_rank  INT              NOT NULL,
+  neighbour_sku   VARCHAR(255)     NOT NULL,
+  score           DOUBLE PRECISION NOT NULL,
+  computed_at     TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+
+  PRIMARY KEY (sku, neighbour_rank)
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_similarity_computed_at
+  ON product_similarity (computed_at);
@@ -0,0 +1,36 @@
+CREATE SEQUENCE IF NOT EXISTS product_change_seq;
+
+ALTER TABLE product_table ADD COLUMN IF NOT EXISTS change_seq BIGINT;
+ALTER TABLE product_table ADD COLUMN IF NOT EXISTS change_horizon XID8;
+
+UPDATE product_table
+   SET change_seq = nextval('product_change_seq'),
+       change_horizon = '0'::xid8
+ WHERE change_seq IS NULL;
+
+ALTER TABLE product_table ALTER COLUMN change_seq SET NOT NULL;
+ALTER TABLE product_table ALTER COLUMN change_horizon SET NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_product_table_change_seq
+  ON product_table (change_seq);
+
+-- Every insert and update, including JPQL bulk updates such as the atomic volume decrement, takes the next
+-- change sequence so the change feed never misses a write.
+--
+-- change_horizon is the first transaction id not yet assigned right after the sequence was taken. Every transaction
+-- that took a lower sequence had its id assigned before that (the id is forced before nextval), so once every
+-- transaction below the horizon has finished no lower sequence can still appear and the feed may move past this one.
+-- The snapshot is the one plpgsql takes for the assignment, which is fresh for writers at READ COMMITTED.
+CREATE OR REPLACE FUNCTION product_table_bump_change_seq() RETURNS trigger AS $$
+BEGIN
+  PERFORM pg_current_xact_id();
+  NEW.change_seq := nextval('product_change_seq');
+  NEW.change_horizon := pg_snapshot_xmax(pg_current_snapshot());
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_product_table_change_seq ON product_table;
+CREATE TRIGGER trg_product_table_change_seq
+  BEFORE INSERT OR UPDATE ON product_table
+  FOR EACH ROW EXECUTE FUNCTION product_table_bump_change_seq();
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_product_table_updated_time
+  ON product_table (updated_time);
@@ -0,0 +1,107 @@
+package com.metao.book.product.application.autocomplete;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+import com.metao.book.product.application.dto.ProductSuggestionDTO;
+import com.metao.book.product.application.popularity.PopularityTracker;
+import com.metao.book.product.domain.model.aggregate.ProductAggregate;
+import com.metao.book.product.domain.model.valueobject.ImageUrl;
+import com.metao.book.product.domain.model.valueobject.ProductDescription;
+import com.metao.book.product.domain.repository.ProductRepository;
+import com.metao.book.shared.domain.financial.Money;
+import com.metao.book.shared.domain.product.ProductSku;
+import com.metao.book.shared.domain.product.ProductTitle;
+import com.metao.book.shared.domain.product.Quantity;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("ProductAutocompleteService")
+@ExtendWith(MockitoExtension.class)
+class ProductAutocompleteServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private final PopularityTracker popularityTracker = new PopularityTracker(4, 1024, 10, 10);
+
+    private ProductAutocompleteService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProductAutocompleteService(productRepository, popularityTracker, 10);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "pageSize", 10);
+    }
+
+    @Test
+    @DisplayName("should rank a popular in-stock title above an unpopular one")
+    void shouldRankPopularInStockTitleFirst() {
+        popularityTracker.recordSale("SKU-POPULAR", 3);
+        build(product("SKU-QUIET", "Dune", BigDecimal.TEN), product("SKU-POPULAR", "Dune Messiah", BigDecimal.ONE));
+
+        assertThat(service.suggest("dune", 10))
+            .extracting(ProductSuggestionDTO::sku)
+            .containsExactly("SKU-POPULAR", "SKU-QUIET");
+    }
+
+    @Test
+    @DisplayName("should keep an out-of-stock title below in-stock ones however popular it is")
+    void shouldKeepStockAbovePopularity() {
+        popularityTracker.recordSale("SKU-SOLD-OUT", 1000);
+        build(product("SKU-SOLD-OUT", "Dune Messiah", BigDecimal.ZERO), product("SKU-QUIET", "Dune", BigDecimal.TEN));
+
+        assertThat(service.suggest("dune", 10))
+            .extracting(ProductSuggestionDTO::sku)
+            .containsExactly("SKU-QUIET", "SKU-SOLD-OUT");
+    }
+
+    @Test
+    @DisplayName("should re-score a title whose popularity changed without a product update")
+    void shouldRescoreWhenPopularityChanges() {
+        ProductAggregate quiet = product("SKU-QUIET", "Dune", BigDecimal.TEN);
+        ProductAggregate rising = product("SKU-RISING", "Dune Messiah", BigDecimal.TEN);
+        build(quiet, rising);
+        assertThat(service.suggest("dune", 10)).extracting(ProductSuggestionDTO::sku).first().isEqualTo("SKU-QUIET");
+
+        popularityTracker.recordView("SKU-RISING");
+        when(productRepository.findBySkus(List.of(ProductSku.of("SKU-RISING")))).thenReturn(List.of(rising));
+        service.rescore();
+
+        assertThat(service.suggest("dune", 10))
+            .extracting(ProductSuggestionDTO::sku)
+            .containsExactly("SKU-RISING", "SKU-QUIET");
+    }
+
+    private void build(ProductAggregate... products) {
+        when(productRepository.findPageOrderedBySku(any(), anyInt())).thenReturn(List.of(products));
+        service.build();
+    }
+
+    private static ProductAggregate product(String sku, String title, BigDecimal volume) {
+        var createdTime = Instant.parse("2026-04-01T10:15:30Z");
+        return new ProductAggregate(
+            ProductSku.of(sku),
+            ProductTitle.of(title),
+            ProductDescription.of("description " + sku),
+            Quantity.of(volume),
+            Money.of(Currency.getInstance("EUR"), new BigDecimal("12.50")),
+            createdTime,
+            createdTime,
+            ImageUrl.of("https://example.com/" + sku + ".jpg"),
+            Set.of()
+        );
+    }
+}
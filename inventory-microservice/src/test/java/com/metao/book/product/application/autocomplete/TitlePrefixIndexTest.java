@@ -0,0 +1,79 @@
+package com.metao.book.product.application.autocomplete;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.metao.book.product.application.autocomplete.TitlePrefixIndex.Suggestion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TitlePrefixIndex")
+class TitlePrefixIndexTest {
+
+    @Test
+    @DisplayName("should normalize case, accents and punctuation")
+    void shouldNormalizeTitles() {
+        assertThat(TitlePrefixIndex.normalize("  Café -- Society!  ")).isEqualTo("cafe society");
+    }
+
+    @Test
+    @DisplayName("should return the highest scored titles for a prefix")
+    void shouldReturnTopSuggestionsForPrefix() {
+        var index = new TitlePrefixIndex(2);
+        index.upsert("1", "Harry Potter", 1.0);
+        index.upsert("2", "Harry Potter and the Goblet of Fire", 3.0);
+        index.upsert("3", "Hardware Hacking", 2.0);
+        index.upsert("4", "Dune", 5.0);
+
+        assertThat(index.suggest("har", 10))
+            .extracting(Suggestion::sku)
+            .containsExactly("2", "3");
+        assertThat(index.suggest("harry", 10))
+            .extracting(Suggestion::sku)
+            .containsExactly("2", "1");
+        assertThat(index.suggest("HARRY P", 1))
+            .extracting(Suggestion::sku)
+            .containsExactly("2");
+        assertThat(index.suggest("harz", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should move a product when its title changes")
+    void shouldReplaceChangedTitle() {
+        var index = new TitlePrefixIndex(5);
+        index.upsert("1", "Harry Potter", 1.0);
+        index.upsert("2", "Hardware Hacking", 1.0);
+
+        index.upsert("1", "Dune", 1.0);
+
+        assertThat(index.suggest("har", 10)).extracting(Suggestion::sku).containsExactly("2");
+        assertThat(index.suggest("du", 10)).extracting(Suggestion::sku).containsExactly("1");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should promote the next candidate when a top entry is removed")
+    void shouldRecomputeTopAfterRemoval() {
+        var index = new TitlePrefixIndex(1);
+        index.upsert("1", "Harry Potter", 5.0);
+        index.upsert("2", "Hardware Hacking", 1.0);
+
+        index.remove("1");
+
+        assertThat(index.suggest("har", 10)).extracting(Suggestion::sku).containsExactly("2");
+        assertThat(index.suggest("harry", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should keep titles that share a normalized key apart")
+    void shouldKeepDuplicateTitles() {
+        var index = new TitlePrefixIndex(5);
+        index.upsert("1", "Dune", 2.0);
+        index.upsert("2", "dune!", 1.0);
+
+        assertThat(index.suggest("dune", 10)).extracting(Suggestion::sku).containsExactly("1", "2");
+
+        index.remove("1");
+
+        assertThat(index.suggest("dune", 10)).extracting(Suggestion::sku).containsExactly("2");
+    }
+}
@@ -0,0 +1,63 @@
+package com.metao.book.product.application.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.metao.book.product.domain.repository.ProductProjection;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ProductFieldSet")
+class ProductFieldSetTest {
+
+    private static final ProductDTO PRODUCT = ProductDTO.builder()
+        .sku("0594287995")
+        .title("Dune")
+        .description("A very long description")
+        .imageUrl("https://example.com/dune.jpg")
+        .price(BigDecimal.TEN)
+        .currency(Currency.getInstance("EUR"))
+        .volume(BigDecimal.ONE)
+        .categories(Set.of("Books"))
+        .inStock(true)
+        .build();
+
+    @Test
+    @DisplayName("should select every field when the parameter is missing")
+    void shouldSelectAllFieldsByDefault() {
+        assertThat(ProductFieldSet.parse(null)).isEqualTo(ProductFieldSet.ALL);
+        assertThat(ProductFieldSet.parse(" ").isAll()).isTrue();
+        assertThat(ProductFieldSet.ALL.projection()).isEqualTo(ProductProjection.FULL);
+    }
+
+    @Test
+    @DisplayName("should project only the requested fields and always the SKU")
+    void shouldProjectRequestedFields() {
+        var fieldSet = ProductFieldSet.parse("title, price,imageUrl");
+
+        assertThat(fieldSet.project(PRODUCT))
+            .containsOnlyKeys("sku", "title", "imageUrl", "price")
+            .containsEntry("sku", "0594287995")
+            .containsEntry("price", BigDecimal.TEN);
+    }
+
+    @Test
+    @DisplayName("should skip the description and categories in the projection unless requested")
+    void shouldNarrowProjection() {
+        assertThat(ProductFieldSet.parse("title,price").projection())
+            .isEqualTo(new ProductProjection(false, false));
+        assertThat(ProductFieldSet.parse("title,categories").projection())
+            .isEqualTo(new ProductProjection(false, true));
+    }
+
+    @Test
+    @DisplayName("should reject unknown fields")
+    void shouldRejectUnknownFields() {
+        assertThatThrownBy(() -> ProductFieldSet.parse("title,author"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("author");
+    }
+}
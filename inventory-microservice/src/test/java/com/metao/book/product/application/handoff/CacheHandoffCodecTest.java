@@ -0,0 +1,91 @@
+package com.metao.book.product.application.handoff;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.metao.book.product.domain.model.aggregate.ProductAggregate;
+import com.metao.book.product.domain.model.entity.ProductCategory;
+import com.metao.book.product.domain.model.valueobject.CategoryId;
+import com.metao.book.product.domain.model.valueobject.CategoryName;
+import com.metao.book.product.domain.model.valueobject.ImageUrl;
+import com.metao.book.product.domain.model.valueobject.ProductDescription;
+import com.metao.book.product.domain.repository.ProductProjection;
+import com.metao.book.shared.domain.financial.Money;
+import com.metao.book.shared.domain.product.ProductSku;
+import com.metao.book.shared.domain.product.ProductTitle;
+import com.metao.book.shared.domain.product.Quantity;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CacheHandoffCodec")
+class CacheHandoffCodecTest {
+
+    @Test
+    @DisplayName("should round-trip category pages with product versions")
+    void shouldRoundTripEntries() throws IOException {
+        var first = product("0684801221", "Café Society", 3L);
+        var second = product("0594511488", "Dune", null);
+        var entries = List.of(
+            new CategoryPageEntry("books", 0, 10, ProductProjection.FULL, Duration.ofMillis(7_250),
+                List.of(first, second)),
+            new CategoryPageEntry("poetry", 20, 10, new ProductProjection(false, true), Duration.ofSeconds(3),
+                List.of())
+        );
+
+        var out = new ByteArrayOutputStream();
+        CacheHandoffCodec.write(entries, out);
+        var decoded = CacheHandoffCodec.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(decoded).hasSize(2);
+        assertThat(decoded.getFirst().categoryName()).isEqualTo("books");
+        assertThat(decoded.getFirst().projection()).isEqualTo(ProductProjection.FULL);
+        assertThat(decoded.getFirst().remainingTtl()).isEqualTo(Duration.ofMillis(7_250));
+        assertThat(decoded.getFirst().products()).extracting(ProductAggregate::getId)
+            .containsExactly(first.getId(), second.getId());
+        assertThat(decoded.getFirst().products()).extracting(ProductAggregate::getVersion)
+            .containsExactly(3L, null);
+        var copy = decoded.getFirst().products().getFirst();
+        assertThat(copy.getTitle()).isEqualTo(first.getTitle());
+        assertThat(copy.getMoney()).isEqualTo(first.getMoney());
+        assertThat(copy.getVolume()).isEqualTo(first.getVolume());
+        assertThat(copy.getUpdatedTime()).isEqualTo(first.getUpdatedTime());
+        assertThat(copy.getCategories()).extracting(category -> category.getName().value())
+            .containsExactly("books");
+        assertThat(decoded.getLast().offset()).isEqualTo(20);
+        assertThat(decoded.getLast().projection().description()).isFalse();
+        assertThat(decoded.getLast().products()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should reject a stream that is not a handoff export")
+    void shouldRejectForeignStream() {
+        var garbage = new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThatThrownBy(() -> CacheHandoffCodec.read(garbage)).isInstanceOf(IOException.class);
+    }
+
+    private static ProductAggregate product(String sku, String title, Long version) {
+        var now = Instant.parse("2026-01-01T10:15:30.123456Z");
+        return new ProductAggregate(
+            ProductSku.of(sku),
+            ProductTitle.of(title),
+            ProductDescription.of("description"),
+            Quantity.of(new BigDecimal("12.50")),
+            Money.of(Currency.getInstance("EUR"), new BigDecimal("19.99")),
+            now,
+            now,
+            ImageUrl.of("https://example.com/" + sku + ".jpg"),
+            Set.of(ProductCategory.of(CategoryId.of("books-id"), CategoryName.of("books"))),
+            version
+        );
+    }
+}
@@ -0,0 +1,104 @@
+package com.metao.book.product.application.handoff;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import com.metao.book.product.application.service.ProductDomainService;
+import com.metao.book.product.domain.model.aggregate.ProductAggregate;
+import com.metao.book.product.domain.model.valueobject.CategoryName;
+import com.metao.book.product.domain.model.valueobject.ImageUrl;
+import com.metao.book.product.domain.model.valueobject.ProductDescription;
+import com.metao.book.product.domain.repository.ProductProjection;
+import com.metao.book.product.domain.repository.ProductRepository;
+import com.metao.book.shared.domain.financial.Money;
+import com.metao.book.shared.domain.product.ProductSku;
+import com.metao.book.shared.domain.product.ProductTitle;
+import com.metao.book.shared.domain.product.Quantity;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@DisplayName("CacheHandoffRunner")
+@ExtendWith(MockitoExtension.class)
+class CacheHandoffRunnerTest {
+
+    private static final CategoryName BOOKS = CategoryName.of("books");
+
+    @Mock
+    private ProductDomainService productDomainService;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private CacheHandoffRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        runner = new CacheHandoffRunner(productDomainService, productRepository, Duration.ofMillis(500));
+    }
+
+    @Test
+    @DisplayName("should keep a page whose products and versions are unchanged")
+    void shouldKeepCurrentPage() {
+        var page = page(0, product("SKU-1", 1L), product("SKU-2", 4L));
+        when(productRepository.findVersionsBySkus(anyList()))
+            .thenReturn(Map.of(ProductSku.of("SKU-1"), 1L, ProductSku.of("SKU-2"), 4L));
+        when(productRepository.findSkusByCategory(BOOKS, 0, 2))
+            .thenReturn(List.of(ProductSku.of("SKU-1"), ProductSku.of("SKU-2")));
+
+        assertThat(runner.validate(List.of(page))).containsExactly(page);
+    }
+
+    @Test
+    @DisplayName("should drop a page whose product versions are current but whose membership changed")
+    void shouldDropShiftedPage() {
+        var page = page(0, product("SKU-1", 1L), product("SKU-2", 4L));
+        when(productRepository.findVersionsBySkus(anyList()))
+            .thenReturn(Map.of(ProductSku.of("SKU-1"), 1L, ProductSku.of("SKU-2"), 4L));
+        when(productRepository.findSkusByCategory(BOOKS, 0, 2))
+            .thenReturn(List.of(ProductSku.of("SKU-0"), ProductSku.of("SKU-1")));
+
+        assertThat(runner.validate(List.of(page))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should drop a page with a changed product without reading its membership")
+    void shouldDropChangedProduct() {
+        var page = page(0, product("SKU-1", 1L));
+        when(productRepository.findVersionsBySkus(anyList())).thenReturn(Map.of(ProductSku.of("SKU-1"), 2L));
+
+        assertThat(runner.validate(List.of(page))).isEmpty();
+    }
+
+    private static CategoryPageEntry page(int offset, ProductAggregate... products) {
+        return new CategoryPageEntry(BOOKS.value(), offset, products.length, ProductProjection.FULL,
+            Duration.ofSeconds(10), List.of(products));
+    }
+
+    private static ProductAggregate product(String sku, Long version) {
+        var now = Instant.parse("2026-01-01T10:15:30Z");
+        return new ProductAggregate(
+            ProductSku.of(sku),
+            ProductTitle.of("Title " + sku),
+            ProductDescription.of("description"),
+            Quantity.of(BigDecimal.ONE),
+            Money.of(Currency.getInstance("EUR"), BigDecimal.TEN),
+            now,
+            now,
+            ImageUrl.of("https://example.com/" + sku + ".jpg"),
+            Set.of(),
+            version
+        );
+    }
+}
@@ -0,0 +1,67 @@
+package com.metao.book.product.application.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.metao.book.product.application.dto.ProductDTO;
+import com.metao.book.product.application.dto.ProductFieldSet;
+import com.metao.book.shared.ProductMessage;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ProductMessageMapper")
+class ProductMessageMapperTest {
+
+    private static final ProductDTO PRODUCT = ProductDTO.builder()
+        .sku("0684801221")
+        .title("The Old Man and the Sea")
+        .description("description")
+        .imageUrl("https://example.com/old-man.jpg")
+        .price(new BigDecimal("12.10"))
+        .currency(Currency.getInstance("EUR"))
+        .volume(new BigDecimal("100.00"))
+        .categories(Set.of("books"))
+        .createdTime(Instant.parse("2026-01-01T10:15:30.123456789Z"))
+        .updatedTime(Instant.parse("2026-01-02T10:15:30Z"))
+        .inStock(true)
+        .build();
+
+    @Test
+    @DisplayName("should map every field and keep decimals exact")
+    void shouldMapAllFields() throws InvalidProtocolBufferException {
+        var message = ProductMessageMapper.toMessage(PRODUCT, ProductFieldSet.ALL);
+        var decoded = ProductMessage.parseFrom(message.toByteArray());
+
+        assertThat(decoded.getSku()).isEqualTo("0684801221");
+        assertThat(decoded.getTitle()).isEqualTo("The Old Man and the Sea");
+        assertThat(new BigDecimal(decoded.getPrice())).isEqualTo(new BigDecimal("12.10"));
+        assertThat(decoded.getCurrency()).isEqualTo("EUR");
+        assertThat(decoded.getVolume()).isEqualTo("100.00");
+        assertThat(decoded.getCategoriesList()).containsExactly("books");
+        assertThat(decoded.getCreatedTime().getNanos()).isEqualTo(123456789);
+        assertThat(decoded.getInStock()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should leave fields outside the fieldset unset")
+    void shouldHonourFieldSet() {
+        var fieldSet = ProductFieldSet.parse("title,price");
+
+        var list = ProductMessageMapper.toListMessage(List.of(PRODUCT), fieldSet);
+
+        var message = list.getProducts(0);
+        assertThat(message.getSku()).isEqualTo("0684801221");
+        assertThat(message.getTitle()).isEqualTo("The Old Man and the Sea");
+        assertThat(message.getPrice()).isEqualTo("12.10");
+        assertThat(message.getDescription()).isEmpty();
+        assertThat(message.getCategoriesCount()).isZero();
+        assertThat(message.hasCreatedTime()).isFalse();
+        assertThat(message.getSerializedSize())
+            .isLessThan(ProductMessageMapper.toMessage(PRODUCT, ProductFieldSet.ALL).getSerializedSize());
+    }
+}
@@ -0,0 +1,83 @@
+package com.metao.book.product.application.popularity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.metao.book.product.application.popularity.PopularityTracker.TrendingProduct;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PopularityTracker")
+class PopularityTrackerTest {
+
+    @Test
+    @DisplayName("should never undercount in the sketch")
+    void shouldNeverUndercount() {
+        var sketch = new DecayingCountMinSketch(4, 64);
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add("SKU-" + i, i % 7 + 1);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(sketch.estimate("SKU-" + i)).isGreaterThanOrEqualTo(i % 7 + 1);
+        }
+    }
+
+    @Test
+    @DisplayName("should keep apart keys with the same String hash code")
+    void shouldSeparateKeysWithEqualHashCodes() {
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        var sketch = new DecayingCountMinSketch(4, 1024);
+
+        sketch.add("Aa", 100);
+
+        assertThat(sketch.estimate("BB")).isZero();
+    }
+
+    @Test
+    @DisplayName("should halve counts on decay")
+    void shouldHalveCountsOnDecay() {
+        var sketch = new DecayingCountMinSketch(4, 1024);
+        sketch.add("SKU-1", 40);
+
+        sketch.decay();
+
+        assertThat(sketch.estimate("SKU-1")).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("should rank sales above views")
+    void shouldRankSalesAboveViews() {
+        var tracker = new PopularityTracker(4, 1024, 10, 10);
+        for (int i = 0; i < 15; i++) {
+            tracker.recordView("SKU-VIEWED");
+        }
+        tracker.recordView("SKU-SOLD");
+        tracker.recordSale("SKU-SOLD", 2);
+
+        assertThat(tracker.trending(10))
+            .extracting(TrendingProduct::sku)
+            .containsExactly("SKU-SOLD", "SKU-VIEWED");
+        assertThat(tracker.score("SKU-SOLD")).isEqualTo(21.0);
+    }
+
+    @Test
+    @DisplayName("should keep only the heavy hitters when candidates overflow")
+    void shouldKeepHeavyHitters() {
+        var tracker = new PopularityTracker(4, 4096, 10, 2);
+        for (int i = 0; i < 50; i++) {
+            tracker.recordView("SKU-HOT-1");
+            tracker.recordView("SKU-HOT-2");
+        }
+        for (int i = 0; i < 20; i++) {
+            tracker.recordView("SKU-COLD-" + i);
+        }
+
+        tracker.decay();
+
+        assertThat(tracker.trending(10))
+            .extracting(TrendingProduct::sku)
+            .containsExactly("SKU-HOT-1", "SKU-HOT-2");
+        assertThat(tracker.isHot("SKU-HOT-1")).isTrue();
+        assertThat(tracker.isHot("SKU-COLD-0")).isFalse();
+    }
+}
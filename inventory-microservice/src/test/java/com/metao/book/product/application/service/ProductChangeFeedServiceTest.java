@@ -0,0 +1,55 @@
+package com.metao.book.product.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.metao.book.product.application.dto.ProductChangesDTO;
+import com.metao.book.product.application.port.ProductChangeFeedPort;
+import com.metao.book.product.application.port.ProductChangeFeedPort.ProductChange;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ProductChangeFeedService")
+class ProductChangeFeedServiceTest {
+
+    private final ProductChangeFeedPort productChangeFeed = mock(ProductChangeFeedPort.class);
+    private final ProductChangeFeedService service = new ProductChangeFeedService(productChangeFeed, 2);
+
+    @Test
+    @DisplayName("should start from the beginning and resume from the returned token")
+    void shouldResumeFromToken() {
+        when(productChangeFeed.findChangesAfter(0L, 2))
+            .thenReturn(List.of(change(3, "SKU-1", "5"), change(7, "SKU-2", "0")));
+        when(productChangeFeed.findChangesAfter(7L, 2)).thenReturn(List.of());
+
+        ProductChangesDTO first = service.getChanges(null, 100);
+        ProductChangesDTO second = service.getChanges(first.nextToken(), 100);
+
+        assertThat(first.changes()).extracting(ProductChangesDTO.Change::sku).containsExactly("SKU-1", "SKU-2");
+        assertThat(first.changes()).extracting(ProductChangesDTO.Change::inStock).containsExactly(true, false);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.changes()).isEmpty();
+        assertThat(second.hasMore()).isFalse();
+        assertThat(second.nextToken()).isEqualTo(first.nextToken());
+    }
+
+    @Test
+    @DisplayName("should reject tampered tokens")
+    void shouldRejectInvalidTokens() {
+        assertThatThrownBy(() -> service.getChanges("not-a-token!", 10))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getChanges(ProductChangeFeedService.encodeToken(-5), 10))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(ProductChangeFeedService.decodeToken(ProductChangeFeedService.encodeToken(42))).isEqualTo(42);
+    }
+
+    private static ProductChange change(long sequence, String sku, String volume) {
+        return new ProductChange(sequence, sku, "Title", "https://example.com/image.jpg", BigDecimal.TEN, "EUR",
+            new BigDecimal(volume), Instant.parse("2026-01-01T00:00:00Z"));
+    }
+}
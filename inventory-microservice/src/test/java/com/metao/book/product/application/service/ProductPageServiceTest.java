@@ -0,0 +1,121 @@
+package com.metao.book.product.application.service;
+
+import static com.metao.book.product.infrastructure.util.ProductConstant.CATEGORY;
+import static com.metao.book.product.infrastructure.util.ProductConstant.SKU;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.metao.book.product.application.config.ProductPageProperties;
+import com.metao.book.product.application.mapper.ProductApplicationMapper;
+import com.metao.book.product.domain.exception.ProductNotFoundException;
+import com.metao.book.product.domain.exception.ProductPageUnavailableException;
+import com.metao.book.product.domain.model.entity.ProductCategory;
+import com.metao.book.product.infrastructure.application.ProductDtoGeneratorUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ProductPageService")
+class ProductPageServiceTest {
+
+    private final ProductDomainService productDomainService = mock(ProductDomainService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ProductPageService productPageService;
+
+    @BeforeEach
+    void setUp() {
+        productPageService = new ProductPageService(
+            productDomainService,
+            new ProductApplicationMapper(),
+            new ProductPageProperties(Duration.ofSeconds(2), Duration.ofMillis(200), Duration.ofSeconds(2)),
+            meterRegistry
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        productPageService.shutdown();
+    }
+
+    @Test
+    @DisplayName("should assemble all branches into one page")
+    void shouldAssembleAllBranches() {
+        var product = ProductApplicationMapper.toDomain(ProductDtoGeneratorUtils.buildOneProduct());
+        when(productDomainService.getProductBySku(SKU.value())).thenReturn(product);
+        when(productDomainService.getRelatedProducts(SKU, 5)).thenReturn(List.of(product));
+        when(productDomainService.getCategories(0, 10)).thenReturn(Set.of(ProductCategory.of(CATEGORY)));
+
+        var page = productPageService.getProductPage(SKU.value(), 5, 10);
+
+        assertThat(page.product().sku()).isEqualTo(SKU.value());
+        assertThat(page.related()).hasSize(1);
+        assertThat(page.categories()).extracting(category -> category.category()).containsExactly(CATEGORY.value());
+        assertThat(page.degraded()).isEmpty();
+        assertThat(meterRegistry.find("inventory.product-page.branch").tag("outcome", "success").timers())
+            .hasSize(3);
+    }
+
+    @Test
+    @DisplayName("should degrade optional branches that fail or time out")
+    void shouldDegradeOptionalBranches() {
+        var product = ProductApplicationMapper.toDomain(ProductDtoGeneratorUtils.buildOneProduct());
+        when(productDomainService.getProductBySku(SKU.value())).thenReturn(product);
+        when(productDomainService.getRelatedProducts(SKU, 5)).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of(product);
+        });
+        when(productDomainService.getCategories(0, 10)).thenThrow(new IllegalStateException("db down"));
+
+        var page = productPageService.getProductPage(SKU.value(), 5, 10);
+
+        assertThat(page.product().sku()).isEqualTo(SKU.value());
+        assertThat(page.related()).isEmpty();
+        assertThat(page.categories()).isEmpty();
+        assertThat(page.degraded()).containsExactly("related", "categories");
+        assertThat(meterRegistry.find("inventory.product-page.branch")
+            .tags("branch", "related", "outcome", "timeout").timer()).isNotNull();
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> assertThat(meterRegistry
+            .find("inventory.product-page.branch").tags("branch", "related", "outcome", "cancelled").timer())
+            .isNotNull());
+        assertThat(meterRegistry.find("inventory.product-page.branch")
+            .tags("branch", "related", "outcome", "error").timer()).isNull();
+        assertThat(meterRegistry.find("inventory.product-page.branch")
+            .tags("branch", "categories", "outcome", "error").timer()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should propagate a missing product")
+    void shouldPropagateMissingProduct() {
+        when(productDomainService.getProductBySku(SKU.value())).thenThrow(new ProductNotFoundException(SKU));
+
+        assertThatThrownBy(() -> productPageService.getProductPage(SKU.value(), 5, 10))
+            .isInstanceOf(ProductNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("should fail the page when the product branch times out")
+    void shouldFailWhenProductBranchTimesOut() {
+        productPageService.shutdown();
+        productPageService = new ProductPageService(
+            productDomainService,
+            new ProductApplicationMapper(),
+            new ProductPageProperties(Duration.ofMillis(50), Duration.ofMillis(50), Duration.ofMillis(50)),
+            meterRegistry
+        );
+        when(productDomainService.getProductBySku(SKU.value())).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return null;
+        });
+
+        assertThatThrownBy(() -> productPageService.getProductPage(SKU.value(), 5, 10))
+            .isInstanceOf(ProductPageUnavailableException.class);
+    }
+}
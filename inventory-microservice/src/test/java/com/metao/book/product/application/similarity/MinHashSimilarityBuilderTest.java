@@ -0,0 +1,77 @@
+package com.metao.book.product.application.similarity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.metao.book.product.application.similarity.MinHashSimilarityBuilder.Document;
+import com.metao.book.product.application.similarity.MinHashSimilarityBuilder.Neighbour;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("MinHashSimilarityBuilder")
+class MinHashSimilarityBuilderTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("should pair products with overlapping titles and descriptions")
+    void shouldFindSimilarProducts() {
+        var builder = new MinHashSimilarityBuilder(16, 4, 3, 50, 0.2, pool);
+        builder.add(List.of(
+            new Document("1", "The Lord of the Rings: The Fellowship of the Ring",
+                "Epic fantasy adventure in Middle-earth by J.R.R. Tolkien"),
+            new Document("2", "Java Concurrency in Practice", "Threads, locks and the Java memory model")
+        ));
+        builder.add(List.of(
+            new Document("3", "The Lord of the Rings: The Two Towers",
+                "Epic fantasy adventure in Middle-earth by J.R.R. Tolkien"),
+            new Document("4", "Effective Java", "Best practices for the Java platform")
+        ));
+
+        var graph = builder.build();
+
+        assertThat(graph.size()).isEqualTo(4);
+        assertThat(graph.neighbours(0)).extracting(Neighbour::sku).containsExactly("3");
+        assertThat(graph.neighbours(2)).extracting(Neighbour::sku).containsExactly("1");
+        assertThat(graph.neighbours(0).getFirst().similarity()).isBetween(0.5, 1.0);
+    }
+
+    @Test
+    @DisplayName("should rank neighbours by similarity and cap them")
+    void shouldRankAndCapNeighbours() {
+        var builder = new MinHashSimilarityBuilder(16, 4, 2, 50, 0.2, pool);
+        builder.add(List.of(
+            new Document("base", "distributed systems design patterns", "consistency replication consensus"),
+            new Document("same", "distributed systems design patterns", "consistency replication consensus"),
+            new Document("close", "distributed systems design patterns", "consistency replication"),
+            new Document("far", "distributed systems", "consistency")
+        ));
+
+        var neighbours = builder.build().neighbours(0);
+
+        assertThat(neighbours).extracting(Neighbour::sku).containsExactly("same", "close");
+        assertThat(neighbours.getFirst().similarity()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should leave unrelated products without neighbours")
+    void shouldNotPairUnrelatedProducts() {
+        var builder = new MinHashSimilarityBuilder(16, 4, 3, 50, 0.2, pool);
+        builder.add(List.of(
+            new Document("1", "Gardening for Beginners", "Soil, seeds and watering"),
+            new Document("2", "Quantum Field Theory", "Path integrals and renormalization")
+        ));
+
+        var graph = builder.build();
+
+        assertThat(graph.neighbours(0)).isEmpty();
+        assertThat(graph.neighbours(1)).isEmpty();
+    }
+}
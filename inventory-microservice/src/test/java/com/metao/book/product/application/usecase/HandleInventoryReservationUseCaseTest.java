@@ -0,0 +1,148 @@
+package com.metao.book.product.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.metao.book.product.application.popularity.PopularityTracker;
+import com.metao.book.product.application.port.InventoryReservationPort.LineResult;
+import com.metao.book.product.application.port.ProcessedInventoryEventPort;
+import com.metao.book.product.application.service.ProductDomainService;
+import com.metao.book.product.domain.model.event.DomainInventoryReservationProcessedEvent;
+import com.metao.book.shared.domain.base.DomainEventPublisher;
+import com.metao.book.shared.domain.product.ProductSku;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HandleInventoryReservationUseCase")
+class HandleInventoryReservationUseCaseTest {
+
+    @Mock
+    private ProductDomainService productService;
+
+    @Mock
+    private ProcessedInventoryEventPort processedInventoryEventPort;
+
+    @Mock
+    private PopularityTracker popularityTracker;
+
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
+    @InjectMocks
+    private HandleInventoryReservationUseCase useCase;
+
+    @Nested
+    @DisplayName("handle")
+    class Handle {
+
+        @Test
+        @DisplayName("should reserve all lines of an order in one call, merging repeated skus")
+        void shouldReserveAllLinesInOneCall() {
+            var command = new HandleInventoryReservationCommand("order-1", List.of(
+                new HandleInventoryReservationCommand.Line("SKU-1", BigDecimal.ONE),
+                new HandleInventoryReservationCommand.Line("SKU-2", BigDecimal.valueOf(2)),
+                new HandleInventoryReservationCommand.Line("SKU-1", BigDecimal.ONE)
+            ));
+            var expected = Map.of(ProductSku.of("SKU-1"), BigDecimal.valueOf(2), ProductSku.of("SKU-2"),
+                BigDecimal.valueOf(2));
+            when(processedInventoryEventPort.markProcessed("reservation:order-1")).thenReturn(true);
+            when(productService.reserveVolumes(expected)).thenReturn(List.of(
+                new LineResult(ProductSku.of("SKU-1"), BigDecimal.valueOf(2), BigDecimal.TEN, true),
+                new LineResult(ProductSku.of("SKU-2"), BigDecimal.valueOf(2), BigDecimal.TEN, true)
+            ));
+
+            useCase.handle(command);
+
+            verify(popularityTracker).recordSale("SKU-1", 2L);
+            verify(popularityTracker).recordSale("SKU-2", 2L);
+            var event = publishedEvent();
+            assertThat(event.isReserved()).isTrue();
+            assertThat(event.getShortfalls()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should record the sales only once the reservation commits")
+        void shouldRecordSalesAfterCommit() {
+            var command = new HandleInventoryReservationCommand("order-1", List.of(
+                new HandleInventoryReservationCommand.Line("SKU-1", BigDecimal.ONE)
+            ));
+            when(processedInventoryEventPort.markProcessed("reservation:order-1")).thenReturn(true);
+            when(productService.reserveVolumes(any())).thenReturn(List.of(
+                new LineResult(ProductSku.of("SKU-1"), BigDecimal.ONE, BigDecimal.TEN, true)
+            ));
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                useCase.handle(command);
+
+                verify(popularityTracker, never()).recordSale(anyString(), anyLong());
+                TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            verify(popularityTracker).recordSale("SKU-1", 1L);
+        }
+
+        @Test
+        @DisplayName("should report only the short lines and record no sales when a line cannot be served")
+        void shouldReportShortfalls() {
+            var command = new HandleInventoryReservationCommand("order-1", List.of(
+                new HandleInventoryReservationCommand.Line("SKU-1", BigDecimal.ONE),
+                new HandleInventoryReservationCommand.Line("SKU-2", BigDecimal.valueOf(5))
+            ));
+            when(processedInventoryEventPort.markProcessed("reservation:order-1")).thenReturn(true);
+            when(productService.reserveVolumes(any())).thenReturn(List.of(
+                new LineResult(ProductSku.of("SKU-1"), BigDecimal.ONE, BigDecimal.TEN, false),
+                new LineResult(ProductSku.of("SKU-2"), BigDecimal.valueOf(5), BigDecimal.ONE, false)
+            ));
+
+            useCase.handle(command);
+
+            verify(popularityTracker, never()).recordSale(anyString(), anyLong());
+            var event = publishedEvent();
+            assertThat(event.isReserved()).isFalse();
+            assertThat(event.getShortfalls())
+                .extracting(DomainInventoryReservationProcessedEvent.Shortfall::sku)
+                .containsExactly(ProductSku.of("SKU-2"));
+        }
+
+        @Test
+        @DisplayName("should skip an order whose reservation was already processed")
+        void shouldSkipDuplicateReservation() {
+            var command = new HandleInventoryReservationCommand("order-1", List.of(
+                new HandleInventoryReservationCommand.Line("SKU-1", BigDecimal.ONE)
+            ));
+            when(processedInventoryEventPort.markProcessed("reservation:order-1")).thenReturn(false);
+
+            useCase.handle(command);
+
+            verifyNoInteractions(productService, popularityTracker, eventPublisher);
+        }
+    }
+
+    private DomainInventoryReservationProcessedEvent publishedEvent() {
+        var captor = ArgumentCaptor.forClass(DomainInventoryReservationProcessedEvent.class);
+        verify(eventPublisher).publish(captor.capture());
+        return captor.getValue();
+    }
+}
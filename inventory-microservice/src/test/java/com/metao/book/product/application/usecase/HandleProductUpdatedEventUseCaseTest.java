@@ -1,11 +1,14 @@
 package com.metao.book.product.application.usecase;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.metao.book.product.application.popularity.PopularityTracker;
 import com.metao.book.product.application.port.ProcessedInventoryEventPort;
 import com.metao.book.product.application.service.ProductDomainService;
 import java.math.BigDecimal;
@@ -16,6 +19,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("HandleProductUpdatedEventUseCase")
@@ -27,6 +32,9 @@ class HandleProductUpdatedEventUseCaseTest {
     @Mock
     private ProcessedInventoryEventPort processedInventoryEventPort;
 
+    @Mock
+    private PopularityTracker popularityTracker;
+
     @InjectMocks
     private HandleProductUpdatedEventUseCase useCase;
 
@@ -51,6 +59,51 @@ class HandleProductUpdatedEventUseCaseTest {
             verify(productService).reduceProductVolumeAtomically(eq("SKU-1"), eq(BigDecimal.valueOf(3.0)));
         }
 
+        @Test
+        @DisplayName("should record sold units for popularity after a successful reduction")
+        void shouldRecordSaleAfterSuccessfulReduction() {
+            HandleProductUpdatedEventCommand command = new HandleProductUpdatedEventCommand(
+                "order-1:SKU-1",
+                "SKU-1",
+                "INVENTORY_REDUCTION",
+                BigDecimal.valueOf(3.0)
+            );
+
+            when(processedInventoryEventPort.markProcessed("order-1:SKU-1")).thenReturn(true);
+            when(productService.reduceProductVolumeAtomically("SKU-1", BigDecimal.valueOf(3.0))).thenReturn(true);
+
+            useCase.handle(command);
+
+            verify(popularityTracker).recordSale("SKU-1", 3L);
+        }
+
+        @Test
+        @DisplayName("should not record the sale before the reduction commits")
+        void shouldRecordSaleOnlyAfterCommit() {
+            HandleProductUpdatedEventCommand command = new HandleProductUpdatedEventCommand(
+                "order-1:SKU-1",
+                "SKU-1",
+                "INVENTORY_REDUCTION",
+                BigDecimal.valueOf(3.0)
+            );
+
+            when(processedInventoryEventPort.markProcessed("order-1:SKU-1")).thenReturn(true);
+            when(productService.reduceProductVolumeAtomically("SKU-1", BigDecimal.valueOf(3.0))).thenReturn(true);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                useCase.handle(command);
+
+                verify(popularityTracker, never()).recordSale(anyString(), anyLong());
+                TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            verify(popularityTracker).recordSale("SKU-1", 3L);
+        }
+
         @Test
         @DisplayName("should skip duplicate inventory-reduction event")
         void shouldSkipDuplicateInventoryReductionEvent() {
@@ -9,6 +9,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.metao.book.product.application.port.CatalogSnapshotPort;
+import com.metao.book.product.application.port.ProductSimilarityPort;
 import com.metao.book.product.application.service.ProductDomainService;
 import com.metao.book.product.domain.exception.CategoryNotFoundException;
 import com.metao.book.product.domain.exception.ProductNotFoundException;
@@ -20,6 +22,7 @@ import com.metao.book.product.domain.model.valueobject.ImageUrl;
 import com.metao.book.product.domain.model.valueobject.ProductDescription;
 import com.metao.book.shared.domain.product.ProductTitle;
 import com.metao.book.product.domain.repository.CategoryRepository;
+import com.metao.book.product.domain.repository.ProductProjection;
 import com.metao.book.product.domain.repository.ProductRepository;
 import com.metao.book.product.infrastructure.persistence.repository.ProductCreateIdempotencyRepository;
 import com.metao.book.shared.domain.base.DomainEventPublisher;
@@ -61,6 +64,12 @@ class ProductAggregateDomainServiceTest {
     @Mock
     DomainEventPublisher eventPublisher;
 
+    @Mock
+    CatalogSnapshotPort catalogSnapshotPort;
+
+    @Mock
+    ProductSimilarityPort productSimilarityPort;
+
     private ProductSku testSku;
     private CategoryName testCategoryName;
     private ProductCategory testCategory;
@@ -308,6 +317,70 @@ class ProductAggregateDomainServiceTest {
         verify(productRepository).findByCategories(any(), any(Integer.class), any(Integer.class));
     }
 
+    // ========== getSimilarProducts Tests ==========
+
+    @Test
+    @DisplayName("getSimilarProducts - when neighbours are stored - should return them most similar first")
+    void getSimilarProducts_whenNeighboursStored_shouldKeepNeighbourOrder() {
+        // GIVEN
+        ProductSku closest = ProductSku.of("SIMILAR001");
+        ProductSku second = ProductSku.of("SIMILAR002");
+        ProductAggregate closestProduct = createTestProduct(closest, Set.of());
+        ProductAggregate secondProduct = createTestProduct(second, Set.of());
+
+        when(productSimilarityPort.findNeighbourSkus(testSku, 5)).thenReturn(List.of(closest, second));
+        when(productRepository.findBySkus(List.of(closest, second)))
+            .thenReturn(List.of(secondProduct, closestProduct));
+
+        // WHEN
+        List<ProductAggregate> similarProducts = productDomainService.getSimilarProducts(testSku, 5);
+
+        // THEN
+        assertThat(similarProducts).containsExactly(closestProduct, secondProduct);
+        verify(productRepository, never()).findByCategories(any(), any(Integer.class), any(Integer.class));
+    }
+
+    @Test
+    @DisplayName("getSimilarProducts - with a projection - should load only the selected parts in neighbour order")
+    void getSimilarProducts_withProjection_shouldLoadProjectedNeighbours() {
+        // GIVEN
+        var projection = new ProductProjection(false, false);
+        ProductSku closest = ProductSku.of("SIMILAR001");
+        ProductSku second = ProductSku.of("SIMILAR002");
+        List<ProductAggregate> projected = List.of(createTestProduct(closest, Set.of()),
+            createTestProduct(second, Set.of()));
+
+        when(productSimilarityPort.findNeighbourSkus(testSku, 5)).thenReturn(List.of(closest, second));
+        when(productRepository.findBySkus(List.of(closest, second), projection)).thenReturn(projected);
+
+        // WHEN
+        List<ProductAggregate> similarProducts = productDomainService.getSimilarProducts(testSku, 5, projection);
+
+        // THEN
+        assertThat(similarProducts).isEqualTo(projected);
+        verify(productRepository, never()).findBySkus(List.of(closest, second));
+    }
+
+    @Test
+    @DisplayName("getSimilarProducts - when no neighbours are stored - should fall back to shared categories")
+    void getSimilarProducts_whenNoNeighbours_shouldFallBackToCategories() {
+        // GIVEN
+        ProductCategory sharedCategory = createCategory("SharedCategory");
+        ProductAggregate product = createTestProduct(testSku, Set.of(sharedCategory));
+        ProductAggregate relatedProduct = createTestProduct(ProductSku.of("RELATED001"), Set.of(sharedCategory));
+
+        when(productSimilarityPort.findNeighbourSkus(testSku, 5)).thenReturn(List.of());
+        when(productRepository.findBySku(testSku)).thenReturn(Optional.of(product));
+        when(productRepository.findByCategories(any(), any(Integer.class), any(Integer.class)))
+            .thenReturn(List.of(product, relatedProduct));
+
+        // WHEN
+        List<ProductAggregate> similarProducts = productDomainService.getSimilarProducts(testSku, 5);
+
+        // THEN
+        assertThat(similarProducts).containsExactly(relatedProduct);
+    }
+
     @Test
     @DisplayName("getProductsByCategory - repeated same page should use cache")
     void getProductsByCategory_whenRepeatedSamePage_shouldUseCache() {
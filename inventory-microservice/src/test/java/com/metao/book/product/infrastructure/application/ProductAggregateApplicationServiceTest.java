@@ -15,6 +15,8 @@ import com.metao.book.product.application.dto.CreateProductCommand;
 import com.metao.book.product.application.dto.CreateProductDto;
 import com.metao.book.product.application.dto.UpdateProductCommand;
 import com.metao.book.product.application.mapper.ProductApplicationMapper;
+import com.metao.book.product.application.port.CatalogSnapshotPort;
+import com.metao.book.product.application.port.ProductSimilarityPort;
 import com.metao.book.product.application.service.CreateProductResult;
 import com.metao.book.product.application.service.ProductDomainService;
 import com.metao.book.product.domain.exception.IdempotencyKeyConflictException;
@@ -69,6 +71,12 @@ class ProductAggregateApplicationServiceTest {
     @Mock
     ProductCreateIdempotencyRepository productCreateIdempotencyRepository;
 
+    @Mock
+    CatalogSnapshotPort catalogSnapshotPort;
+
+    @Mock
+    ProductSimilarityPort productSimilarityPort;
+
     @Test
     void getProduct_whenProductNotFound_shouldThrowsException() {
         // WHEN
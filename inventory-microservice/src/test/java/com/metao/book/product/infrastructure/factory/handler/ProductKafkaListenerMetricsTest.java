@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
 import com.metao.book.product.ProductCreatedEvent;
+import com.metao.book.product.application.usecase.HandleInventoryReservationUseCase;
 import com.metao.book.product.application.usecase.HandleProductCreatedEventUseCase;
 import com.metao.book.product.application.usecase.HandleProductUpdatedEventUseCase;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
@@ -20,7 +21,9 @@ class ProductKafkaListenerMetricsTest {
     void timerIsRecordedWhenProductCreatedListenerRuns() {
         var handleProductCreatedEventUseCase = Mockito.mock(HandleProductCreatedEventUseCase.class);
         var handleProductUpdatedEventUseCase = Mockito.mock(HandleProductUpdatedEventUseCase.class);
-        var listener = new ProductKafkaListenerComponent(handleProductCreatedEventUseCase, handleProductUpdatedEventUseCase);
+        var handleInventoryReservationUseCase = Mockito.mock(HandleInventoryReservationUseCase.class);
+        var listener = new ProductKafkaListenerComponent(
+            handleProductCreatedEventUseCase, handleProductUpdatedEventUseCase, handleInventoryReservationUseCase);
         var acknowledgment = mock(Acknowledgment.class);
         var meterRegistry = new SimpleMeterRegistry();
 
@@ -0,0 +1,116 @@
+package com.metao.book.product.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.metao.book.product.application.port.ProductChangeFeedPort.ProductChange;
+import com.metao.book.product.infrastructure.persistence.repository.ProductChangeFeedRepository;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Runs the change feed query against a real Postgres, where the settle check depends on which transactions are
+ * still running.
+ */
+@DisplayName("ProductChangeFeedRepository")
+class ProductChangeFeedRepositoryIT {
+
+    private static final String URL = "jdbc:tc:postgresql:16-alpine:///product-change-feed?TC_DAEMON=true";
+
+    private static DriverManagerDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static ProductChangeFeedRepository repository;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = new DriverManagerDataSource(URL);
+        Flyway.configure().dataSource(dataSource).locations("classpath:migration").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new ProductChangeFeedRepository(jdbcTemplate);
+    }
+
+    @BeforeEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM product_category_map");
+        jdbcTemplate.update("DELETE FROM product_table");
+    }
+
+    @Test
+    @DisplayName("should hand out a product that is updated continuously")
+    void shouldNotStarveHotProducts() throws Exception {
+        insert("SKU-COLD");
+        insert("SKU-HOT");
+        long cursor = lastSequence();
+        var running = new AtomicBoolean(true);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            writer.submit(() -> {
+                while (running.get()) {
+                    jdbcTemplate.update("UPDATE product_table SET volume = volume + 1 WHERE sku = 'SKU-HOT'");
+                }
+            });
+            jdbcTemplate.update("UPDATE product_table SET volume = 3 WHERE sku = 'SKU-COLD'");
+
+            List<String> seen = new ArrayList<>();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!seen.contains("SKU-HOT") && System.nanoTime() < deadline) {
+                List<ProductChange> changes = repository.findChangesAfter(cursor, 100);
+                changes.forEach(change -> seen.add(change.sku()));
+                cursor = changes.isEmpty() ? cursor : changes.getLast().sequence();
+            }
+
+            assertThat(seen).contains("SKU-COLD", "SKU-HOT");
+        } finally {
+            running.set(false);
+            writer.shutdown();
+            assertThat(writer.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("should hold back later changes while a transaction with a lower sequence is still running")
+    void shouldHoldBackBehindRunningTransaction() throws Exception {
+        insert("SKU-SLOW");
+        insert("SKU-FAST");
+        long cursor = lastSequence();
+
+        try (Connection slow = dataSource.getConnection()) {
+            slow.setAutoCommit(false);
+            try (var statement = slow.createStatement()) {
+                statement.executeUpdate("UPDATE product_table SET volume = 1 WHERE sku = 'SKU-SLOW'");
+            }
+            jdbcTemplate.update("UPDATE product_table SET volume = 2 WHERE sku = 'SKU-FAST'");
+
+            assertThat(repository.findChangesAfter(cursor, 100)).isEmpty();
+
+            slow.commit();
+        }
+
+        assertThat(repository.findChangesAfter(cursor, 100))
+            .extracting(ProductChange::sku)
+            .containsExactly("SKU-SLOW", "SKU-FAST");
+    }
+
+    private static void insert(String sku) {
+        jdbcTemplate.update("""
+            INSERT INTO product_table (sku, version, volume, title, description, image_url, price_value,
+                                       price_currency)
+            VALUES (?, 0, 10, 'Title', 'Description', 'https://example.com/image.jpg', 10, 'EUR')
+            """, sku);
+    }
+
+    private static long lastSequence() {
+        return jdbcTemplate.queryForObject("SELECT max(change_seq) FROM product_table", Long.class);
+    }
+}
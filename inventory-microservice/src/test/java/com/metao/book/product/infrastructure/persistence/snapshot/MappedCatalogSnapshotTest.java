@@ -0,0 +1,96 @@
+package com.metao.book.product.infrastructure.persistence.snapshot;
+
+import static com.metao.book.product.infrastructure.util.ProductConstant.CATEGORY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.metao.book.product.domain.model.aggregate.ProductAggregate;
+import com.metao.book.product.domain.model.entity.ProductCategory;
+import com.metao.book.product.domain.model.valueobject.CategoryId;
+import com.metao.book.product.domain.model.valueobject.ImageUrl;
+import com.metao.book.product.domain.model.valueobject.ProductDescription;
+import com.metao.book.shared.domain.financial.Money;
+import com.metao.book.shared.domain.product.ProductSku;
+import com.metao.book.shared.domain.product.ProductTitle;
+import com.metao.book.shared.domain.product.Quantity;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedCatalogSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writtenProductsCanBeFoundBySku() throws IOException {
+        var path = directory.resolve("catalog.snapshot");
+        var highWaterMark = Instant.parse("2026-01-01T00:00:00Z");
+
+        try (var writer = CatalogSnapshotWriter.open(path, highWaterMark)) {
+            for (int i = 0; i < 1_000; i++) {
+                writer.append(product("SKU" + i, BigDecimal.valueOf(i)));
+            }
+        }
+
+        var snapshot = MappedCatalogSnapshot.open(path);
+
+        assertThat(snapshot.size()).isEqualTo(1_000);
+        assertThat(snapshot.highWaterMark()).isEqualTo(highWaterMark);
+        assertThat(snapshot.find(ProductSku.of("SKU42")))
+            .hasValueSatisfying(product -> {
+                assertThat(product.getTitle()).isEqualTo(ProductTitle.of("title SKU42"));
+                assertThat(product.getVolume()).isEqualTo(Quantity.of(BigDecimal.valueOf(42)));
+                assertThat(product.getMoney()).isEqualTo(Money.of(Currency.getInstance("EUR"), new BigDecimal("12.50")));
+                assertThat(product.getVersion()).isEqualTo(3L);
+                assertThat(product.getCategories())
+                    .extracting(category -> category.getName().value())
+                    .containsExactly(CATEGORY.value());
+            });
+        assertThat(snapshot.find(ProductSku.of("SKU0")))
+            .hasValueSatisfying(product -> assertThat(product.isInStock()).isFalse());
+    }
+
+    @Test
+    void unknownSkuIsNotFound() throws IOException {
+        var path = directory.resolve("catalog.snapshot");
+        try (var writer = CatalogSnapshotWriter.open(path, Instant.now())) {
+            writer.append(product("SKU1", BigDecimal.ONE));
+        }
+
+        assertThat(MappedCatalogSnapshot.open(path).find(ProductSku.of("MISSING"))).isEmpty();
+    }
+
+    @Test
+    void emptySnapshotCanBeOpened() throws IOException {
+        var path = directory.resolve("catalog.snapshot");
+        try (var ignored = CatalogSnapshotWriter.open(path, Instant.now())) {
+            // no products
+        }
+
+        var snapshot = MappedCatalogSnapshot.open(path);
+
+        assertThat(snapshot.size()).isZero();
+        assertThat(snapshot.find(ProductSku.of("SKU1"))).isEmpty();
+    }
+
+    private static ProductAggregate product(String sku, BigDecimal volume) {
+        var createdTime = Instant.parse("2025-06-01T10:15:30.123456Z");
+        return new ProductAggregate(
+            ProductSku.of(sku),
+            ProductTitle.of("title " + sku),
+            ProductDescription.of("description " + sku),
+            Quantity.of(volume),
+            Money.of(Currency.getInstance("EUR"), new BigDecimal("12.50")),
+            createdTime,
+            createdTime,
+            ImageUrl.of("https://example.com/" + sku + ".jpg"),
+            Set.of(ProductCategory.of(CategoryId.of("category-1"), CATEGORY)),
+            3L
+        );
+    }
+}
@@ -0,0 +1,71 @@
+package com.metao.book.order.domain.model.aggregate;
+
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import com.metao.book.order.domain.model.valueobject.UserId;
+import com.metao.book.shared.domain.financial.Money;
+import com.metao.book.shared.domain.product.ProductSku;
+import com.metao.book.shared.domain.product.ProductTitle;
+import com.metao.book.shared.domain.product.Quantity;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Time to build and merge into an order of {@code lines} lines. With indexed lines and a running subtotal the time
+ * per line stays flat as {@code lines} grows; divide the score by {@code lines} to compare sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderAggregateBenchmark {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final ProductTitle TITLE = ProductTitle.of("Book");
+    private static final Quantity ONE = Quantity.of(BigDecimal.ONE);
+    private static final Money PRICE = Money.of(EUR, new BigDecimal("12.34"));
+
+    @Param({"100", "1000", "2000", "10000"})
+    private int lines;
+
+    private ProductSku[] skus;
+
+    @Setup
+    public void setUp() {
+        skus = new ProductSku[lines];
+        for (int line = 0; line < lines; line++) {
+            skus[line] = ProductSku.of("SKU-%06d".formatted(line));
+        }
+    }
+
+    @Benchmark
+    public OrderAggregate buildOrder() {
+        OrderAggregate order = new OrderAggregate(OrderId.of("order-1"), UserId.of("user-1"));
+        for (ProductSku sku : skus) {
+            order.addItem(sku, TITLE, ONE, PRICE);
+        }
+        return order;
+    }
+
+    /**
+     * Replays the same lines into a built order the way a duplicate order-created event is merged: every line is
+     * checked and, for half of them, added again.
+     */
+    @Benchmark
+    public OrderAggregate mergeIntoOrder() {
+        OrderAggregate order = buildOrder();
+        for (int line = 0; line < skus.length; line++) {
+            if (order.hasItem(skus[line]) && line % 2 == 0) {
+                order.addItem(skus[line], TITLE, ONE, PRICE);
+            }
+        }
+        return order;
+    }
+}
@@ -0,0 +1,108 @@
+package com.metao.book.order.infrastructure.streams;
+
+import com.google.protobuf.Message;
+import com.metao.book.shared.InventoryReservationRequestedEvent;
+import com.metao.book.shared.InventoryReservationResultEvent;
+import com.metao.book.shared.OrderCreatedEvent;
+import com.metao.book.shared.OrderPaymentUpdatedEvent;
+import com.metao.book.shared.OrderStatusTransitionEvent;
+import com.metao.book.shared.Status;
+import io.confluent.kafka.streams.serdes.protobuf.KafkaProtobufSerde;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Orders per second that the saga topology takes through created, paid and reserved, including serde and RocksDB
+ * store costs but without a broker. Each operation is one order with three input events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class OrderSagaTopologyBenchmark {
+
+    private static final Map<String, String> SERDE_CONFIG = Map.of("schema.registry.url", "mock://order-saga-bench");
+    private static final OrderSagaTopics TOPICS = new OrderSagaTopics(
+        "order-created", "order-payment", "inventory-reservation-result", "inventory-reservation",
+        "order-status-transition");
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, OrderCreatedEvent> orderCreated;
+    private TestInputTopic<String, OrderPaymentUpdatedEvent> payments;
+    private TestInputTopic<String, InventoryReservationResultEvent> reservationResults;
+    private TestOutputTopic<String, OrderStatusTransitionEvent> transitions;
+    private TestOutputTopic<String, InventoryReservationRequestedEvent> reservationRequests;
+    private long sequence;
+
+    @Setup
+    public void setUp() throws IOException {
+        var builder = new StreamsBuilder();
+        OrderSagaTopology.build(builder, TOPICS, SERDE_CONFIG, Duration.ofDays(7));
+        var props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "order-saga-bench");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        props.put(StreamsConfig.STATE_DIR_CONFIG, Files.createTempDirectory("order-saga-bench").toString());
+        driver = new TopologyTestDriver(builder.build(), props);
+
+        var keys = Serdes.String();
+        orderCreated = driver.createInputTopic(TOPICS.orderCreated(), keys.serializer(),
+            serde(OrderCreatedEvent.class).serializer());
+        payments = driver.createInputTopic(TOPICS.payment(), keys.serializer(),
+            serde(OrderPaymentUpdatedEvent.class).serializer());
+        reservationResults = driver.createInputTopic(TOPICS.reservationResult(), keys.serializer(),
+            serde(InventoryReservationResultEvent.class).serializer());
+        transitions = driver.createOutputTopic(TOPICS.statusTransition(), keys.deserializer(),
+            serde(OrderStatusTransitionEvent.class).deserializer());
+        reservationRequests = driver.createOutputTopic(TOPICS.reservationRequest(), keys.deserializer(),
+            serde(InventoryReservationRequestedEvent.class).deserializer());
+    }
+
+    @TearDown
+    public void tearDown() {
+        driver.close();
+    }
+
+    @Benchmark
+    public OrderStatusTransitionEvent orderSaga() {
+        String orderId = "order-" + sequence++;
+        orderCreated.pipeInput(orderId, OrderCreatedEvent.newBuilder()
+            .setId(orderId)
+            .setUserId("user-1")
+            .addItems(OrderCreatedEvent.OrderItem.newBuilder()
+                .setSku("SKU-1").setProductTitle("Book").setQuantity(1).setPrice(10).setCurrency("EUR"))
+            .build());
+        payments.pipeInput(orderId, OrderPaymentUpdatedEvent.newBuilder()
+            .setOrderId(orderId)
+            .setPaymentId("payment-" + orderId)
+            .setStatus(Status.SUCCESSFUL)
+            .build());
+        reservationResults.pipeInput(orderId, InventoryReservationResultEvent.newBuilder()
+            .setOrderId(orderId)
+            .setReserved(true)
+            .build());
+        reservationRequests.readValue();
+        return transitions.readValue();
+    }
+
+    private static <T extends Message> Serde<T> serde(Class<T> type) {
+        var serde = new KafkaProtobufSerde<>(type);
+        serde.configure(new HashMap<>(SERDE_CONFIG), false);
+        return serde;
+    }
+}
@@ -0,0 +1,98 @@
+package com.metao.book.order.application.cart;
+
+import com.metao.book.order.domain.exception.ShoppingCartNotFoundException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Default cart storage: every call reads and writes {@code shopping_cart} through {@link ShoppingCartRepository}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.order.cart.store", havingValue = "repository", matchIfMissing = true)
+public class RepositoryShoppingCartStore implements ShoppingCartStore {
+
+    private final ShoppingCartRepository shoppingCartRepository;
+
+    @Override
+    public List<ShoppingCart> findByUserId(String userId) {
+        return shoppingCartRepository.findByUserId(userId);
+    }
+
+    @Override
+    @Transactional
+    public int addItems(String userId, Set<ShoppingCartItem> shoppingCartItems) {
+        long now = Instant.now().toEpochMilli();
+        Set<String> skus = shoppingCartItems.stream()
+            .map(ShoppingCartItem::sku)
+            .collect(Collectors.toSet());
+        Map<String, ShoppingCart> existingBySku = shoppingCartRepository.findByUserIdAndSkuIn(userId, skus).stream()
+            .collect(Collectors.toMap(ShoppingCart::getSku, Function.identity()));
+
+        var items = shoppingCartItems.stream()
+            .map(item -> {
+                ShoppingCart existingItem = existingBySku.get(item.sku());
+                if (existingItem != null) {
+                    existingItem.setQuantity(existingItem.getQuantity().add(item.quantity()));
+                    existingItem.setUpdatedOn(now);
+                    return existingItem;
+                }
+
+                var newItem = new ShoppingCart(
+                    userId,
+                    item.sku(),
+                    item.productTitle(),
+                    item.price(),
+                    item.price(),
+                    item.quantity(),
+                    item.currency()
+                );
+                newItem.setUpdatedOn(now);
+                return newItem;
+            })
+            .toList();
+
+        shoppingCartRepository.saveAll(items);
+        return items.size();
+    }
+
+    @Override
+    @Transactional
+    public ShoppingCart updateQuantity(String userId, String sku, BigDecimal newQuantity) {
+        ShoppingCart item = shoppingCartRepository.findByUserIdAndSku(userId, sku)
+            .orElseThrow(() -> new ShoppingCartNotFoundException(String.format("user %s and sku %s", userId, sku)));
+
+        if (newQuantity.compareTo(BigDecimal.ZERO) <= 0) {
+            shoppingCartRepository.deleteByUserIdAndSku(userId, sku);
+            return null;
+        } else {
+            item.setQuantity(newQuantity);
+            item.setUpdatedOn(Instant.now().toEpochMilli());
+            return shoppingCartRepository.save(item);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void removeItem(String userId, String sku) {
+        // Ensure item exists before attempting to delete to provide a clear exception if not.
+        shoppingCartRepository.findByUserIdAndSku(userId, sku)
+            .orElseThrow(() -> new ShoppingCartNotFoundException(String.format("user %s and sku %s", userId, sku)));
+        shoppingCartRepository.deleteByUserIdAndSku(userId, sku);
+    }
+
+    @Override
+    @Transactional
+    public void clear(String userId) {
+        shoppingCartRepository.deleteByUserId(userId);
+    }
+}
@@ -0,0 +1,55 @@
+package com.metao.book.order.application.cart;
+
+import com.metao.book.shared.CartItemMessage;
+import com.metao.book.shared.CartMessage;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maps shopping cart DTOs to and from their protobuf representation.
+ */
+public final class ShoppingCartMessageMapper {
+
+    private ShoppingCartMessageMapper() {
+    }
+
+    public static CartMessage toMessage(ShoppingCartDto cart) {
+        var builder = CartMessage.newBuilder().setUserId(cart.userId());
+        cart.shoppingCartItems().forEach(item -> builder.addItems(toMessage(item)));
+        return builder.build();
+    }
+
+    public static CartItemMessage toMessage(ShoppingCartItem item) {
+        var builder = CartItemMessage.newBuilder().setSku(item.sku());
+        if (item.productTitle() != null) {
+            builder.setProductTitle(item.productTitle());
+        }
+        if (item.quantity() != null) {
+            builder.setQuantity(item.quantity().toPlainString());
+        }
+        if (item.price() != null) {
+            builder.setPrice(item.price().toPlainString());
+        }
+        if (item.currency() != null) {
+            builder.setCurrency(item.currency().getCurrencyCode());
+        }
+        return builder.build();
+    }
+
+    public static Set<ShoppingCartItem> toItems(List<CartItemMessage> items) {
+        Set<ShoppingCartItem> result = new LinkedHashSet<>();
+        for (CartItemMessage item : items) {
+            result.add(new ShoppingCartItem(
+                item.getSku(),
+                item.getProductTitle(),
+                new BigDecimal(item.getQuantity()),
+                new BigDecimal(item.getPrice()),
+                Currency.getInstance(item.getCurrency())
+            ));
+        }
+        return result;
+    }
+}
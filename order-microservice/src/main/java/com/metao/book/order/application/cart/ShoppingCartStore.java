@@ -0,0 +1,33 @@
+package com.metao.book.order.application.cart;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Storage behind {@link ShoppingCartService}, selected with {@code app.order.cart.store}.
+ */
+public interface ShoppingCartStore {
+
+    List<ShoppingCart> findByUserId(String userId);
+
+    /**
+     * Adds the items to the cart, summing quantities of SKUs already in it, and returns the number of items written.
+     */
+    int addItems(String userId, Set<ShoppingCartItem> items);
+
+    /**
+     * Sets the quantity of an item and returns it, or removes the item and returns {@code null} when the quantity is
+     * not positive.
+     *
+     * @throws com.metao.book.order.domain.exception.ShoppingCartNotFoundException when the item is not in the cart
+     */
+    ShoppingCart updateQuantity(String userId, String sku, BigDecimal quantity);
+
+    /**
+     * @throws com.metao.book.order.domain.exception.ShoppingCartNotFoundException when the item is not in the cart
+     */
+    void removeItem(String userId, String sku);
+
+    void clear(String userId);
+}
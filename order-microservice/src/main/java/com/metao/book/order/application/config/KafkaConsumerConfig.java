@@ -1,7 +1,9 @@
 package com.metao.book.order.application.config;
 
+import com.metao.book.shared.InventoryReservationResultEvent;
 import com.metao.book.shared.OrderCreatedEvent;
 import com.metao.book.shared.OrderPaymentUpdatedEvent;
+import com.metao.book.shared.OrderStatusTransitionEvent;
 import com.metao.book.shared.OrderUpdatedEvent;
 import com.metao.book.order.domain.exception.OrderNotFoundException;
 import io.confluent.kafka.serializers.protobuf.KafkaProtobufDeserializer;
@@ -38,6 +40,9 @@ public class KafkaConsumerConfig {
     @Value("${kafka.consumer.concurrency:1}")
     private int consumerConcurrency;
 
+    @Value("${kafka.consumer.order-created.max-poll-records:500}")
+    private int orderCreatedMaxPollRecords;
+
     @Bean
     DeadLetterPublishingRecoverer orderDlqRecoverer(KafkaTemplate<Object, Object> kafkaTemplate) {
         return new DeadLetterPublishingRecoverer(
@@ -87,6 +92,20 @@ public class KafkaConsumerConfig {
         return factory;
     }
 
+    @Bean
+    @ConditionalOnProperty(value = "kafka.consumer.order-created.batch-enabled", havingValue = "true")
+    public ConcurrentKafkaListenerContainerFactory<String, OrderCreatedEvent> orderCreatedEventBatchKafkaListenerContainerFactory(
+        DefaultErrorHandler orderErrorHandler,
+        ConsumerFactory<String, OrderCreatedEvent> orderCreatedEventConsumerFactory
+    ) {
+        var factory = createListenerContainerFactory(orderCreatedEventConsumerFactory, orderErrorHandler);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.getContainerProperties().getKafkaConsumerProperties()
+            .setProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(orderCreatedMaxPollRecords));
+        return factory;
+    }
+
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, OrderUpdatedEvent> orderUpdatedEventKafkaListenerContainerFactory(
         DefaultErrorHandler orderErrorHandler,
@@ -95,6 +114,54 @@ public class KafkaConsumerConfig {
         return createListenerContainerFactory(orderUpdatedEventConsumerFactory, orderErrorHandler);
     }
 
+    @Bean
+    public ConsumerFactory<String, InventoryReservationResultEvent> inventoryReservationResultEventConsumerFactory() {
+        return createConsumerFactory(InventoryReservationResultEvent.class);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, InventoryReservationResultEvent> inventoryReservationResultEventKafkaListenerContainerFactory(
+        DefaultErrorHandler orderErrorHandler,
+        ConsumerFactory<String, InventoryReservationResultEvent> inventoryReservationResultEventConsumerFactory
+    ) {
+        var factory = createListenerContainerFactory(inventoryReservationResultEventConsumerFactory, orderErrorHandler);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        return factory;
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "kafka.streams.order-saga.enabled", havingValue = "true")
+    public ConsumerFactory<String, OrderStatusTransitionEvent> orderStatusTransitionEventConsumerFactory() {
+        return createConsumerFactory(OrderStatusTransitionEvent.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "kafka.streams.order-saga.enabled", havingValue = "true")
+    public ConcurrentKafkaListenerContainerFactory<String, OrderStatusTransitionEvent> orderStatusTransitionEventKafkaListenerContainerFactory(
+        DefaultErrorHandler orderErrorHandler,
+        ConsumerFactory<String, OrderStatusTransitionEvent> orderStatusTransitionEventConsumerFactory
+    ) {
+        var factory = createListenerContainerFactory(orderStatusTransitionEventConsumerFactory, orderErrorHandler);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        return factory;
+    }
+
+    /**
+     * Record listener for transitions whose order was not stored yet; {@code @RetryableTopic} replaces the error
+     * handler with its own backoff and dead letter handling.
+     */
+    @Bean
+    @ConditionalOnProperty(value = "kafka.streams.order-saga.enabled", havingValue = "true")
+    public ConcurrentKafkaListenerContainerFactory<String, OrderStatusTransitionEvent> orderStatusTransitionPendingKafkaListenerContainerFactory(
+        DefaultErrorHandler orderErrorHandler,
+        ConsumerFactory<String, OrderStatusTransitionEvent> orderStatusTransitionEventConsumerFactory
+    ) {
+        var factory = createListenerContainerFactory(orderStatusTransitionEventConsumerFactory, orderErrorHandler);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        return factory;
+    }
+
     private <T> ConsumerFactory<String, T> createConsumerFactory(Class<T> eventType) {
         var props = new HashMap<String, Object>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.getBootstrapServers());
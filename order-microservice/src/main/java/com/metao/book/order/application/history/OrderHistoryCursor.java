@@ -0,0 +1,40 @@
+package com.metao.book.order.application.history;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last order of a history page, in {@code (created_at desc, order_id desc)} order. Clients get it
+ * as an opaque URL-safe token and send it back to read the next page.
+ */
+public record OrderHistoryCursor(Instant createdAt, String orderId) {
+
+    private static final char SEPARATOR = '|';
+
+    public static OrderHistoryCursor after(OrderSummary last) {
+        return new OrderHistoryCursor(last.createdAt(), last.orderId());
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((createdAt.toString() + SEPARATOR + orderId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token was not produced by {@link #encode()}
+     */
+    public static OrderHistoryCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid order history cursor");
+            }
+            return new OrderHistoryCursor(Instant.parse(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid order history cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.metao.book.order.application.history;
+
+import java.util.List;
+
+/**
+ * @param nextCursor token for the following page, or {@code null} on the last page
+ */
+public record OrderHistoryPage<T>(List<T> items, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Same page position with other items, for example the full orders of the summaries on this page.
+     */
+    public <R> OrderHistoryPage<R> withItems(List<R> items) {
+        return new OrderHistoryPage<>(items, nextCursor);
+    }
+}
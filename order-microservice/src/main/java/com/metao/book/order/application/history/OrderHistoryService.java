@@ -0,0 +1,154 @@
+package com.metao.book.order.application.history;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.metao.book.order.application.port.OrderHistoryPort;
+import com.metao.book.order.application.usecase.OrderStatusTransition;
+import com.metao.book.order.domain.exception.OrderNotFoundException;
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maintains and serves the customer order history read model.
+ * <p>
+ * Every write of an order refreshes its history row in the same transaction, so the history never lags the orders
+ * table. Single orders are cached briefly; a local write evicts the entry when it is saved and again once it commits,
+ * and writes made by other nodes are picked up when the entry expires.
+ */
+@Service
+public class OrderHistoryService {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderHistoryPort orderHistory;
+    private final Cache<String, OrderSummary> orderCache;
+
+    public OrderHistoryService(
+        OrderHistoryPort orderHistory,
+        @Value("${order.history.cache.maximum-size:10000}") long cacheMaximumSize,
+        @Value("${order.history.cache.ttl:5s}") Duration cacheTtl
+    ) {
+        this.orderHistory = orderHistory;
+        this.orderCache = Caffeine.newBuilder()
+            .maximumSize(cacheMaximumSize)
+            .expireAfterWrite(cacheTtl)
+            .build();
+    }
+
+    public void record(List<OrderAggregate> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        orderHistory.upsert(orders.stream().map(OrderSummary::from).toList());
+        invalidate(orders.stream().map(order -> order.getId().value()).toList());
+    }
+
+    /**
+     * Applies status changes made without loading the orders, for example by the order saga stream.
+     */
+    public void recordStatusChanges(List<OrderStatusTransition> transitions) {
+        if (transitions.isEmpty()) {
+            return;
+        }
+        orderHistory.updateStatuses(transitions);
+        invalidate(transitions.stream().map(OrderStatusTransition::orderId).distinct().toList());
+    }
+
+    /**
+     * Loads through the cache, so an eviction issued while the row is being read waits for the load and removes its
+     * result instead of being overwritten by it.
+     */
+    public OrderSummary getOrder(OrderId orderId) {
+        OrderSummary summary = orderCache.get(orderId.value(), id -> orderHistory.findById(id).orElse(null));
+        if (summary == null) {
+            throw new OrderNotFoundException(orderId);
+        }
+        return summary;
+    }
+
+    /**
+     * Reads one page of the user's orders, newest first. Fetches one extra row to tell whether another page follows.
+     *
+     * @param cursor token returned with the previous page, or {@code null} for the first page
+     */
+    public OrderHistoryPage<OrderSummary> getPage(String userId, String cursor, int limit) {
+        checkLimit(limit);
+        OrderHistoryCursor after = cursor == null || cursor.isBlank() ? null : OrderHistoryCursor.decode(cursor);
+        return page(orderHistory.findByUser(userId, after, limit + 1), limit);
+    }
+
+    /**
+     * Reads the page that starts {@code offset} orders into the history. The database still walks the skipped rows,
+     * so this only serves clients that have not moved to cursors yet; the page carries a cursor for the next one.
+     *
+     * @deprecated use {@link #getPage(String, String, int)}
+     */
+    @Deprecated
+    public OrderHistoryPage<OrderSummary> getPage(String userId, int offset, int limit) {
+        checkLimit(limit);
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        return page(orderHistory.findByUser(userId, offset, limit + 1), limit);
+    }
+
+    /**
+     * Evicts the entries as soon as the orders are saved and once more after the commit, since a read in between still
+     * sees the previous row and may cache it again.
+     */
+    private void invalidate(List<String> orderIds) {
+        orderCache.invalidateAll(orderIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    orderCache.invalidateAll(orderIds);
+                }
+            });
+            return;
+        }
+        orderCache.invalidateAll(orderIds);
+    }
+
+    /**
+     * Passes all of the user's orders to {@code action}, newest first, in chunks of at most {@code chunkSize}. Every
+     * chunk is one seek-paginated query on its own connection checkout, so the connection goes back to the pool while
+     * {@code action} handles the chunk, however slowly the caller consumes it.
+     */
+    public void forEachChunk(String userId, int chunkSize, Consumer<List<OrderSummary>> action) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1");
+        }
+        OrderHistoryCursor after = null;
+        List<OrderSummary> chunk;
+        do {
+            chunk = orderHistory.findByUser(userId, after, chunkSize);
+            if (chunk.isEmpty()) {
+                return;
+            }
+            action.accept(chunk);
+            after = OrderHistoryCursor.after(chunk.getLast());
+        } while (chunk.size() == chunkSize);
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private static OrderHistoryPage<OrderSummary> page(List<OrderSummary> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new OrderHistoryPage<>(rows, null);
+        }
+        List<OrderSummary> items = rows.subList(0, limit);
+        return new OrderHistoryPage<>(List.copyOf(items), OrderHistoryCursor.after(items.getLast()).encode());
+    }
+}
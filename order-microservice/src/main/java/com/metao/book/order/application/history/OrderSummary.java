@@ -0,0 +1,46 @@
+package com.metao.book.order.application.history;
+
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.shared.domain.financial.Money;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.stream.Collectors;
+
+/**
+ * Compact history row of one order: header, line count and subtotal, and a short text of its product titles.
+ *
+ * @param subtotal {@code null} for an order without items
+ */
+public record OrderSummary(
+    String orderId,
+    String userId,
+    String status,
+    Instant createdAt,
+    Instant updatedAt,
+    int itemCount,
+    BigDecimal totalQuantity,
+    Money subtotal,
+    String summary
+) {
+
+    static final int SUMMARY_MAX_LENGTH = 255;
+
+    public static OrderSummary from(OrderAggregate order) {
+        String titles = order.getItems().stream()
+            .map(item -> item.getTitle().value())
+            .collect(Collectors.joining(", "));
+        return new OrderSummary(
+            order.getId().value(),
+            order.getUserId().value(),
+            order.getStatus().name(),
+            order.getCreatedAt(),
+            order.getUpdatedAt(),
+            order.getItems().size(),
+            order.getItems().stream()
+                .map(item -> item.getQuantity().value())
+                .reduce(BigDecimal.ZERO, BigDecimal::add),
+            order.getSubtotal(),
+            titles.length() > SUMMARY_MAX_LENGTH ? titles.substring(0, SUMMARY_MAX_LENGTH) : titles
+        );
+    }
+}
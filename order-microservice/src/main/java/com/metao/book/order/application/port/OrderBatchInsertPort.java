@@ -0,0 +1,14 @@
+package com.metao.book.order.application.port;
+
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import java.util.List;
+import java.util.Set;
+
+public interface OrderBatchInsertPort {
+
+    /**
+     * Inserts the orders that do not exist yet together with their items and returns the ids that were inserted.
+     */
+    Set<OrderId> insertAbsent(List<OrderAggregate> orders);
+}
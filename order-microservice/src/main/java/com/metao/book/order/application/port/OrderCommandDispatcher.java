@@ -0,0 +1,38 @@
+package com.metao.book.order.application.port;
+
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import java.util.function.Supplier;
+
+/**
+ * Runs commands that change an order so that commands for the same order never overlap on this node. The caller
+ * blocks until its command has run and receives its result or exception. Commands must start their own transaction;
+ * dispatching from inside a transaction would hold it open while the command waits its turn.
+ */
+public interface OrderCommandDispatcher {
+
+    <T> T call(OrderId orderId, Supplier<T> command);
+
+    default void execute(OrderId orderId, Runnable command) {
+        call(orderId, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs every command on the calling thread, leaving ordering to the database row lock.
+     */
+    static OrderCommandDispatcher direct() {
+        return DirectOrderCommandDispatcher.INSTANCE;
+    }
+
+    final class DirectOrderCommandDispatcher implements OrderCommandDispatcher {
+
+        private static final DirectOrderCommandDispatcher INSTANCE = new DirectOrderCommandDispatcher();
+
+        @Override
+        public <T> T call(OrderId orderId, Supplier<T> command) {
+            return command.get();
+        }
+    }
+}
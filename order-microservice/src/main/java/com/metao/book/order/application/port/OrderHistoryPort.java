@@ -0,0 +1,32 @@
+package com.metao.book.order.application.port;
+
+import com.metao.book.order.application.history.OrderHistoryCursor;
+import com.metao.book.order.application.history.OrderSummary;
+import com.metao.book.order.application.usecase.OrderStatusTransition;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderHistoryPort {
+
+    /**
+     * Inserts or replaces the history rows of the given orders.
+     */
+    void upsert(List<OrderSummary> orders);
+
+    /**
+     * Sets status and update time of existing history rows, in list order.
+     */
+    void updateStatuses(List<OrderStatusTransition> transitions);
+
+    /**
+     * Returns up to {@code limit} orders of the user, newest first, starting after {@code after} when it is given.
+     */
+    List<OrderSummary> findByUser(String userId, OrderHistoryCursor after, int limit);
+
+    /**
+     * Returns up to {@code limit} orders of the user, newest first, skipping the first {@code offset}.
+     */
+    List<OrderSummary> findByUser(String userId, int offset, int limit);
+
+    Optional<OrderSummary> findById(String orderId);
+}
@@ -0,0 +1,21 @@
+package com.metao.book.order.application.port;
+
+import com.metao.book.order.application.usecase.OrderStatusTransition;
+import java.util.List;
+
+public interface OrderStatusTransitionPort {
+
+    /**
+     * Moves each order from {@code from} to {@code to}, in list order. A transition whose order is no longer in
+     * {@code from} is skipped; one whose order is not stored yet is returned in {@link Result#notStored()} so the
+     * caller can retry it later without holding back the others.
+     */
+    Result apply(List<OrderStatusTransition> transitions);
+
+    /**
+     * @param applied   transitions that changed a row
+     * @param notStored transitions whose order is not stored yet
+     */
+    record Result(List<OrderStatusTransition> applied, List<OrderStatusTransition> notStored) {
+    }
+}
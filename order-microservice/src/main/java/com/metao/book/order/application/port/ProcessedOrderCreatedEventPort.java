@@ -1,6 +1,14 @@
 package com.metao.book.order.application.port;
 
+import java.util.List;
+import java.util.Set;
+
 public interface ProcessedOrderCreatedEventPort {
 
     boolean markProcessed(String eventId);
+
+    /**
+     * Marks all events in one statement and returns the ids that had not been processed before.
+     */
+    Set<String> markAllProcessed(List<String> eventIds);
 }
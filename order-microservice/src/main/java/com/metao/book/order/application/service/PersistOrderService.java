@@ -1,12 +1,19 @@
 package com.metao.book.order.application.service;
 
+import com.metao.book.order.application.history.OrderHistoryService;
+import com.metao.book.order.application.port.OrderBatchInsertPort;
 import com.metao.book.order.application.port.ProcessedOrderCreatedEventPort;
 import com.metao.book.order.application.usecase.PersistOrderUseCase;
 import com.metao.book.order.domain.event.OrderCreatedEvent;
 import com.metao.book.order.domain.event.OrderCreatedEventItem;
 import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.valueobject.OrderId;
 import com.metao.book.order.domain.repository.OrderRepository;
 import com.metao.book.shared.domain.financial.VAT;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +26,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class PersistOrderService implements PersistOrderUseCase {
     private final OrderRepository orderRepository;
     private final ProcessedOrderCreatedEventPort processedOrderCreatedEventPort;
+    private final OrderBatchInsertPort orderBatchInsertPort;
+    private final OrderHistoryService orderHistoryService;
     private final VAT vat;
 
     @Override
@@ -34,6 +43,41 @@ public class PersistOrderService implements PersistOrderUseCase {
             .ifPresentOrElse(order -> mergeOrderItems(order, event), () -> orderRepository.save(OrderAggregate.from(event, vat)));
     }
 
+    /**
+     * Persists a whole poll in the caller's transaction. Duplicates are filtered with one statement, new orders and
+     * their items are inserted with one statement each, and only orders that already exist go through the
+     * load-and-merge path of {@link #persistOrder(OrderCreatedEvent)}.
+     */
+    @Override
+    @Transactional
+    public void persistOrders(List<OrderCreatedEvent> events) {
+        Map<String, OrderCreatedEvent> eventsById = new LinkedHashMap<>();
+        events.forEach(event -> eventsById.putIfAbsent(toProcessedEventId(event), event));
+
+        Set<String> unprocessed = processedOrderCreatedEventPort.markAllProcessed(List.copyOf(eventsById.keySet()));
+        if (unprocessed.size() < events.size()) {
+            log.info("Skipping {} duplicate order-created events in batch of {}.",
+                events.size() - unprocessed.size(), events.size());
+        }
+        List<OrderCreatedEvent> fresh = eventsById.entrySet().stream()
+            .filter(entry -> unprocessed.contains(entry.getKey()))
+            .map(Map.Entry::getValue)
+            .toList();
+
+        List<OrderAggregate> candidates = fresh.stream()
+            .map(event -> OrderAggregate.from(event, vat))
+            .toList();
+        Set<OrderId> inserted = orderBatchInsertPort.insertAbsent(candidates);
+        orderHistoryService.record(candidates.stream()
+            .filter(order -> inserted.contains(order.getId()))
+            .toList());
+
+        fresh.stream()
+            .filter(event -> !inserted.contains(event.orderId()))
+            .forEach(event -> orderRepository.findById(event.orderId())
+                .ifPresent(order -> mergeOrderItems(order, event)));
+    }
+
     private void mergeOrderItems(OrderAggregate order, OrderCreatedEvent event) {
         AtomicBoolean changed = new AtomicBoolean(false);
 
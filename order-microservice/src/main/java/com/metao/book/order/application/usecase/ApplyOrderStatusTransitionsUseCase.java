@@ -0,0 +1,53 @@
+package com.metao.book.order.application.usecase;
+
+import com.metao.book.order.application.cart.ShoppingCartService;
+import com.metao.book.order.application.history.OrderHistoryService;
+import com.metao.book.order.application.port.OrderStatusTransitionPort;
+import com.metao.book.order.domain.model.event.DomainOrderStatusChangedEvent;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import com.metao.book.order.domain.model.valueobject.OrderStatus;
+import com.metao.book.shared.config.KafkaDomainEventPublisher;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes status transitions decided by the order saga stream to the orders table and the order history, clears the
+ * cart of every order that became paid and publishes a status change event for each applied transition, like
+ * {@code OrderManagementService.updateOrderStatus} does for status changes made through the API.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ApplyOrderStatusTransitionsUseCase {
+
+    private final OrderStatusTransitionPort orderStatusTransitions;
+    private final OrderHistoryService orderHistoryService;
+    private final ShoppingCartService shoppingCartService;
+    private final KafkaDomainEventPublisher eventPublisher;
+
+    /**
+     * @return the transitions whose order is not stored yet; everything else was applied or skipped
+     */
+    @Transactional
+    public List<OrderStatusTransition> apply(List<OrderStatusTransition> transitions) {
+        if (transitions.isEmpty()) {
+            return List.of();
+        }
+        OrderStatusTransitionPort.Result result = orderStatusTransitions.apply(transitions);
+        List<OrderStatusTransition> applied = result.applied();
+        orderHistoryService.recordStatusChanges(applied);
+        for (OrderStatusTransition transition : applied) {
+            if (transition.to() == OrderStatus.PAID) {
+                shoppingCartService.clearCart(transition.userId());
+            }
+            eventPublisher.publish(
+                new DomainOrderStatusChangedEvent(OrderId.of(transition.orderId()), transition.from(), transition.to()));
+        }
+        log.debug("Applied {} of {} order status transitions, {} wait for their order",
+            applied.size(), transitions.size(), result.notStored().size());
+        return result.notStored();
+    }
+}
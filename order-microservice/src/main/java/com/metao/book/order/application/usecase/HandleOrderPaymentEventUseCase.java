@@ -2,7 +2,6 @@ package com.metao.book.order.application.usecase;
 
 import com.metao.book.order.application.cart.ShoppingCartService;
 import com.metao.book.order.application.port.ProcessedPaymentEventPort;
-import com.metao.book.order.domain.model.aggregate.OrderAggregate;
 import com.metao.book.order.domain.model.valueobject.OrderId;
 import com.metao.book.order.domain.model.valueobject.OrderStatus;
 import com.metao.book.order.domain.service.OrderManagementService;
@@ -43,16 +42,12 @@ public class HandleOrderPaymentEventUseCase {
     }
 
     private void handleSuccessfulPayment(OrderId orderId) {
-        OrderAggregate order = orderManagementService.getOrderByIdForUpdate(orderId);
-        if (order.getStatus() == OrderStatus.PAID) {
-            log.info("Order {} already PAID; skipping duplicate successful payment event.", orderId.value());
-            return;
-        }
-
-        log.info("Reducing inventory for order {} items before marking order as PAID.", orderId.value());
-        orderManagementService.updateItemQuantity(orderId);
-        orderManagementService.updateOrderStatus(orderId, OrderStatus.PAID.name());
-        shoppingCartService.clearCart(order.getUserId().value());
-        log.info("Order {} inventory reduced and status updated to {}.", orderId.value(), OrderStatus.PAID);
+        orderManagementService.payOrder(orderId).ifPresentOrElse(
+            order -> {
+                shoppingCartService.clearCart(order.getUserId().value());
+                log.info("Order {} inventory reduced and status updated to {}.", orderId.value(), OrderStatus.PAID);
+            },
+            () -> log.info("Order {} already PAID; skipping duplicate successful payment event.", orderId.value())
+        );
     }
 }
@@ -0,0 +1,16 @@
+package com.metao.book.order.application.usecase;
+
+import com.metao.book.order.domain.model.valueobject.OrderStatus;
+import java.time.Instant;
+
+/**
+ * A status change decided outside the aggregate, applied only while the order is still in {@code from}.
+ */
+public record OrderStatusTransition(
+    String orderId,
+    String userId,
+    OrderStatus from,
+    OrderStatus to,
+    Instant occurredAt
+) {
+}
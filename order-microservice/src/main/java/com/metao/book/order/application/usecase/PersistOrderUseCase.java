@@ -1,8 +1,11 @@
 package com.metao.book.order.application.usecase;
 
 import com.metao.book.order.domain.event.OrderCreatedEvent;
+import java.util.List;
 
 public interface PersistOrderUseCase {
 
     void persistOrder(OrderCreatedEvent event);
+
+    void persistOrders(List<OrderCreatedEvent> events);
 }
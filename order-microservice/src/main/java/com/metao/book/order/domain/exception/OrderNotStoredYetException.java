@@ -0,0 +1,12 @@
+package com.metao.book.order.domain.exception;
+
+/**
+ * A status transition arrived before the order it moves was stored. Retried on a backoff, since the order usually
+ * shows up within seconds.
+ */
+public class OrderNotStoredYetException extends RuntimeException {
+
+    public OrderNotStoredYetException(String orderId) {
+        super("order not stored yet with id: " + orderId);
+    }
+}
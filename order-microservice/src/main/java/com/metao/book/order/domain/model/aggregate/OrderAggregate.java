@@ -3,7 +3,7 @@ package com.metao.book.order.domain.model.aggregate;
 import com.metao.book.order.domain.event.OrderCreatedEvent;
 import com.metao.book.order.domain.exception.OrderStateTransitionNotAllowed;
 import com.metao.book.order.domain.model.entity.OrderItem;
-import com.metao.book.order.domain.model.event.DomainInventoryReductionRequestedEvent;
+import com.metao.book.order.domain.model.event.DomainInventoryReservationRequestedEvent;
 import com.metao.book.order.domain.model.event.DomainOrderCreatedEvent;
 import com.metao.book.order.domain.model.event.DomainOrderStatusChangedEvent;
 import com.metao.book.order.domain.model.valueobject.OrderId;
@@ -16,10 +16,11 @@ import com.metao.book.shared.domain.product.ProductSku;
 import com.metao.book.shared.domain.product.ProductTitle;
 import com.metao.book.shared.domain.product.Quantity;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
@@ -34,7 +35,13 @@ public class OrderAggregate extends AggregateRoot<OrderId> {
 
     private final OrderId id;
     private final UserId userId;
-    private final List<OrderItem> items;
+    /**
+     * Lines by SKU in the order they were added; the aggregate keeps one line per SKU.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<ProductSku, OrderItem> items = new LinkedHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final OrderLineTotals lineTotals = new OrderLineTotals();
     private final Instant createdAt;
     private final VAT vat;
     private Money subtotal;
@@ -42,13 +49,19 @@ public class OrderAggregate extends AggregateRoot<OrderId> {
     private Money total;
     private OrderStatus status;
     private Instant updatedAt;
+    /**
+     * Version of the stored row, or {@code null} while the order has never been persisted.
+     */
+    private Long version;
+    @Getter(AccessLevel.NONE)
+    private final OrderChanges changes = new OrderChanges();
 
     public OrderAggregate(OrderId id, UserId userId) {
         this(id, userId, VAT);
     }
 
     public OrderAggregate(OrderId id, UserId userId, VAT vat) {
-        this(id, userId, new ArrayList<>(), OrderStatus.CREATED, Instant.now(), Instant.now(), vat);
+        this(id, userId, List.of(), OrderStatus.CREATED, Instant.now(), Instant.now(), vat);
     }
 
     private OrderAggregate(
@@ -63,7 +76,7 @@ public class OrderAggregate extends AggregateRoot<OrderId> {
         super(Objects.requireNonNull(id, "id can't be null"));
         this.id = id;
         this.userId = Objects.requireNonNull(userId, "userId can't be null");
-        this.items = Objects.requireNonNull(items, "items can't be null");
+        Objects.requireNonNull(items, "items can't be null").forEach(this::putLine);
         this.status = Objects.requireNonNull(status, "status can't be null");
         this.createdAt = Objects.requireNonNull(createdAt, "createdAt can't be null");
         this.updatedAt = Objects.requireNonNull(updatedAt, "updatedAt can't be null");
@@ -76,20 +89,17 @@ public class OrderAggregate extends AggregateRoot<OrderId> {
     }
 
     public static OrderAggregate from(OrderCreatedEvent event, VAT vat) {
-        OrderAggregate order = new OrderAggregate(
+        return new OrderAggregate(
             event.orderId(),
             event.userId(),
-            new ArrayList<>(),
+            event.items().stream()
+                .map(item -> new OrderItem(item.productSku(), item.productTitle(), item.quantity(), item.unitPrice()))
+                .toList(),
             event.status(),
             event.createdAt(),
             event.updatedAt(),
             vat
         );
-        event.items().forEach(item ->
-            order.items.add(new OrderItem(item.productSku(), item.productTitle(), item.quantity(), item.unitPrice()))
-        );
-        order.recomputeTotals();
-        return order;
     }
 
     public static OrderAggregate reconstitute(
@@ -112,7 +122,7 @@ public class OrderAggregate extends AggregateRoot<OrderId> {
         Instant updatedAt,
         VAT vat
     ) {
-        return new OrderAggregate(id, userId, new ArrayList<>(items), status, createdAt, updatedAt, vat);
+        return new OrderAggregate(id, userId, items, status, createdAt, updatedAt, vat);
     }
 
     public void addItem(
@@ -127,15 +137,12 @@ public class OrderAggregate extends AggregateRoot<OrderId> {
         Objects.requireNonNull(unitPrice, "unitPrice can't be null");
         validateMutableOrder();
 
-        OrderItem existing = items.stream()
-            .filter(item -> item.getProductSku().equals(productSku))
-            .findFirst()
-            .orElse(null);
-
-        if (existing != null) {
-            existing.updateQuantity(existing.getQuantity().add(quantity));
+        boolean existing = items.containsKey(productSku);
+        putLine(new OrderItem(productSku, productTitle, quantity, unitPrice));
+        if (existing) {
+            changes.itemChanged(productSku);
         } else {
-            items.add(new OrderItem(productSku, productTitle, quantity, unitPrice));
+            changes.itemAdded(productSku);
         }
 
         updatedAt = Instant.now();
@@ -143,14 +150,14 @@ public class OrderAggregate extends AggregateRoot<OrderId> {
     }
 
     public boolean hasItem(ProductSku productSku) {
-        return items.stream().anyMatch(item -> item.getProductSku().equals(productSku));
+        return items.containsKey(productSku);
     }
 
     public void raiseOrderCreatedEvents() {
         addDomainEvent(new DomainOrderCreatedEvent(
             id,
             userId,
-            List.copyOf(items),
+            List.copyOf(items.values()),
             subtotal,
             tax,
             total,
@@ -166,49 +173,92 @@ public class OrderAggregate extends AggregateRoot<OrderId> {
         OrderStatus oldStatus = this.status;
         this.status = newStatus;
         this.updatedAt = Instant.now();
+        changes.headerChanged();
         addDomainEvent(new DomainOrderStatusChangedEvent(id, oldStatus, newStatus));
     }
 
     public synchronized void updateItemQuantity() {
         validateMutableOrder();
         Instant occurredOn = Instant.now();
-        items.forEach(item -> {
-            addDomainEvent(new DomainInventoryReductionRequestedEvent(occurredOn, item.getProductSku(), item.getQuantity()));
-        });
+        if (!items.isEmpty()) {
+            addDomainEvent(new DomainInventoryReservationRequestedEvent(occurredOn, id, items.values().stream()
+                .map(item -> new DomainInventoryReservationRequestedEvent.Line(item.getProductSku(), item.getQuantity()))
+                .toList()));
+        }
         updatedAt = occurredOn;
+        changes.headerChanged();
         recomputeTotals();
     }
 
+    /**
+     * Requests the inventory reduction of every line and marks the order as paid in one step. Returns {@code false}
+     * without changing anything when the order is already paid.
+     */
+    public synchronized boolean pay() {
+        if (status == OrderStatus.PAID) {
+            return false;
+        }
+        validateStatusTransition(OrderStatus.PAID);
+        updateItemQuantity();
+        updateStatus(OrderStatus.PAID);
+        return true;
+    }
+
     public synchronized void removeItem(ProductSku sku) {
         Objects.requireNonNull(sku, "sku can't be null");
         validateMutableOrder();
 
-        boolean removed = items.removeIf(item -> item.getProductSku().equals(sku));
-        if (removed) {
+        OrderItem removed = items.remove(sku);
+        if (removed != null) {
+            lineTotals.remove(removed.getTotalPrice());
             updatedAt = Instant.now();
+            changes.itemRemoved(sku);
             recomputeTotals();
         }
     }
 
     public List<OrderItem> getItems() {
-        return Collections.unmodifiableList(items);
+        return List.copyOf(items.values());
+    }
+
+    /**
+     * Changes since the order was loaded or last saved. Only meaningful once {@link #getVersion()} is set.
+     */
+    public OrderChanges getPendingChanges() {
+        return changes;
+    }
+
+    /**
+     * Records that the order is stored with the given version and starts tracking changes from here.
+     */
+    public void markPersisted(long version) {
+        this.version = version;
+        changes.clear();
+    }
+
+    /**
+     * Adds the line, or adds its quantity to the line already holding its SKU, and keeps the running subtotal in
+     * step.
+     */
+    private void putLine(OrderItem line) {
+        OrderItem existing = items.get(line.getProductSku());
+        if (existing == null) {
+            lineTotals.add(line.getTotalPrice());
+            items.put(line.getProductSku(), line);
+            return;
+        }
+        lineTotals.remove(existing.getTotalPrice());
+        existing.updateQuantity(existing.getQuantity().add(line.getQuantity()));
+        lineTotals.add(existing.getTotalPrice());
     }
 
     /**
-     * Recomputes {@link #subtotal} (sum of net line totals), {@link #tax} (VAT on subtotal)
-     * and {@link #total} (subtotal + tax). When no items are present all three are {@code null}
-     * to preserve the previous empty-order contract.
+     * Derives {@link #subtotal} (sum of net line totals, maintained by {@link OrderLineTotals}), {@link #tax} (VAT on
+     * subtotal) and {@link #total} (subtotal + tax). When no items are present all three are {@code null} to preserve
+     * the previous empty-order contract.
      */
     private void recomputeTotals() {
-        Money newSubtotal = items.stream()
-            .map(OrderItem::getTotalPrice)
-            .reduce((left, right) -> {
-                if (!left.currency().equals(right.currency())) {
-                    throw new IllegalStateException("Cannot calculate total with different currencies");
-                }
-                return left.add(right);
-            })
-            .orElse(null);
+        Money newSubtotal = lineTotals.subtotal();
 
         if (newSubtotal == null) {
             this.subtotal = null;
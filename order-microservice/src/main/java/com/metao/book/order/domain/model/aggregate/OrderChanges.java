@@ -0,0 +1,78 @@
+package com.metao.book.order.domain.model.aggregate;
+
+import com.metao.book.shared.domain.product.ProductSku;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Changes made to a persisted {@link OrderAggregate} since it was loaded or last saved, so a repository can write
+ * only the order header and the lines that actually changed.
+ * <p>
+ * A line removed and added again within the same unit of work is reported as both removed and added; removals are
+ * expected to be applied before additions.
+ */
+public final class OrderChanges {
+
+    private final Set<ProductSku> addedItems = new LinkedHashSet<>();
+    private final Set<ProductSku> changedItems = new LinkedHashSet<>();
+    private final Set<ProductSku> removedItems = new LinkedHashSet<>();
+    private boolean headerChanged;
+
+    OrderChanges() {
+    }
+
+    public boolean isEmpty() {
+        return !headerChanged;
+    }
+
+    /**
+     * Whether status or timestamps changed. Every line change also touches the header.
+     */
+    public boolean isHeaderChanged() {
+        return headerChanged;
+    }
+
+    public Set<ProductSku> addedItems() {
+        return Collections.unmodifiableSet(addedItems);
+    }
+
+    public Set<ProductSku> changedItems() {
+        return Collections.unmodifiableSet(changedItems);
+    }
+
+    public Set<ProductSku> removedItems() {
+        return Collections.unmodifiableSet(removedItems);
+    }
+
+    void headerChanged() {
+        headerChanged = true;
+    }
+
+    void itemAdded(ProductSku sku) {
+        headerChanged = true;
+        addedItems.add(sku);
+    }
+
+    void itemChanged(ProductSku sku) {
+        headerChanged = true;
+        if (!addedItems.contains(sku)) {
+            changedItems.add(sku);
+        }
+    }
+
+    void itemRemoved(ProductSku sku) {
+        headerChanged = true;
+        changedItems.remove(sku);
+        if (!addedItems.remove(sku)) {
+            removedItems.add(sku);
+        }
+    }
+
+    void clear() {
+        headerChanged = false;
+        addedItems.clear();
+        changedItems.clear();
+        removedItems.clear();
+    }
+}
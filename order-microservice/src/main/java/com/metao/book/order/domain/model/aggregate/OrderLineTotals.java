@@ -0,0 +1,63 @@
+package com.metao.book.order.domain.model.aggregate;
+
+import com.metao.book.shared.domain.financial.Money;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Running sum of the line totals of an {@link OrderAggregate}, so adding, changing or removing one line does not
+ * re-add every other line.
+ * <p>
+ * Adding the lines one by one gives a sum with the largest scale of any line, and VAT is rounded at the scale of the
+ * subtotal. The number of lines per scale is therefore tracked so the subtotal keeps that scale after the line that
+ * had it is removed.
+ */
+final class OrderLineTotals {
+
+    private final NavigableMap<Integer, Integer> linesByScale = new TreeMap<>();
+    private Currency currency;
+    private BigDecimal sum = BigDecimal.ZERO;
+    private int lines;
+
+    /**
+     * @throws IllegalStateException when the line is in another currency than the lines already counted
+     */
+    void requireCurrency(Money amount) {
+        if (currency != null && !currency.equals(amount.currency())) {
+            throw new IllegalStateException("Cannot calculate total with different currencies");
+        }
+    }
+
+    void add(Money lineTotal) {
+        requireCurrency(lineTotal);
+        BigDecimal amount = lineTotal.fixedPointAmount();
+        currency = lineTotal.currency();
+        sum = sum.add(amount);
+        linesByScale.merge(amount.scale(), 1, Integer::sum);
+        lines++;
+    }
+
+    void remove(Money lineTotal) {
+        BigDecimal amount = lineTotal.fixedPointAmount();
+        sum = sum.subtract(amount);
+        linesByScale.computeIfPresent(amount.scale(), (scale, count) -> count == 1 ? null : count - 1);
+        if (--lines == 0) {
+            currency = null;
+            sum = BigDecimal.ZERO;
+        }
+    }
+
+    /**
+     * Sum of the line totals, or {@code null} when there are no lines.
+     */
+    Money subtotal() {
+        if (lines == 0) {
+            return null;
+        }
+        // Every remaining line fits the largest remaining scale, so the sum does too.
+        return Money.of(currency, sum.setScale(linesByScale.lastKey(), RoundingMode.UNNECESSARY));
+    }
+}
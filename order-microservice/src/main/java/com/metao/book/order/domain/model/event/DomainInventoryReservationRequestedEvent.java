@@ -0,0 +1,41 @@
+package com.metao.book.order.domain.model.event;
+
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import com.metao.book.shared.domain.base.DomainEvent;
+import com.metao.book.shared.domain.product.ProductSku;
+import com.metao.book.shared.domain.product.Quantity;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Requests the inventory reduction of all lines of an order as one reservation.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class DomainInventoryReservationRequestedEvent extends DomainEvent {
+
+    private final OrderId orderId;
+    private final List<Line> lines;
+
+    public DomainInventoryReservationRequestedEvent(
+        @NotNull Instant occurredOn,
+        @NotNull OrderId orderId,
+        @NotNull List<Line> lines
+    ) {
+        super(occurredOn);
+        this.orderId = orderId;
+        this.lines = List.copyOf(lines);
+    }
+
+    public record Line(ProductSku sku, Quantity quantity) {
+    }
+
+    @NotNull
+    @Override
+    public String getEventType() {
+        return "InventoryReservationRequestedEvent";
+    }
+}
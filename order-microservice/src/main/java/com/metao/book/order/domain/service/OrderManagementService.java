@@ -2,6 +2,9 @@ package com.metao.book.order.domain.service;
 
 import com.metao.book.order.application.cart.ShoppingCart;
 import com.metao.book.order.application.cart.ShoppingCartService;
+import com.metao.book.order.application.history.OrderHistoryPage;
+import com.metao.book.order.application.history.OrderHistoryService;
+import com.metao.book.order.application.history.OrderSummary;
 import com.metao.book.order.domain.exception.OrderNotFoundException;
 import com.metao.book.order.domain.exception.ShoppingCartIsEmptyException;
 import com.metao.book.order.domain.model.aggregate.OrderAggregate;
@@ -17,8 +20,9 @@ import com.metao.book.shared.domain.product.ProductSku;
 import com.metao.book.shared.domain.product.ProductTitle;
 import com.metao.book.shared.domain.product.Quantity;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +33,7 @@ public class OrderManagementService {
     private final OrderRepository orderRepository;
     private final KafkaDomainEventPublisher eventPublisher;
     private final ShoppingCartService shoppingCartService;
+    private final OrderHistoryService orderHistoryService;
     private final VAT vat;
 
     @Transactional
@@ -71,6 +76,22 @@ public class OrderManagementService {
         publishEvents(order);
     }
 
+    /**
+     * Locks the order once, reduces inventory and marks it as paid, then saves it and publishes all resulting events
+     * together. Returns the paid order, or empty when it was already paid.
+     */
+    @Transactional
+    public Optional<OrderAggregate> payOrder(OrderId orderId) {
+        OrderAggregate order = orderRepository.findByIdForUpdate(orderId)
+            .orElseThrow(() -> new OrderNotFoundException(orderId));
+        if (!order.pay()) {
+            return Optional.empty();
+        }
+        orderRepository.save(order);
+        publishEvents(order);
+        return Optional.of(order);
+    }
+
     @Transactional
     public void removeItem(OrderId orderId, ProductSku sku) {
         OrderAggregate order = orderRepository.findById(orderId).orElseThrow(() -> new OrderNotFoundException(orderId));
@@ -87,14 +108,34 @@ public class OrderManagementService {
         publishEvents(order);
     }
 
+    /**
+     * Passes all of the user's orders with their items to {@code action}, newest first, in chunks of at most
+     * {@code chunkSize}. Each chunk is found on the order history with a seek query and then loaded by id, both
+     * outside any surrounding transaction, so no connection is held while {@code action} handles the chunk.
+     */
+    public void forEachCustomerOrderChunk(UserId userId, int chunkSize, Consumer<List<OrderAggregate>> action) {
+        orderHistoryService.forEachChunk(userId.value(), chunkSize,
+            chunk -> action.accept(orderRepository.findAllById(orderIds(chunk))));
+    }
+
+    /**
+     * Reads one page of the user's orders with their items, newest first. The page is found on the order history
+     * with seek pagination and its orders are then loaded by id, so no count is run.
+     *
+     * @param cursor token returned with the previous page, or {@code null} for the first page
+     */
     @Transactional(readOnly = true)
-    public List<OrderAggregate> getCustomerOrders(UserId userId) {
-        return orderRepository.findByUserId(userId);
+    public OrderHistoryPage<OrderAggregate> getCustomerOrders(UserId userId, String cursor, int limit) {
+        return withOrders(orderHistoryService.getPage(userId.value(), cursor, limit));
     }
 
+    /**
+     * @deprecated offset pages walk the skipped rows; use {@link #getCustomerOrders(UserId, String, int)}
+     */
+    @Deprecated
     @Transactional(readOnly = true)
-    public Page<OrderAggregate> getCustomerOrders(UserId userId, int offset, int limit) {
-        return orderRepository.findByUserId(userId, offset, limit);
+    public OrderHistoryPage<OrderAggregate> getCustomerOrders(UserId userId, int offset, int limit) {
+        return withOrders(orderHistoryService.getPage(userId.value(), offset, limit));
     }
 
     @Transactional(readOnly = true)
@@ -103,6 +144,14 @@ public class OrderManagementService {
             .orElseThrow(() -> new OrderNotFoundException(orderId));
     }
 
+    private OrderHistoryPage<OrderAggregate> withOrders(OrderHistoryPage<OrderSummary> page) {
+        return page.withItems(orderRepository.findAllById(orderIds(page.items())));
+    }
+
+    private static List<OrderId> orderIds(List<OrderSummary> orders) {
+        return orders.stream().map(order -> OrderId.of(order.orderId())).toList();
+    }
+
     private void publishEvents(OrderAggregate order) {
         List<DomainEvent> events = order.getDomainEvents();
         events.forEach(eventPublisher::publish);
@@ -0,0 +1,285 @@
+package com.metao.book.order.infrastructure.cart;
+
+import com.metao.book.order.application.cart.ShoppingCart;
+import com.metao.book.order.application.cart.ShoppingCartKey;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of one cart shard, written before a change becomes visible so it survives a crash that
+ * happens before the next flush to the database.
+ * <p>
+ * The journal is a sequence of segment files named {@code cart-<shard>-<sequence>.journal}. Each record is framed by
+ * its length and a CRC32 so a record torn by a crash is detected on replay and everything after it is ignored. A
+ * flush rotates to a new segment; closed segments are deleted once their changes are in the database. Not
+ * thread-safe: callers hold the shard lock.
+ */
+final class CartJournal implements AutoCloseable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("cart-(\\d+)-(\\d+)\\.journal");
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    private final Path directory;
+    private final int shard;
+    private final boolean fsync;
+    private long sequence;
+    private Path segment;
+    private FileChannel channel;
+
+    CartJournal(Path directory, int shard, boolean fsync) {
+        this.directory = directory;
+        this.shard = shard;
+        this.fsync = fsync;
+        this.sequence = lastSequence(directory, shard);
+        open();
+    }
+
+    /**
+     * A journalled change: the full line after a put, or only the key when the line was deleted.
+     */
+    record Entry(ShoppingCartKey key, ShoppingCart line) {
+
+        static Entry put(ShoppingCart line) {
+            return new Entry(new ShoppingCartKey(line.getUserId(), line.getSku()), line);
+        }
+
+        static Entry delete(String userId, String sku) {
+            return new Entry(new ShoppingCartKey(userId, sku), null);
+        }
+
+        boolean isDelete() {
+            return line == null;
+        }
+    }
+
+    /**
+     * Appends the entries as one write, forced to disk when the journal was opened with {@code fsync}.
+     */
+    void append(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            for (Entry entry : entries) {
+                byte[] payload = encode(entry);
+                var crc = new CRC32();
+                crc.update(payload);
+                out.writeInt(payload.length);
+                out.writeInt((int) crc.getValue());
+                out.write(payload);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        try {
+            var buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to append to cart journal " + segment, ex);
+        }
+    }
+
+    /**
+     * Closes the current segment, starts a new one and returns the closed segment.
+     */
+    Path rotate() {
+        Path closed = segment;
+        closeChannel();
+        sequence++;
+        open();
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        closeChannel();
+    }
+
+    /**
+     * Replays every segment in the directory, oldest first per shard, stopping at the first torn record of a segment.
+     */
+    static void replay(Path directory, Consumer<Entry> consumer) {
+        for (Path segment : segments(directory)) {
+            try (var in = new DataInputStream(Files.newInputStream(segment))) {
+                readSegment(in, consumer);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to replay cart journal " + segment, ex);
+            }
+        }
+    }
+
+    static List<Path> segments(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                .sorted(Comparator.<Path>comparingLong(file -> segmentNumber(file, 1))
+                    .thenComparingLong(file -> segmentNumber(file, 2)))
+                .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static void delete(List<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to delete cart journal " + segment, ex);
+            }
+        }
+    }
+
+    private void open() {
+        segment = directory.resolve("cart-%d-%d.journal".formatted(shard, sequence));
+        try {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to open cart journal " + segment, ex);
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static long lastSequence(Path directory, int shard) {
+        return segments(directory).stream()
+            .filter(file -> segmentNumber(file, 1) == shard)
+            .mapToLong(file -> segmentNumber(file, 2) + 1)
+            .max()
+            .orElse(0);
+    }
+
+    private static long segmentNumber(Path file, int group) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a cart journal segment: " + file);
+        }
+        return Long.parseLong(matcher.group(group));
+    }
+
+    private static void readSegment(DataInputStream in, Consumer<Entry> consumer) throws IOException {
+        while (true) {
+            byte[] payload;
+            try {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length <= 0) {
+                    return;
+                }
+                payload = in.readNBytes(length);
+                var crc = new CRC32();
+                crc.update(payload);
+                if (payload.length != length || (int) crc.getValue() != checksum) {
+                    return;
+                }
+            } catch (EOFException ex) {
+                return;
+            }
+            consumer.accept(decode(new ByteArrayInputStream(payload)));
+        }
+    }
+
+    private static byte[] encode(Entry entry) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeByte(entry.isDelete() ? DELETE : PUT);
+            out.writeUTF(entry.key().getUserId());
+            out.writeUTF(entry.key().getSku());
+            if (!entry.isDelete()) {
+                ShoppingCart line = entry.line();
+                out.writeUTF(line.getProductTitle());
+                out.writeUTF(line.getQuantity().toPlainString());
+                writeNullable(out, line.getBuyPrice() == null ? null : line.getBuyPrice().toPlainString());
+                writeNullable(out, line.getSellPrice() == null ? null : line.getSellPrice().toPlainString());
+                writeNullable(out, line.getCurrency() == null ? null : line.getCurrency().getCurrencyCode());
+                writeNullable(out, line.getCreatedOn());
+                writeNullable(out, line.getUpdatedOn());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Entry decode(InputStream payload) throws IOException {
+        var in = new DataInputStream(payload);
+        byte type = in.readByte();
+        String userId = in.readUTF();
+        String sku = in.readUTF();
+        if (type == DELETE) {
+            return Entry.delete(userId, sku);
+        }
+        var line = new ShoppingCart();
+        line.setUserId(userId);
+        line.setSku(sku);
+        line.setProductTitle(in.readUTF());
+        line.setQuantity(new BigDecimal(in.readUTF()));
+        String buyPrice = readNullable(in);
+        String sellPrice = readNullable(in);
+        String currency = readNullable(in);
+        line.setBuyPrice(buyPrice == null ? null : new BigDecimal(buyPrice));
+        line.setSellPrice(sellPrice == null ? null : new BigDecimal(sellPrice));
+        line.setCurrency(currency == null ? null : Currency.getInstance(currency));
+        line.setCreatedOn(readNullableLong(in));
+        line.setUpdatedOn(readNullableLong(in));
+        return Entry.put(line);
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static Long readNullableLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+}
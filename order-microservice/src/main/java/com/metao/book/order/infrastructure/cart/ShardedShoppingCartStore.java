@@ -0,0 +1,348 @@
+package com.metao.book.order.infrastructure.cart;
+
+import com.metao.book.order.application.cart.ShoppingCart;
+import com.metao.book.order.application.cart.ShoppingCartItem;
+import com.metao.book.order.application.cart.ShoppingCartKey;
+import com.metao.book.order.application.cart.ShoppingCartRepository;
+import com.metao.book.order.application.cart.ShoppingCartStore;
+import com.metao.book.order.domain.exception.ShoppingCartNotFoundException;
+import com.metao.book.order.infrastructure.cart.CartJournal.Entry;
+import com.metao.book.order.infrastructure.persistence.repository.ShoppingCartBatchRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps carts in memory, sharded by user, and writes them to {@code shopping_cart} behind the request path. Enabled
+ * with {@code app.order.cart.store=sharded-memory}.
+ * <p>
+ * Each shard holds an immutable snapshot per user, so reads are a map lookup without locking once the cart is
+ * loaded. Writes to a shard are serialized by its lock: the change is appended to the shard's {@link CartJournal},
+ * then published and marked dirty. A scheduled flush writes the latest state of the dirty lines in one transaction
+ * and deletes the journal segments it covered; on startup leftover segments are replayed into the database before
+ * any request is served. Carts are loaded from the database on first access and evicted once clean and idle.
+ * <p>
+ * The store is local to one instance: requests for a user must be routed to the same instance, otherwise another
+ * instance reads a stale cart until the next flush.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.order.cart.store", havingValue = "sharded-memory")
+public class ShardedShoppingCartStore implements ShoppingCartStore {
+
+    private final ShoppingCartRepository shoppingCartRepository;
+    private final ShoppingCartBatchRepository shoppingCartBatchRepository;
+    private final Duration idleEviction;
+    private final Shard[] shards;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public ShardedShoppingCartStore(
+        ShoppingCartRepository shoppingCartRepository,
+        ShoppingCartBatchRepository shoppingCartBatchRepository,
+        @Value("${app.order.cart.shards:64}") int shards,
+        @Value("${app.order.cart.journal.directory:data/cart-journal}") Path journalDirectory,
+        @Value("${app.order.cart.journal.fsync:true}") boolean fsync,
+        @Value("${app.order.cart.idle-eviction:30m}") Duration idleEviction
+    ) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("app.order.cart.shards must be positive: " + shards);
+        }
+        this.shoppingCartRepository = shoppingCartRepository;
+        this.shoppingCartBatchRepository = shoppingCartBatchRepository;
+        this.idleEviction = idleEviction;
+        recover(journalDirectory);
+        int size = Integer.bitCount(shards) == 1 ? shards : Integer.highestOneBit(shards) << 1;
+        this.shards = new Shard[size];
+        for (int index = 0; index < size; index++) {
+            this.shards[index] = new Shard(new CartJournal(journalDirectory, index, fsync));
+        }
+    }
+
+    @Override
+    public List<ShoppingCart> findByUserId(String userId) {
+        Shard shard = shardFor(userId);
+        Map<String, ShoppingCart> cart = shard.carts.get(userId);
+        if (cart == null) {
+            shard.lock.lock();
+            try {
+                cart = loadLocked(shard, userId);
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return cart.values().stream().map(ShardedShoppingCartStore::copy).toList();
+    }
+
+    @Override
+    public int addItems(String userId, Set<ShoppingCartItem> items) {
+        Shard shard = shardFor(userId);
+        shard.lock.lock();
+        try {
+            Map<String, ShoppingCart> cart = new LinkedHashMap<>(loadLocked(shard, userId));
+            long now = Instant.now().toEpochMilli();
+            List<Entry> entries = new ArrayList<>(items.size());
+            for (ShoppingCartItem item : items) {
+                ShoppingCart existing = cart.get(item.sku());
+                ShoppingCart line;
+                if (existing != null) {
+                    line = copy(existing);
+                    line.setQuantity(existing.getQuantity().add(item.quantity()));
+                } else {
+                    line = new ShoppingCart(userId, item.sku(), item.productTitle(), item.price(), item.price(),
+                        item.quantity(), item.currency());
+                }
+                line.setUpdatedOn(now);
+                cart.put(line.getSku(), line);
+                entries.add(Entry.put(line));
+            }
+            commitLocked(shard, userId, cart, entries);
+            return entries.size();
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public ShoppingCart updateQuantity(String userId, String sku, BigDecimal quantity) {
+        Shard shard = shardFor(userId);
+        shard.lock.lock();
+        try {
+            Map<String, ShoppingCart> cart = new LinkedHashMap<>(loadLocked(shard, userId));
+            ShoppingCart existing = requireLine(cart, userId, sku);
+            if (quantity.compareTo(BigDecimal.ZERO) <= 0) {
+                cart.remove(sku);
+                commitLocked(shard, userId, cart, List.of(Entry.delete(userId, sku)));
+                return null;
+            }
+            ShoppingCart line = copy(existing);
+            line.setQuantity(quantity);
+            line.setUpdatedOn(Instant.now().toEpochMilli());
+            cart.put(sku, line);
+            commitLocked(shard, userId, cart, List.of(Entry.put(line)));
+            return copy(line);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public void removeItem(String userId, String sku) {
+        Shard shard = shardFor(userId);
+        shard.lock.lock();
+        try {
+            Map<String, ShoppingCart> cart = new LinkedHashMap<>(loadLocked(shard, userId));
+            requireLine(cart, userId, sku);
+            cart.remove(sku);
+            commitLocked(shard, userId, cart, List.of(Entry.delete(userId, sku)));
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear(String userId) {
+        Shard shard = shardFor(userId);
+        shard.lock.lock();
+        try {
+            Map<String, ShoppingCart> cart = loadLocked(shard, userId);
+            List<Entry> entries = cart.keySet().stream().map(sku -> Entry.delete(userId, sku)).toList();
+            commitLocked(shard, userId, new LinkedHashMap<>(), entries);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the latest state of every dirty line, then deletes the journal segments that are covered by the write.
+     * When the write fails the lines stay dirty and their segments are kept, so the next flush or a restart retries.
+     */
+    @Timed("order.cart.flush")
+    @Scheduled(fixedDelayString = "${app.order.cart.flush-interval:1s}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            for (Shard shard : shards) {
+                flush(shard);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        try {
+            flush();
+        } finally {
+            for (Shard shard : shards) {
+                shard.lock.lock();
+                try {
+                    shard.journal.close();
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+        }
+    }
+
+    private void flush(Shard shard) {
+        List<Entry> snapshot;
+        List<Path> segments;
+        shard.lock.lock();
+        try {
+            if (shard.dirty.isEmpty()) {
+                evictLocked(shard);
+                return;
+            }
+            snapshot = new ArrayList<>(shard.dirty.values());
+            shard.dirty.clear();
+            shard.closedSegments.add(shard.journal.rotate());
+            segments = List.copyOf(shard.closedSegments);
+        } finally {
+            shard.lock.unlock();
+        }
+
+        try {
+            write(snapshot);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to flush {} cart lines, keeping them for the next flush", snapshot.size(), ex);
+            shard.lock.lock();
+            try {
+                snapshot.forEach(entry -> shard.dirty.putIfAbsent(entry.key(), entry));
+            } finally {
+                shard.lock.unlock();
+            }
+            return;
+        }
+
+        shard.lock.lock();
+        try {
+            CartJournal.delete(segments);
+            shard.closedSegments.removeAll(segments);
+            evictLocked(shard);
+        } finally {
+            shard.lock.unlock();
+        }
+        log.debug("Flushed {} cart lines", snapshot.size());
+    }
+
+    private void recover(Path journalDirectory) {
+        List<Path> segments = CartJournal.segments(journalDirectory);
+        if (segments.isEmpty()) {
+            return;
+        }
+        Map<ShoppingCartKey, Entry> latest = new LinkedHashMap<>();
+        CartJournal.replay(journalDirectory, entry -> latest.put(entry.key(), entry));
+        write(latest.values());
+        CartJournal.delete(segments);
+        log.info("Recovered {} cart lines from {} journal segments", latest.size(), segments.size());
+    }
+
+    private void write(Collection<Entry> entries) {
+        List<ShoppingCart> upserts = new ArrayList<>();
+        List<ShoppingCartKey> deletes = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.isDelete()) {
+                deletes.add(entry.key());
+            } else {
+                upserts.add(entry.line());
+            }
+        }
+        shoppingCartBatchRepository.write(upserts, deletes);
+    }
+
+    /**
+     * Returns the cart of the user, reading it from the database on first access. Loading under the shard lock keeps
+     * a concurrent writer from publishing a cart that the load would then overwrite.
+     */
+    private Map<String, ShoppingCart> loadLocked(Shard shard, String userId) {
+        Map<String, ShoppingCart> cart = shard.carts.get(userId);
+        if (cart != null) {
+            return cart;
+        }
+        Map<String, ShoppingCart> loaded = new LinkedHashMap<>();
+        shoppingCartRepository.findByUserId(userId).forEach(line -> loaded.put(line.getSku(), copy(line)));
+        cart = Collections.unmodifiableMap(loaded);
+        shard.carts.put(userId, cart);
+        return cart;
+    }
+
+    private static void commitLocked(
+        Shard shard,
+        String userId,
+        Map<String, ShoppingCart> cart,
+        List<Entry> entries
+    ) {
+        shard.journal.append(entries);
+        shard.carts.put(userId, Collections.unmodifiableMap(cart));
+        entries.forEach(entry -> shard.dirty.put(entry.key(), entry));
+    }
+
+    private void evictLocked(Shard shard) {
+        Set<String> dirtyUsers = new HashSet<>();
+        shard.dirty.keySet().forEach(key -> dirtyUsers.add(key.getUserId()));
+        long idleBefore = Instant.now().minus(idleEviction).toEpochMilli();
+        shard.carts.entrySet().removeIf(cart -> !dirtyUsers.contains(cart.getKey())
+            && cart.getValue().values().stream()
+            .allMatch(line -> line.getUpdatedOn() == null || line.getUpdatedOn() < idleBefore));
+    }
+
+    private static ShoppingCart requireLine(Map<String, ShoppingCart> cart, String userId, String sku) {
+        ShoppingCart line = cart.get(sku);
+        if (line == null) {
+            throw new ShoppingCartNotFoundException(String.format("user %s and sku %s", userId, sku));
+        }
+        return line;
+    }
+
+    private Shard shardFor(String userId) {
+        int hash = userId.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
+    }
+
+    private static ShoppingCart copy(ShoppingCart line) {
+        var copy = new ShoppingCart();
+        copy.setUserId(line.getUserId());
+        copy.setSku(line.getSku());
+        copy.setProductTitle(line.getProductTitle());
+        copy.setQuantity(line.getQuantity());
+        copy.setBuyPrice(line.getBuyPrice());
+        copy.setSellPrice(line.getSellPrice());
+        copy.setCurrency(line.getCurrency());
+        copy.setCreatedOn(line.getCreatedOn());
+        copy.setUpdatedOn(line.getUpdatedOn());
+        return copy;
+    }
+
+    private static final class Shard {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Map<String, ShoppingCart>> carts = new ConcurrentHashMap<>();
+        private final Map<ShoppingCartKey, Entry> dirty = new HashMap<>();
+        private final List<Path> closedSegments = new ArrayList<>();
+        private final CartJournal journal;
+
+        private Shard(CartJournal journal) {
+            this.journal = journal;
+        }
+    }
+}
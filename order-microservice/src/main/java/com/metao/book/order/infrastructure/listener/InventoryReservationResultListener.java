@@ -0,0 +1,40 @@
+package com.metao.book.order.infrastructure.listener;
+
+import com.metao.book.shared.InventoryReservationResultEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the outcome of order-level inventory reservations. Shortfalls are logged per line and counted under
+ * {@code order.inventory.reservation} with the {@code outcome} tag.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryReservationResultListener {
+
+    private final MeterRegistry meterRegistry;
+
+    @KafkaListener(
+        id = "${kafka.topic.inventory-reservation-result.id}",
+        topics = "${kafka.topic.inventory-reservation-result.name}",
+        groupId = "${kafka.topic.inventory-reservation-result.group-id}",
+        containerFactory = "inventoryReservationResultEventKafkaListenerContainerFactory"
+    )
+    public void handleReservationResult(InventoryReservationResultEvent result, Acknowledgment acknowledgment) {
+        if (result.getReserved()) {
+            log.info("Inventory reserved for order {}.", result.getOrderId());
+        } else {
+            result.getShortfallsList().forEach(shortfall -> log.warn(
+                "Inventory shortfall for order {}: sku={}, requested={}, available={}",
+                result.getOrderId(), shortfall.getSku(), shortfall.getRequested(), shortfall.getAvailable()));
+        }
+        meterRegistry.counter("order.inventory.reservation", "outcome", result.getReserved() ? "reserved" : "shortfall")
+            .increment();
+        acknowledgment.acknowledge();
+    }
+}
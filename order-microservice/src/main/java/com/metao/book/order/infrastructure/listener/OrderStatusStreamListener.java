@@ -0,0 +1,65 @@
+package com.metao.book.order.infrastructure.listener;
+
+import com.metao.book.order.domain.model.valueobject.OrderStatus;
+import com.metao.book.order.infrastructure.status.OrderStatusSubscriptionRegistry;
+import com.metao.book.order.infrastructure.status.OrderStatusUpdate;
+import com.metao.book.shared.OrderUpdatedEvent;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds the order status streams of this node from {@code order-updated}.
+ * <p>
+ * Each node consumes in its own consumer group, named after its instance id, so every node sees every status change
+ * whichever node applied it. The group is stable across restarts; a new node starts at the latest offset.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderStatusStreamListener {
+
+    private final OrderStatusSubscriptionRegistry subscriptions;
+
+    @KafkaListener(
+        id = "${app.order.status-stream.group-id}",
+        topics = "${kafka.topic.order-updated.name}",
+        containerFactory = "orderUpdatedEventKafkaListenerContainerFactory",
+        properties = "auto.offset.reset=latest"
+    )
+    public void handleOrderUpdated(OrderUpdatedEvent event) {
+        if (event.getOrderId().isEmpty()) {
+            return;
+        }
+        OrderStatus status = toOrderStatus(event.getStatus());
+        if (status == null) {
+            log.debug("Skipped status update of order {} with unknown status {}", event.getOrderId(),
+                event.getStatusValue());
+            return;
+        }
+        Instant updatedAt = event.hasUpdateTime()
+            ? Instant.ofEpochSecond(event.getUpdateTime().getSeconds(), event.getUpdateTime().getNanos())
+            : Instant.now();
+        subscriptions.publish(new OrderStatusUpdate(event.getOrderId(), status, updatedAt));
+    }
+
+    /**
+     * Maps the wire status, or returns {@code null} for a value this node does not know, e.g. one added by a newer
+     * publisher.
+     */
+    static OrderStatus toOrderStatus(OrderUpdatedEvent.Status status) {
+        return switch (status) {
+            case CREATED -> OrderStatus.CREATED;
+            case PENDING_PAYMENT -> OrderStatus.PENDING_PAYMENT;
+            case PAID -> OrderStatus.PAID;
+            case PAYMENT_FAILED -> OrderStatus.PAYMENT_FAILED;
+            case PROCESSING -> OrderStatus.PROCESSING;
+            case SHIPPED -> OrderStatus.SHIPPED;
+            case DELIVERED -> OrderStatus.DELIVERED;
+            case CANCELLED -> OrderStatus.CANCELLED;
+            case UNRECOGNIZED -> null;
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.metao.book.order.infrastructure.listener;
+
+import com.google.protobuf.Message;
+import com.metao.book.order.application.usecase.ApplyOrderStatusTransitionsUseCase;
+import com.metao.book.order.application.usecase.OrderStatusTransition;
+import com.metao.book.order.domain.model.valueobject.OrderStatus;
+import com.metao.book.shared.OrderStatusTransitionEvent;
+import io.micrometer.core.annotation.Timed;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sink of the order saga stream: writes each poll of status transitions to the database in one transaction.
+ * Transitions of orders that are not stored yet are forwarded, in the same Kafka transaction, to the pending topic
+ * where {@link OrderStatusTransitionPendingListener} retries them one by one on a backoff; the rest of the poll is
+ * committed right away. Transitions already applied are no-ops.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "kafka.streams.order-saga.enabled", havingValue = "true")
+public class OrderStatusTransitionListener {
+
+    private final ApplyOrderStatusTransitionsUseCase applyOrderStatusTransitions;
+    private final KafkaTemplate<String, Message> kafkaTemplate;
+
+    @Value("${kafka.topic.order-status-transition-pending.name}")
+    private String pendingTopic;
+
+    @KafkaListener(
+        id = "${kafka.topic.order-status-transition.id}",
+        topics = "${kafka.topic.order-status-transition.name}",
+        groupId = "${kafka.topic.order-status-transition.group-id}",
+        containerFactory = "orderStatusTransitionEventKafkaListenerContainerFactory"
+    )
+    @Timed(value = "order.status-transition.listener", extraTags = {"listener", "order-status-transition"})
+    public void handleTransitions(
+        List<ConsumerRecord<String, OrderStatusTransitionEvent>> records,
+        Acknowledgment acknowledgment
+    ) {
+        List<OrderStatusTransition> transitions = new ArrayList<>(records.size());
+        Map<OrderStatusTransition, ConsumerRecord<String, OrderStatusTransitionEvent>> sources =
+            HashMap.newHashMap(records.size());
+        for (int index = 0; index < records.size(); index++) {
+            try {
+                OrderStatusTransition transition = toTransition(records.get(index).value());
+                transitions.add(transition);
+                sources.put(transition, records.get(index));
+            } catch (RuntimeException ex) {
+                throw new BatchListenerFailedException("Invalid order status transition", ex, index);
+            }
+        }
+        for (OrderStatusTransition transition : applyOrderStatusTransitions.apply(transitions)) {
+            var source = sources.get(transition);
+            kafkaTemplate.send(pendingTopic, source.key(), source.value());
+            log.debug("Order {} is not stored yet, moved its transition to {} to {}",
+                transition.orderId(), transition.to(), pendingTopic);
+        }
+        acknowledgment.acknowledge();
+    }
+
+    static OrderStatusTransition toTransition(OrderStatusTransitionEvent event) {
+        return new OrderStatusTransition(
+            event.getOrderId(),
+            event.getUserId(),
+            OrderStatus.valueOf(event.getFromStatus()),
+            OrderStatus.valueOf(event.getToStatus()),
+            Instant.ofEpochSecond(event.getOccurredTime().getSeconds(), event.getOccurredTime().getNanos())
+        );
+    }
+}
@@ -0,0 +1,57 @@
+package com.metao.book.order.infrastructure.listener;
+
+import com.metao.book.order.application.usecase.ApplyOrderStatusTransitionsUseCase;
+import com.metao.book.order.application.usecase.OrderStatusTransition;
+import com.metao.book.order.domain.exception.OrderNotStoredYetException;
+import com.metao.book.shared.OrderStatusTransitionEvent;
+import io.micrometer.core.annotation.Timed;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.BackOff;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retries saga transitions whose order was not stored yet when {@link OrderStatusTransitionListener} saw them. Each
+ * retry that still finds no order moves the record to the next retry topic with an exponentially growing delay, so
+ * a late order only delays its own transitions; after the last attempt the record goes to the dead letter topic.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "kafka.streams.order-saga.enabled", havingValue = "true")
+public class OrderStatusTransitionPendingListener {
+
+    private final ApplyOrderStatusTransitionsUseCase applyOrderStatusTransitions;
+
+    @RetryableTopic(
+        attempts = "${kafka.consumer.order-status-transition-pending.attempts:8}",
+        backoff = @BackOff(
+            delayString = "${kafka.consumer.order-status-transition-pending.initial-delay-ms:1000}",
+            multiplierString = "${kafka.consumer.order-status-transition-pending.multiplier:2}",
+            maxDelayString = "${kafka.consumer.order-status-transition-pending.max-delay-ms:60000}"
+        ),
+        include = OrderNotStoredYetException.class,
+        kafkaTemplate = "kafkaTemplate"
+    )
+    @KafkaListener(
+        id = "${kafka.topic.order-status-transition-pending.id}",
+        topics = "${kafka.topic.order-status-transition-pending.name}",
+        groupId = "${kafka.topic.order-status-transition-pending.group-id}",
+        containerFactory = "orderStatusTransitionPendingKafkaListenerContainerFactory"
+    )
+    @Timed(value = "order.status-transition.listener", extraTags = {"listener", "order-status-transition-pending"})
+    public void handleTransition(
+        ConsumerRecord<String, OrderStatusTransitionEvent> record,
+        Acknowledgment acknowledgment
+    ) {
+        OrderStatusTransition transition = OrderStatusTransitionListener.toTransition(record.value());
+        if (!applyOrderStatusTransitions.apply(List.of(transition)).isEmpty()) {
+            throw new OrderNotStoredYetException(transition.orderId());
+        }
+        acknowledgment.acknowledge();
+    }
+}
@@ -1,22 +1,31 @@
 package com.metao.book.order.infrastructure.listener;
 
+import com.metao.book.order.application.port.OrderCommandDispatcher;
 import com.metao.book.order.application.usecase.HandleOrderPaymentEventCommand;
 import com.metao.book.order.application.usecase.HandleOrderPaymentEventUseCase;
-
+import com.metao.book.order.domain.model.valueobject.OrderId;
 import com.metao.book.shared.OrderPaymentUpdatedEvent;
 import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+/**
+ * Applies payment outcomes to orders one event at a time. Replaced by the order saga stream when
+ * {@code kafka.streams.order-saga.enabled} is set. Each event is handled in the mailbox of its order, see
+ * {@link OrderCommandDispatcher}.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(value = "kafka.streams.order-saga.enabled", havingValue = "false", matchIfMissing = true)
 public class PaymentEventListener {
 
     private final HandleOrderPaymentEventUseCase handleOrderPaymentEventUseCase;
+    private final OrderCommandDispatcher orderCommandDispatcher;
 
     @KafkaListener(
         id = "${kafka.topic.order-payment.id}",
@@ -26,11 +35,13 @@ public class PaymentEventListener {
     )
     @Timed(value = "order.payment.listener", extraTags = {"listener", "order-payment"})
     public void handlePaymentEvent(OrderPaymentUpdatedEvent paymentEvent, Acknowledgment acknowledgment) {
-        handleOrderPaymentEventUseCase.handle(new HandleOrderPaymentEventCommand(
+        var command = new HandleOrderPaymentEventCommand(
             resolveEventId(paymentEvent),
             paymentEvent.getOrderId(),
             paymentEvent.getStatus().name()
-        ));
+        );
+        orderCommandDispatcher.execute(OrderId.of(command.orderId()),
+            () -> handleOrderPaymentEventUseCase.handle(command));
         acknowledgment.acknowledge();
     }
 
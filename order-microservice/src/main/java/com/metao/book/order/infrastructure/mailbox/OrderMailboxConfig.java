@@ -0,0 +1,27 @@
+package com.metao.book.order.infrastructure.mailbox;
+
+import com.metao.book.order.application.port.OrderCommandDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OrderMailboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.order.mailbox.enabled", havingValue = "true", matchIfMissing = true)
+    OrderCommandDispatcher stripedOrderCommandDispatcher(
+        @Value("${app.order.mailbox.stripes:64}") int stripes,
+        MeterRegistry meterRegistry
+    ) {
+        return new StripedOrderCommandDispatcher(stripes, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.order.mailbox.enabled", havingValue = "false")
+    OrderCommandDispatcher directOrderCommandDispatcher() {
+        return OrderCommandDispatcher.direct();
+    }
+}
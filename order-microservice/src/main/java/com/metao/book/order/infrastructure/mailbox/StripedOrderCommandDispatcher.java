@@ -0,0 +1,116 @@
+package com.metao.book.order.infrastructure.mailbox;
+
+import com.metao.book.order.application.port.OrderCommandDispatcher;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Routes every command for an order to one of a fixed number of mailboxes, chosen by the hash of the order id. Each
+ * mailbox runs its commands one at a time, in arrival order, on its own virtual thread, so commands for the same
+ * order never contend for its row lock on this node. The lock stays in place for commands arriving on other nodes.
+ * <p>
+ * A command dispatched from inside a mailbox runs inline, as waiting on another mailbox from there could deadlock.
+ * The number of queued commands and the time a command waited for its turn are exported per mailbox as
+ * {@code order.mailbox.queue.depth} and {@code order.mailbox.wait}.
+ */
+@Slf4j
+public class StripedOrderCommandDispatcher implements OrderCommandDispatcher, AutoCloseable {
+
+    private static final ThreadLocal<Boolean> IN_MAILBOX = ThreadLocal.withInitial(() -> false);
+
+    private final Stripe[] stripes;
+
+    public StripedOrderCommandDispatcher(int stripes, MeterRegistry meterRegistry) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("app.order.mailbox.stripes must be positive: " + stripes);
+        }
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe(i, meterRegistry);
+        }
+    }
+
+    @Override
+    public <T> T call(OrderId orderId, Supplier<T> command) {
+        if (IN_MAILBOX.get()) {
+            return command.get();
+        }
+        Stripe stripe = stripes[Math.floorMod(orderId.value().hashCode(), stripes.length)];
+        long enqueuedAt = System.nanoTime();
+        Future<T> result = stripe.executor.submit(() -> {
+            stripe.waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            IN_MAILBOX.set(true);
+            try {
+                return command.get();
+            } finally {
+                IN_MAILBOX.remove();
+            }
+        });
+        try {
+            return result.get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Command for order " + orderId + " failed", cause);
+        } catch (InterruptedException ex) {
+            result.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for command of order " + orderId, ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Stripe stripe : stripes) {
+            stripe.executor.shutdown();
+        }
+        for (Stripe stripe : stripes) {
+            try {
+                if (!stripe.executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("Order mailbox {} still had {} commands queued at shutdown", stripe.index,
+                        stripe.executor.getQueue().size());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static final class Stripe {
+
+        private final int index;
+        private final ThreadPoolExecutor executor;
+        private final Timer waitTimer;
+
+        private Stripe(int index, MeterRegistry meterRegistry) {
+            this.index = index;
+            BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, queue,
+                Thread.ofVirtual().name("order-mailbox-" + index).factory());
+            this.waitTimer = Timer.builder("order.mailbox.wait")
+                .description("Time an order command waited in its mailbox before running")
+                .tag("stripe", String.valueOf(index))
+                .register(meterRegistry);
+            Gauge.builder("order.mailbox.queue.depth", queue, BlockingQueue::size)
+                .description("Order commands waiting in the mailbox")
+                .tag("stripe", String.valueOf(index))
+                .register(meterRegistry);
+        }
+    }
+}
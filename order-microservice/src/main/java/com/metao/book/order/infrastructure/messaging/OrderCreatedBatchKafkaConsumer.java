@@ -0,0 +1,65 @@
+package com.metao.book.order.infrastructure.messaging;
+
+import com.metao.book.order.application.usecase.PersistOrderUseCase;
+import com.metao.book.shared.OrderCreatedEvent;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Batch variant of {@link OrderKafkaConsumer}, enabled with {@code kafka.consumer.order-created.batch-enabled}.
+ * <p>
+ * Each poll is persisted in one transaction with multi-row inserts instead of one transaction per event. A record
+ * that cannot be converted fails the batch at its index, so the error handler commits the records before it and
+ * sends that record to the dead-letter topic. The {@code order.created.events} counter gives the persisted event
+ * rate.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "kafka.consumer.order-created.batch-enabled", havingValue = "true")
+public class OrderCreatedBatchKafkaConsumer {
+
+    private final PersistOrderUseCase persistOrderUseCase;
+    private final Counter persistedEvents;
+
+    public OrderCreatedBatchKafkaConsumer(PersistOrderUseCase persistOrderUseCase, MeterRegistry meterRegistry) {
+        this.persistOrderUseCase = persistOrderUseCase;
+        this.persistedEvents = Counter.builder("order.created.events")
+            .tag("listener", "order-created-batch")
+            .register(meterRegistry);
+    }
+
+    @KafkaListener(
+        id = "${kafka.topic.order-created.id}",
+        topics = "${kafka.topic.order-created.name}",
+        groupId = "${kafka.topic.order-created.group-id}",
+        containerFactory = "orderCreatedEventBatchKafkaListenerContainerFactory"
+    )
+    @Timed(value = "order.created.listener", extraTags = {"listener", "order-created-batch"})
+    public void handleOrderCreatedEvents(
+        List<ConsumerRecord<String, OrderCreatedEvent>> records,
+        Acknowledgment acknowledgment
+    ) {
+        List<com.metao.book.order.domain.event.OrderCreatedEvent> events = new ArrayList<>(records.size());
+        for (int index = 0; index < records.size(); index++) {
+            try {
+                events.add(OrderCreatedEventMessage.from(records.get(index).value()).toDomainEvent());
+            } catch (RuntimeException ex) {
+                throw new BatchListenerFailedException("Invalid order-created event", ex, index);
+            }
+        }
+        persistOrderUseCase.persistOrders(events);
+        acknowledgment.acknowledge();
+        persistedEvents.increment(records.size());
+        log.debug("Persisted {} order-created events and acknowledged offsets.", records.size());
+    }
+}
@@ -1,9 +1,12 @@
 package com.metao.book.order.infrastructure.messaging;
 
+import com.metao.book.order.application.port.OrderCommandDispatcher;
 import com.metao.book.order.application.usecase.PersistOrderUseCase;
+import com.metao.book.order.domain.model.valueobject.OrderId;
 import com.metao.book.shared.OrderCreatedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
@@ -11,8 +14,10 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(value = "kafka.consumer.order-created.batch-enabled", havingValue = "false", matchIfMissing = true)
 public class OrderKafkaConsumer {
     private final PersistOrderUseCase persistOrderUseCase;
+    private final OrderCommandDispatcher orderCommandDispatcher;
 
     @KafkaListener(
         id = "${kafka.topic.order-created.id}",
@@ -21,7 +26,8 @@ public class OrderKafkaConsumer {
         containerFactory = "orderCreatedEventKafkaListenerContainerFactory"
     )
     public void handleOrderCreatedEvent(OrderCreatedEvent event, Acknowledgment acknowledgment) {
-        persistOrderUseCase.persistOrder(OrderCreatedEventMessage.from(event).toDomainEvent());
+        var domainEvent = OrderCreatedEventMessage.from(event).toDomainEvent();
+        orderCommandDispatcher.execute(OrderId.of(event.getId()), () -> persistOrderUseCase.persistOrder(domainEvent));
         acknowledgment.acknowledge();
         log.info("Persisted order-created event for order {} and acknowledged offset.", event.getId());
     }
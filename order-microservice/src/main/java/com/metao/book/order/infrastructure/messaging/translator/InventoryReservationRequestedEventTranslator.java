@@ -0,0 +1,33 @@
+package com.metao.book.order.infrastructure.messaging.translator;
+
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import com.metao.book.order.domain.model.event.DomainInventoryReservationRequestedEvent;
+import com.metao.book.shared.InventoryReservationRequestedEvent;
+import com.metao.book.shared.domain.base.DomainEvent;
+import com.metao.book.shared.domain.base.ProtobufDomainTranslator;
+import org.springframework.stereotype.Component;
+
+@Component
+public class InventoryReservationRequestedEventTranslator implements ProtobufDomainTranslator {
+
+    @Override
+    public Message translate(DomainEvent event) {
+        DomainInventoryReservationRequestedEvent domainEvent = (DomainInventoryReservationRequestedEvent) event;
+        var builder = InventoryReservationRequestedEvent.newBuilder()
+            .setOrderId(domainEvent.getOrderId().value())
+            .setRequestedTime(Timestamp.newBuilder()
+                .setSeconds(event.getOccurredOn().getEpochSecond())
+                .setNanos(event.getOccurredOn().getNano())
+                .build());
+        domainEvent.getLines().forEach(line -> builder.addLines(InventoryReservationRequestedEvent.Line.newBuilder()
+            .setSku(line.sku().value())
+            .setQuantity(line.quantity().value().doubleValue())));
+        return builder.build();
+    }
+
+    @Override
+    public boolean supports(DomainEvent event) {
+        return event instanceof DomainInventoryReservationRequestedEvent;
+    }
+}
@@ -19,6 +19,7 @@ public class OrderUpdatedEventTranslator implements ProtobufDomainTranslator {
         DomainOrderStatusChangedEvent domainEvent = (DomainOrderStatusChangedEvent) event;
         return OrderUpdatedEvent.newBuilder()
             .setId(domainEvent.getEventId())
+            .setOrderId(domainEvent.getOrderId().value())
             .setStatus(mapOrderStatus(domainEvent.getNewStatus()))
             .setUpdateTime(Timestamp.newBuilder()
                 .setSeconds(domainEvent.getOccurredOn().atZone(ZoneOffset.UTC).toEpochSecond())
@@ -0,0 +1,125 @@
+package com.metao.book.order.infrastructure.persistence;
+
+import com.metao.book.order.infrastructure.persistence.repository.OrderPartitionRepository;
+import io.micrometer.core.annotation.Timed;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the hot tier of {@code orders} small. Each run
+ * <ol>
+ *     <li>creates the monthly partitions of the current month and {@code app.order.partitioning.months-ahead} more,
+ *     so new orders never land in the default partition;</li>
+ *     <li>moves delivered and cancelled orders older than {@code archive-after}, with their lines, to the archive
+ *     partitions in batches of {@code archive-batch-size};</li>
+ *     <li>drops monthly partitions that ended before the archive cutoff and are empty.</li>
+ * </ol>
+ * Archived orders stay in {@code orders} and {@code order_items}, so every query that does not exclude them still
+ * finds them; statements that only write open orders filter on {@code NOT archived} and skip the archive. Months are
+ * taken in the JVM default zone, the zone {@code created_at} is written in. Only the state store writes
+ * {@code orders}, so maintenance is off with {@code app.order.store=event-sourced}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.order.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnProperty(name = "app.order.store", havingValue = "state", matchIfMissing = true)
+public class OrderPartitionMaintenance {
+
+    private final OrderPartitionRepository partitions;
+    private final int monthsAhead;
+    private final Duration archiveAfter;
+    private final int archiveBatchSize;
+    private final ZoneId zone;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public OrderPartitionMaintenance(
+        OrderPartitionRepository partitions,
+        @Value("${app.order.partitioning.months-ahead:3}") int monthsAhead,
+        @Value("${app.order.partitioning.archive-after:90d}") Duration archiveAfter,
+        @Value("${app.order.partitioning.archive-batch-size:1000}") int archiveBatchSize
+    ) {
+        this(partitions, monthsAhead, archiveAfter, archiveBatchSize, ZoneId.systemDefault());
+    }
+
+    /**
+     * {@code zone} must be the zone {@code created_at} is written in: {@code Timestamp.from} renders instants in the
+     * JVM default zone, so production uses that.
+     */
+    OrderPartitionMaintenance(
+        OrderPartitionRepository partitions,
+        int monthsAhead,
+        Duration archiveAfter,
+        int archiveBatchSize,
+        ZoneId zone
+    ) {
+        if (archiveBatchSize <= 0) {
+            throw new IllegalArgumentException(
+                "app.order.partitioning.archive-batch-size must be positive: " + archiveBatchSize);
+        }
+        this.partitions = partitions;
+        this.monthsAhead = monthsAhead;
+        this.archiveAfter = archiveAfter;
+        this.archiveBatchSize = archiveBatchSize;
+        this.zone = zone;
+    }
+
+    @Scheduled(
+        initialDelayString = "${app.order.partitioning.initial-delay:1m}",
+        fixedDelayString = "${app.order.partitioning.interval:1h}"
+    )
+    @Timed("order.partition.maintenance")
+    public void maintain() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            maintain(Instant.now());
+        } catch (DataAccessException ex) {
+            log.warn("Failed to maintain order partitions", ex);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    void maintain(Instant now) {
+        YearMonth currentMonth = YearMonth.from(now.atZone(zone));
+        for (int ahead = 0; ahead <= monthsAhead; ahead++) {
+            YearMonth month = currentMonth.plusMonths(ahead);
+            try {
+                partitions.createMonthlyPartition(month);
+            } catch (DataAccessException ex) {
+                log.warn("Failed to create the order partition of {}; its orders stay in orders_hot_default", month, ex);
+            }
+        }
+
+        Instant cutoff = now.minus(archiveAfter);
+        int archived = 0;
+        int moved;
+        do {
+            moved = partitions.archiveClosedOrders(cutoff, archiveBatchSize);
+            archived += moved;
+        } while (moved == archiveBatchSize);
+
+        YearMonth cutoffMonth = YearMonth.from(cutoff.atZone(zone));
+        int dropped = 0;
+        for (YearMonth month : partitions.findMonthlyPartitions()) {
+            if (month.isBefore(cutoffMonth) && partitions.isMonthlyPartitionEmpty(month)) {
+                partitions.dropMonthlyPartition(month);
+                dropped++;
+            }
+        }
+        log.info("Maintained order partitions: archivedOrders={}, droppedPartitions={}, cutoff={}",
+            archived, dropped, cutoff);
+    }
+}
@@ -0,0 +1,120 @@
+package com.metao.book.order.infrastructure.persistence;
+
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.infrastructure.persistence.mapper.OrderJournalMapper;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes snapshots for the event-sourced order store off the request thread.
+ * <p>
+ * An order is snapshotted when a save brings its version to a multiple of {@code app.order.snapshot.every}. The
+ * state is captured when the order is saved and written on a single daemon thread once the saving transaction
+ * commits. Snapshots only shorten loading, so when the queue is full or a write fails the order keeps loading from
+ * its previous snapshot, and an older snapshot never replaces a newer one.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.order.store", havingValue = "event-sourced")
+public class OrderSnapshotWriter implements AutoCloseable {
+
+    private static final String UPSERT_SNAPSHOT_SQL = """
+        INSERT INTO order_snapshots (order_id, sequence, payload, taken_at)
+        VALUES (?, ?, ?, ?)
+        ON CONFLICT (order_id) DO UPDATE
+        SET sequence = EXCLUDED.sequence, payload = EXCLUDED.payload, taken_at = EXCLUDED.taken_at
+        WHERE order_snapshots.sequence < EXCLUDED.sequence
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int every;
+    private final ExecutorService executor;
+
+    public OrderSnapshotWriter(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        @Value("${app.order.snapshot.every:50}") int every,
+        @Value("${app.order.snapshot.queue-capacity:10000}") int queueCapacity
+    ) {
+        if (every <= 0) {
+            throw new IllegalArgumentException("app.order.snapshot.every must be positive: " + every);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.every = every;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                var thread = new Thread(runnable, "order-snapshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Schedules a snapshot of the order just saved when its version is due for one.
+     */
+    public void saved(OrderAggregate order) {
+        long version = order.getVersion();
+        if (version == 0 || version % every != 0) {
+            return;
+        }
+        var snapshot = new Snapshot(order.getId().value(), version, OrderJournalMapper.toState(order).toByteArray());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(snapshot);
+                }
+            });
+            return;
+        }
+        submit(snapshot);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private void submit(Snapshot snapshot) {
+        try {
+            executor.execute(() -> write(snapshot));
+        } catch (RejectedExecutionException ex) {
+            log.debug("Skipped snapshot {} of order {}; the snapshot queue is full",
+                snapshot.sequence(), snapshot.orderId());
+        }
+    }
+
+    private void write(Snapshot snapshot) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                UPSERT_SNAPSHOT_SQL,
+                snapshot.orderId(),
+                snapshot.sequence(),
+                snapshot.payload(),
+                Timestamp.from(Instant.now())
+            ));
+        } catch (DataAccessException ex) {
+            log.warn("Failed to write snapshot {} of order {}", snapshot.sequence(), snapshot.orderId(), ex);
+        }
+    }
+
+    private record Snapshot(String orderId, long sequence, byte[] payload) {
+    }
+}
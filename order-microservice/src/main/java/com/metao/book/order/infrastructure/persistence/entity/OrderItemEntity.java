@@ -15,6 +15,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -27,8 +28,18 @@ import lombok.Setter;
 @Table(name = "order_items")
 public class OrderItemEntity {
 
+    /**
+     * Ids handed out per sequence call. Must match the increment of {@code order_items_id_seq}.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_id_gen")
+    @SequenceGenerator(
+        name = "order_items_id_gen",
+        sequenceName = "order_items_id_seq",
+        allocationSize = ID_ALLOCATION_SIZE
+    )
     private Long id;
 
     @Embedded
@@ -51,7 +51,7 @@ public class OrderEntityMapper {
             ))
             .toList();
 
-        return OrderAggregate.reconstitute(
+        OrderAggregate order = OrderAggregate.reconstitute(
             OrderId.of(entity.getId()),
             entity.getUserId(),
             items,
@@ -60,5 +60,9 @@ public class OrderEntityMapper {
             entity.getUpdatedAt(),
             vat
         );
+        if (entity.getVersion() != null) {
+            order.markPersisted(entity.getVersion());
+        }
+        return order;
     }
 }
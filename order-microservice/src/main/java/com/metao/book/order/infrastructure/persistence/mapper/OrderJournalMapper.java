@@ -0,0 +1,165 @@
+package com.metao.book.order.infrastructure.persistence.mapper;
+
+import com.google.protobuf.Timestamp;
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.aggregate.OrderChanges;
+import com.metao.book.order.domain.model.entity.OrderItem;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import com.metao.book.order.domain.model.valueobject.OrderStatus;
+import com.metao.book.order.domain.model.valueobject.UserId;
+import com.metao.book.shared.OrderJournalEvent;
+import com.metao.book.shared.OrderJournalLine;
+import com.metao.book.shared.OrderJournalState;
+import com.metao.book.shared.domain.financial.Money;
+import com.metao.book.shared.domain.financial.VAT;
+import com.metao.book.shared.domain.product.ProductSku;
+import com.metao.book.shared.domain.product.ProductTitle;
+import com.metao.book.shared.domain.product.Quantity;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Converts orders to the events and snapshots of the event-sourced order store and replays them back into an
+ * {@link OrderAggregate}.
+ */
+@UtilityClass
+public class OrderJournalMapper {
+
+    public static OrderJournalState toState(OrderAggregate order) {
+        return OrderJournalState.newBuilder()
+            .setUserId(order.getUserId().value())
+            .setStatus(order.getStatus().name())
+            .setCreatedTime(toTimestamp(order.getCreatedAt()))
+            .setUpdatedTime(toTimestamp(order.getUpdatedAt()))
+            .addAllLines(order.getItems().stream().map(OrderJournalMapper::toLine).toList())
+            .build();
+    }
+
+    public static OrderJournalEvent created(OrderAggregate order) {
+        return OrderJournalEvent.newBuilder().setCreated(toState(order)).build();
+    }
+
+    /**
+     * The event for the pending changes of a persisted order: its status and update time after the save, the SKUs of
+     * removed lines and the whole state of added and changed lines.
+     */
+    public static OrderJournalEvent changed(OrderAggregate order) {
+        OrderChanges changes = order.getPendingChanges();
+        Map<ProductSku, OrderItem> itemsBySku = order.getItems().stream()
+            .collect(Collectors.toMap(OrderItem::getProductSku, Function.identity()));
+
+        var changed = OrderJournalEvent.Changed.newBuilder()
+            .setStatus(order.getStatus().name())
+            .setUpdatedTime(toTimestamp(order.getUpdatedAt()));
+        changes.removedItems().forEach(sku -> changed.addRemovedSkus(sku.value()));
+        changes.changedItems().forEach(sku -> changed.addPutLines(toLine(itemsBySku.get(sku))));
+        changes.addedItems().forEach(sku -> changed.addPutLines(toLine(itemsBySku.get(sku))));
+        return OrderJournalEvent.newBuilder().setChanged(changed).build();
+    }
+
+    /**
+     * Rebuilds an order from a snapshot and the events appended after it, or from all of its events when there is
+     * no snapshot, and marks it persisted with the given version.
+     *
+     * @param snapshot the latest snapshot, or {@code null} when {@code events} start with the created event
+     * @param version  sequence of the last event that was applied
+     */
+    public static OrderAggregate toDomain(
+        OrderId orderId,
+        OrderJournalState snapshot,
+        List<OrderJournalEvent> events,
+        long version,
+        VAT vat
+    ) {
+        var replay = new Replay();
+        if (snapshot != null) {
+            replay.reset(snapshot);
+        }
+        for (OrderJournalEvent event : events) {
+            switch (event.getEventCase()) {
+                case CREATED -> replay.reset(event.getCreated());
+                case CHANGED -> replay.apply(event.getChanged());
+                case EVENT_NOT_SET -> throw new IllegalStateException(
+                    "Order " + orderId.value() + " has an event without a payload");
+            }
+        }
+        if (replay.base == null) {
+            throw new IllegalStateException("Order " + orderId.value() + " has no created event or snapshot");
+        }
+
+        OrderAggregate order = OrderAggregate.reconstitute(
+            orderId,
+            UserId.of(replay.base.getUserId()),
+            replay.lines.values().stream().map(OrderJournalMapper::toItem).toList(),
+            OrderStatus.valueOf(replay.status),
+            toInstant(replay.base.getCreatedTime()),
+            replay.updatedAt,
+            vat
+        );
+        order.markPersisted(version);
+        return order;
+    }
+
+    private static OrderJournalLine toLine(OrderItem item) {
+        return OrderJournalLine.newBuilder()
+            .setSku(item.getProductSku().value())
+            .setProductTitle(item.getTitle().value())
+            .setQuantity(item.getQuantity().value().toPlainString())
+            .setUnitPrice(item.getUnitPrice().fixedPointAmount().toPlainString())
+            .setCurrency(item.getUnitPrice().currency().getCurrencyCode())
+            .build();
+    }
+
+    private static OrderItem toItem(OrderJournalLine line) {
+        return new OrderItem(
+            ProductSku.of(line.getSku()),
+            ProductTitle.of(line.getProductTitle()),
+            Quantity.of(new BigDecimal(line.getQuantity())),
+            Money.of(Currency.getInstance(line.getCurrency()), new BigDecimal(line.getUnitPrice()))
+        );
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return Timestamp.newBuilder().setSeconds(instant.getEpochSecond()).setNanos(instant.getNano()).build();
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+    }
+
+    /**
+     * Order state while events are applied. Lines keep the position of their first put, like the aggregate does.
+     */
+    private static final class Replay {
+
+        private final Map<String, OrderJournalLine> lines = new LinkedHashMap<>();
+        private OrderJournalState base;
+        private String status;
+        private Instant updatedAt;
+
+        private void reset(OrderJournalState state) {
+            base = state;
+            status = state.getStatus();
+            updatedAt = toInstant(state.getUpdatedTime());
+            lines.clear();
+            state.getLinesList().forEach(line -> lines.put(line.getSku(), line));
+        }
+
+        private void apply(OrderJournalEvent.Changed changed) {
+            if (base == null) {
+                throw new IllegalStateException("Order change found before its created event");
+            }
+            status = changed.getStatus();
+            updatedAt = toInstant(changed.getUpdatedTime());
+            changed.getRemovedSkusList().forEach(lines::remove);
+            changed.getPutLinesList().forEach(line -> lines.put(line.getSku(), line));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.metao.book.order.infrastructure.persistence.repository;
+
+import com.metao.book.order.application.port.OrderBatchInsertPort;
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.entity.OrderItem;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import io.micrometer.observation.annotation.Observed;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Inserts many new orders in two statements, one for the orders and one for all of their items, by passing each
+ * column as an array and expanding it with {@code unnest}. An order is only inserted when its id can be claimed in
+ * {@code order_ids}, which keeps ids unique across the partitions of {@code orders}. Item ids come from
+ * {@link OrderItemIdAllocator}.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.order.store", havingValue = "state", matchIfMissing = true)
+@Observed(name = "order.persistence.batch-insert", contextualName = "order-batch-insert")
+public class OrderBatchInsertRepository implements OrderBatchInsertPort {
+
+    private static final String INSERT_ORDERS_SQL = """
+        WITH claimed AS (
+            INSERT INTO order_ids (id)
+            SELECT id FROM unnest(?::varchar[]) AS t(id)
+            ON CONFLICT (id) DO NOTHING
+            RETURNING id
+        )
+        INSERT INTO orders (id, version, user_id, status, created_at, updated_at)
+        SELECT DISTINCT ON (t.id) t.id, 0, t.user_id, t.status, t.created_at, t.updated_at
+        FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::timestamp[], ?::timestamp[])
+            AS t(id, user_id, status, created_at, updated_at)
+        JOIN claimed c ON c.id = t.id
+        RETURNING id
+        """;
+
+    private static final String INSERT_ITEMS_SQL = """
+        INSERT INTO order_items (id, product_id, product_title, quantity, unit_price, currency, order_id,
+                                 order_created_at)
+        SELECT *
+        FROM unnest(?::bigint[], ?::varchar[], ?::varchar[], ?::numeric[], ?::numeric[], ?::varchar[], ?::varchar[],
+                    ?::timestamp[])
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderItemIdAllocator orderItemIdAllocator;
+
+    @Override
+    public Set<OrderId> insertAbsent(List<OrderAggregate> orders) {
+        if (orders.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> inserted = new HashSet<>(insertOrders(orders));
+        List<OrderItemRow> items = new ArrayList<>();
+        for (OrderAggregate order : orders) {
+            if (inserted.contains(order.getId().value())) {
+                order.getItems().forEach(item -> items.add(new OrderItemRow(order, item)));
+            }
+        }
+        insertItems(items);
+
+        Set<OrderId> insertedIds = new HashSet<>();
+        inserted.forEach(id -> insertedIds.add(OrderId.of(id)));
+        return insertedIds;
+    }
+
+    private List<String> insertOrders(List<OrderAggregate> orders) {
+        int size = orders.size();
+        String[] ids = new String[size];
+        String[] userIds = new String[size];
+        String[] statuses = new String[size];
+        Timestamp[] createdAt = new Timestamp[size];
+        Timestamp[] updatedAt = new Timestamp[size];
+        for (int i = 0; i < size; i++) {
+            OrderAggregate order = orders.get(i);
+            ids[i] = order.getId().value();
+            userIds[i] = order.getUserId().value();
+            statuses[i] = order.getStatus().name();
+            createdAt[i] = Timestamp.from(order.getCreatedAt());
+            updatedAt[i] = Timestamp.from(order.getUpdatedAt());
+        }
+        return jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(INSERT_ORDERS_SQL);
+                bindArray(connection, statement, 1, "varchar", ids);
+                bindArray(connection, statement, 2, "varchar", ids);
+                bindArray(connection, statement, 3, "varchar", userIds);
+                bindArray(connection, statement, 4, "varchar", statuses);
+                bindArray(connection, statement, 5, "timestamp", createdAt);
+                bindArray(connection, statement, 6, "timestamp", updatedAt);
+                return statement;
+            },
+            (rs, rowNum) -> rs.getString(1)
+        );
+    }
+
+    private void insertItems(List<OrderItemRow> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        int size = items.size();
+        Long[] ids = orderItemIdAllocator.allocate(size);
+        String[] skus = new String[size];
+        String[] titles = new String[size];
+        Object[] quantities = new Object[size];
+        Object[] unitPrices = new Object[size];
+        String[] currencies = new String[size];
+        String[] orderIds = new String[size];
+        Timestamp[] orderCreatedAt = new Timestamp[size];
+        for (int i = 0; i < size; i++) {
+            OrderItem item = items.get(i).item();
+            skus[i] = item.getProductSku().value();
+            titles[i] = item.getTitle().value();
+            quantities[i] = item.getQuantity().value();
+            unitPrices[i] = item.getUnitPrice().fixedPointAmount();
+            currencies[i] = item.getUnitPrice().currency().getCurrencyCode();
+            orderIds[i] = items.get(i).order().getId().value();
+            orderCreatedAt[i] = Timestamp.from(items.get(i).order().getCreatedAt());
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_ITEMS_SQL);
+            bindArray(connection, statement, 1, "bigint", ids);
+            bindArray(connection, statement, 2, "varchar", skus);
+            bindArray(connection, statement, 3, "varchar", titles);
+            bindArray(connection, statement, 4, "numeric", quantities);
+            bindArray(connection, statement, 5, "numeric", unitPrices);
+            bindArray(connection, statement, 6, "varchar", currencies);
+            bindArray(connection, statement, 7, "varchar", orderIds);
+            bindArray(connection, statement, 8, "timestamp", orderCreatedAt);
+            return statement;
+        });
+    }
+
+    private static void bindArray(
+        Connection connection,
+        PreparedStatement statement,
+        int index,
+        String type,
+        Object[] values
+    ) throws SQLException {
+        statement.setArray(index, connection.createArrayOf(type, values));
+    }
+
+    private record OrderItemRow(OrderAggregate order, OrderItem item) {
+    }
+}
@@ -0,0 +1,255 @@
+package com.metao.book.order.infrastructure.persistence.repository;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.metao.book.order.application.history.OrderHistoryService;
+import com.metao.book.order.application.port.OrderBatchInsertPort;
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import com.metao.book.order.domain.repository.OrderRepository;
+import com.metao.book.order.infrastructure.persistence.OrderSnapshotWriter;
+import com.metao.book.order.infrastructure.persistence.mapper.OrderJournalMapper;
+import com.metao.book.shared.OrderJournalEvent;
+import com.metao.book.shared.OrderJournalState;
+import com.metao.book.shared.domain.financial.VAT;
+import io.micrometer.observation.annotation.Observed;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Append-only order store, selected with {@code app.order.store=event-sourced}.
+ * <p>
+ * Orders are never updated in place. Creating an order appends its created event with sequence 0 and every later
+ * save appends one event with the pending changes and the next sequence, so the sequence is the version of the
+ * order. The primary key of {@code order_events} is the optimistic check: when another save appended that sequence
+ * first, the insert does nothing and the save fails with {@link ObjectOptimisticLockingFailureException}. No row is
+ * ever locked, so {@link #findByIdForUpdate(OrderId)} reads like {@link #findById(OrderId)}.
+ * <p>
+ * Loading reads the latest snapshot and the events after it in one statement and replays them. Snapshots are
+ * written by {@link OrderSnapshotWriter} after the save commits. The order history row is refreshed in the saving
+ * transaction, as with the state store.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.order.store", havingValue = "event-sourced")
+@Observed(name = "order.persistence.event-store", contextualName = "order-event-store")
+public class OrderEventStoreRepository implements OrderRepository, OrderBatchInsertPort {
+
+    static final String ORDER_CREATED = "OrderCreated";
+    static final String ORDER_CHANGED = "OrderChanged";
+
+    private static final String INSERT_CREATED_SQL = """
+        INSERT INTO order_events (order_id, sequence, event_type, payload, occurred_at)
+        SELECT order_id, 0, '%s', payload, occurred_at
+        FROM unnest(?::varchar[], ?::bytea[], ?::timestamp[]) AS t(order_id, payload, occurred_at)
+        ON CONFLICT (order_id, sequence) DO NOTHING
+        RETURNING order_id
+        """.formatted(ORDER_CREATED);
+
+    private static final String APPEND_EVENT_SQL = """
+        INSERT INTO order_events (order_id, sequence, event_type, payload, occurred_at)
+        VALUES (?, ?, ?, ?, ?)
+        ON CONFLICT (order_id, sequence) DO NOTHING
+        """;
+
+    private static final String LOAD_SQL = """
+        SELECT sequence, payload, TRUE AS snapshot
+        FROM order_snapshots
+        WHERE order_id = ?
+        UNION ALL
+        SELECT e.sequence, e.payload, FALSE
+        FROM order_events e
+        WHERE e.order_id = ?
+          AND e.sequence > COALESCE((SELECT s.sequence FROM order_snapshots s WHERE s.order_id = ?), -1)
+        ORDER BY snapshot DESC, sequence
+        """;
+
+    private static final String LOAD_BY_IDS_SQL = """
+        SELECT s.order_id, s.sequence, s.payload, TRUE AS snapshot
+        FROM order_snapshots s
+        WHERE s.order_id = ANY(?)
+        UNION ALL
+        SELECT e.order_id, e.sequence, e.payload, FALSE
+        FROM order_events e
+        LEFT JOIN order_snapshots s ON s.order_id = e.order_id
+        WHERE e.order_id = ANY(?)
+          AND e.sequence > COALESCE(s.sequence, -1)
+        ORDER BY order_id, snapshot DESC, sequence
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderHistoryService orderHistoryService;
+    private final OrderSnapshotWriter orderSnapshotWriter;
+    private final VAT vat;
+
+    @Override
+    public void save(OrderAggregate order) {
+        if (order.getVersion() == null) {
+            if (insertAbsent(List.of(order)).isEmpty()) {
+                throw new DuplicateKeyException("Order " + order.getId().value() + " already exists");
+            }
+            orderHistoryService.record(List.of(order));
+            return;
+        }
+        if (order.getPendingChanges().isEmpty()) {
+            return;
+        }
+        String orderId = order.getId().value();
+        long sequence = order.getVersion() + 1;
+        int appended = jdbcTemplate.update(
+            APPEND_EVENT_SQL,
+            orderId,
+            sequence,
+            ORDER_CHANGED,
+            OrderJournalMapper.changed(order).toByteArray(),
+            Timestamp.from(order.getUpdatedAt())
+        );
+        if (appended == 0) {
+            throw new ObjectOptimisticLockingFailureException(OrderAggregate.class, orderId);
+        }
+        order.markPersisted(sequence);
+        orderHistoryService.record(List.of(order));
+        orderSnapshotWriter.saved(order);
+    }
+
+    /**
+     * Appends the created event of every order that has none yet with one statement, marks those orders persisted
+     * with version 0 and returns their ids.
+     */
+    @Override
+    public Set<OrderId> insertAbsent(List<OrderAggregate> orders) {
+        if (orders.isEmpty()) {
+            return Set.of();
+        }
+        int size = orders.size();
+        String[] ids = new String[size];
+        byte[][] payloads = new byte[size][];
+        Timestamp[] occurredAt = new Timestamp[size];
+        for (int i = 0; i < size; i++) {
+            OrderAggregate order = orders.get(i);
+            ids[i] = order.getId().value();
+            payloads[i] = OrderJournalMapper.created(order).toByteArray();
+            occurredAt[i] = Timestamp.from(order.getCreatedAt());
+        }
+        Set<String> inserted = new HashSet<>(jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(INSERT_CREATED_SQL);
+                statement.setArray(1, connection.createArrayOf("varchar", ids));
+                statement.setArray(2, connection.createArrayOf("bytea", payloads));
+                statement.setArray(3, connection.createArrayOf("timestamp", occurredAt));
+                return statement;
+            },
+            (rs, rowNum) -> rs.getString(1)
+        ));
+
+        Set<OrderId> insertedIds = new HashSet<>();
+        for (OrderAggregate order : orders) {
+            if (inserted.contains(order.getId().value())) {
+                order.markPersisted(0L);
+                insertedIds.add(order.getId());
+            }
+        }
+        return insertedIds;
+    }
+
+    @Override
+    public Optional<OrderAggregate> findById(OrderId orderId) {
+        var loaded = new LoadedEvents();
+        jdbcTemplate.query(LOAD_SQL, loaded, orderId.value(), orderId.value(), orderId.value());
+        if (loaded.version < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(OrderJournalMapper.toDomain(orderId, loaded.snapshot, loaded.events, loaded.version, vat));
+    }
+
+    /**
+     * Same as {@link #findById(OrderId)}; concurrent saves are detected when appending instead of prevented by a lock.
+     */
+    @Override
+    public Optional<OrderAggregate> findByIdForUpdate(OrderId orderId) {
+        return findById(orderId);
+    }
+
+    /**
+     * Loads the snapshots and event tails of all requested orders with one statement.
+     */
+    @Override
+    public List<OrderAggregate> findAllById(List<OrderId> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        String[] ids = orderIds.stream().map(OrderId::value).distinct().toArray(String[]::new);
+        Map<String, LoadedEvents> loaded = new HashMap<>();
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(LOAD_BY_IDS_SQL);
+                Array orderIdArray = connection.createArrayOf("varchar", ids);
+                statement.setArray(1, orderIdArray);
+                statement.setArray(2, orderIdArray);
+                return statement;
+            },
+            (RowCallbackHandler) rs -> loaded.computeIfAbsent(rs.getString("order_id"), id -> new LoadedEvents())
+                .processRow(rs)
+        );
+        List<OrderAggregate> orders = new ArrayList<>(ids.length);
+        for (String id : ids) {
+            LoadedEvents events = loaded.get(id);
+            if (events != null) {
+                orders.add(toDomain(id, events));
+            }
+        }
+        return orders;
+    }
+
+    @Override
+    public void delete(OrderId orderId) {
+        throw new UnsupportedOperationException("Delete operation is not supported for orders.");
+    }
+
+    private OrderAggregate toDomain(String orderId, LoadedEvents loaded) {
+        return OrderJournalMapper.toDomain(OrderId.of(orderId), loaded.snapshot, loaded.events, loaded.version, vat);
+    }
+
+    /**
+     * Rows of one order from {@link #LOAD_SQL} or {@link #LOAD_BY_IDS_SQL}: the
+     * snapshot, if any, followed by the events after it in sequence order.
+     */
+    private static final class LoadedEvents implements RowCallbackHandler {
+
+        private final List<OrderJournalEvent> events = new ArrayList<>();
+        private OrderJournalState snapshot;
+        private long version = -1;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            version = rs.getLong("sequence");
+            byte[] payload = rs.getBytes("payload");
+            try {
+                if (rs.getBoolean("snapshot")) {
+                    snapshot = OrderJournalState.parseFrom(payload);
+                } else {
+                    events.add(OrderJournalEvent.parseFrom(payload));
+                }
+            } catch (InvalidProtocolBufferException ex) {
+                throw new DataRetrievalFailureException("Unreadable order event " + version, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.metao.book.order.infrastructure.persistence.repository;
+
+import com.metao.book.order.application.history.OrderHistoryCursor;
+import com.metao.book.order.application.history.OrderSummary;
+import com.metao.book.order.application.port.OrderHistoryPort;
+import com.metao.book.order.application.usecase.OrderStatusTransition;
+import com.metao.book.shared.domain.financial.Money;
+import io.micrometer.observation.annotation.Observed;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Stores the per-order history rows and reads them with seek pagination on
+ * {@code (user_id, created_at desc, order_id desc)}, so a page costs the same wherever it starts and no count is run.
+ * Offset pages are kept for clients that have not moved to cursors yet.
+ */
+@Repository
+@RequiredArgsConstructor
+@Observed(name = "order.persistence.history", contextualName = "order-history")
+public class OrderHistoryRepository implements OrderHistoryPort {
+
+    private static final String COLUMNS = """
+        order_id, user_id, status, created_at, updated_at, item_count, total_quantity, subtotal, currency, summary
+        """;
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO order_history (%s)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (order_id) DO UPDATE SET
+            status = EXCLUDED.status,
+            updated_at = EXCLUDED.updated_at,
+            item_count = EXCLUDED.item_count,
+            total_quantity = EXCLUDED.total_quantity,
+            subtotal = EXCLUDED.subtotal,
+            currency = EXCLUDED.currency,
+            summary = EXCLUDED.summary
+        """.formatted(COLUMNS);
+
+    private static final String UPDATE_STATUS_SQL = """
+        UPDATE order_history SET status = ?, updated_at = ? WHERE order_id = ?
+        """;
+
+    private static final String FIRST_PAGE_SQL = """
+        SELECT %s
+        FROM order_history
+        WHERE user_id = ?
+        ORDER BY created_at DESC, order_id DESC
+        LIMIT ?
+        """.formatted(COLUMNS);
+
+    private static final String NEXT_PAGE_SQL = """
+        SELECT %s
+        FROM order_history
+        WHERE user_id = ? AND (created_at, order_id) < (?, ?)
+        ORDER BY created_at DESC, order_id DESC
+        LIMIT ?
+        """.formatted(COLUMNS);
+
+    private static final String OFFSET_PAGE_SQL = """
+        SELECT %s
+        FROM order_history
+        WHERE user_id = ?
+        ORDER BY created_at DESC, order_id DESC
+        OFFSET ? LIMIT ?
+        """.formatted(COLUMNS);
+
+    private static final String FIND_BY_ID_SQL = """
+        SELECT %s
+        FROM order_history
+        WHERE order_id = ?
+        """.formatted(COLUMNS);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsert(List<OrderSummary> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, orders.stream()
+            .map(order -> new Object[]{
+                order.orderId(),
+                order.userId(),
+                order.status(),
+                Timestamp.from(order.createdAt()),
+                Timestamp.from(order.updatedAt()),
+                order.itemCount(),
+                order.totalQuantity(),
+                order.subtotal() == null ? null : order.subtotal().fixedPointAmount(),
+                order.subtotal() == null ? null : order.subtotal().currency().getCurrencyCode(),
+                order.summary()
+            })
+            .toList());
+    }
+
+    @Override
+    public void updateStatuses(List<OrderStatusTransition> transitions) {
+        if (transitions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, transitions.stream()
+            .map(transition -> new Object[]{
+                transition.to().name(),
+                Timestamp.from(transition.occurredAt()),
+                transition.orderId()
+            })
+            .toList());
+    }
+
+    @Override
+    public List<OrderSummary> findByUser(String userId, OrderHistoryCursor after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(FIRST_PAGE_SQL, OrderHistoryRepository::toSummary, userId, limit);
+        }
+        return jdbcTemplate.query(NEXT_PAGE_SQL, OrderHistoryRepository::toSummary,
+            userId, Timestamp.from(after.createdAt()), after.orderId(), limit);
+    }
+
+    @Override
+    public List<OrderSummary> findByUser(String userId, int offset, int limit) {
+        return jdbcTemplate.query(OFFSET_PAGE_SQL, OrderHistoryRepository::toSummary, userId, offset, limit);
+    }
+
+    @Override
+    public Optional<OrderSummary> findById(String orderId) {
+        return jdbcTemplate.query(FIND_BY_ID_SQL, OrderHistoryRepository::toSummary, orderId).stream().findFirst();
+    }
+
+    private static OrderSummary toSummary(ResultSet rs, int rowNum) throws SQLException {
+        BigDecimal subtotal = rs.getBigDecimal("subtotal");
+        String currency = rs.getString("currency");
+        return new OrderSummary(
+            rs.getString("order_id"),
+            rs.getString("user_id"),
+            rs.getString("status"),
+            rs.getTimestamp("created_at").toInstant(),
+            rs.getTimestamp("updated_at").toInstant(),
+            rs.getInt("item_count"),
+            rs.getBigDecimal("total_quantity"),
+            subtotal == null || currency == null ? null : Money.of(Currency.getInstance(currency), subtotal),
+            rs.getString("summary")
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package com.metao.book.order.infrastructure.persistence.repository;
+
+import com.metao.book.order.infrastructure.persistence.entity.OrderItemEntity;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out {@code order_items} ids for rows written with plain JDBC.
+ * <p>
+ * Each sequence value is the upper end of a block of {@link OrderItemEntity#ID_ALLOCATION_SIZE} ids, the same
+ * interpretation as Hibernate's pooled optimizer, so ids never collide with items saved through JPA.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderItemIdAllocator {
+
+    private static final String NEXT_ITEM_ID_BLOCKS_SQL = """
+        SELECT nextval('order_items_id_seq') FROM generate_series(1, ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Long[] allocate(int count) {
+        int blockSize = OrderItemEntity.ID_ALLOCATION_SIZE;
+        int blocks = (count + blockSize - 1) / blockSize;
+        List<Long> upperBounds = jdbcTemplate.queryForList(NEXT_ITEM_ID_BLOCKS_SQL, Long.class, blocks);
+        Long[] ids = new Long[count];
+        for (int i = 0; i < count; i++) {
+            long upperBound = upperBounds.get(i / blockSize);
+            ids[i] = upperBound - blockSize + 1 + (i % blockSize);
+        }
+        return ids;
+    }
+}
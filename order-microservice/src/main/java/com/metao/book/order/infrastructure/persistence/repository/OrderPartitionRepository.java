@@ -0,0 +1,99 @@
+package com.metao.book.order.infrastructure.persistence.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Partition maintenance statements for the {@code orders} and {@code order_items} tiers created in
+ * {@code V9__partition_orders.sql}. Hot orders live in one {@code orders_hot_YYYY_MM} partition per month of
+ * {@code created_at}; archived orders and their lines live in the {@code *_archive} partitions.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderPartitionRepository {
+
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("orders_hot_(\\d{4})_(\\d{2})");
+
+    private static final String FIND_MONTHLY_PARTITIONS_SQL = """
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'orders_hot'::regclass
+        """;
+
+    private static final String ARCHIVE_CLOSED_ORDERS_SQL = """
+        WITH moved AS (
+            UPDATE orders o
+            SET archived = TRUE
+            FROM (
+                SELECT id, created_at
+                FROM orders
+                WHERE NOT archived AND created_at < ? AND status IN ('DELIVERED', 'CANCELLED')
+                LIMIT ?
+            ) closed
+            WHERE o.id = closed.id AND o.created_at = closed.created_at AND NOT o.archived
+            RETURNING o.id
+        )
+        SELECT count(*) FROM moved
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the partition of the month unless it exists. Fails when the default partition already holds orders of
+     * that month.
+     */
+    @Transactional
+    public void createMonthlyPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS %s PARTITION OF orders_hot FOR VALUES FROM ('%s') TO ('%s')"
+            .formatted(partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<YearMonth> findMonthlyPartitions() {
+        List<YearMonth> months = new ArrayList<>();
+        jdbcTemplate.query(FIND_MONTHLY_PARTITIONS_SQL, (RowCallbackHandler) rs -> {
+            Matcher matcher = MONTHLY_PARTITION.matcher(rs.getString("relname"));
+            if (matcher.matches()) {
+                months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+            }
+        });
+        return months;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isMonthlyPartitionEmpty(YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT NOT EXISTS (SELECT 1 FROM %s)".formatted(partitionName(month)), Boolean.class));
+    }
+
+    @Transactional
+    public void dropMonthlyPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(month));
+    }
+
+    /**
+     * Moves up to {@code limit} delivered or cancelled orders created before {@code cutoff} to the archive partitions
+     * and returns how many orders moved. Their lines follow through the cascading foreign key of {@code order_items}.
+     */
+    @Transactional
+    public int archiveClosedOrders(Instant cutoff, int limit) {
+        Integer moved = jdbcTemplate.queryForObject(ARCHIVE_CLOSED_ORDERS_SQL, Integer.class,
+            Timestamp.from(cutoff), limit);
+        return moved == null ? 0 : moved;
+    }
+
+    static String partitionName(YearMonth month) {
+        return "orders_hot_%04d_%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+}
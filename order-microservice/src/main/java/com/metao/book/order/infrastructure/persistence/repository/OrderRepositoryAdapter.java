@@ -1,52 +1,55 @@
 package com.metao.book.order.infrastructure.persistence.repository;
 
+import com.metao.book.order.application.history.OrderHistoryService;
 import com.metao.book.order.domain.model.aggregate.OrderAggregate;
 import com.metao.book.order.domain.model.valueobject.OrderId;
-import com.metao.book.order.domain.model.valueobject.UserId;
 import com.metao.book.order.domain.repository.OrderRepository;
-import com.metao.book.order.infrastructure.persistence.entity.OrderItemEntity;
 import com.metao.book.order.infrastructure.persistence.entity.OrderJpaEntity;
 import com.metao.book.order.infrastructure.persistence.mapper.OrderEntityMapper;
-import com.metao.book.shared.application.persistence.OffsetBasedPageRequest;
 import com.metao.book.shared.domain.financial.VAT;
 import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Repository;
 
 @Repository
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.order.store", havingValue = "state", matchIfMissing = true)
 @Observed(name = "order.persistence.repository", contextualName = "order-repository")
 public class OrderRepositoryAdapter implements OrderRepository {
 
     private final SpringDataOrderRepository springDataOrderRepository;
+    private final OrderBatchInsertRepository orderBatchInsertRepository;
+    private final OrderUpdateRepository orderUpdateRepository;
+    private final OrderHistoryService orderHistoryService;
+    private final EntityManager entityManager;
     private final VAT vat;
 
+    /**
+     * Inserts new orders and writes only the pending changes of loaded ones with plain JDBC, without reading or
+     * merging the stored order first. The order history row is refreshed in the same transaction.
+     */
     @Override
     public void save(OrderAggregate order) {
-        OrderJpaEntity entity = OrderEntityMapper.toEntity(order);
-        springDataOrderRepository.findById(order.getId().value())
-            .ifPresent(existing -> {
-                entity.setVersion(existing.getVersion());
-
-                var existingItemIdsBySku = new HashMap<String, Long>();
-                for (OrderItemEntity item : existing.getItems()) {
-                    existingItemIdsBySku.put(item.getProductSku().value(), item.getId());
-                }
-
-                entity.getItems().forEach(item -> {
-                    Long existingItemId = existingItemIdsBySku.get(item.getProductSku().value());
-                    if (existingItemId != null) {
-                        item.setId(existingItemId);
-                    }
-                });
-            });
-        springDataOrderRepository.save(entity);
+        if (order.getVersion() == null) {
+            if (orderBatchInsertRepository.insertAbsent(List.of(order)).isEmpty()) {
+                throw new DuplicateKeyException("Order " + order.getId().value() + " already exists");
+            }
+            order.markPersisted(0L);
+            orderHistoryService.record(List.of(order));
+            return;
+        }
+        if (!order.getPendingChanges().isEmpty()) {
+            order.markPersisted(orderUpdateRepository.update(order));
+            evictLoadedEntity(order.getId());
+            orderHistoryService.record(List.of(order));
+        }
     }
 
     @Override
@@ -62,39 +65,31 @@ public class OrderRepositoryAdapter implements OrderRepository {
     }
 
     @Override
-    public List<OrderAggregate> findByUserId(UserId userId) {
-        return springDataOrderRepository.findByUserId(userId).stream()
-            .map(entity -> OrderEntityMapper.toDomain(entity, vat))
-            .toList();
-    }
-
-    @Override
-    public Page<OrderAggregate> findByUserId(UserId userId, int offset, int limit) {
-        Page<String> orderIdPage = springDataOrderRepository.findIdsByUserIdOrderByCreatedAtDesc(
-            userId,
-            new OffsetBasedPageRequest(offset, limit)
-        );
-
-        List<String> orderIds = orderIdPage.getContent();
+    public List<OrderAggregate> findAllById(List<OrderId> orderIds) {
         if (orderIds.isEmpty()) {
-            return new PageImpl<>(List.of(), orderIdPage.getPageable(), orderIdPage.getTotalElements());
+            return List.of();
         }
-
         var orderIndexById = new HashMap<String, Integer>();
         for (int index = 0; index < orderIds.size(); index += 1) {
-            orderIndexById.put(orderIds.get(index), index);
+            orderIndexById.putIfAbsent(orderIds.get(index).value(), index);
         }
 
-        List<OrderAggregate> orders = springDataOrderRepository.findAllByIdInWithItems(orderIds).stream()
-            .sorted(Comparator.comparingInt(order -> orderIndexById.getOrDefault(order.getId(), Integer.MAX_VALUE)))
+        return springDataOrderRepository.findAllByIdInWithItems(List.copyOf(orderIndexById.keySet())).stream()
+            .sorted(Comparator.comparingInt(order -> orderIndexById.get(order.getId())))
             .map(entity -> OrderEntityMapper.toDomain(entity, vat))
             .toList();
-
-        return new PageImpl<>(orders, orderIdPage.getPageable(), orderIdPage.getTotalElements());
     }
 
     @Override
     public void delete(OrderId orderId) {
         throw new UnsupportedOperationException("Delete operation is not supported for orders.");
     }
+
+    /**
+     * Drops the entity loaded earlier in this transaction, if any, so later reads see the row written above.
+     * {@code getReference} neither queries nor initializes anything when the order is not loaded.
+     */
+    private void evictLoadedEntity(OrderId orderId) {
+        entityManager.detach(entityManager.getReference(OrderJpaEntity.class, orderId.value()));
+    }
 }
@@ -0,0 +1,86 @@
+package com.metao.book.order.infrastructure.persistence.repository;
+
+import com.metao.book.order.application.port.OrderStatusTransitionPort;
+import com.metao.book.order.application.usecase.OrderStatusTransition;
+import io.micrometer.observation.annotation.Observed;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Applies status transitions as one JDBC batch of compare-and-set updates on {@code orders}. Each update only
+ * matches while the order is in the expected status, so a redelivered transition changes nothing and one that lost
+ * a race with another writer is skipped. Rows that did not match are looked up once to tell an order that is not
+ * stored yet, which is handed back for a later retry, from one that already moved on.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+@Observed(name = "order.persistence.status-transition", contextualName = "order-status-transition")
+public class OrderStatusTransitionRepository implements OrderStatusTransitionPort {
+
+    private static final String UPDATE_STATUS_SQL = """
+        UPDATE orders
+        SET status = ?, updated_at = ?, version = version + 1
+        WHERE id = ? AND status = ? AND NOT archived
+        """;
+
+    private static final String FIND_STATUSES_SQL = """
+        SELECT id, status FROM orders WHERE id = ANY(?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Result apply(List<OrderStatusTransition> transitions) {
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, transitions.stream()
+            .map(transition -> new Object[]{
+                transition.to().name(),
+                Timestamp.from(transition.occurredAt()),
+                transition.orderId(),
+                transition.from().name()
+            })
+            .toList());
+
+        List<OrderStatusTransition> applied = new ArrayList<>(transitions.size());
+        List<OrderStatusTransition> unmatched = new ArrayList<>();
+        List<OrderStatusTransition> notStored = new ArrayList<>();
+        for (int index = 0; index < transitions.size(); index++) {
+            (updated[index] > 0 ? applied : unmatched).add(transitions.get(index));
+        }
+        if (!unmatched.isEmpty()) {
+            Map<String, String> statuses = findStatuses(unmatched);
+            for (OrderStatusTransition transition : unmatched) {
+                String status = statuses.get(transition.orderId());
+                if (status == null) {
+                    notStored.add(transition);
+                    continue;
+                }
+                log.debug("Skipped transition of order {} from {} to {}: order is {}",
+                    transition.orderId(), transition.from(), transition.to(), status);
+            }
+        }
+        return new Result(applied, notStored);
+    }
+
+    private Map<String, String> findStatuses(List<OrderStatusTransition> transitions) {
+        Object[] orderIds = transitions.stream().map(OrderStatusTransition::orderId).distinct().toArray();
+        Map<String, String> statuses = new HashMap<>();
+        jdbcTemplate.query(
+            connection -> {
+                var statement = connection.prepareStatement(FIND_STATUSES_SQL);
+                statement.setArray(1, connection.createArrayOf("varchar", orderIds));
+                return statement;
+            },
+            (RowCallbackHandler) rs -> statuses.put(rs.getString("id"), rs.getString("status"))
+        );
+        return statuses;
+    }
+}
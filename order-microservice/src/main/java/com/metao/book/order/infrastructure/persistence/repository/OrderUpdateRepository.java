@@ -0,0 +1,107 @@
+package com.metao.book.order.infrastructure.persistence.repository;
+
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.aggregate.OrderChanges;
+import com.metao.book.order.domain.model.entity.OrderItem;
+import com.metao.book.shared.domain.product.ProductSku;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Writes the {@link OrderChanges} of a persisted order without reading it first.
+ * <p>
+ * The header update is guarded by the version the order was loaded with and bumps it, so a concurrent writer makes
+ * the whole save fail before any line is touched. Lines are addressed by order id and SKU, which the aggregate keeps
+ * unique, and each kind of line change is sent as one JDBC batch. Archived orders are closed and never written, so
+ * every statement is limited to the hot partitions.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderUpdateRepository {
+
+    private static final String UPDATE_ORDER_SQL = """
+        UPDATE orders
+        SET status = ?, updated_at = ?, version = version + 1
+        WHERE id = ? AND version = ? AND NOT archived
+        """;
+
+    private static final String DELETE_ITEM_SQL = """
+        DELETE FROM order_items WHERE order_id = ? AND product_id = ? AND NOT archived
+        """;
+
+    private static final String UPDATE_ITEM_QUANTITY_SQL = """
+        UPDATE order_items SET quantity = ? WHERE order_id = ? AND product_id = ? AND NOT archived
+        """;
+
+    private static final String INSERT_ITEM_SQL = """
+        INSERT INTO order_items (id, product_id, product_title, quantity, unit_price, currency, order_id,
+                                 order_created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderItemIdAllocator orderItemIdAllocator;
+
+    /**
+     * Applies the pending changes of the order and returns its new version.
+     *
+     * @throws ObjectOptimisticLockingFailureException when the stored version no longer matches
+     */
+    public long update(OrderAggregate order) {
+        String orderId = order.getId().value();
+        long version = order.getVersion();
+        int updated = jdbcTemplate.update(
+            UPDATE_ORDER_SQL,
+            order.getStatus().name(),
+            Timestamp.from(order.getUpdatedAt()),
+            orderId,
+            version
+        );
+        if (updated == 0) {
+            throw new ObjectOptimisticLockingFailureException(OrderAggregate.class, orderId);
+        }
+
+        OrderChanges changes = order.getPendingChanges();
+        Map<ProductSku, OrderItem> itemsBySku = order.getItems().stream()
+            .collect(Collectors.toMap(OrderItem::getProductSku, Function.identity()));
+
+        if (!changes.removedItems().isEmpty()) {
+            List<Object[]> rows = new ArrayList<>();
+            changes.removedItems().forEach(sku -> rows.add(new Object[]{orderId, sku.value()}));
+            jdbcTemplate.batchUpdate(DELETE_ITEM_SQL, rows);
+        }
+        if (!changes.changedItems().isEmpty()) {
+            List<Object[]> rows = new ArrayList<>();
+            changes.changedItems().forEach(sku ->
+                rows.add(new Object[]{itemsBySku.get(sku).getQuantity().value(), orderId, sku.value()}));
+            jdbcTemplate.batchUpdate(UPDATE_ITEM_QUANTITY_SQL, rows);
+        }
+        if (!changes.addedItems().isEmpty()) {
+            Long[] ids = orderItemIdAllocator.allocate(changes.addedItems().size());
+            List<Object[]> rows = new ArrayList<>();
+            for (ProductSku sku : changes.addedItems()) {
+                OrderItem item = itemsBySku.get(sku);
+                rows.add(new Object[]{
+                    ids[rows.size()],
+                    sku.value(),
+                    item.getTitle().value(),
+                    item.getQuantity().value(),
+                    item.getUnitPrice().fixedPointAmount(),
+                    item.getUnitPrice().currency().getCurrencyCode(),
+                    orderId,
+                    Timestamp.from(order.getCreatedAt())
+                });
+            }
+            jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, rows);
+        }
+        return version + 1;
+    }
+}
@@ -2,6 +2,9 @@ package com.metao.book.order.infrastructure.persistence.repository;
 
 import com.metao.book.order.application.port.ProcessedOrderCreatedEventPort;
 import io.micrometer.observation.annotation.Observed;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
@@ -17,10 +20,34 @@ public class ProcessedOrderCreatedEventRepository implements ProcessedOrderCreat
         ON CONFLICT (event_id) DO NOTHING
         """;
 
+    private static final String INSERT_ALL_IF_ABSENT_SQL = """
+        INSERT INTO processed_order_created_event(event_id, processed_at)
+        SELECT event_id, now()
+        FROM unnest(?::varchar[]) AS t(event_id)
+        ON CONFLICT (event_id) DO NOTHING
+        RETURNING event_id
+        """;
+
     private final JdbcTemplate jdbcTemplate;
 
     @Override
     public boolean markProcessed(String eventId) {
         return jdbcTemplate.update(INSERT_IF_ABSENT_SQL, eventId) > 0;
     }
+
+    @Override
+    public Set<String> markAllProcessed(List<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Set.of();
+        }
+        String[] ids = eventIds.toArray(String[]::new);
+        return new HashSet<>(jdbcTemplate.query(
+            connection -> {
+                var statement = connection.prepareStatement(INSERT_ALL_IF_ABSENT_SQL);
+                statement.setArray(1, connection.createArrayOf("varchar", ids));
+                return statement;
+            },
+            (rs, rowNum) -> rs.getString(1)
+        ));
+    }
 }
@@ -0,0 +1,110 @@
+package com.metao.book.order.infrastructure.persistence.repository;
+
+import com.metao.book.order.application.cart.ShoppingCart;
+import com.metao.book.order.application.cart.ShoppingCartKey;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Currency;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes the final state of many cart lines in two statements: one upsert for lines that exist and one delete for
+ * lines that were removed, each passing its columns as arrays expanded with {@code unnest}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ShoppingCartBatchRepository {
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO shopping_cart (user_id, sku, product_title, quantity, updated_time, created_time, buy_price,
+            sell_price, currency)
+        SELECT *
+        FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::numeric[], ?::bigint[], ?::bigint[], ?::numeric[],
+            ?::numeric[], ?::varchar[])
+        ON CONFLICT (user_id, sku) DO UPDATE
+        SET product_title = EXCLUDED.product_title,
+            quantity = EXCLUDED.quantity,
+            updated_time = EXCLUDED.updated_time,
+            buy_price = EXCLUDED.buy_price,
+            sell_price = EXCLUDED.sell_price,
+            currency = EXCLUDED.currency
+        """;
+
+    private static final String DELETE_SQL = """
+        DELETE FROM shopping_cart c
+        USING unnest(?::varchar[], ?::varchar[]) AS t(user_id, sku)
+        WHERE c.user_id = t.user_id AND c.sku = t.sku
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void write(Collection<ShoppingCart> upserts, Collection<ShoppingCartKey> deletes) {
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.update(connection -> deleteStatement(connection, deletes));
+        }
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.update(connection -> upsertStatement(connection, upserts));
+        }
+    }
+
+    private static PreparedStatement upsertStatement(Connection connection, Collection<ShoppingCart> lines)
+        throws SQLException {
+        int size = lines.size();
+        String[] userIds = new String[size];
+        String[] skus = new String[size];
+        String[] titles = new String[size];
+        Object[] quantities = new Object[size];
+        Long[] updatedTimes = new Long[size];
+        Long[] createdTimes = new Long[size];
+        Object[] buyPrices = new Object[size];
+        Object[] sellPrices = new Object[size];
+        String[] currencies = new String[size];
+        int index = 0;
+        for (ShoppingCart line : lines) {
+            userIds[index] = line.getUserId();
+            skus[index] = line.getSku();
+            titles[index] = line.getProductTitle();
+            quantities[index] = line.getQuantity();
+            updatedTimes[index] = line.getUpdatedOn();
+            createdTimes[index] = line.getCreatedOn();
+            buyPrices[index] = line.getBuyPrice();
+            sellPrices[index] = line.getSellPrice();
+            Currency currency = line.getCurrency();
+            currencies[index] = currency == null ? null : currency.getCurrencyCode();
+            index++;
+        }
+        PreparedStatement statement = connection.prepareStatement(UPSERT_SQL);
+        statement.setArray(1, connection.createArrayOf("varchar", userIds));
+        statement.setArray(2, connection.createArrayOf("varchar", skus));
+        statement.setArray(3, connection.createArrayOf("varchar", titles));
+        statement.setArray(4, connection.createArrayOf("numeric", quantities));
+        statement.setArray(5, connection.createArrayOf("bigint", updatedTimes));
+        statement.setArray(6, connection.createArrayOf("bigint", createdTimes));
+        statement.setArray(7, connection.createArrayOf("numeric", buyPrices));
+        statement.setArray(8, connection.createArrayOf("numeric", sellPrices));
+        statement.setArray(9, connection.createArrayOf("varchar", currencies));
+        return statement;
+    }
+
+    private static PreparedStatement deleteStatement(Connection connection, Collection<ShoppingCartKey> keys)
+        throws SQLException {
+        String[] userIds = new String[keys.size()];
+        String[] skus = new String[keys.size()];
+        int index = 0;
+        for (ShoppingCartKey key : keys) {
+            userIds[index] = key.getUserId();
+            skus[index] = key.getSku();
+            index++;
+        }
+        PreparedStatement statement = connection.prepareStatement(DELETE_SQL);
+        statement.setArray(1, connection.createArrayOf("varchar", userIds));
+        statement.setArray(2, connection.createArrayOf("varchar", skus));
+        return statement;
+    }
+}
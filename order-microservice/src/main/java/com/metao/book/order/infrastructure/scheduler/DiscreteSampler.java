@@ -0,0 +1,57 @@
+package com.metao.book.order.infrastructure.scheduler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws indexes {@code 0..size-1} from a fixed discrete distribution with a binary search over its cumulative
+ * weights, so a draw costs {@code O(log size)} whatever the skew.
+ */
+final class DiscreteSampler {
+
+    private final double[] cumulative;
+
+    private DiscreteSampler(double[] weights) {
+        cumulative = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        if (weights.length == 0 || !(total > 0)) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+    }
+
+    /**
+     * Index {@code k} has weight {@code 1 / (k + 1)^exponent}: the first index is the most popular one.
+     */
+    static DiscreteSampler zipf(int size, double exponent) {
+        double[] weights = new double[size];
+        for (int k = 0; k < size; k++) {
+            weights[k] = 1.0 / Math.pow(k + 1, exponent);
+        }
+        return new DiscreteSampler(weights);
+    }
+
+    static DiscreteSampler weighted(List<Integer> weights) {
+        return new DiscreteSampler(weights.stream().mapToDouble(Integer::doubleValue).toArray());
+    }
+
+    int size() {
+        return cumulative.length;
+    }
+
+    int sample(RandomGenerator random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        // An exact hit belongs to the next index, whose range starts at that value.
+        index = index >= 0 ? index + 1 : -index - 1;
+        // Skip zero-weight indexes whose cumulative value equals their predecessor's.
+        while (index < cumulative.length - 1 && cumulative[index] <= target) {
+            index++;
+        }
+        return Math.min(index, cumulative.length - 1);
+    }
+}
@@ -1,50 +1,312 @@
 package com.metao.book.order.infrastructure.scheduler;
 
 import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import com.metao.book.order.application.cart.ShoppingCartItem;
+import com.metao.book.order.application.cart.ShoppingCartService;
+import com.metao.book.order.domain.model.valueobject.UserId;
+import com.metao.book.order.domain.service.OrderManagementService;
+import com.metao.book.order.infrastructure.scheduler.OrderGeneratorProperties.Mode;
+import com.metao.book.order.infrastructure.scheduler.ProductCatalogClient.CatalogProduct;
 import com.metao.book.shared.OrderCreatedEvent;
 import com.metao.book.shared.OrderCreatedEvent.OrderItem;
 import com.metao.kafka.KafkaEventHandler;
-import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.atomic.AtomicInteger;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.stereotype.Service;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
 
+/**
+ * Generates synthetic order traffic for capacity tests, configured under {@code app.order.generator}.
+ * <p>
+ * Orders arrive on an open-model schedule: order {@code n} is due {@code n / rate} seconds after the start whether or
+ * not earlier orders have finished, so a slow service shows up as latency and in-flight orders instead of a lower
+ * request rate. Each order runs on its own virtual thread. Latency is measured from the due time, so time an order
+ * waited behind a late scheduler counts too. Arrivals beyond {@code max-in-flight} are dropped and counted.
+ * <p>
+ * Products come from the live catalog. They are ranked in a seeded random order and drawn with Zipf-skewed
+ * popularity; basket sizes follow {@code basket-size-weights}. In {@code event} mode an order is published as an
+ * {@code OrderCreatedEvent} to the order-created topic, and users take turns, so one user places every
+ * {@code users}-th order. In {@code cart} mode an order fills the user's cart, creates the order through
+ * {@link OrderManagementService} and clears the cart again. Orders in flight at the same time would then mix their
+ * baskets in a shared cart, so every cart-mode order has a user of its own.
+ * <p>
+ * Requested and achieved rates are logged every {@code report-interval} and at the end; the counts are also exposed
+ * as {@code order.generator.orders} by outcome and the latency as {@code order.generator.latency}.
+ */
 @Slf4j
-@Service
-@RequiredArgsConstructor
-@ConditionalOnProperty(havingValue = "dev", name = "spring.profiles.active")
+@Component
+@EnableConfigurationProperties(OrderGeneratorProperties.class)
+@ConditionalOnProperty(name = "app.order.generator.enabled", havingValue = "true")
 public class OrderGenerator {
 
-    private static final String ACCOUNT_ID = "ACCOUNT_ID";
+    private final OrderGeneratorProperties properties;
     private final KafkaEventHandler eventHandler;
     private final KafkaTemplate<String, Message> kafkaTemplate;
-    private final AtomicInteger atomicInteger = new AtomicInteger(1);
-    private final Queue<String> products = new LinkedBlockingQueue<>();
-
-    @Scheduled(fixedDelay = 30000, initialDelay = 10000)
-    public void commandLineRunner() {
-        var randomNumber = atomicInteger.getAndIncrement();
-        var orderEvent = OrderCreatedEvent.newBuilder().setStatus(OrderCreatedEvent.Status.CREATED)
-            .setId(OrderCreatedEvent.UUID.getDefaultInstance().toString())
-            .setUserId(ACCOUNT_ID)
-            .addItems(OrderItem.newBuilder()
-                .setSku(products.poll())
-                .setCurrency("EUR")
-                .setPrice(randomNumber)
-                .setProductTitle(randomNumber + "")
-                .build()
-            )
-            .build();
-
-        var topic = eventHandler.getKafkaTopic(orderEvent.getClass());
-        var record = new ProducerRecord<String, Message>(topic, orderEvent.getUserId(), orderEvent);
-        kafkaTemplate.send(record);
+    private final ShoppingCartService shoppingCartService;
+    private final OrderManagementService orderManagementService;
+    private final ProductCatalogClient catalogClient;
+    private final DiscreteSampler basketSizes;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter dropped;
+    private final Timer latency;
+    private volatile boolean running = true;
+    private volatile Thread scheduler;
+
+    @Autowired
+    public OrderGenerator(
+        OrderGeneratorProperties properties,
+        KafkaEventHandler eventHandler,
+        KafkaTemplate<String, Message> kafkaTemplate,
+        ShoppingCartService shoppingCartService,
+        OrderManagementService orderManagementService,
+        MeterRegistry meterRegistry
+    ) {
+        this(properties, eventHandler, kafkaTemplate, shoppingCartService, orderManagementService, meterRegistry,
+            new ProductCatalogClient(RestClient.create(properties.catalogUrl())));
+    }
+
+    OrderGenerator(
+        OrderGeneratorProperties properties,
+        KafkaEventHandler eventHandler,
+        KafkaTemplate<String, Message> kafkaTemplate,
+        ShoppingCartService shoppingCartService,
+        OrderManagementService orderManagementService,
+        MeterRegistry meterRegistry,
+        ProductCatalogClient catalogClient
+    ) {
+        this.properties = properties;
+        this.eventHandler = eventHandler;
+        this.kafkaTemplate = kafkaTemplate;
+        this.shoppingCartService = shoppingCartService;
+        this.orderManagementService = orderManagementService;
+        this.catalogClient = catalogClient;
+        this.basketSizes = DiscreteSampler.weighted(properties.basketSizeWeights());
+        this.succeeded = outcomeCounter(meterRegistry, "succeeded");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+        this.dropped = outcomeCounter(meterRegistry, "dropped");
+        this.latency = Timer.builder("order.generator.latency")
+            .tag("mode", properties.mode().name().toLowerCase())
+            .publishPercentiles(0.5, 0.99, 0.999)
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler = Thread.ofPlatform().name("order-generator").daemon().start(() -> {
+            try {
+                LockSupport.parkNanos(properties.startDelay().toNanos());
+                if (!running) {
+                    return;
+                }
+                List<CatalogProduct> catalog = new ArrayList<>(catalogClient.load(properties.catalogSize()));
+                if (catalog.isEmpty()) {
+                    log.warn("Order generator found no in-stock products at {}; not generating orders",
+                        properties.catalogUrl());
+                    return;
+                }
+                Collections.shuffle(catalog, new Random(properties.seed()));
+                generate(catalog);
+            } catch (RuntimeException ex) {
+                log.error("Order generator stopped", ex);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = scheduler;
+        if (thread != null) {
+            thread.interrupt();
+        }
     }
 
+    /**
+     * Runs the arrival schedule against the catalog, ranked from most to least popular, until the duration ends or
+     * the generator is stopped, then waits for the orders still in flight.
+     */
+    void generate(List<CatalogProduct> catalog) {
+        var products = DiscreteSampler.zipf(catalog.size(), properties.zipfExponent());
+        long intervalNanos = Math.max(1L, Math.round(TimeUnit.SECONDS.toNanos(1) / properties.rate()));
+        long reportNanos = properties.reportInterval().toNanos();
+        var inFlight = new Semaphore(properties.maxInFlight());
+        log.info("Generating {} orders/s in {} mode, duration {}, from {} products and {} users",
+            properties.rate(), properties.mode(),
+            properties.duration().isZero() ? "until stopped" : properties.duration(), catalog.size(),
+            properties.users());
+
+        long durationNanos = properties.duration().isZero() ? Long.MAX_VALUE : properties.duration().toNanos();
+        long start = System.nanoTime();
+        var report = new Report(start, 0);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long arrival = 0; running; arrival++) {
+                long offset = arrival * intervalNanos;
+                long due = start + offset;
+                if (offset >= durationNanos || !awaitDue(due)) {
+                    break;
+                }
+                if (!inFlight.tryAcquire()) {
+                    dropped.increment();
+                } else {
+                    long order = arrival;
+                    executor.execute(() -> {
+                        try {
+                            place(order, catalog, products);
+                            succeeded.increment();
+                        } catch (RuntimeException ex) {
+                            failed.increment();
+                            log.debug("Generated order {} failed", order, ex);
+                        } finally {
+                            latency.record(System.nanoTime() - due, TimeUnit.NANOSECONDS);
+                            inFlight.release();
+                        }
+                    });
+                }
+                if (System.nanoTime() - report.nanos() >= reportNanos) {
+                    report = report(report, arrival + 1, properties.maxInFlight() - inFlight.availablePermits());
+                }
+            }
+        }
+        long requested = Math.min(System.nanoTime() - start, durationNanos);
+        log.info("Order generator finished after {}: requested {} orders/s, achieved {} orders/s; succeeded={}, "
+                + "failed={}, dropped={}",
+            Duration.ofNanos(requested), properties.rate(), rate(succeeded.count(), requested),
+            (long) succeeded.count(), (long) failed.count(), (long) dropped.count());
+    }
+
+    /**
+     * The order for one arrival: its user and a basket of distinct products.
+     */
+    OrderCreatedEvent nextOrder(
+        long arrival,
+        List<CatalogProduct> catalog,
+        DiscreteSampler products,
+        RandomGenerator random
+    ) {
+        int basketSize = Math.min(basketSizes.sample(random) + 1, catalog.size());
+        Set<Integer> picked = new LinkedHashSet<>();
+        for (int attempt = 0; picked.size() < basketSize && attempt < basketSize * 10; attempt++) {
+            picked.add(products.sample(random));
+        }
+        Instant now = Instant.now();
+        var order = OrderCreatedEvent.newBuilder()
+            .setId(UUID.randomUUID().toString())
+            .setUserId(userId(arrival))
+            .setStatus(OrderCreatedEvent.Status.CREATED)
+            .setCreateTime(Timestamp.newBuilder().setSeconds(now.getEpochSecond()).setNanos(now.getNano()));
+        for (int index : picked) {
+            CatalogProduct product = catalog.get(index);
+            order.addItems(OrderItem.newBuilder()
+                .setSku(product.sku())
+                .setProductTitle(product.title())
+                .setQuantity(1)
+                .setPrice(product.price().doubleValue())
+                .setCurrency(product.currency()));
+        }
+        return order.build();
+    }
+
+    /**
+     * The user of an arrival: one per arrival in {@code cart} mode, where the user's cart holds the basket until the
+     * order is created, otherwise one of {@code users} in turn.
+     */
+    private String userId(long arrival) {
+        long user = properties.mode() == Mode.CART ? arrival : arrival % properties.users();
+        return "generated-user-" + user;
+    }
+
+    private void place(long arrival, List<CatalogProduct> catalog, DiscreteSampler products) {
+        OrderCreatedEvent order = nextOrder(arrival, catalog, products, ThreadLocalRandom.current());
+        switch (properties.mode()) {
+            case EVENT -> {
+                var topic = eventHandler.getKafkaTopic(OrderCreatedEvent.class);
+                kafkaTemplate.send(new ProducerRecord<String, Message>(topic, order.getId(), order)).join();
+            }
+            case CART -> {
+                Set<ShoppingCartItem> items = new LinkedHashSet<>();
+                order.getItemsList().forEach(item -> items.add(new ShoppingCartItem(
+                    item.getSku(),
+                    item.getProductTitle(),
+                    BigDecimal.valueOf(item.getQuantity()),
+                    BigDecimal.valueOf(item.getPrice()),
+                    Currency.getInstance(item.getCurrency())
+                )));
+                shoppingCartService.addItemToCart(order.getUserId(), items);
+                try {
+                    orderManagementService.createOrder(UserId.of(order.getUserId()));
+                } finally {
+                    shoppingCartService.clearCart(order.getUserId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Parks until the due time. Returns {@code false} when the generator was stopped meanwhile.
+     */
+    private boolean awaitDue(long due) {
+        long wait;
+        while ((wait = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+            if (!running) {
+                return false;
+            }
+        }
+        return running;
+    }
+
+    private Report report(Report previous, long arrivals, int inFlight) {
+        long now = System.nanoTime();
+        long elapsed = now - previous.nanos();
+        long completed = (long) succeeded.count();
+        log.info("Order generator: requested {} orders/s, achieved {} orders/s; arrivals={}, inFlight={}, "
+                + "succeeded={}, failed={}, dropped={}",
+            properties.rate(), rate(completed - previous.succeeded(), elapsed), arrivals, inFlight, completed,
+            (long) failed.count(), (long) dropped.count());
+        return new Report(now, completed);
+    }
+
+    private static String rate(double orders, long nanos) {
+        return nanos <= 0 ? "0" : "%.1f".formatted(orders * TimeUnit.SECONDS.toNanos(1) / nanos);
+    }
+
+    private Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("order.generator.orders")
+            .tag("mode", properties.mode().name().toLowerCase())
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private record Report(long nanos, long succeeded) {
+    }
 }
@@ -0,0 +1,53 @@
+package com.metao.book.order.infrastructure.scheduler;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Synthetic order traffic for capacity tests, bound to {@code app.order.generator}.
+ *
+ * @param enabled           starts the generator once the application is ready
+ * @param mode              {@code cart} fills a cart and creates the order through the application services;
+ *                          {@code event} publishes {@code OrderCreatedEvent}s straight to the order-created topic
+ * @param rate              requested orders per second
+ * @param duration          how long to generate; zero runs until shutdown
+ * @param startDelay        wait before loading the catalog, so the rest of the application can warm up
+ * @param users             number of synthetic users in event mode, each placing every {@code users}-th order; cart
+ *                          mode uses one user per order
+ * @param basketSizeWeights relative weight of a basket with 1, 2, 3, ... distinct products
+ * @param zipfExponent      skew of product popularity; 0 is uniform, around 1 is typical of retail catalogs
+ * @param catalogUrl        base URL of the inventory service whose change feed provides the catalog
+ * @param catalogSize       most products loaded from the catalog
+ * @param seed              seed of the order in which catalog products are ranked by popularity
+ * @param maxInFlight       orders allowed to be in progress at once; arrivals above it are dropped and counted
+ * @param reportInterval    how often requested and achieved rates are logged
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.order.generator")
+public record OrderGeneratorProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("event") Mode mode,
+    @Positive @DefaultValue("100") double rate,
+    @DefaultValue("10m") Duration duration,
+    @DefaultValue("30s") Duration startDelay,
+    @Positive @DefaultValue("10000") int users,
+    @NotEmpty @DefaultValue({"40", "25", "15", "10", "5", "5"}) List<@PositiveOrZero Integer> basketSizeWeights,
+    @PositiveOrZero @DefaultValue("1.0") double zipfExponent,
+    @DefaultValue("http://localhost:8083") String catalogUrl,
+    @Positive @DefaultValue("10000") int catalogSize,
+    @DefaultValue("42") long seed,
+    @Positive @DefaultValue("10000") int maxInFlight,
+    @DefaultValue("10s") Duration reportInterval
+) {
+
+    public enum Mode {
+        CART,
+        EVENT
+    }
+}
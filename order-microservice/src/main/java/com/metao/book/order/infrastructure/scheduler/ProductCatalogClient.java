@@ -0,0 +1,69 @@
+package com.metao.book.order.infrastructure.scheduler;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Reads the live product catalog for the {@link OrderGenerator} by paging through the change feed of the inventory
+ * service, {@code GET /products/changes}, which returns the current state of every product once per page.
+ */
+class ProductCatalogClient {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final RestClient restClient;
+
+    ProductCatalogClient(RestClient restClient) {
+        this.restClient = restClient;
+    }
+
+    /**
+     * Returns up to {@code limit} in-stock products with a price, in the order the feed returns them.
+     */
+    List<CatalogProduct> load(int limit) {
+        Map<String, CatalogProduct> products = new LinkedHashMap<>();
+        String since = "";
+        ChangesPage page;
+        do {
+            String token = since;
+            page = restClient.get()
+                .uri(uri -> uri.path("/products/changes")
+                    .queryParam("since", token)
+                    .queryParam("limit", PAGE_SIZE)
+                    .build())
+                .retrieve()
+                .body(ChangesPage.class);
+            if (page == null || page.changes() == null) {
+                break;
+            }
+            for (Change change : page.changes()) {
+                if (change.inStock() && change.price() != null && change.currency() != null) {
+                    products.put(change.sku(), new CatalogProduct(change.sku(), change.title(), change.price(),
+                        change.currency()));
+                } else {
+                    products.remove(change.sku());
+                }
+            }
+            since = page.nextToken();
+        } while (page.hasMore() && products.size() < limit);
+
+        List<CatalogProduct> loaded = new ArrayList<>(products.values());
+        return loaded.size() > limit ? List.copyOf(loaded.subList(0, limit)) : loaded;
+    }
+
+    record CatalogProduct(String sku, String title, BigDecimal price, String currency) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ChangesPage(List<Change> changes, String nextToken, boolean hasMore) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Change(String sku, String title, BigDecimal price, String currency, boolean inStock) {
+    }
+}
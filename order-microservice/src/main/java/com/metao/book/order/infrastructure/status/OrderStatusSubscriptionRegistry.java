@@ -0,0 +1,113 @@
+package com.metao.book.order.infrastructure.status;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Per-node registry of server-sent event streams waiting for status changes of an order.
+ * <p>
+ * Streams use asynchronous request processing, so an open subscription holds a connection but no thread. Updates
+ * are pushed by the Kafka listeners that broadcast status changes to every node; nothing polls the database. A
+ * stream is completed after a final status or when it times out, and the node refuses new streams with 503 once
+ * {@code app.order.status-stream.max-subscriptions} are open. The open count is the
+ * {@code order.status.subscriptions} gauge.
+ */
+@Slf4j
+@Component
+public class OrderStatusSubscriptionRegistry {
+
+    private static final String EVENT_NAME = "status";
+
+    private final Map<String, List<SseEmitter>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final Duration timeout;
+    private final int maxSubscriptions;
+
+    public OrderStatusSubscriptionRegistry(
+        @Value("${app.order.status-stream.timeout:5m}") Duration timeout,
+        @Value("${app.order.status-stream.max-subscriptions:50000}") int maxSubscriptions,
+        MeterRegistry meterRegistry
+    ) {
+        this.timeout = timeout;
+        this.maxSubscriptions = maxSubscriptions;
+        Gauge.builder("order.status.subscriptions", open, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the order. The caller sends the current status with {@link #send} after subscribing, so an
+     * update published in between is not lost.
+     *
+     * @throws ResponseStatusException with 503 when this node has no room for another stream
+     */
+    public SseEmitter subscribe(String orderId) {
+        if (open.incrementAndGet() > maxSubscriptions) {
+            open.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open order status streams");
+        }
+        var emitter = new SseEmitter(timeout.toMillis());
+        subscriptions.compute(orderId, (id, emitters) -> {
+            var target = emitters != null ? emitters : new CopyOnWriteArrayList<SseEmitter>();
+            target.add(emitter);
+            return target;
+        });
+        emitter.onCompletion(() -> unsubscribe(orderId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> unsubscribe(orderId, emitter));
+        return emitter;
+    }
+
+    /**
+     * Pushes the update to every stream of its order on this node.
+     */
+    public void publish(OrderStatusUpdate update) {
+        List<SseEmitter> emitters = subscriptions.get(update.orderId());
+        if (emitters == null) {
+            return;
+        }
+        emitters.forEach(emitter -> send(emitter, update));
+    }
+
+    /**
+     * Sends the update to one stream and completes it when the status is final.
+     */
+    public void send(SseEmitter emitter, OrderStatusUpdate update) {
+        try {
+            emitter.send(SseEmitter.event()
+                .name(EVENT_NAME)
+                .id(String.valueOf(update.updatedAt().toEpochMilli()))
+                .data(update, MediaType.APPLICATION_JSON));
+            if (update.isFinal()) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Dropping order status stream of order {}: {}", update.orderId(), ex.getMessage());
+            emitter.completeWithError(ex);
+        }
+    }
+
+    /**
+     * Removes a stream that is not returned to the client, e.g. because its order does not exist.
+     */
+    public void unsubscribe(String orderId, SseEmitter emitter) {
+        subscriptions.computeIfPresent(orderId, (id, emitters) -> {
+            if (emitters.remove(emitter)) {
+                open.decrementAndGet();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package com.metao.book.order.infrastructure.status;
+
+import com.metao.book.order.domain.model.valueobject.OrderStatus;
+import java.time.Instant;
+
+/**
+ * Status of an order as pushed to status stream subscribers. Updates may arrive out of order; clients keep the one
+ * with the latest {@code updatedAt}.
+ */
+public record OrderStatusUpdate(String orderId, OrderStatus status, Instant updatedAt) {
+
+    /**
+     * Whether no further transition is expected, so the stream can be closed.
+     */
+    public boolean isFinal() {
+        return status == OrderStatus.PAYMENT_FAILED
+            || status == OrderStatus.CANCELLED
+            || status == OrderStatus.DELIVERED;
+    }
+}
@@ -0,0 +1,187 @@
+package com.metao.book.order.infrastructure.streams;
+
+import com.google.protobuf.Timestamp;
+import com.metao.book.order.domain.model.valueobject.OrderStatus;
+import com.metao.book.shared.InventoryReservationRequestedEvent;
+import com.metao.book.shared.InventoryReservationResultEvent;
+import com.metao.book.shared.OrderCreatedEvent;
+import com.metao.book.shared.OrderPaymentUpdatedEvent;
+import com.metao.book.shared.OrderSagaInput;
+import com.metao.book.shared.OrderSagaOutput;
+import com.metao.book.shared.OrderSagaState;
+import com.metao.book.shared.OrderStatusTransitionEvent;
+import com.metao.book.shared.Status;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.processor.PunctuationType;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+
+/**
+ * Moves one order at a time through the saga, keeping its state in the {@value OrderSagaTopology#STATE_STORE}
+ * store:
+ * <ul>
+ *   <li>a successful payment moves a created order to {@code PAID} and requests the reservation of all its lines;</li>
+ *   <li>a failed payment moves it to {@code PAYMENT_FAILED};</li>
+ *   <li>an inventory shortfall moves a paid order to {@code CANCELLED}.</li>
+ * </ul>
+ * A payment that arrives before its order is kept and applied once the order arrives. Anything else, including
+ * redelivered events, leaves the state unchanged and emits nothing. Orders that reached a final state, and payments
+ * whose order never arrived, are removed from the store once they have been idle for the retention period.
+ */
+@Slf4j
+class OrderSagaProcessor implements Processor<String, OrderSagaInput, String, OrderSagaOutput> {
+
+    private final Duration retention;
+    private ProcessorContext<String, OrderSagaOutput> context;
+    private KeyValueStore<String, OrderSagaState> store;
+
+    OrderSagaProcessor(Duration retention) {
+        this.retention = retention;
+    }
+
+    @Override
+    public void init(ProcessorContext<String, OrderSagaOutput> context) {
+        this.context = context;
+        this.store = context.getStateStore(OrderSagaTopology.STATE_STORE);
+        Duration interval = retention.compareTo(Duration.ofHours(1)) < 0 ? retention : Duration.ofHours(1);
+        context.schedule(interval, PunctuationType.WALL_CLOCK_TIME, this::evictIdleFinishedOrders);
+    }
+
+    @Override
+    public void process(Record<String, OrderSagaInput> record) {
+        String orderId = record.key();
+        OrderSagaInput input = record.value();
+        if (orderId == null || orderId.isBlank() || input == null) {
+            log.warn("Skipping saga input without order id: {}", input);
+            return;
+        }
+        OrderSagaState state = store.get(orderId);
+        Instant at = Instant.ofEpochMilli(record.timestamp());
+        OrderSagaState next = switch (input.getEventCase()) {
+            case ORDER_CREATED -> onOrderCreated(state, input.getOrderCreated(), at);
+            case PAYMENT -> onPayment(state, orderId, input.getPayment().getStatus(), at);
+            case RESERVATION_RESULT -> onReservationResult(state, input.getReservationResult(), at);
+            case EVENT_NOT_SET -> state;
+        };
+        if (next != state) {
+            store.put(orderId, next);
+        }
+    }
+
+    private OrderSagaState onOrderCreated(OrderSagaState state, OrderCreatedEvent event, Instant at) {
+        if (state != null && !state.getStatus().isEmpty()) {
+            return state;
+        }
+        var created = OrderSagaState.newBuilder()
+            .setOrderId(event.getId())
+            .setUserId(event.getUserId())
+            .setStatus(OrderStatus.CREATED.name())
+            .setUpdatedTime(timestamp(at));
+        event.getItemsList().forEach(item -> created.addLines(OrderSagaState.Line.newBuilder()
+            .setSku(item.getSku())
+            .setQuantity(item.getQuantity())));
+        if (state != null && !state.getPendingPayment().isEmpty()) {
+            return onPayment(created.build(), event.getId(), Status.valueOf(state.getPendingPayment()), at);
+        }
+        return created.build();
+    }
+
+    private OrderSagaState onPayment(OrderSagaState state, String orderId, Status payment, Instant at) {
+        if (payment != Status.SUCCESSFUL && payment != Status.FAILED) {
+            return state;
+        }
+        if (state == null || state.getStatus().isEmpty()) {
+            return OrderSagaState.newBuilder()
+                .setOrderId(orderId)
+                .setPendingPayment(payment.name())
+                .setUpdatedTime(timestamp(at))
+                .build();
+        }
+        if (!OrderStatus.CREATED.name().equals(state.getStatus())) {
+            return state;
+        }
+        if (payment == Status.FAILED) {
+            return transition(state, OrderStatus.PAYMENT_FAILED, "payment failed", at).clearLines().build();
+        }
+        OrderSagaState paid = transition(state, OrderStatus.PAID, "payment successful", at).build();
+        if (state.getLinesCount() > 0) {
+            var request = InventoryReservationRequestedEvent.newBuilder()
+                .setOrderId(state.getOrderId())
+                .setRequestedTime(timestamp(at));
+            state.getLinesList().forEach(line -> request.addLines(InventoryReservationRequestedEvent.Line.newBuilder()
+                .setSku(line.getSku())
+                .setQuantity(line.getQuantity())));
+            context.forward(new Record<>(state.getOrderId(),
+                OrderSagaOutput.newBuilder().setReservationRequest(request).build(), at.toEpochMilli()));
+        }
+        return paid;
+    }
+
+    private OrderSagaState onReservationResult(
+        OrderSagaState state,
+        InventoryReservationResultEvent result,
+        Instant at
+    ) {
+        if (state == null || !OrderStatus.PAID.name().equals(state.getStatus()) || state.getLinesCount() == 0) {
+            return state;
+        }
+        if (result.getReserved()) {
+            return state.toBuilder().clearLines().setUpdatedTime(timestamp(at)).build();
+        }
+        String shortfalls = result.getShortfallsList().stream()
+            .map(shortfall -> shortfall.getSku() + " requested " + shortfall.getRequested()
+                + " available " + shortfall.getAvailable())
+            .collect(Collectors.joining(", "));
+        return transition(state, OrderStatus.CANCELLED, "inventory shortfall: " + shortfalls, at)
+            .clearLines()
+            .build();
+    }
+
+    private OrderSagaState.Builder transition(OrderSagaState state, OrderStatus to, String reason, Instant at) {
+        context.forward(new Record<>(state.getOrderId(), OrderSagaOutput.newBuilder()
+            .setTransition(OrderStatusTransitionEvent.newBuilder()
+                .setOrderId(state.getOrderId())
+                .setUserId(state.getUserId())
+                .setFromStatus(state.getStatus())
+                .setToStatus(to.name())
+                .setOccurredTime(timestamp(at))
+                .setReason(reason))
+            .build(), at.toEpochMilli()));
+        return state.toBuilder().setStatus(to.name()).setUpdatedTime(timestamp(at));
+    }
+
+    /**
+     * Lines are dropped once nothing more can happen to an order, so such entries are small; they are kept for the
+     * retention period to ignore late duplicates, then deleted. Payments whose order never arrived are dropped the
+     * same way.
+     */
+    private void evictIdleFinishedOrders(long now) {
+        long idleBefore = now - retention.toMillis();
+        List<String> evicted = new ArrayList<>();
+        try (KeyValueIterator<String, OrderSagaState> states = store.all()) {
+            states.forEachRemaining(entry -> {
+                OrderSagaState state = entry.value;
+                boolean waiting = OrderStatus.CREATED.name().equals(state.getStatus()) || state.getLinesCount() > 0;
+                if (!waiting && state.getUpdatedTime().getSeconds() * 1000 < idleBefore) {
+                    evicted.add(entry.key);
+                }
+            });
+        }
+        evicted.forEach(store::delete);
+        if (!evicted.isEmpty()) {
+            log.debug("Evicted {} finished orders from the saga store", evicted.size());
+        }
+    }
+
+    private static Timestamp timestamp(Instant instant) {
+        return Timestamp.newBuilder().setSeconds(instant.getEpochSecond()).setNanos(instant.getNano()).build();
+    }
+}
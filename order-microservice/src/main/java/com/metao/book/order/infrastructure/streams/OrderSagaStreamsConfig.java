@@ -0,0 +1,78 @@
+package com.metao.book.order.infrastructure.streams;
+
+import com.metao.book.shared.OrderSagaOutput;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.kstream.KStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.kafka.autoconfigure.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
+import org.springframework.kafka.config.KafkaStreamsConfiguration;
+
+/**
+ * Runs the order saga as a Kafka Streams application, enabled with {@code kafka.streams.order-saga.enabled}. The
+ * payment listener is switched off in this mode and {@link OrderStatusTransitionListener} writes the resulting
+ * transitions to the database.
+ * <p>
+ * The transitions are compare-and-set updates on the {@code orders} table, which only the state store writes, so
+ * start-up fails when this is combined with {@code app.order.store=event-sourced}.
+ */
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(value = "kafka.streams.order-saga.enabled", havingValue = "true")
+public class OrderSagaStreamsConfig {
+
+    public OrderSagaStreamsConfig(@Value("${app.order.store:state}") String orderStore) {
+        if (!"state".equals(orderStore)) {
+            throw new IllegalStateException("kafka.streams.order-saga.enabled=true requires app.order.store=state, "
+                + "but it is " + orderStore);
+        }
+    }
+
+    @Bean(name = KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_CONFIG_BEAN_NAME)
+    KafkaStreamsConfiguration orderSagaStreamsConfiguration(
+        KafkaProperties kafkaProperties,
+        @Value("${kafka.streams.order-saga.application-id:order-saga}") String applicationId,
+        @Value("${kafka.streams.order-saga.state-dir:data/order-saga}") String stateDir,
+        @Value("${kafka.streams.order-saga.num-stream-threads:1}") int streamThreads
+    ) {
+        Map<String, Object> props = new HashMap<>(kafkaProperties.getProperties());
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, applicationId);
+        props.put(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.getBootstrapServers());
+        props.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, StreamsConfig.EXACTLY_ONCE_V2);
+        props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir);
+        props.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, streamThreads);
+        props.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        return new KafkaStreamsConfiguration(props);
+    }
+
+    @Bean
+    KStream<String, OrderSagaOutput> orderSagaStream(
+        StreamsBuilder builder,
+        KafkaProperties kafkaProperties,
+        @Value("${kafka.topic.order-created.name}") String orderCreatedTopic,
+        @Value("${kafka.topic.order-payment.name}") String paymentTopic,
+        @Value("${kafka.topic.inventory-reservation-result.name}") String reservationResultTopic,
+        @Value("${kafka.topic.inventory-reservation.name}") String reservationRequestTopic,
+        @Value("${kafka.topic.order-status-transition.name}") String statusTransitionTopic,
+        @Value("${kafka.streams.order-saga.retention:7d}") Duration retention
+    ) {
+        var topics = new OrderSagaTopics(
+            orderCreatedTopic,
+            paymentTopic,
+            reservationResultTopic,
+            reservationRequestTopic,
+            statusTransitionTopic
+        );
+        return OrderSagaTopology.build(builder, topics, kafkaProperties.getProperties(), retention);
+    }
+}
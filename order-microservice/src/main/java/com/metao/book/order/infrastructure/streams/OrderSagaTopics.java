@@ -0,0 +1,13 @@
+package com.metao.book.order.infrastructure.streams;
+
+/**
+ * Topics read and written by the order saga stream.
+ */
+public record OrderSagaTopics(
+    String orderCreated,
+    String payment,
+    String reservationResult,
+    String reservationRequest,
+    String statusTransition
+) {
+}
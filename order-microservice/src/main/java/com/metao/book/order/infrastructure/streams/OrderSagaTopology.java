@@ -0,0 +1,101 @@
+package com.metao.book.order.infrastructure.streams;
+
+import com.google.protobuf.Message;
+import com.metao.book.shared.InventoryReservationRequestedEvent;
+import com.metao.book.shared.InventoryReservationResultEvent;
+import com.metao.book.shared.OrderCreatedEvent;
+import com.metao.book.shared.OrderPaymentUpdatedEvent;
+import com.metao.book.shared.OrderSagaInput;
+import com.metao.book.shared.OrderSagaOutput;
+import com.metao.book.shared.OrderSagaState;
+import com.metao.book.shared.OrderStatusTransitionEvent;
+import io.confluent.kafka.serializers.protobuf.KafkaProtobufDeserializerConfig;
+import io.confluent.kafka.streams.serdes.protobuf.KafkaProtobufSerde;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Branched;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Named;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.kstream.Repartitioned;
+import org.apache.kafka.streams.state.Stores;
+
+/**
+ * Builds the order saga: order-created, payment and inventory-result events are re-keyed by order id, merged and
+ * repartitioned so every event of an order reaches the same task, then {@link OrderSagaProcessor} moves the order
+ * through its statuses using a persistent (RocksDB) store keyed by order id. Status transitions go to the
+ * status-transition topic and reservation requests to the inventory topic.
+ * <p>
+ * Published events are keyed by event id, so the repartition step is what makes the per-order state local.
+ */
+public final class OrderSagaTopology {
+
+    static final String STATE_STORE = "order-saga-state";
+
+    private OrderSagaTopology() {
+    }
+
+    /**
+     * @param serdeConfig schema registry settings for the protobuf serdes of the external topics
+     */
+    public static KStream<String, OrderSagaOutput> build(
+        StreamsBuilder builder,
+        OrderSagaTopics topics,
+        Map<String, ?> serdeConfig,
+        Duration retention
+    ) {
+        Serde<String> keys = Serdes.String();
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+            Stores.persistentKeyValueStore(STATE_STORE), keys, ProtobufSerde.of(OrderSagaState.parser())));
+
+        KStream<String, OrderSagaInput> created = builder
+            .stream(topics.orderCreated(), Consumed.with(keys, serde(OrderCreatedEvent.class, serdeConfig))
+                .withName("order-saga-order-created"))
+            .map((key, event) -> KeyValue.pair(event.getId(),
+                OrderSagaInput.newBuilder().setOrderCreated(event).build()), Named.as("order-saga-key-created"));
+        KStream<String, OrderSagaInput> payments = builder
+            .stream(topics.payment(), Consumed.with(keys, serde(OrderPaymentUpdatedEvent.class, serdeConfig))
+                .withName("order-saga-payment"))
+            .map((key, event) -> KeyValue.pair(event.getOrderId(),
+                OrderSagaInput.newBuilder().setPayment(event).build()), Named.as("order-saga-key-payment"));
+        KStream<String, OrderSagaInput> reservations = builder
+            .stream(topics.reservationResult(),
+                Consumed.with(keys, serde(InventoryReservationResultEvent.class, serdeConfig))
+                    .withName("order-saga-reservation-result"))
+            .map((key, event) -> KeyValue.pair(event.getOrderId(),
+                OrderSagaInput.newBuilder().setReservationResult(event).build()), Named.as("order-saga-key-result"));
+
+        KStream<String, OrderSagaOutput> outputs = created
+            .merge(payments, Named.as("order-saga-merge-payment"))
+            .merge(reservations, Named.as("order-saga-merge-result"))
+            .repartition(Repartitioned.with(keys, ProtobufSerde.of(OrderSagaInput.parser())).withName("order-saga"))
+            .process(() -> new OrderSagaProcessor(retention), Named.as("order-saga-processor"), STATE_STORE);
+
+        outputs.split(Named.as("order-saga-"))
+            .branch((orderId, output) -> output.hasTransition(), Branched.withConsumer(transitions -> transitions
+                .mapValues(OrderSagaOutput::getTransition, Named.as("order-saga-transition-value"))
+                .to(topics.statusTransition(), Produced.with(keys, serde(OrderStatusTransitionEvent.class, serdeConfig))
+                    .withName("order-saga-transition-sink")), "transition"))
+            .branch((orderId, output) -> output.hasReservationRequest(), Branched.withConsumer(requests -> requests
+                .mapValues(OrderSagaOutput::getReservationRequest, Named.as("order-saga-reservation-value"))
+                .to(topics.reservationRequest(),
+                    Produced.with(keys, serde(InventoryReservationRequestedEvent.class, serdeConfig))
+                        .withName("order-saga-reservation-sink")), "reservation"))
+            .noDefaultBranch();
+        return outputs;
+    }
+
+    private static <T extends Message> Serde<T> serde(Class<T> type, Map<String, ?> serdeConfig) {
+        Map<String, Object> config = new HashMap<>(serdeConfig);
+        config.put(KafkaProtobufDeserializerConfig.SPECIFIC_PROTOBUF_VALUE_TYPE, type.getName());
+        var serde = new KafkaProtobufSerde<>(type);
+        serde.configure(config, false);
+        return serde;
+    }
+}
@@ -0,0 +1,35 @@
+package com.metao.book.order.infrastructure.streams;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Plain protobuf bytes for the saga's internal repartition and changelog topics, which are never read by another
+ * service and so need no schema registry.
+ */
+final class ProtobufSerde {
+
+    private ProtobufSerde() {
+    }
+
+    static <T extends Message> Serde<T> of(Parser<T> parser) {
+        Serializer<T> serializer = (topic, message) -> message == null ? null : message.toByteArray();
+        Deserializer<T> deserializer = (topic, bytes) -> {
+            if (bytes == null) {
+                return null;
+            }
+            try {
+                return parser.parseFrom(bytes);
+            } catch (InvalidProtocolBufferException ex) {
+                throw new SerializationException("Cannot parse record of topic " + topic, ex);
+            }
+        };
+        return Serdes.serdeFrom(serializer, deserializer);
+    }
+}
@@ -1,10 +1,16 @@
 package com.metao.book.order.presentation;
 
+import static com.metao.book.shared.config.ProtobufHttpAutoConfiguration.APPLICATION_PROTOBUF_VALUE;
+
 import com.metao.book.order.application.cart.ShoppingCart;
 import com.metao.book.order.application.cart.ShoppingCartDto;
+import com.metao.book.order.application.cart.ShoppingCartMessageMapper;
 import com.metao.book.order.application.cart.ShoppingCartService;
 import com.metao.book.order.application.cart.UpdateCartItemQtyDTO;
 import com.metao.book.order.presentation.dto.AddItemRequestDto;
+import com.metao.book.shared.AddCartItemsRequest;
+import com.metao.book.shared.AddCartItemsResponse;
+import com.metao.book.shared.CartMessage;
 import io.micrometer.core.annotation.Timed;
 import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
@@ -37,6 +43,11 @@ public class ShoppingCartController {
         return shoppingCartService.getCartForUser(userId);
     }
 
+    @GetMapping(value = "/{userId}", produces = APPLICATION_PROTOBUF_VALUE)
+    public CartMessage getCartMessage(@PathVariable String userId) {
+        return ShoppingCartMessageMapper.toMessage(shoppingCartService.getCartForUser(userId));
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public int addItemToCart(
@@ -45,6 +56,19 @@ public class ShoppingCartController {
         return shoppingCartService.addItemToCart(dto.userId(), dto.items());
     }
 
+    @PostMapping(consumes = APPLICATION_PROTOBUF_VALUE, produces = APPLICATION_PROTOBUF_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public AddCartItemsResponse addItemToCartMessage(@RequestBody AddCartItemsRequest request) {
+        if (request.getUserId().isBlank()) {
+            throw new IllegalArgumentException("user_id must not be blank");
+        }
+        int updated = shoppingCartService.addItemToCart(
+            request.getUserId(),
+            ShoppingCartMessageMapper.toItems(request.getItemsList())
+        );
+        return AddCartItemsResponse.newBuilder().setUpdatedItems(updated).build();
+    }
+
     @PutMapping("/{userId}/{sku}")
     public ResponseEntity<ShoppingCart> updateItemQuantity(
         @PathVariable String userId,
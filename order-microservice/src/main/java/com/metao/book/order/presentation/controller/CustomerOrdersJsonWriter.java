@@ -0,0 +1,72 @@
+package com.metao.book.order.presentation.controller;
+
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.valueobject.UserId;
+import com.metao.book.order.domain.service.OrderManagementService;
+import com.metao.book.order.presentation.dto.OrderResponseDto;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Writes all orders of a user with their items as a JSON array, one chunk at a time.
+ * <p>
+ * Every {@code order.history.stream.chunk-size} orders are found with their own seek-paginated query on the order
+ * history, loaded by id, written and flushed before the next chunk is read, so no database connection is held while
+ * the client receives the response and only one chunk is in memory however long the history is. Elements are
+ * serialized with the {@link JsonMapper} that Spring MVC uses, so they look exactly like a regular JSON response.
+ * Once the first byte is sent the status can no longer change, so a failure part way through ends the response
+ * with truncated JSON.
+ */
+@Component
+@RequiredArgsConstructor
+class CustomerOrdersJsonWriter {
+
+    private final OrderManagementService orderService;
+    private final JsonMapper jsonMapper;
+
+    @Value("${order.history.stream.chunk-size:100}")
+    private int chunkSize;
+
+    void write(String userId, OutputStream out) throws IOException {
+        var array = new ArrayWriter(out);
+        out.write('[');
+        out.flush();
+        try {
+            orderService.forEachCustomerOrderChunk(UserId.of(userId), chunkSize, array::writeChunk);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        out.write(']');
+        out.flush();
+    }
+
+    private final class ArrayWriter {
+
+        private final OutputStream out;
+        private boolean first = true;
+
+        private ArrayWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        private void writeChunk(Iterable<OrderAggregate> chunk) {
+            try {
+                for (OrderAggregate order : chunk) {
+                    if (!first) {
+                        out.write(',');
+                    }
+                    first = false;
+                    out.write(jsonMapper.writeValueAsBytes(OrderResponseDto.fromDomain(order)));
+                }
+                out.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
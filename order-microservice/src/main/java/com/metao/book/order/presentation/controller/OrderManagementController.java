@@ -1,17 +1,22 @@
 package com.metao.book.order.presentation.controller;
 
+import com.metao.book.order.application.history.OrderHistoryService;
+import com.metao.book.order.application.port.OrderCommandDispatcher;
 import com.metao.book.order.domain.model.valueobject.OrderId;
 import com.metao.book.order.domain.model.valueobject.UserId;
 import com.metao.book.order.domain.service.OrderManagementService;
 import com.metao.book.order.presentation.dto.CreateOrderRequestDTO;
 import com.metao.book.order.presentation.dto.OrderPageResponseDto;
 import com.metao.book.order.presentation.dto.OrderResponseDto;
+import com.metao.book.order.presentation.dto.OrderSummaryResponseDto;
 import com.metao.book.order.presentation.dto.UpdateStatusRequestDto;
+import com.metao.book.shared.domain.financial.VAT;
 import io.micrometer.core.annotation.Timed;
 import io.micrometer.observation.annotation.Observed;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -22,6 +27,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Validated
 @RestController
@@ -32,6 +38,10 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderManagementController {
 
     private final OrderManagementService orderService;
+    private final OrderHistoryService orderHistoryService;
+    private final CustomerOrdersJsonWriter customerOrdersJsonWriter;
+    private final VAT vat;
+    private final OrderCommandDispatcher orderCommandDispatcher;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -45,24 +55,42 @@ public class OrderManagementController {
         @PathVariable String orderId,
         @RequestBody UpdateStatusRequestDto request
     ) {
-        orderService.updateOrderStatus(OrderId.of(orderId), request.status());
+        OrderId id = OrderId.of(orderId);
+        orderCommandDispatcher.execute(id, () -> orderService.updateOrderStatus(id, request.status()));
     }
 
+    @GetMapping("/{orderId}")
+    public OrderSummaryResponseDto getOrder(@PathVariable String orderId) {
+        return OrderSummaryResponseDto.from(orderHistoryService.getOrder(OrderId.of(orderId)), vat);
+    }
+
+    /**
+     * Streams all orders of the user with their items as a JSON array, newest first; see
+     * {@link CustomerOrdersJsonWriter}.
+     */
     @GetMapping("/customer/{userId}")
-    public List<OrderResponseDto> getCustomerOrders(@PathVariable String userId) {
-        return orderService.getCustomerOrders(UserId.of(userId)).stream()
-            .map(OrderResponseDto::fromDomain)
-            .toList();
+    public ResponseEntity<StreamingResponseBody> getCustomerOrders(@PathVariable String userId) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(out -> customerOrdersJsonWriter.write(userId, out));
     }
 
+    /**
+     * Pages over the user's orders, newest first. Pass the {@code nextCursor} of a page as {@code cursor} to read the
+     * following one; {@code offset} is only read when no cursor is given.
+     */
     @GetMapping("/customer/{userId}/paged")
     public OrderPageResponseDto getCustomerOrdersPaged(
         @PathVariable String userId,
-        @RequestParam(defaultValue = "0") int offset,
+        @RequestParam(required = false) String cursor,
+        @Deprecated @RequestParam(defaultValue = "0") int offset,
         @RequestParam(defaultValue = "10") int limit
     ) {
-        var ordersPage = orderService.getCustomerOrders(UserId.of(userId), offset, limit)
-            .map(OrderResponseDto::fromDomain);
-        return OrderPageResponseDto.from(ordersPage, offset, limit);
+        boolean byCursor = cursor != null && !cursor.isBlank();
+        var page = byCursor || offset == 0
+            ? orderService.getCustomerOrders(UserId.of(userId), cursor, limit)
+            : orderService.getCustomerOrders(UserId.of(userId), offset, limit);
+        var items = page.items().stream().map(OrderResponseDto::fromDomain).toList();
+        return OrderPageResponseDto.from(page.withItems(items), offset, limit, byCursor || offset > 0);
     }
 }
@@ -0,0 +1,48 @@
+package com.metao.book.order.presentation.controller;
+
+import com.metao.book.order.domain.exception.OrderNotFoundException;
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import com.metao.book.order.domain.repository.OrderRepository;
+import com.metao.book.order.infrastructure.status.OrderStatusSubscriptionRegistry;
+import com.metao.book.order.infrastructure.status.OrderStatusUpdate;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes status changes of an order as server-sent events, so checkout clients do not poll for the payment outcome.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/order")
+@Observed(name = "order.api.status-stream", contextualName = "order-status-stream-controller")
+public class OrderStatusStreamController {
+
+    private final OrderRepository orderRepository;
+    private final OrderStatusSubscriptionRegistry subscriptions;
+
+    /**
+     * Sends the current status of the order as a {@code status} event, then every later change, until the status is
+     * final or the stream times out. The stream is registered before the current status is read, and that read
+     * bypasses the order cache, so a change in between is not lost.
+     */
+    @GetMapping(path = "/{orderId}/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatus(@PathVariable String orderId) {
+        SseEmitter emitter = subscriptions.subscribe(orderId);
+        try {
+            OrderId id = OrderId.of(orderId);
+            OrderAggregate order = orderRepository.findById(id).orElseThrow(() -> new OrderNotFoundException(id));
+            subscriptions.send(emitter, new OrderStatusUpdate(orderId, order.getStatus(), order.getUpdatedAt()));
+        } catch (RuntimeException ex) {
+            subscriptions.unsubscribe(orderId, emitter);
+            throw ex;
+        }
+        return emitter;
+    }
+}
@@ -1,25 +1,30 @@
 package com.metao.book.order.presentation.dto;
 
+import com.metao.book.order.application.history.OrderHistoryPage;
 import java.util.List;
-import org.springframework.data.domain.Page;
 
+/**
+ * @param offset     the requested offset, echoed for clients that still page by offset
+ * @param nextCursor token to pass as {@code cursor} for the following page, or {@code null} on the last page
+ */
 public record OrderPageResponseDto(
     List<OrderResponseDto> items,
     int offset,
     int limit,
-    long total,
     boolean hasNext,
-    boolean hasPrevious
+    boolean hasPrevious,
+    String nextCursor
 ) {
 
-    public static OrderPageResponseDto from(Page<OrderResponseDto> page, int offset, int limit) {
+    public static OrderPageResponseDto from(OrderHistoryPage<OrderResponseDto> page, int offset, int limit,
+        boolean hasPrevious) {
         return new OrderPageResponseDto(
-            page.getContent(),
+            page.items(),
             offset,
             limit,
-            page.getTotalElements(),
             page.hasNext(),
-            page.hasPrevious()
+            hasPrevious,
+            page.nextCursor()
         );
     }
 }
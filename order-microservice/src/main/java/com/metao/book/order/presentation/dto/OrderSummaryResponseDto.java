@@ -0,0 +1,41 @@
+package com.metao.book.order.presentation.dto;
+
+import com.metao.book.order.application.history.OrderSummary;
+import com.metao.book.shared.domain.financial.Money;
+import com.metao.book.shared.domain.financial.VAT;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record OrderSummaryResponseDto(
+    String id,
+    String userId,
+    String status,
+    Instant createdAt,
+    Instant updatedAt,
+    int itemCount,
+    BigDecimal totalQuantity,
+    String summary,
+    Money subtotal,
+    Money tax,
+    Money total,
+    Integer vatPercentage
+) {
+
+    public static OrderSummaryResponseDto from(OrderSummary order, VAT vat) {
+        Money subtotal = order.subtotal();
+        return new OrderSummaryResponseDto(
+            order.orderId(),
+            order.userId(),
+            order.status(),
+            order.createdAt(),
+            order.updatedAt(),
+            order.itemCount(),
+            order.totalQuantity(),
+            order.summary(),
+            subtotal,
+            subtotal == null ? null : vat.calculateTax(subtotal),
+            subtotal == null ? null : vat.addTax(subtotal),
+            vat.toInteger()
+        );
+    }
+}
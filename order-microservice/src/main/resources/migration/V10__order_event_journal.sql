@@ -0,0 +1,22 @@
+-- Storage of the event-sourced order store (app.order.store=event-sourced). Orders are never updated in place: each
+-- save appends one event whose sequence is the next version of the order, and the primary key turns a concurrent
+-- save of the same version into a conflict. Snapshots of the whole order are upserted every few events so loading
+-- reads the snapshot and the events after it. Payloads are OrderJournalEvent and OrderJournalState protobuf messages.
+CREATE TABLE IF NOT EXISTS order_events
+(
+  order_id    VARCHAR(255)                NOT NULL,
+  sequence    BIGINT                      NOT NULL,
+  event_type  VARCHAR(64)                 NOT NULL,
+  payload     BYTEA                       NOT NULL,
+  occurred_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT pk_order_events PRIMARY KEY (order_id, sequence)
+);
+
+CREATE TABLE IF NOT EXISTS order_snapshots
+(
+  order_id VARCHAR(255)                NOT NULL,
+  sequence BIGINT                      NOT NULL,
+  payload  BYTEA                       NOT NULL,
+  taken_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT pk_order_snapshots PRIMARY KEY (order_id)
+);
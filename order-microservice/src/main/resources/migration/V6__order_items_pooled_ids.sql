@@ -0,0 +1,8 @@
+-- Hand out order item ids in blocks of 50 (OrderItemEntity.ID_ALLOCATION_SIZE) so item inserts can be
+-- batched. Ids are always assigned by the application from now on, so the column default is dropped.
+ALTER TABLE order_items ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
+SELECT setval('order_items_id_seq', GREATEST(
+  (SELECT COALESCE(MAX(id), 0) FROM order_items),
+  (SELECT last_value FROM order_items_id_seq)
+) + 50);
@@ -0,0 +1,36 @@
+-- One compact row per order for the customer order history endpoints, kept up to date in the transaction that
+-- writes the order. Tax and total are derived from subtotal with the configured VAT when read.
+CREATE TABLE IF NOT EXISTS order_history
+(
+  order_id       VARCHAR(255)                NOT NULL,
+  user_id        VARCHAR(255)                NOT NULL,
+  status         VARCHAR(255)                NOT NULL,
+  created_at     TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  updated_at     TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  item_count     INTEGER                     NOT NULL,
+  total_quantity DECIMAL                     NOT NULL,
+  subtotal       DECIMAL,
+  currency       VARCHAR(3),
+  summary        VARCHAR(255)                NOT NULL,
+  CONSTRAINT pk_order_history PRIMARY KEY (order_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_history_user_created
+    ON order_history (user_id, created_at DESC, order_id DESC);
+
+INSERT INTO order_history (order_id, user_id, status, created_at, updated_at, item_count, total_quantity, subtotal,
+                           currency, summary)
+SELECT o.id,
+       o.user_id,
+       o.status,
+       o.created_at,
+       o.updated_at,
+       COUNT(i.id),
+       COALESCE(SUM(i.quantity), 0),
+       SUM(i.quantity * i.unit_price),
+       MIN(i.currency),
+       LEFT(COALESCE(STRING_AGG(i.product_title, ', ' ORDER BY i.id), ''), 255)
+FROM orders o
+LEFT JOIN order_items i ON i.order_id = o.id
+GROUP BY o.id
+ON CONFLICT (order_id) DO NOTHING;
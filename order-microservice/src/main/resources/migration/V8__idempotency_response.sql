@@ -0,0 +1,15 @@
+-- Responses of POST requests made with an Idempotency-Key header, replayed to retries until expires_at.
+CREATE TABLE IF NOT EXISTS idempotency_response
+(
+  idempotency_key VARCHAR(255)                NOT NULL,
+  fingerprint     VARCHAR(64)                 NOT NULL,
+  status          INTEGER                     NOT NULL,
+  content_type    VARCHAR(255),
+  location        VARCHAR(2048),
+  body            BYTEA                       NOT NULL,
+  expires_at      TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT pk_idempotency_response PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_response_expires_at
+    ON idempotency_response (expires_at);
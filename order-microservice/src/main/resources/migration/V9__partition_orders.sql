@@ -0,0 +1,119 @@
+-- Split orders and order_items into a hot and an archive tier by an archived flag, and range-partition hot orders by
+-- month of created_at. OrderPartitionMaintenance creates the coming months, moves closed orders into the archive
+-- tier and drops hot months left empty.
+--
+--   orders            LIST (archived)
+--     orders_hot        FALSE, RANGE (created_at): orders_hot_YYYY_MM, orders_hot_default
+--     orders_archive    TRUE, fully packed
+--   order_items       LIST (archived)
+--     order_items_hot       FALSE
+--     order_items_archive   TRUE, fully packed
+--
+-- Unique keys of a partitioned table must contain its partition keys, so the primary key of orders becomes
+-- (id, archived, created_at). Order ids stay unique through the order_ids guard table, which every insert into orders
+-- claims first. order_items carries the created_at of its order and references orders on all three columns; the
+-- reference cascades updates, so archiving an order moves its lines to the archive tier. Existing rows are copied
+-- into the hot tier.
+--
+-- created_at holds the wall time of the writing JVM (Timestamp.from), and the driver sets the session time zone to
+-- the JVM zone, so LOCALTIMESTAMP below and the monthly bounds of OrderPartitionMaintenance use that zone as well.
+
+ALTER TABLE order_items DROP CONSTRAINT IF EXISTS fk_order_items_order;
+ALTER SEQUENCE order_items_id_seq OWNED BY NONE;
+
+ALTER TABLE orders RENAME TO orders_unpartitioned;
+ALTER TABLE orders_unpartitioned RENAME CONSTRAINT pk_orders TO pk_orders_unpartitioned;
+ALTER INDEX IF EXISTS idx_orders_user_id RENAME TO idx_orders_unpartitioned_user_id;
+
+ALTER TABLE order_items RENAME TO order_items_unpartitioned;
+ALTER TABLE order_items_unpartitioned RENAME CONSTRAINT pk_order_items TO pk_order_items_unpartitioned;
+ALTER INDEX IF EXISTS idx_order_items_order_id RENAME TO idx_order_items_unpartitioned_order_id;
+ALTER INDEX IF EXISTS idx_order_items_product_id RENAME TO idx_order_items_unpartitioned_product_id;
+
+CREATE TABLE orders
+(
+  id         VARCHAR(255)                NOT NULL,
+  version    BIGINT                      NOT NULL DEFAULT 0,
+  user_id    VARCHAR(255)                NOT NULL,
+  status     VARCHAR(255)                NOT NULL,
+  created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  archived   BOOLEAN                     NOT NULL DEFAULT FALSE,
+  CONSTRAINT pk_orders PRIMARY KEY (id, archived, created_at)
+) PARTITION BY LIST (archived);
+
+CREATE TABLE orders_hot PARTITION OF orders FOR VALUES IN (FALSE) PARTITION BY RANGE (created_at);
+CREATE TABLE orders_hot_default PARTITION OF orders_hot DEFAULT;
+-- Archived orders never change again: pack pages full and compress row values above 128 bytes.
+CREATE TABLE orders_archive PARTITION OF orders FOR VALUES IN (TRUE)
+  WITH (fillfactor = 100, toast_tuple_target = 128);
+
+CREATE INDEX IF NOT EXISTS idx_orders_user_id ON orders (user_id);
+
+CREATE TABLE order_ids
+(
+  id VARCHAR(255) NOT NULL,
+  CONSTRAINT pk_order_ids PRIMARY KEY (id)
+);
+
+CREATE TABLE order_items
+(
+  id            BIGINT       NOT NULL,
+  product_id    VARCHAR(255) NOT NULL,
+  product_title VARCHAR(255) NOT NULL,
+  product_name  VARCHAR(255),
+  quantity      DECIMAL      NOT NULL,
+  unit_price    DECIMAL      NOT NULL,
+  currency      VARCHAR(3)   NOT NULL,
+  order_id         VARCHAR(255)                NOT NULL,
+  order_created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  archived         BOOLEAN                     NOT NULL DEFAULT FALSE,
+  CONSTRAINT pk_order_items PRIMARY KEY (id, archived),
+  CONSTRAINT fk_order_items_order FOREIGN KEY (order_id, archived, order_created_at)
+    REFERENCES orders (id, archived, created_at) ON UPDATE CASCADE
+) PARTITION BY LIST (archived);
+
+CREATE TABLE order_items_hot PARTITION OF order_items FOR VALUES IN (FALSE);
+CREATE TABLE order_items_archive PARTITION OF order_items FOR VALUES IN (TRUE)
+  WITH (fillfactor = 100, toast_tuple_target = 128);
+
+CREATE INDEX IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
+CREATE INDEX IF NOT EXISTS idx_order_items_product_id ON order_items (product_id);
+
+-- One partition per month from the oldest order up to three months ahead.
+DO
+$$
+DECLARE
+  partition_month DATE := date_trunc('month', LEAST((SELECT MIN(created_at) FROM orders_unpartitioned), LOCALTIMESTAMP));
+  last_month      DATE := date_trunc('month', LOCALTIMESTAMP) + INTERVAL '3 months';
+BEGIN
+  WHILE partition_month <= last_month
+    LOOP
+      EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF orders_hot FOR VALUES FROM (%L) TO (%L)',
+                     'orders_hot_' || to_char(partition_month, 'YYYY_MM'),
+                     partition_month,
+                     (partition_month + INTERVAL '1 month')::DATE);
+      partition_month := partition_month + INTERVAL '1 month';
+    END LOOP;
+END
+$$;
+
+INSERT INTO order_ids (id)
+SELECT id
+FROM orders_unpartitioned;
+
+INSERT INTO orders (id, version, user_id, status, created_at, updated_at)
+SELECT id, version, user_id, status, created_at, updated_at
+FROM orders_unpartitioned;
+
+INSERT INTO order_items (id, product_id, product_title, product_name, quantity, unit_price, currency, order_id,
+                         order_created_at)
+SELECT i.id, i.product_id, i.product_title, i.product_name, i.quantity, i.unit_price, i.currency, i.order_id,
+       o.created_at
+FROM order_items_unpartitioned i
+JOIN orders_unpartitioned o ON o.id = i.order_id;
+
+DROP TABLE order_items_unpartitioned;
+DROP TABLE orders_unpartitioned;
+
+ALTER SEQUENCE order_items_id_seq OWNED BY order_items.id;
@@ -14,8 +14,8 @@ import com.metao.book.order.domain.repository.OrderRepository;
 import com.metao.book.order.infrastructure.persistence.repository.SpringDataOrderRepository;
 import com.metao.book.order.presentation.dto.AddItemRequestDto;
 import com.metao.book.order.presentation.dto.CreateOrderRequestDTO;
+import com.metao.book.shared.InventoryReservationRequestedEvent;
 import com.metao.book.shared.OrderPaymentUpdatedEvent;
-import com.metao.book.shared.ProductUpdatedEvent;
 import com.metao.book.shared.Status;
 import com.metao.kafka.KafkaEventHandler;
 import com.metao.shared.test.KafkaContainer;
@@ -53,7 +53,6 @@ import org.springframework.test.context.TestPropertySource;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class E2EProductPurchaseContainerIT extends KafkaContainer {
 
-    private static final String INVENTORY_REDUCTION_MARKER = "INVENTORY_REDUCTION";
 
     private final String userId = "e2eUser";
     private final String sku1 = "SKU_E2E_001";
@@ -62,7 +61,7 @@ class E2EProductPurchaseContainerIT extends KafkaContainer {
     private final BigDecimal price1 = BigDecimal.valueOf(12.99);
     private final Currency currency = Currency.getInstance("EUR");
 
-    private final ConcurrentLinkedQueue<ConsumerRecord<String, ProductUpdatedEvent>> productUpdatedEvents =
+    private final ConcurrentLinkedQueue<ConsumerRecord<String, InventoryReservationRequestedEvent>> inventoryReservationEvents =
         new ConcurrentLinkedQueue<>();
 
     @LocalServerPort
@@ -90,7 +89,7 @@ class E2EProductPurchaseContainerIT extends KafkaContainer {
     void setUp() {
         jpaOrderRepository.deleteAll();
         shoppingCartRepository.deleteAll();
-        productUpdatedEvents.clear();
+        inventoryReservationEvents.clear();
         RestAssured.port = orderMicroservicePort;
         for (MessageListenerContainer container : kafkaListenerEndpointRegistry.getListenerContainers()) {
             ContainerTestUtils.waitForAssignment(container, 1);
@@ -154,7 +153,7 @@ class E2EProductPurchaseContainerIT extends KafkaContainer {
         });
 
         await().atMost(Duration.ofSeconds(20)).pollInterval(Duration.ofMillis(300)).untilAsserted(() ->
-            assertThat(countInventoryReductionEvents(sku1)).isEqualTo(1)
+            assertThat(countInventoryReservationEvents(sku1)).isEqualTo(1)
         );
     }
 
@@ -201,7 +200,7 @@ class E2EProductPurchaseContainerIT extends KafkaContainer {
         });
 
         await().atMost(Duration.ofSeconds(20)).pollInterval(Duration.ofMillis(300)).untilAsserted(() ->
-            assertThat(countInventoryReductionEvents(sku1)).isEqualTo(1)
+            assertThat(countInventoryReservationEvents(sku1)).isEqualTo(1)
         );
 
         OrderPaymentUpdatedEvent duplicatePaymentEvent = OrderPaymentUpdatedEvent.newBuilder()
@@ -218,25 +217,24 @@ class E2EProductPurchaseContainerIT extends KafkaContainer {
             .during(Duration.ofSeconds(3))
             .atMost(Duration.ofSeconds(8))
             .pollInterval(Duration.ofMillis(300))
-            .untilAsserted(() -> assertThat(countInventoryReductionEvents(sku1)).isEqualTo(1));
+            .untilAsserted(() -> assertThat(countInventoryReservationEvents(sku1)).isEqualTo(1));
     }
 
     @KafkaListener(
-        id = "e2e-product-updated-listener-${random.uuid}",
-        topics = "${kafka.topic.product-updated.name}",
-        groupId = "e2e-product-updated-group",
+        id = "e2e-inventory-reservation-listener-${random.uuid}",
+        topics = "${kafka.topic.inventory-reservation.name}",
+        groupId = "e2e-inventory-reservation-group",
         properties = {
-            "specific.protobuf.value.type=com.metao.book.shared.ProductUpdatedEvent"
+            "specific.protobuf.value.type=com.metao.book.shared.InventoryReservationRequestedEvent"
         }
     )
-    void onProductUpdatedEvent(ConsumerRecord<String, ProductUpdatedEvent> event) {
-        productUpdatedEvents.add(event);
+    void onInventoryReservationRequested(ConsumerRecord<String, InventoryReservationRequestedEvent> event) {
+        inventoryReservationEvents.add(event);
     }
 
-    private long countInventoryReductionEvents(String sku) {
-        return productUpdatedEvents.stream()
-            .filter(record -> sku.equals(record.value().getSku()))
-            .filter(record -> INVENTORY_REDUCTION_MARKER.equals(record.value().getDescription()))
+    private long countInventoryReservationEvents(String sku) {
+        return inventoryReservationEvents.stream()
+            .filter(record -> record.value().getLinesList().stream().anyMatch(line -> sku.equals(line.getSku())))
             .count();
     }
 
@@ -20,7 +20,6 @@ import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -33,7 +32,6 @@ class ShoppingCartServiceTest {
     @Mock
     private ShoppingCartRepository shoppingCartRepository;
 
-    @InjectMocks
     private ShoppingCartService shoppingCartService;
 
     private String userId;
@@ -44,6 +42,7 @@ class ShoppingCartServiceTest {
 
     @BeforeEach
     void setUp() {
+        shoppingCartService = new ShoppingCartService(new RepositoryShoppingCartStore(shoppingCartRepository));
         userId = "testUser";
         sku = "B00TESTSKU";
         productTitle = "product-123";
@@ -0,0 +1,161 @@
+package com.metao.book.order.application.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.metao.book.order.application.port.OrderHistoryPort;
+import com.metao.book.order.domain.exception.OrderNotFoundException;
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import com.metao.book.order.domain.model.valueobject.UserId;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@DisplayName("OrderHistoryService")
+@ExtendWith(MockitoExtension.class)
+class OrderHistoryServiceTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2026-04-01T10:15:30Z");
+
+    @Mock
+    private OrderHistoryPort orderHistory;
+
+    private OrderHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OrderHistoryService(orderHistory, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("should return a cursor only when more orders follow the page")
+    void shouldReturnCursorWhenMoreOrdersFollow() {
+        when(orderHistory.findByUser(eq("user-1"), isNull(), eq(3)))
+            .thenReturn(List.of(summary("order-3", 3), summary("order-2", 2), summary("order-1", 1)));
+
+        var page = service.getPage("user-1", null, 2);
+
+        assertThat(page.items()).extracting(OrderSummary::orderId).containsExactly("order-3", "order-2");
+        assertThat(page.hasNext()).isTrue();
+        assertThat(OrderHistoryCursor.decode(page.nextCursor()))
+            .isEqualTo(new OrderHistoryCursor(CREATED_AT.plusSeconds(2), "order-2"));
+    }
+
+    @Test
+    @DisplayName("should read the whole history in seek-paginated chunks until a short chunk")
+    void shouldReadHistoryInChunks() {
+        when(orderHistory.findByUser(eq("user-1"), isNull(), eq(2)))
+            .thenReturn(List.of(summary("order-3", 3), summary("order-2", 2)));
+        when(orderHistory.findByUser("user-1", new OrderHistoryCursor(CREATED_AT.plusSeconds(2), "order-2"), 2))
+            .thenReturn(List.of(summary("order-1", 1)));
+        List<List<String>> chunks = new ArrayList<>();
+
+        service.forEachChunk("user-1", 2,
+            chunk -> chunks.add(chunk.stream().map(OrderSummary::orderId).toList()));
+
+        assertThat(chunks).containsExactly(List.of("order-3", "order-2"), List.of("order-1"));
+        verify(orderHistory, times(2)).findByUser(eq("user-1"), any(), eq(2));
+    }
+
+    @Test
+    @DisplayName("should continue after the position encoded in the cursor")
+    void shouldContinueAfterCursor() {
+        var cursor = new OrderHistoryCursor(CREATED_AT.plusSeconds(2), "order-2");
+        when(orderHistory.findByUser("user-1", cursor, 3)).thenReturn(List.of(summary("order-1", 1)));
+
+        var page = service.getPage("user-1", cursor.encode(), 2);
+
+        assertThat(page.items()).extracting(OrderSummary::orderId).containsExactly("order-1");
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should page by offset without counting and hand back a cursor for the next page")
+    void shouldPageByOffset() {
+        when(orderHistory.findByUser("user-1", 2, 3))
+            .thenReturn(List.of(summary("order-3", 3), summary("order-2", 2), summary("order-1", 1)));
+
+        var page = service.getPage("user-1", 2, 2);
+
+        assertThat(page.items()).extracting(OrderSummary::orderId).containsExactly("order-3", "order-2");
+        assertThat(OrderHistoryCursor.decode(page.nextCursor()))
+            .isEqualTo(new OrderHistoryCursor(CREATED_AT.plusSeconds(2), "order-2"));
+        assertThatThrownBy(() -> service.getPage("user-1", -1, 2)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should reject a malformed cursor and an out-of-range limit")
+    void shouldRejectInvalidInput() {
+        assertThatThrownBy(() -> service.getPage("user-1", "not-a-cursor", 10))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getPage("user-1", null, OrderHistoryService.MAX_PAGE_SIZE + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should cache single orders until the order is recorded again")
+    void shouldCacheSingleOrdersUntilRecorded() {
+        when(orderHistory.findById("order-1")).thenReturn(Optional.of(summary("order-1", 1)));
+
+        service.getOrder(OrderId.of("order-1"));
+        service.getOrder(OrderId.of("order-1"));
+        service.record(List.of(new OrderAggregate(OrderId.of("order-1"), UserId.of("user-1"))));
+        service.getOrder(OrderId.of("order-1"));
+
+        verify(orderHistory, times(2)).findById("order-1");
+        verify(orderHistory).upsert(any());
+    }
+
+    @Test
+    @DisplayName("should evict a cached order when it is saved and again when the save commits")
+    void shouldEvictOnSaveAndAfterCommit() {
+        when(orderHistory.findById("order-1"))
+            .thenReturn(Optional.of(summary("order-1", 1)), Optional.of(summary("order-1", 2)),
+                Optional.of(summary("order-1", 3)));
+        service.getOrder(OrderId.of("order-1"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.record(List.of(new OrderAggregate(OrderId.of("order-1"), UserId.of("user-1"))));
+            assertThat(service.getOrder(OrderId.of("order-1")).createdAt()).isEqualTo(CREATED_AT.plusSeconds(2));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(service.getOrder(OrderId.of("order-1")).createdAt()).isEqualTo(CREATED_AT.plusSeconds(3));
+    }
+
+    @Test
+    @DisplayName("should fail with not found for an unknown order")
+    void shouldFailForUnknownOrder() {
+        when(orderHistory.findById("missing")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.getOrder(OrderId.of("missing")))
+            .isInstanceOf(OrderNotFoundException.class);
+    }
+
+    private static OrderSummary summary(String orderId, int secondsAfterStart) {
+        Instant createdAt = CREATED_AT.plusSeconds(secondsAfterStart);
+        return new OrderSummary(orderId, "user-1", "CREATED", createdAt, createdAt, 0, BigDecimal.ZERO, null, "");
+    }
+}
@@ -3,6 +3,7 @@ package com.metao.book.order.infrastructure.listener;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
+import com.metao.book.order.application.port.OrderCommandDispatcher;
 import com.metao.book.order.application.usecase.HandleOrderPaymentEventUseCase;
 import com.metao.book.shared.OrderPaymentUpdatedEvent;
 import com.metao.book.shared.Status;
@@ -15,7 +16,7 @@ class PaymentEventListenerMetricsTest {
     @Test
     void listenerExecutesWithMocks() {
         var handleOrderPaymentEventUseCase = mock(HandleOrderPaymentEventUseCase.class);
-        var listener = new PaymentEventListener(handleOrderPaymentEventUseCase);
+        var listener = new PaymentEventListener(handleOrderPaymentEventUseCase, OrderCommandDispatcher.direct());
         var acknowledgment = mock(Acknowledgment.class);
         var registry = new SimpleMeterRegistry();
 
@@ -1,10 +1,14 @@
 package com.metao.book.order.infrastructure.listener;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 
 import com.google.protobuf.Timestamp;
+import com.metao.book.order.application.port.OrderCommandDispatcher;
 import com.metao.book.order.application.usecase.HandleOrderPaymentEventCommand;
 import com.metao.book.order.application.usecase.HandleOrderPaymentEventUseCase;
+import com.metao.book.order.domain.model.valueobject.OrderId;
 import com.metao.book.shared.OrderPaymentUpdatedEvent;
 import com.metao.book.shared.Status;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.InjectMocks;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.support.Acknowledgment;
 
@@ -26,6 +31,9 @@ class PaymentEventListenerTest {
     @Mock
     private Acknowledgment acknowledgment;
 
+    @Spy
+    private OrderCommandDispatcher orderCommandDispatcher = OrderCommandDispatcher.direct();
+
     @InjectMocks
     private PaymentEventListener paymentEventListener;
 
@@ -47,6 +55,7 @@ class PaymentEventListenerTest {
             verify(handleOrderPaymentEventUseCase).handle(
                 new HandleOrderPaymentEventCommand("payment-1", "order123", "SUCCESSFUL")
             );
+            verify(orderCommandDispatcher).execute(eq(OrderId.of("order123")), any(Runnable.class));
             verify(acknowledgment).acknowledge();
         }
 
@@ -1,10 +1,13 @@
 package com.metao.book.order.application.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.metao.book.order.application.history.OrderHistoryService;
+import com.metao.book.order.application.port.OrderBatchInsertPort;
 import com.metao.book.order.application.port.ProcessedOrderCreatedEventPort;
 import com.metao.book.order.domain.event.OrderCreatedEvent;
 import com.metao.book.order.domain.event.OrderCreatedEventItem;
@@ -23,9 +26,11 @@ import java.time.Instant;
 import java.util.Currency;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -38,6 +43,12 @@ class PersistOrderServiceTest {
     @Mock
     private ProcessedOrderCreatedEventPort processedOrderCreatedEventPort;
 
+    @Mock
+    private OrderBatchInsertPort orderBatchInsertPort;
+
+    @Mock
+    private OrderHistoryService orderHistoryService;
+
     private PersistOrderService persistOrderService;
 
     @BeforeEach
@@ -45,6 +56,8 @@ class PersistOrderServiceTest {
         persistOrderService = new PersistOrderService(
             orderRepository,
             processedOrderCreatedEventPort,
+            orderBatchInsertPort,
+            orderHistoryService,
             new VAT(0)
         );
     }
@@ -73,6 +86,49 @@ class PersistOrderServiceTest {
         verify(orderRepository).save(any(OrderAggregate.class));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void persistOrdersInsertsOnlyFirstOccurrenceOfUnprocessedEvents() {
+        OrderCreatedEvent first = buildEvent("order-1");
+        OrderCreatedEvent duplicate = buildEvent("order-2");
+        OrderCreatedEvent redelivered = buildEvent("order-1");
+
+        when(processedOrderCreatedEventPort.markAllProcessed(List.of("order-1", "order-2")))
+            .thenReturn(Set.of("order-1"));
+        when(orderBatchInsertPort.insertAbsent(any())).thenReturn(Set.of(first.orderId()));
+
+        persistOrderService.persistOrders(List.of(first, duplicate, redelivered));
+
+        ArgumentCaptor<List<OrderAggregate>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(orderBatchInsertPort).insertAbsent(inserted.capture());
+        assertThat(inserted.getValue())
+            .extracting(OrderAggregate::getId)
+            .containsExactly(first.orderId());
+        ArgumentCaptor<List<OrderAggregate>> recorded = ArgumentCaptor.forClass(List.class);
+        verify(orderHistoryService).record(recorded.capture());
+        assertThat(recorded.getValue())
+            .extracting(OrderAggregate::getId)
+            .containsExactly(first.orderId());
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).save(any(OrderAggregate.class));
+    }
+
+    @Test
+    void persistOrdersMergesItemsIntoOrdersThatAlreadyExist() {
+        OrderCreatedEvent event = buildEvent("order-1");
+        OrderAggregate existing = OrderAggregate.from(buildEvent("order-1"), new VAT(0));
+        existing.removeItem(ProductSku.of("SKU-2"));
+
+        when(processedOrderCreatedEventPort.markAllProcessed(List.of("order-1"))).thenReturn(Set.of("order-1"));
+        when(orderBatchInsertPort.insertAbsent(any())).thenReturn(Set.of());
+        when(orderRepository.findById(event.orderId())).thenReturn(Optional.of(existing));
+
+        persistOrderService.persistOrders(List.of(event));
+
+        verify(orderRepository).save(existing);
+        assertThat(existing.hasItem(ProductSku.of("SKU-2"))).isTrue();
+    }
+
     private OrderCreatedEvent buildEvent(String orderId) {
         return new OrderCreatedEvent(
             OrderId.of(orderId),
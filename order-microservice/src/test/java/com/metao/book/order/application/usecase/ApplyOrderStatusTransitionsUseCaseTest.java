@@ -0,0 +1,107 @@
+package com.metao.book.order.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.metao.book.order.application.cart.ShoppingCartService;
+import com.metao.book.order.application.history.OrderHistoryService;
+import com.metao.book.order.application.port.OrderStatusTransitionPort;
+import com.metao.book.order.domain.model.event.DomainOrderStatusChangedEvent;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import com.metao.book.order.domain.model.valueobject.OrderStatus;
+import com.metao.book.shared.config.KafkaDomainEventPublisher;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ApplyOrderStatusTransitionsUseCase")
+class ApplyOrderStatusTransitionsUseCaseTest {
+
+    private static final Instant NOW = Instant.parse("2026-04-01T10:15:30Z");
+
+    @Mock
+    private OrderStatusTransitionPort orderStatusTransitions;
+
+    @Mock
+    private OrderHistoryService orderHistoryService;
+
+    @Mock
+    private ShoppingCartService shoppingCartService;
+
+    @Mock
+    private KafkaDomainEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ApplyOrderStatusTransitionsUseCase useCase;
+
+    @Test
+    @DisplayName("should record applied transitions and clear the carts of paid orders only")
+    void shouldRecordAppliedTransitionsAndClearPaidCarts() {
+        var paid = new OrderStatusTransition("order-1", "user-1", OrderStatus.CREATED, OrderStatus.PAID, NOW);
+        var failed = new OrderStatusTransition("order-2", "user-2", OrderStatus.CREATED, OrderStatus.PAYMENT_FAILED,
+            NOW);
+        var stale = new OrderStatusTransition("order-3", "user-3", OrderStatus.CREATED, OrderStatus.PAID, NOW);
+        when(orderStatusTransitions.apply(List.of(paid, failed, stale)))
+            .thenReturn(new OrderStatusTransitionPort.Result(List.of(paid, failed), List.of()));
+
+        useCase.apply(List.of(paid, failed, stale));
+
+        verify(orderHistoryService).recordStatusChanges(List.of(paid, failed));
+        verify(shoppingCartService).clearCart("user-1");
+        verify(shoppingCartService, never()).clearCart("user-2");
+        verify(shoppingCartService, never()).clearCart("user-3");
+    }
+
+    @Test
+    @DisplayName("should publish a status change event for each applied transition")
+    void shouldPublishStatusChangedEvents() {
+        var paid = new OrderStatusTransition("order-1", "user-1", OrderStatus.CREATED, OrderStatus.PAID, NOW);
+        var stale = new OrderStatusTransition("order-3", "user-3", OrderStatus.CREATED, OrderStatus.PAID, NOW);
+        when(orderStatusTransitions.apply(List.of(paid, stale)))
+            .thenReturn(new OrderStatusTransitionPort.Result(List.of(paid), List.of()));
+
+        useCase.apply(List.of(paid, stale));
+
+        var events = ArgumentCaptor.forClass(DomainOrderStatusChangedEvent.class);
+        verify(eventPublisher, times(1)).publish(events.capture());
+        assertThat(events.getValue().getOrderId()).isEqualTo(OrderId.of("order-1"));
+        assertThat(events.getValue().getOldStatus()).isEqualTo(OrderStatus.CREATED);
+        assertThat(events.getValue().getNewStatus()).isEqualTo(OrderStatus.PAID);
+    }
+
+    @Test
+    @DisplayName("should hand back transitions of orders not stored yet and still apply the others")
+    void shouldReturnTransitionsOfOrdersNotStoredYet() {
+        var paid = new OrderStatusTransition("order-1", "user-1", OrderStatus.CREATED, OrderStatus.PAID, NOW);
+        var early = new OrderStatusTransition("order-4", "user-4", OrderStatus.CREATED, OrderStatus.PAID, NOW);
+        when(orderStatusTransitions.apply(List.of(paid, early)))
+            .thenReturn(new OrderStatusTransitionPort.Result(List.of(paid), List.of(early)));
+
+        assertThat(useCase.apply(List.of(paid, early))).containsExactly(early);
+
+        verify(orderHistoryService).recordStatusChanges(List.of(paid));
+        verify(shoppingCartService).clearCart("user-1");
+        verify(shoppingCartService, never()).clearCart("user-4");
+    }
+
+    @Test
+    @DisplayName("should not touch the database for an empty poll")
+    void shouldSkipEmptyPoll() {
+        assertThat(useCase.apply(List.of())).isEmpty();
+
+        verifyNoInteractions(orderStatusTransitions, orderHistoryService, eventPublisher);
+        verify(shoppingCartService, never()).clearCart(anyString());
+    }
+}
@@ -13,6 +13,7 @@ import com.metao.book.order.domain.model.valueobject.OrderId;
 import com.metao.book.order.domain.model.valueobject.OrderStatus;
 import com.metao.book.order.domain.model.valueobject.UserId;
 import com.metao.book.order.domain.service.OrderManagementService;
+import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -53,14 +54,14 @@ class HandleOrderPaymentEventUseCaseTest {
                 new HandleOrderPaymentEventCommand("payment-1", orderIdValue, "SUCCESSFUL");
 
             when(processedPaymentEventPort.markProcessed("payment-1")).thenReturn(true);
-            when(orderManagementService.getOrderByIdForUpdate(orderId)).thenReturn(order);
-            when(order.getStatus()).thenReturn(OrderStatus.CREATED);
+            when(orderManagementService.payOrder(orderId)).thenReturn(Optional.of(order));
             when(order.getUserId()).thenReturn(UserId.of("user-1"));
 
             useCase.handle(command);
 
-            verify(orderManagementService).updateItemQuantity(orderId);
-            verify(orderManagementService).updateOrderStatus(orderId, OrderStatus.PAID.name());
+            verify(orderManagementService).payOrder(orderId);
+            verify(orderManagementService, never()).updateItemQuantity(orderId);
+            verify(orderManagementService, never()).updateOrderStatus(orderId, OrderStatus.PAID.name());
             verify(shoppingCartService).clearCart("user-1");
         }
 
@@ -73,8 +74,7 @@ class HandleOrderPaymentEventUseCaseTest {
                 new HandleOrderPaymentEventCommand("payment-2", orderIdValue, "SUCCESSFUL");
 
             when(processedPaymentEventPort.markProcessed("payment-2")).thenReturn(true);
-            when(orderManagementService.getOrderByIdForUpdate(orderId)).thenReturn(order);
-            when(order.getStatus()).thenReturn(OrderStatus.PAID);
+            when(orderManagementService.payOrder(orderId)).thenReturn(Optional.empty());
 
             useCase.handle(command);
 
@@ -270,6 +270,53 @@ class OrderTest {
             assertThat(order.getTotal()).isNull();
         }
 
+        @Test
+        void shouldRoundTaxLikeAFreshOrderAfterRemovingTheLineWithTheLargestScale() {
+            OrderAggregate order = new OrderAggregate(OrderId.generate(), UserId.of("user123"));
+            addLine(order, "product1", BigDecimal.ONE, new BigDecimal("10.3"));
+            addLine(order, "product2", BigDecimal.ONE, new BigDecimal("0.00"));
+
+            order.removeItem(ProductSku.of("product2"));
+
+            OrderAggregate fresh = new OrderAggregate(OrderId.generate(), UserId.of("user123"));
+            addLine(fresh, "product1", BigDecimal.ONE, new BigDecimal("10.3"));
+            assertThat(order.getSubtotal().fixedPointAmount()).isEqualTo(fresh.getSubtotal().fixedPointAmount());
+            assertThat(order.getTax().fixedPointAmount()).isEqualTo(new BigDecimal("2.0"));
+            assertThat(order.getTotal().fixedPointAmount()).isEqualTo(fresh.getTotal().fixedPointAmount());
+        }
+
+        @Test
+        void shouldKeepTotalsInStepWhenLinesAreAddedAgainAndRemoved() {
+            OrderAggregate order = new OrderAggregate(OrderId.generate(), UserId.of("user123"));
+            for (int line = 0; line < 2_000; line++) {
+                addLine(order, "product" + line, BigDecimal.ONE, BigDecimal.valueOf(1.25));
+            }
+            addLine(order, "product0", BigDecimal.TWO, BigDecimal.valueOf(1.25));
+            order.removeItem(ProductSku.of("product1"));
+
+            assertThat(order.getItems()).hasSize(1_999);
+            assertThat(order.hasItem(ProductSku.of("product1"))).isFalse();
+            assertThat(order.getSubtotal()).isEqualTo(Money.of(EUR, new BigDecimal("2501.25")));
+            assertThat(order.getTotal()).isEqualTo(Money.of(EUR, new BigDecimal("2976.49")));
+        }
+
+        @Test
+        void shouldRejectLineInAnotherCurrencyWithoutChangingTheOrder() {
+            OrderAggregate order = new OrderAggregate(OrderId.generate(), UserId.of("user123"));
+            addLine(order, "product1", BigDecimal.ONE, BigDecimal.TEN);
+
+            assertThatThrownBy(() -> order.addItem(ProductSku.of("product2"), ProductTitle.of("product-123"),
+                Quantity.of(BigDecimal.ONE), Money.of(Currency.getInstance("USD"), BigDecimal.TEN)))
+                .isInstanceOf(IllegalStateException.class);
+            assertThat(order.getItems()).hasSize(1);
+            assertThat(order.getSubtotal()).isEqualTo(Money.of(EUR, BigDecimal.TEN));
+        }
+
+        private static void addLine(OrderAggregate order, String sku, BigDecimal quantity, BigDecimal unitPrice) {
+            order.addItem(ProductSku.of(sku), ProductTitle.of("product-123"), Quantity.of(quantity),
+                Money.of(EUR, unitPrice));
+        }
+
         record OrderItemData(String productSku, String productName, BigDecimal quantity, BigDecimal unitPrice) {}
     }
 
@@ -345,4 +392,78 @@ class OrderTest {
             assertThat(createdEvents.getFirst().getItems()).hasSize(2);
         }
     }
+
+    @Nested
+    class ChangeTracking {
+
+        private OrderAggregate persistedOrder() {
+            OrderAggregate order = OrderAggregate.reconstitute(
+                OrderId.generate(),
+                UserId.of("user123"),
+                List.of(
+                    new OrderItem(ProductSku.of("product1"), ProductTitle.of("title-1"), Quantity.of(BigDecimal.ONE),
+                        Money.of(EUR, BigDecimal.TEN)),
+                    new OrderItem(ProductSku.of("product2"), ProductTitle.of("title-2"), Quantity.of(BigDecimal.ONE),
+                        Money.of(EUR, BigDecimal.TEN))
+                ),
+                OrderStatus.CREATED,
+                Instant.now(),
+                Instant.now()
+            );
+            order.markPersisted(3L);
+            return order;
+        }
+
+        @Test
+        void shouldTrackOnlyHeaderForStatusChange() {
+            OrderAggregate order = persistedOrder();
+
+            order.updateStatus(OrderStatus.PAID);
+
+            OrderChanges changes = order.getPendingChanges();
+            assertThat(changes.isHeaderChanged()).isTrue();
+            assertThat(changes.addedItems()).isEmpty();
+            assertThat(changes.changedItems()).isEmpty();
+            assertThat(changes.removedItems()).isEmpty();
+        }
+
+        @Test
+        void shouldTrackAddedChangedAndRemovedItems() {
+            OrderAggregate order = persistedOrder();
+
+            order.addItem(ProductSku.of("product1"), ProductTitle.of("title-1"), Quantity.of(BigDecimal.ONE),
+                Money.of(EUR, BigDecimal.TEN));
+            order.addItem(ProductSku.of("product3"), ProductTitle.of("title-3"), Quantity.of(BigDecimal.ONE),
+                Money.of(EUR, BigDecimal.TEN));
+            order.removeItem(ProductSku.of("product2"));
+
+            OrderChanges changes = order.getPendingChanges();
+            assertThat(changes.changedItems()).containsExactly(ProductSku.of("product1"));
+            assertThat(changes.addedItems()).containsExactly(ProductSku.of("product3"));
+            assertThat(changes.removedItems()).containsExactly(ProductSku.of("product2"));
+        }
+
+        @Test
+        void shouldForgetItemsAddedAndRemovedBeforeSaving() {
+            OrderAggregate order = persistedOrder();
+
+            order.addItem(ProductSku.of("product3"), ProductTitle.of("title-3"), Quantity.of(BigDecimal.ONE),
+                Money.of(EUR, BigDecimal.TEN));
+            order.removeItem(ProductSku.of("product3"));
+
+            assertThat(order.getPendingChanges().addedItems()).isEmpty();
+            assertThat(order.getPendingChanges().removedItems()).isEmpty();
+        }
+
+        @Test
+        void shouldClearChangesWhenPersisted() {
+            OrderAggregate order = persistedOrder();
+            order.updateStatus(OrderStatus.PAID);
+
+            order.markPersisted(4L);
+
+            assertThat(order.getVersion()).isEqualTo(4L);
+            assertThat(order.getPendingChanges().isEmpty()).isTrue();
+        }
+    }
 }
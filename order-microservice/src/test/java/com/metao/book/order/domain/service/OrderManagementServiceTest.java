@@ -1,6 +1,9 @@
 package com.metao.book.order.domain.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -9,13 +12,27 @@ import static org.mockito.Mockito.when;
 import com.metao.book.order.application.cart.ShoppingCartDto;
 import com.metao.book.order.application.cart.ShoppingCartItem;
 import com.metao.book.order.application.cart.ShoppingCartService;
+import com.metao.book.order.application.history.OrderHistoryPage;
+import com.metao.book.order.application.history.OrderHistoryService;
+import com.metao.book.order.application.history.OrderSummary;
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import com.metao.book.order.domain.model.valueobject.OrderStatus;
 import com.metao.book.order.domain.model.valueobject.UserId;
 import com.metao.book.order.domain.repository.OrderRepository;
 import com.metao.book.shared.config.KafkaDomainEventPublisher;
+import com.metao.book.shared.domain.financial.Money;
 import com.metao.book.shared.domain.financial.VAT;
+import com.metao.book.shared.domain.product.ProductSku;
+import com.metao.book.shared.domain.product.ProductTitle;
+import com.metao.book.shared.domain.product.Quantity;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -35,6 +52,9 @@ class OrderManagementServiceTest {
     @Mock
     private ShoppingCartService shoppingCartService;
 
+    @Mock
+    private OrderHistoryService orderHistoryService;
+
     @InjectMocks
     private OrderManagementService orderManagementService;
 
@@ -44,6 +64,7 @@ class OrderManagementServiceTest {
             orderRepository,
             eventPublisher,
             shoppingCartService,
+            orderHistoryService,
             new VAT(19)
         );
     }
@@ -68,4 +89,72 @@ class OrderManagementServiceTest {
         verify(orderRepository, never()).save(any());
         verify(eventPublisher, times(1)).publish(any());
     }
+
+    @Test
+    void payOrderLoadsSavesAndPublishesOnce() {
+        OrderId orderId = OrderId.of("order-1");
+        OrderAggregate order = new OrderAggregate(orderId, UserId.of("user123"), new VAT(19));
+        order.addItem(ProductSku.of("SKU-1"), ProductTitle.of("Book 1"), Quantity.of(BigDecimal.ONE),
+            Money.of(Currency.getInstance("EUR"), BigDecimal.TEN));
+        order.addItem(ProductSku.of("SKU-2"), ProductTitle.of("Book 2"), Quantity.of(BigDecimal.TWO),
+            Money.of(Currency.getInstance("EUR"), BigDecimal.TEN));
+
+        when(orderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(order));
+
+        assertThat(orderManagementService.payOrder(orderId)).contains(order);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAID);
+        verify(orderRepository, times(1)).findByIdForUpdate(orderId);
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, times(1)).save(order);
+        verify(eventPublisher, times(2)).publish(any());
+    }
+
+    @Test
+    void payOrderSkipsAlreadyPaidOrder() {
+        OrderId orderId = OrderId.of("order-1");
+        OrderAggregate order = new OrderAggregate(orderId, UserId.of("user123"), new VAT(19));
+        order.updateStatus(OrderStatus.PAID);
+
+        when(orderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(order));
+
+        assertThat(orderManagementService.payOrder(orderId)).isEmpty();
+
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void getCustomerOrdersLoadsTheOrdersOfTheHistoryPage() {
+        UserId userId = UserId.of("user123");
+        OrderAggregate newer = new OrderAggregate(OrderId.of("order-2"), userId, new VAT(19));
+        OrderAggregate older = new OrderAggregate(OrderId.of("order-1"), userId, new VAT(19));
+        when(orderHistoryService.getPage("user123", "cursor", 2)).thenReturn(
+            new OrderHistoryPage<>(List.of(OrderSummary.from(newer), OrderSummary.from(older)), "next"));
+        when(orderRepository.findAllById(List.of(newer.getId(), older.getId()))).thenReturn(List.of(newer, older));
+
+        var page = orderManagementService.getCustomerOrders(userId, "cursor", 2);
+
+        assertThat(page.items()).containsExactly(newer, older);
+        assertThat(page.nextCursor()).isEqualTo("next");
+    }
+
+    @Test
+    void forEachCustomerOrderChunkLoadsEveryHistoryChunkById() {
+        UserId userId = UserId.of("user123");
+        OrderAggregate newer = new OrderAggregate(OrderId.of("order-2"), userId, new VAT(19));
+        OrderAggregate older = new OrderAggregate(OrderId.of("order-1"), userId, new VAT(19));
+        doAnswer(invocation -> {
+            Consumer<List<OrderSummary>> action = invocation.getArgument(2);
+            action.accept(List.of(OrderSummary.from(newer)));
+            action.accept(List.of(OrderSummary.from(older)));
+            return null;
+        }).when(orderHistoryService).forEachChunk(eq("user123"), eq(1), any());
+        when(orderRepository.findAllById(List.of(newer.getId()))).thenReturn(List.of(newer));
+        when(orderRepository.findAllById(List.of(older.getId()))).thenReturn(List.of(older));
+        List<List<OrderAggregate>> chunks = new ArrayList<>();
+
+        orderManagementService.forEachCustomerOrderChunk(userId, 1, chunks::add);
+
+        assertThat(chunks).containsExactly(List.of(newer), List.of(older));
+    }
 }
@@ -0,0 +1,223 @@
+package com.metao.book.order.infrastructure.cart;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.metao.book.order.application.cart.ShoppingCart;
+import com.metao.book.order.application.cart.ShoppingCartItem;
+import com.metao.book.order.application.cart.ShoppingCartKey;
+import com.metao.book.order.application.cart.ShoppingCartRepository;
+import com.metao.book.order.domain.exception.ShoppingCartNotFoundException;
+import com.metao.book.order.infrastructure.persistence.repository.ShoppingCartBatchRepository;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@DisplayName("ShardedShoppingCartStore")
+@ExtendWith(MockitoExtension.class)
+class ShardedShoppingCartStoreTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final String USER = "user-1";
+
+    @TempDir
+    Path journalDirectory;
+
+    @Mock
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Mock
+    private ShoppingCartBatchRepository shoppingCartBatchRepository;
+
+    @Captor
+    private ArgumentCaptor<Collection<ShoppingCart>> upserts;
+
+    @Captor
+    private ArgumentCaptor<Collection<ShoppingCartKey>> deletes;
+
+    private ShardedShoppingCartStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = newStore();
+    }
+
+    @Test
+    @DisplayName("should serve writes from memory and load each cart from the database only once")
+    void shouldServeWritesFromMemory() {
+        when(shoppingCartRepository.findByUserId(USER)).thenReturn(List.of());
+
+        store.addItems(USER, Set.of(item("SKU-1", BigDecimal.ONE)));
+        store.addItems(USER, Set.of(item("SKU-1", BigDecimal.TWO)));
+
+        assertThat(store.findByUserId(USER))
+            .singleElement()
+            .satisfies(line -> assertThat(line.getQuantity()).isEqualByComparingTo("3"));
+        verify(shoppingCartRepository, times(1)).findByUserId(USER);
+        verify(shoppingCartBatchRepository, never()).write(anyCollection(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("should flush the latest state of changed lines in one write and drop the flushed journal")
+    void shouldFlushLatestState() {
+        when(shoppingCartRepository.findByUserId(USER)).thenReturn(List.of(line("SKU-0", BigDecimal.ONE)));
+
+        store.addItems(USER, Set.of(item("SKU-1", BigDecimal.ONE)));
+        store.updateQuantity(USER, "SKU-1", BigDecimal.TEN);
+        store.removeItem(USER, "SKU-0");
+        store.flush();
+
+        verify(shoppingCartBatchRepository).write(upserts.capture(), deletes.capture());
+        assertThat(upserts.getValue())
+            .singleElement()
+            .satisfies(line -> {
+                assertThat(line.getSku()).isEqualTo("SKU-1");
+                assertThat(line.getQuantity()).isEqualByComparingTo(BigDecimal.TEN);
+            });
+        assertThat(deletes.getValue()).containsExactly(new ShoppingCartKey(USER, "SKU-0"));
+        assertThat(journalEntries()).isEmpty();
+
+        store.flush();
+        verify(shoppingCartBatchRepository, times(1)).write(anyCollection(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("should keep lines dirty and journalled when the flush fails")
+    void shouldRetryFailedFlush() {
+        when(shoppingCartRepository.findByUserId(USER)).thenReturn(List.of());
+        doThrow(new IllegalStateException("database down"))
+            .doNothing()
+            .when(shoppingCartBatchRepository).write(anyCollection(), anyCollection());
+
+        store.addItems(USER, Set.of(item("SKU-1", BigDecimal.ONE)));
+        store.flush();
+
+        assertThat(journalEntries()).hasSize(1);
+
+        store.flush();
+
+        verify(shoppingCartBatchRepository, times(2)).write(upserts.capture(), anyCollection());
+        assertThat(upserts.getValue()).extracting(ShoppingCart::getSku).containsExactly("SKU-1");
+        assertThat(journalEntries()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should replay the journal into the database when restarted before a flush")
+    void shouldRecoverUnflushedChanges() throws IOException {
+        when(shoppingCartRepository.findByUserId(anyString())).thenReturn(List.of());
+        store.addItems(USER, Set.of(item("SKU-1", BigDecimal.ONE), item("SKU-2", BigDecimal.ONE)));
+        store.updateQuantity(USER, "SKU-1", BigDecimal.TWO);
+        store.removeItem(USER, "SKU-2");
+        tearTail();
+
+        newStore();
+
+        verify(shoppingCartBatchRepository).write(upserts.capture(), deletes.capture());
+        assertThat(upserts.getValue())
+            .singleElement()
+            .satisfies(line -> assertThat(line.getQuantity()).isEqualByComparingTo(BigDecimal.TWO));
+        assertThat(deletes.getValue()).containsExactly(new ShoppingCartKey(USER, "SKU-2"));
+        assertThat(CartJournal.segments(journalDirectory))
+            .allSatisfy(segment -> assertThat(Files.size(segment)).isZero());
+    }
+
+    @Test
+    @DisplayName("should evict idle carts on a flush tick without any changes")
+    void shouldEvictIdleCartsWithoutChanges() {
+        var idle = line("SKU-1", BigDecimal.ONE);
+        idle.setUpdatedOn(idle.getCreatedOn() - Duration.ofHours(1).toMillis());
+        when(shoppingCartRepository.findByUserId(USER)).thenReturn(List.of(idle));
+
+        store.findByUserId(USER);
+        store.flush();
+        store.findByUserId(USER);
+
+        verify(shoppingCartRepository, times(2)).findByUserId(USER);
+        verify(shoppingCartBatchRepository, never()).write(anyCollection(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("should restore a missing creation time from the journal as missing")
+    void shouldKeepMissingTimestampsInJournal() {
+        var line = line("SKU-1", BigDecimal.ONE);
+        line.setCreatedOn(null);
+        try (var journal = new CartJournal(journalDirectory, 0, false)) {
+            journal.append(List.of(CartJournal.Entry.put(line)));
+        }
+
+        assertThat(journalEntries())
+            .singleElement()
+            .satisfies(entry -> {
+                assertThat(entry.line().getCreatedOn()).isNull();
+                assertThat(entry.line().getUpdatedOn()).isEqualTo(line.getUpdatedOn());
+            });
+    }
+
+    @Test
+    @DisplayName("should reject changes to lines that are not in the cart")
+    void shouldRejectMissingLine() {
+        when(shoppingCartRepository.findByUserId(USER)).thenReturn(List.of());
+
+        assertThatThrownBy(() -> store.updateQuantity(USER, "SKU-1", BigDecimal.ONE))
+            .isInstanceOf(ShoppingCartNotFoundException.class);
+        assertThatThrownBy(() -> store.removeItem(USER, "SKU-1"))
+            .isInstanceOf(ShoppingCartNotFoundException.class);
+        assertThat(journalEntries()).isEmpty();
+    }
+
+    private ShardedShoppingCartStore newStore() {
+        return new ShardedShoppingCartStore(shoppingCartRepository, shoppingCartBatchRepository, 4,
+            journalDirectory, false, Duration.ofMinutes(30));
+    }
+
+    private List<CartJournal.Entry> journalEntries() {
+        List<CartJournal.Entry> entries = new ArrayList<>();
+        CartJournal.replay(journalDirectory, entries::add);
+        return entries;
+    }
+
+    /**
+     * Simulates a crash in the middle of an append by writing half a record after the last complete one.
+     */
+    private void tearTail() throws IOException {
+        Path segment = CartJournal.segments(journalDirectory).stream()
+            .filter(file -> Files.isRegularFile(file) && file.toFile().length() > 0)
+            .findFirst()
+            .orElseThrow();
+        Files.write(segment, new byte[]{0, 0, 0, 64, 1, 2}, StandardOpenOption.APPEND);
+    }
+
+    private static ShoppingCartItem item(String sku, BigDecimal quantity) {
+        return new ShoppingCartItem(sku, "Title " + sku, quantity, BigDecimal.TEN, EUR);
+    }
+
+    private static ShoppingCart line(String sku, BigDecimal quantity) {
+        var line = new ShoppingCart(USER, sku, "Title " + sku, BigDecimal.TEN, BigDecimal.TEN, quantity, EUR);
+        line.setUpdatedOn(line.getCreatedOn());
+        return line;
+    }
+}
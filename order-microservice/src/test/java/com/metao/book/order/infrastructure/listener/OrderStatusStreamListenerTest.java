@@ -0,0 +1,53 @@
+package com.metao.book.order.infrastructure.listener;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.google.protobuf.Timestamp;
+import com.metao.book.order.domain.model.valueobject.OrderStatus;
+import com.metao.book.order.infrastructure.status.OrderStatusSubscriptionRegistry;
+import com.metao.book.order.infrastructure.status.OrderStatusUpdate;
+import com.metao.book.shared.OrderUpdatedEvent;
+import java.time.Instant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderStatusStreamListener")
+class OrderStatusStreamListenerTest {
+
+    private static final Instant UPDATED_AT = Instant.parse("2026-04-01T10:15:30Z");
+
+    @Mock
+    private OrderStatusSubscriptionRegistry subscriptions;
+
+    @InjectMocks
+    private OrderStatusStreamListener listener;
+
+    @Test
+    @DisplayName("should push the status of an order update to the streams of this node")
+    void shouldPublishKnownStatus() {
+        listener.handleOrderUpdated(event().setStatus(OrderUpdatedEvent.Status.PAID).build());
+
+        verify(subscriptions).publish(new OrderStatusUpdate("order-1", OrderStatus.PAID, UPDATED_AT));
+    }
+
+    @Test
+    @DisplayName("should skip a status this node does not know instead of failing the record")
+    void shouldSkipUnrecognizedStatus() {
+        listener.handleOrderUpdated(event().setStatusValue(42).build());
+
+        verify(subscriptions, never()).publish(any());
+    }
+
+    private static OrderUpdatedEvent.Builder event() {
+        return OrderUpdatedEvent.newBuilder()
+            .setOrderId("order-1")
+            .setUpdateTime(Timestamp.newBuilder().setSeconds(UPDATED_AT.getEpochSecond()));
+    }
+}
@@ -0,0 +1,116 @@
+package com.metao.book.order.infrastructure.mailbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("StripedOrderCommandDispatcher")
+class StripedOrderCommandDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StripedOrderCommandDispatcher dispatcher = new StripedOrderCommandDispatcher(8, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.close();
+    }
+
+    @Test
+    @DisplayName("should never run two commands of the same order at once")
+    void shouldSerializeCommandsOfOneOrder() throws Exception {
+        OrderId orderId = OrderId.of("order-1");
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 50; i++) {
+                futures.add(callers.submit(() -> dispatcher.execute(orderId, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    LockSupport.parkNanos(100_000);
+                    running.decrementAndGet();
+                })));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        }
+
+        assertThat(maxRunning).hasValue(1);
+        assertThat(meterRegistry.get("order.mailbox.wait").timers().stream().mapToLong(Timer::count).sum())
+            .isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("should run commands of orders in different mailboxes concurrently")
+    void shouldRunDifferentStripesConcurrently() throws Exception {
+        OrderId first = OrderId.of("order-1");
+        OrderId second = otherStripeThan(first);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Boolean> a = callers.submit(() -> dispatcher.call(first, () -> awaitBoth(bothStarted)));
+            Future<Boolean> b = callers.submit(() -> dispatcher.call(second, () -> awaitBoth(bothStarted)));
+
+            assertThat(a.get(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(b.get(10, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("should rethrow the exception of a command to its caller and keep the mailbox running")
+    void shouldPropagateCommandExceptions() {
+        OrderId orderId = OrderId.of("order-1");
+
+        assertThatThrownBy(() -> dispatcher.execute(orderId, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+
+        assertThat(dispatcher.call(orderId, () -> "next")).isEqualTo("next");
+    }
+
+    @Test
+    @DisplayName("should run a command dispatched from inside a mailbox inline")
+    void shouldRunNestedCommandsInline() {
+        String result = dispatcher.call(OrderId.of("order-1"),
+            () -> dispatcher.call(OrderId.of("order-2"), () -> Thread.currentThread().getName()));
+
+        assertThat(result).startsWith("order-mailbox-");
+        assertThat(meterRegistry.get("order.mailbox.queue.depth").gauges()).hasSize(8);
+    }
+
+    private OrderId otherStripeThan(OrderId orderId) {
+        int stripe = Math.floorMod(orderId.value().hashCode(), 8);
+        for (int i = 2; ; i++) {
+            OrderId candidate = OrderId.of("order-" + i);
+            if (Math.floorMod(candidate.value().hashCode(), 8) != stripe) {
+                return candidate;
+            }
+        }
+    }
+
+    private static boolean awaitBoth(CountDownLatch bothStarted) {
+        bothStarted.countDown();
+        try {
+            return bothStarted.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.metao.book.order.infrastructure.persistence;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.metao.book.order.infrastructure.persistence.repository.OrderPartitionRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@DisplayName("OrderPartitionMaintenance")
+@ExtendWith(MockitoExtension.class)
+class OrderPartitionMaintenanceTest {
+
+    private static final Instant NOW = Instant.parse("2026-04-15T10:00:00Z");
+    private static final Instant CUTOFF = NOW.minus(Duration.ofDays(90));
+
+    @Mock
+    private OrderPartitionRepository partitions;
+
+    private OrderPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        maintenance = new OrderPartitionMaintenance(partitions, 2, Duration.ofDays(90), 2, ZoneOffset.UTC);
+    }
+
+    @Test
+    @DisplayName("should create the current and upcoming monthly partitions even when one of them fails")
+    void shouldCreateUpcomingPartitions() {
+        doThrow(new DataIntegrityViolationException("rows in default partition"))
+            .when(partitions).createMonthlyPartition(YearMonth.of(2026, 5));
+
+        maintenance.maintain(NOW);
+
+        verify(partitions).createMonthlyPartition(YearMonth.of(2026, 4));
+        verify(partitions).createMonthlyPartition(YearMonth.of(2026, 5));
+        verify(partitions).createMonthlyPartition(YearMonth.of(2026, 6));
+        verify(partitions, times(3)).createMonthlyPartition(any());
+    }
+
+    @Test
+    @DisplayName("should take months in the zone created_at is written in")
+    void shouldUseTheWritingZone() {
+        var berlin = new OrderPartitionMaintenance(partitions, 0, Duration.ofDays(90), 2, ZoneId.of("Europe/Berlin"));
+
+        berlin.maintain(Instant.parse("2026-04-30T22:30:00Z"));
+
+        verify(partitions).createMonthlyPartition(YearMonth.of(2026, 5));
+        verify(partitions, times(1)).createMonthlyPartition(any());
+    }
+
+    @Test
+    @DisplayName("should archive closed orders in batches until a batch comes back short")
+    void shouldArchiveInBatches() {
+        when(partitions.archiveClosedOrders(CUTOFF, 2)).thenReturn(2, 2, 1);
+
+        maintenance.maintain(NOW);
+
+        verify(partitions, times(3)).archiveClosedOrders(CUTOFF, 2);
+    }
+
+    @Test
+    @DisplayName("should drop only empty partitions that ended before the archive cutoff")
+    void shouldDropEmptyPastPartitions() {
+        YearMonth emptyOld = YearMonth.of(2025, 11);
+        YearMonth occupiedOld = YearMonth.of(2025, 12);
+        YearMonth cutoffMonth = YearMonth.of(2026, 1);
+        when(partitions.archiveClosedOrders(any(), anyInt())).thenReturn(0);
+        when(partitions.findMonthlyPartitions()).thenReturn(List.of(emptyOld, occupiedOld, cutoffMonth));
+        when(partitions.isMonthlyPartitionEmpty(emptyOld)).thenReturn(true);
+        when(partitions.isMonthlyPartitionEmpty(occupiedOld)).thenReturn(false);
+
+        maintenance.maintain(NOW);
+
+        verify(partitions).dropMonthlyPartition(emptyOld);
+        verify(partitions, never()).dropMonthlyPartition(occupiedOld);
+        verify(partitions, never()).isMonthlyPartitionEmpty(cutoffMonth);
+        verify(partitions, never()).dropMonthlyPartition(cutoffMonth);
+    }
+}
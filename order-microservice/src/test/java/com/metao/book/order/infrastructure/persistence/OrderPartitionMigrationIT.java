@@ -0,0 +1,148 @@
+package com.metao.book.order.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.entity.OrderItem;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import com.metao.book.order.domain.model.valueobject.OrderStatus;
+import com.metao.book.order.domain.model.valueobject.UserId;
+import com.metao.book.order.infrastructure.persistence.repository.OrderBatchInsertRepository;
+import com.metao.book.order.infrastructure.persistence.repository.OrderItemIdAllocator;
+import com.metao.book.order.infrastructure.persistence.repository.OrderPartitionRepository;
+import com.metao.book.shared.domain.financial.Money;
+import com.metao.book.shared.domain.product.ProductSku;
+import com.metao.book.shared.domain.product.ProductTitle;
+import com.metao.book.shared.domain.product.Quantity;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Currency;
+import java.util.List;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Runs {@code V9__partition_orders.sql} against a real Postgres over rows written with the schema before it, then
+ * checks the guarantees the unpartitioned tables gave: unique order ids and order lines that reference an order.
+ */
+@DisplayName("V9 order partitioning migration")
+class OrderPartitionMigrationIT {
+
+    private static final String URL = "jdbc:tc:postgresql:16-alpine:///order-partition-migration?TC_DAEMON=true";
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static OrderBatchInsertRepository batchInsert;
+
+    @BeforeAll
+    static void migrate() {
+        var dataSource = new DriverManagerDataSource(URL);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway(dataSource).target("8").load().migrate();
+
+        jdbcTemplate.update("""
+            INSERT INTO orders (id, version, user_id, status, created_at, updated_at)
+            VALUES ('legacy-1', 3, 'user-1', 'PAID', '2025-11-03 10:00:00', '2025-11-04 10:00:00')
+            """);
+        jdbcTemplate.update("""
+            INSERT INTO order_items (id, product_id, product_title, quantity, unit_price, currency, order_id)
+            VALUES (1, 'SKU-1', 'Book 1', 1, 10, 'EUR', 'legacy-1')
+            """);
+
+        flyway(dataSource).load().migrate();
+        batchInsert = new OrderBatchInsertRepository(jdbcTemplate, new OrderItemIdAllocator(jdbcTemplate));
+    }
+
+    @Test
+    @DisplayName("should copy existing orders and lines into their monthly hot partition")
+    void shouldCopyExistingRows() {
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT tableoid::regclass::text FROM orders WHERE id = 'legacy-1'", String.class))
+            .isEqualTo("orders_hot_2025_11");
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM order_ids WHERE id = 'legacy-1'", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT order_created_at FROM order_items WHERE order_id = 'legacy-1'", LocalDateTime.class))
+            .isEqualTo(LocalDateTime.parse("2025-11-03T10:00:00"));
+    }
+
+    @Test
+    @DisplayName("should not insert a second order with an existing id and another created_at")
+    void shouldKeepOrderIdsUnique() {
+        OrderAggregate first = order("order-unique", OrderStatus.CREATED, Instant.parse("2026-01-10T10:00:00Z"));
+        OrderAggregate redelivered = order("order-unique", OrderStatus.CREATED, Instant.parse("2026-02-10T10:00:00Z"));
+
+        assertThat(batchInsert.insertAbsent(List.of(first))).containsExactly(OrderId.of("order-unique"));
+        assertThat(batchInsert.insertAbsent(List.of(redelivered))).isEmpty();
+        assertThat(batchInsert.insertAbsent(List.of(order("legacy-1", OrderStatus.CREATED, Instant.now())))).isEmpty();
+
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM orders WHERE id = 'order-unique'", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM order_items WHERE order_id = 'order-unique'", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should reject an order line without its order")
+    void shouldRejectOrphanLines() {
+        assertThatThrownBy(() -> jdbcTemplate.update("""
+            INSERT INTO order_items (id, product_id, product_title, quantity, unit_price, currency, order_id,
+                                     order_created_at)
+            VALUES (2, 'SKU-1', 'Book 1', 1, 10, 'EUR', 'missing', '2026-01-10 10:00:00')
+            """)).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("should move the lines of an archived order to the archive tier with it")
+    void shouldArchiveLinesWithTheirOrder() {
+        batchInsert.insertAbsent(List.of(
+            order("order-delivered", OrderStatus.DELIVERED, Instant.parse("2025-12-01T10:00:00Z"))));
+
+        int moved = new OrderPartitionRepository(jdbcTemplate)
+            .archiveClosedOrders(Instant.parse("2026-01-01T00:00:00Z"), 10);
+
+        assertThat(moved).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT tableoid::regclass::text FROM order_items WHERE order_id = 'order-delivered'", String.class))
+            .isEqualTo("order_items_archive");
+    }
+
+    @Test
+    @DisplayName("should put an order written just after midnight of the 1st in the JVM zone into that month")
+    void shouldPartitionInTheWritingZone() {
+        new OrderPartitionRepository(jdbcTemplate).createMonthlyPartition(YearMonth.of(2026, 3));
+        Instant firstOfMarch = LocalDateTime.parse("2026-03-01T00:30:00").atZone(ZoneId.systemDefault()).toInstant();
+
+        batchInsert.insertAbsent(List.of(order("order-march", OrderStatus.CREATED, firstOfMarch)));
+
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT tableoid::regclass::text FROM orders WHERE id = 'order-march'", String.class))
+            .isEqualTo("orders_hot_2026_03");
+    }
+
+    private static FluentConfiguration flyway(DriverManagerDataSource dataSource) {
+        return Flyway.configure().dataSource(dataSource).locations("classpath:migration");
+    }
+
+    private static OrderAggregate order(String id, OrderStatus status, Instant createdAt) {
+        return OrderAggregate.reconstitute(
+            OrderId.of(id),
+            UserId.of("user-1"),
+            List.of(new OrderItem(ProductSku.of("SKU-1"), ProductTitle.of("Book 1"), Quantity.of(BigDecimal.ONE),
+                Money.of(EUR, BigDecimal.TEN))),
+            status,
+            createdAt,
+            createdAt
+        );
+    }
+}
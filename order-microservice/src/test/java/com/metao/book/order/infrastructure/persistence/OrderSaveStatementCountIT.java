@@ -0,0 +1,157 @@
+package com.metao.book.order.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import com.metao.book.order.domain.model.valueobject.OrderStatus;
+import com.metao.book.order.domain.model.valueobject.UserId;
+import com.metao.book.order.domain.repository.OrderRepository;
+import com.metao.book.order.infrastructure.persistence.entity.OrderItemEntity;
+import com.metao.book.order.infrastructure.persistence.entity.OrderJpaEntity;
+import com.metao.book.order.infrastructure.persistence.mapper.OrderEntityMapper;
+import com.metao.book.order.infrastructure.persistence.repository.SpringDataOrderRepository;
+import com.metao.book.shared.domain.financial.Money;
+import com.metao.book.shared.domain.product.ProductSku;
+import com.metao.book.shared.domain.product.ProductTitle;
+import com.metao.book.shared.domain.product.Quantity;
+import com.metao.shared.test.KafkaContainer;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Counts the statements a status change of a loaded order sends to the order tables, through the JPA merge that
+ * {@code OrderRepositoryAdapter.save} used before and through the JDBC update it uses now. Every statement is
+ * recorded by a datasource-proxy wrapper around the application data source; the order history upsert of the JDBC
+ * path is left out.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@DisplayName("Order save statement count")
+class OrderSaveStatementCountIT extends KafkaContainer {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    private static final Pattern ORDER_TABLES = Pattern.compile("\\b(orders|order_items)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private SpringDataOrderRepository springDataOrderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        springDataOrderRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM order_history");
+        transactionTemplate.executeWithoutResult(status -> {
+            orderRepository.save(orderWithTwoLines("order-merge"));
+            orderRepository.save(orderWithTwoLines("order-jdbc"));
+        });
+    }
+
+    @Test
+    @DisplayName("should save a status change with one update instead of the read and update of the JPA merge")
+    void shouldSaveStatusChangeWithFewerStatementsThanTheMerge() {
+        List<String> merge = statementsOfPaying("order-merge", this::mergeLikeBefore);
+        List<String> jdbc = statementsOfPaying("order-jdbc", orderRepository::save);
+
+        assertThat(jdbc).singleElement().asString().startsWithIgnoringCase("UPDATE orders");
+        assertThat(merge).first().asString().startsWithIgnoringCase("select");
+        assertThat(merge).anySatisfy(sql -> assertThat(sql).startsWithIgnoringCase("update orders"));
+        assertThat(merge.size() - jdbc.size()).isPositive();
+    }
+
+    /**
+     * Loads the order in its own transaction, pays it and returns the order-table statements {@code save} sent in a
+     * second transaction, including those flushed at commit.
+     */
+    private List<String> statementsOfPaying(String orderId, Consumer<OrderAggregate> save) {
+        OrderAggregate order = transactionTemplate.execute(status ->
+            orderRepository.findById(OrderId.of(orderId)).orElseThrow());
+        order.updateStatus(OrderStatus.PAID);
+
+        STATEMENTS.clear();
+        transactionTemplate.executeWithoutResult(status -> save.accept(order));
+        return STATEMENTS.stream().filter(sql -> ORDER_TABLES.matcher(sql).find()).toList();
+    }
+
+    /**
+     * The save path before the JDBC update: read the stored order with its lines, carry over version and line ids,
+     * then merge the whole entity graph.
+     */
+    private void mergeLikeBefore(OrderAggregate order) {
+        OrderJpaEntity entity = OrderEntityMapper.toEntity(order);
+        springDataOrderRepository.findById(order.getId().value())
+            .ifPresent(existing -> {
+                entity.setVersion(existing.getVersion());
+
+                var existingItemIdsBySku = new HashMap<String, Long>();
+                for (OrderItemEntity item : existing.getItems()) {
+                    existingItemIdsBySku.put(item.getProductSku().value(), item.getId());
+                }
+
+                entity.getItems().forEach(item -> {
+                    Long existingItemId = existingItemIdsBySku.get(item.getProductSku().value());
+                    if (existingItemId != null) {
+                        item.setId(existingItemId);
+                    }
+                });
+            });
+        springDataOrderRepository.save(entity);
+    }
+
+    private static OrderAggregate orderWithTwoLines(String orderId) {
+        var order = new OrderAggregate(OrderId.of(orderId), UserId.of("user-1"));
+        order.addItem(ProductSku.of("SKU-1"), ProductTitle.of("Book 1"), Quantity.of(BigDecimal.ONE),
+            Money.of(EUR, BigDecimal.TEN));
+        order.addItem(ProductSku.of("SKU-2"), ProductTitle.of("Book 2"), Quantity.of(BigDecimal.ONE),
+            Money.of(EUR, BigDecimal.TEN));
+        return order;
+    }
+
+    @TestConfiguration
+    static class StatementRecordingConfig {
+
+        @Bean
+        static BeanPostProcessor statementRecordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                            .afterQuery((execution, queries) ->
+                                queries.forEach(query -> STATEMENTS.add(query.getQuery())))
+                            .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
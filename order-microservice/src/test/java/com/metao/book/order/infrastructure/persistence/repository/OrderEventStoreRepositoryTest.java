@@ -0,0 +1,192 @@
+package com.metao.book.order.infrastructure.persistence.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.metao.book.order.application.history.OrderHistoryService;
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.entity.OrderItem;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import com.metao.book.order.domain.model.valueobject.OrderStatus;
+import com.metao.book.order.domain.model.valueobject.UserId;
+import com.metao.book.order.infrastructure.persistence.OrderSnapshotWriter;
+import com.metao.book.order.infrastructure.persistence.mapper.OrderJournalMapper;
+import com.metao.book.shared.domain.financial.Money;
+import com.metao.book.shared.domain.product.ProductSku;
+import com.metao.book.shared.domain.product.ProductTitle;
+import com.metao.book.shared.domain.product.Quantity;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+@DisplayName("OrderEventStoreRepository")
+@ExtendWith(MockitoExtension.class)
+class OrderEventStoreRepositoryTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private OrderHistoryService orderHistoryService;
+
+    @Mock
+    private OrderSnapshotWriter orderSnapshotWriter;
+
+    private OrderEventStoreRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new OrderEventStoreRepository(jdbcTemplate, orderHistoryService, orderSnapshotWriter,
+            OrderAggregate.VAT);
+    }
+
+    @Test
+    @DisplayName("should append one event with the next sequence instead of updating the order")
+    void shouldAppendChangeWithNextSequence() {
+        OrderAggregate order = persistedOrder(7L);
+        order.updateStatus(OrderStatus.PAID);
+        when(jdbcTemplate.update(startsWith("INSERT INTO order_events"), any(), any(), any(), any(), any()))
+            .thenReturn(1);
+
+        repository.save(order);
+
+        verify(jdbcTemplate).update(startsWith("INSERT INTO order_events"), eq("order-1"), eq(8L),
+            eq(OrderEventStoreRepository.ORDER_CHANGED), any(), any());
+        verify(orderHistoryService).record(List.of(order));
+        verify(orderSnapshotWriter).saved(order);
+        assertThat(order.getVersion()).isEqualTo(8L);
+        assertThat(order.getPendingChanges().isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should fail when another save already appended the sequence")
+    void shouldFailWhenSequenceTaken() {
+        OrderAggregate order = persistedOrder(7L);
+        order.updateStatus(OrderStatus.PAID);
+        when(jdbcTemplate.update(startsWith("INSERT INTO order_events"), any(), any(), any(), any(), any()))
+            .thenReturn(0);
+
+        assertThatThrownBy(() -> repository.save(order))
+            .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(order.getVersion()).isEqualTo(7L);
+        verifyNoInteractions(orderHistoryService, orderSnapshotWriter);
+    }
+
+    @Test
+    @DisplayName("should rebuild the order from the latest snapshot and the events after it")
+    void shouldReplaySnapshotAndTail() {
+        OrderAggregate snapshotted = persistedOrder(50L);
+        byte[] snapshot = OrderJournalMapper.toState(snapshotted).toByteArray();
+
+        OrderAggregate changing = persistedOrder(50L);
+        changing.removeItem(ProductSku.of("SKU-2"));
+        changing.addItem(ProductSku.of("SKU-1"), ProductTitle.of("Book 1"), Quantity.of(BigDecimal.ONE),
+            Money.of(EUR, BigDecimal.TEN));
+        byte[] linesChanged = OrderJournalMapper.changed(changing).toByteArray();
+        changing.markPersisted(51L);
+        changing.updateStatus(OrderStatus.PAID);
+        byte[] statusChanged = OrderJournalMapper.changed(changing).toByteArray();
+
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            ResultSet rs = mock(ResultSet.class);
+            processRow(handler, rs, 50L, snapshot, true);
+            processRow(handler, rs, 51L, linesChanged, false);
+            processRow(handler, rs, 52L, statusChanged, false);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT sequence"), any(RowCallbackHandler.class), any(), any(), any());
+
+        OrderAggregate order = repository.findById(OrderId.of("order-1")).orElseThrow();
+
+        assertThat(order.getVersion()).isEqualTo(52L);
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(order.getUserId()).isEqualTo(UserId.of("user-1"));
+        assertThat(order.getItems()).singleElement().satisfies(item -> {
+            assertThat(item.getProductSku()).isEqualTo(ProductSku.of("SKU-1"));
+            assertThat(item.getQuantity().value()).isEqualByComparingTo("2");
+        });
+        assertThat(order.getUpdatedAt()).isEqualTo(changing.getUpdatedAt());
+        assertThat(order.getPendingChanges().isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should load the requested orders with one query in the requested order")
+    void shouldLoadRequestedOrdersInOneQuery() {
+        byte[] first = OrderJournalMapper.toState(persistedOrder("order-1", 4L)).toByteArray();
+        byte[] second = OrderJournalMapper.toState(persistedOrder("order-2", 6L)).toByteArray();
+
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString("order_id")).thenReturn("order-1");
+            processRow(handler, rs, 4L, first, true);
+            when(rs.getString("order_id")).thenReturn("order-2");
+            processRow(handler, rs, 6L, second, true);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        List<OrderAggregate> orders = repository.findAllById(
+            List.of(OrderId.of("order-2"), OrderId.of("missing"), OrderId.of("order-1")));
+
+        assertThat(orders).extracting(order -> order.getId().value()).containsExactly("order-2", "order-1");
+        assertThat(orders).extracting(OrderAggregate::getVersion).containsExactly(6L, 4L);
+    }
+
+    @Test
+    @DisplayName("should report a missing order when it has no events")
+    void shouldReturnEmptyWithoutEvents() {
+        assertThat(repository.findById(OrderId.of("order-1"))).isEmpty();
+    }
+
+    private static void processRow(RowCallbackHandler handler, ResultSet rs, long sequence, byte[] payload,
+        boolean snapshot) throws Exception {
+        when(rs.getLong("sequence")).thenReturn(sequence);
+        when(rs.getBytes("payload")).thenReturn(payload);
+        when(rs.getBoolean("snapshot")).thenReturn(snapshot);
+        handler.processRow(rs);
+    }
+
+    private static OrderAggregate persistedOrder(long version) {
+        return persistedOrder("order-1", version);
+    }
+
+    private static OrderAggregate persistedOrder(String orderId, long version) {
+        OrderAggregate order = OrderAggregate.reconstitute(
+            OrderId.of(orderId),
+            UserId.of("user-1"),
+            List.of(
+                new OrderItem(ProductSku.of("SKU-1"), ProductTitle.of("Book 1"), Quantity.of(BigDecimal.ONE),
+                    Money.of(EUR, BigDecimal.TEN)),
+                new OrderItem(ProductSku.of("SKU-2"), ProductTitle.of("Book 2"), Quantity.of(BigDecimal.ONE),
+                    Money.of(EUR, BigDecimal.TEN))
+            ),
+            OrderStatus.CREATED,
+            Instant.parse("2026-04-01T10:15:30Z"),
+            Instant.parse("2026-04-01T10:15:30Z")
+        );
+        order.markPersisted(version);
+        return order;
+    }
+}
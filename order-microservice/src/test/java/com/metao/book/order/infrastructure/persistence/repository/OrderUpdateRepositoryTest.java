@@ -0,0 +1,121 @@
+package com.metao.book.order.infrastructure.persistence.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.entity.OrderItem;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import com.metao.book.order.domain.model.valueobject.OrderStatus;
+import com.metao.book.order.domain.model.valueobject.UserId;
+import com.metao.book.shared.domain.financial.Money;
+import com.metao.book.shared.domain.product.ProductSku;
+import com.metao.book.shared.domain.product.ProductTitle;
+import com.metao.book.shared.domain.product.Quantity;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+@DisplayName("OrderUpdateRepository")
+@ExtendWith(MockitoExtension.class)
+class OrderUpdateRepositoryTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private OrderItemIdAllocator orderItemIdAllocator;
+
+    private OrderUpdateRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new OrderUpdateRepository(jdbcTemplate, orderItemIdAllocator);
+    }
+
+    @Test
+    @DisplayName("should write a payment status transition with a single versioned update")
+    void shouldWriteStatusTransitionWithOneStatement() {
+        OrderAggregate order = persistedOrder(7L);
+        order.updateStatus(OrderStatus.PAID);
+        when(jdbcTemplate.update(startsWith("UPDATE orders"), any(), any(), any(), any())).thenReturn(1);
+
+        long version = repository.update(order);
+
+        verify(jdbcTemplate).update(startsWith("UPDATE orders"), eq("PAID"), any(), eq(order.getId().value()), eq(7L));
+        verifyNoMoreInteractions(jdbcTemplate);
+        assertThat(version).isEqualTo(8L);
+    }
+
+    @Test
+    @DisplayName("should delete, update and insert only the lines that changed")
+    void shouldWriteOnlyChangedLines() {
+        OrderAggregate order = persistedOrder(1L);
+        order.removeItem(ProductSku.of("SKU-2"));
+        order.addItem(ProductSku.of("SKU-1"), ProductTitle.of("Book 1"), Quantity.of(BigDecimal.ONE),
+            Money.of(EUR, BigDecimal.TEN));
+        order.addItem(ProductSku.of("SKU-3"), ProductTitle.of("Book 3"), Quantity.of(BigDecimal.ONE),
+            Money.of(EUR, BigDecimal.TEN));
+        when(jdbcTemplate.update(startsWith("UPDATE orders"), any(), any(), any(), any())).thenReturn(1);
+        when(orderItemIdAllocator.allocate(1)).thenReturn(new Long[]{100L});
+
+        repository.update(order);
+
+        var statements = inOrder(jdbcTemplate);
+        statements.verify(jdbcTemplate).update(startsWith("UPDATE orders"), any(), any(), any(), any());
+        statements.verify(jdbcTemplate).batchUpdate(startsWith("DELETE FROM order_items"), anyList());
+        statements.verify(jdbcTemplate).batchUpdate(startsWith("UPDATE order_items"), anyList());
+        statements.verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO order_items"), anyList());
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("should fail without touching lines when the stored version moved on")
+    void shouldFailOnVersionMismatch() {
+        OrderAggregate order = persistedOrder(1L);
+        order.removeItem(ProductSku.of("SKU-2"));
+        when(jdbcTemplate.update(startsWith("UPDATE orders"), any(), any(), any(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> repository.update(order))
+            .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(jdbcTemplate).update(startsWith("UPDATE orders"), any(), any(), any(), any());
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    private static OrderAggregate persistedOrder(long version) {
+        OrderAggregate order = OrderAggregate.reconstitute(
+            OrderId.of("order-1"),
+            UserId.of("user-1"),
+            List.of(
+                new OrderItem(ProductSku.of("SKU-1"), ProductTitle.of("Book 1"), Quantity.of(BigDecimal.ONE),
+                    Money.of(EUR, BigDecimal.TEN)),
+                new OrderItem(ProductSku.of("SKU-2"), ProductTitle.of("Book 2"), Quantity.of(BigDecimal.ONE),
+                    Money.of(EUR, BigDecimal.TEN))
+            ),
+            OrderStatus.CREATED,
+            Instant.parse("2026-04-01T10:15:30Z"),
+            Instant.parse("2026-04-01T10:15:30Z")
+        );
+        order.markPersisted(version);
+        return order;
+    }
+}
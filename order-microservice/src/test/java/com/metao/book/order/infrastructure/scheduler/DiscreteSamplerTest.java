@@ -0,0 +1,50 @@
+package com.metao.book.order.infrastructure.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("DiscreteSampler")
+class DiscreteSamplerTest {
+
+    @Test
+    @DisplayName("should draw the first Zipf rank about twice as often as the second")
+    void shouldSkewTowardsFirstRanks() {
+        DiscreteSampler sampler = DiscreteSampler.zipf(1000, 1.0);
+        Random random = new Random(1);
+        int[] counts = new int[sampler.size()];
+
+        for (int i = 0; i < 100_000; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        assertThat((double) counts[0] / counts[1]).isBetween(1.8, 2.2);
+        assertThat(counts[0]).isGreaterThan(counts[999] * 100);
+    }
+
+    @Test
+    @DisplayName("should never draw an index with zero weight")
+    void shouldSkipZeroWeights() {
+        DiscreteSampler sampler = DiscreteSampler.weighted(List.of(0, 3, 0, 1, 0));
+        Random random = new Random(1);
+        int[] counts = new int[sampler.size()];
+
+        for (int i = 0; i < 10_000; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        assertThat(counts[0] + counts[2] + counts[4]).isZero();
+        assertThat((double) counts[1] / counts[3]).isBetween(2.7, 3.3);
+    }
+
+    @Test
+    @DisplayName("should reject weights that are all zero")
+    void shouldRejectAllZeroWeights() {
+        assertThatThrownBy(() -> DiscreteSampler.weighted(List.of(0, 0)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
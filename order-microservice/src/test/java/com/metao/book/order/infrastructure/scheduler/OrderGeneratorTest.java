@@ -0,0 +1,121 @@
+package com.metao.book.order.infrastructure.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.Message;
+import com.metao.book.order.application.cart.ShoppingCartService;
+import com.metao.book.order.domain.service.OrderManagementService;
+import com.metao.book.order.infrastructure.scheduler.OrderGeneratorProperties.Mode;
+import com.metao.book.order.infrastructure.scheduler.ProductCatalogClient.CatalogProduct;
+import com.metao.book.shared.OrderCreatedEvent;
+import com.metao.kafka.KafkaEventHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+@DisplayName("OrderGenerator")
+@ExtendWith(MockitoExtension.class)
+class OrderGeneratorTest {
+
+    private static final List<CatalogProduct> CATALOG = IntStream.range(0, 50)
+        .mapToObj(i -> new CatalogProduct("SKU-" + i, "Book " + i, BigDecimal.TEN, "EUR"))
+        .toList();
+
+    @Mock
+    private KafkaEventHandler eventHandler;
+
+    @Mock
+    private KafkaTemplate<String, Message> kafkaTemplate;
+
+    @Mock
+    private ShoppingCartService shoppingCartService;
+
+    @Mock
+    private OrderManagementService orderManagementService;
+
+    @Mock
+    private ProductCatalogClient catalogClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("should fill baskets with distinct catalog products and rotate through the users")
+    void shouldBuildBasketsOfDistinctProducts() {
+        OrderGenerator generator = generator(properties(100, Duration.ofSeconds(1), List.of(0, 0, 1)));
+        DiscreteSampler products = DiscreteSampler.zipf(CATALOG.size(), 1.0);
+        Random random = new Random(7);
+
+        OrderCreatedEvent first = generator.nextOrder(0, CATALOG, products, random);
+        OrderCreatedEvent fourth = generator.nextOrder(3, CATALOG, products, random);
+
+        assertThat(first.getItemsList()).hasSize(3);
+        assertThat(first.getItemsList()).extracting(OrderCreatedEvent.OrderItem::getSku).doesNotHaveDuplicates();
+        assertThat(first.getUserId()).isEqualTo(fourth.getUserId()).isEqualTo("generated-user-0");
+        assertThat(first.getId()).isNotEqualTo(fourth.getId());
+    }
+
+    @Test
+    @DisplayName("should publish one event per scheduled arrival in event mode")
+    void shouldPublishEveryArrival() {
+        when(eventHandler.getKafkaTopic(OrderCreatedEvent.class)).thenReturn("order-created");
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        OrderGenerator generator = generator(properties(200, Duration.ofMillis(250), List.of(1)));
+
+        generator.generate(CATALOG);
+
+        verify(kafkaTemplate, times(50)).send(any(ProducerRecord.class));
+        verifyNoInteractions(shoppingCartService, orderManagementService);
+        assertThat(meterRegistry.get("order.generator.orders").tag("outcome", "succeeded").counter().count())
+            .isEqualTo(50);
+        assertThat(meterRegistry.get("order.generator.latency").timer().count()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("should give every cart-mode order a cart of its own")
+    void shouldUseOneUserPerCartOrder() {
+        OrderGenerator generator = generator(properties(Mode.CART, 100, Duration.ofSeconds(1), List.of(1)));
+        DiscreteSampler products = DiscreteSampler.zipf(CATALOG.size(), 1.0);
+        Random random = new Random(7);
+
+        List<String> users = IntStream.range(0, 10)
+            .mapToObj(arrival -> generator.nextOrder(arrival, CATALOG, products, random).getUserId())
+            .toList();
+
+        assertThat(users).doesNotHaveDuplicates().startsWith("generated-user-0", "generated-user-1");
+    }
+
+    private OrderGenerator generator(OrderGeneratorProperties properties) {
+        return new OrderGenerator(properties, eventHandler, kafkaTemplate, shoppingCartService,
+            orderManagementService, meterRegistry, catalogClient);
+    }
+
+    private static OrderGeneratorProperties properties(double rate, Duration duration, List<Integer> basketWeights) {
+        return properties(Mode.EVENT, rate, duration, basketWeights);
+    }
+
+    private static OrderGeneratorProperties properties(
+        Mode mode,
+        double rate,
+        Duration duration,
+        List<Integer> basketWeights
+    ) {
+        return new OrderGeneratorProperties(true, mode, rate, duration, Duration.ZERO, 3, basketWeights, 1.0,
+            "http://localhost:8083", 100, 42, 1000, Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,183 @@
+package com.metao.book.order.infrastructure.streams;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.Message;
+import com.metao.book.shared.InventoryReservationRequestedEvent;
+import com.metao.book.shared.InventoryReservationResultEvent;
+import com.metao.book.shared.OrderCreatedEvent;
+import com.metao.book.shared.OrderPaymentUpdatedEvent;
+import com.metao.book.shared.OrderStatusTransitionEvent;
+import com.metao.book.shared.Status;
+import io.confluent.kafka.streams.serdes.protobuf.KafkaProtobufSerde;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("OrderSagaTopology")
+class OrderSagaTopologyTest {
+
+    private static final Map<String, String> SERDE_CONFIG = Map.of("schema.registry.url", "mock://order-saga-test");
+    private static final OrderSagaTopics TOPICS = new OrderSagaTopics(
+        "order-created", "order-payment", "inventory-reservation-result", "inventory-reservation",
+        "order-status-transition");
+
+    @TempDir
+    Path stateDir;
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, OrderCreatedEvent> orderCreated;
+    private TestInputTopic<String, OrderPaymentUpdatedEvent> payments;
+    private TestInputTopic<String, InventoryReservationResultEvent> reservationResults;
+    private TestOutputTopic<String, OrderStatusTransitionEvent> transitions;
+    private TestOutputTopic<String, InventoryReservationRequestedEvent> reservationRequests;
+
+    @BeforeEach
+    void setUp() {
+        var builder = new StreamsBuilder();
+        OrderSagaTopology.build(builder, TOPICS, SERDE_CONFIG, Duration.ofDays(7));
+        var props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "order-saga-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+        driver = new TopologyTestDriver(builder.build(), props);
+
+        var keys = Serdes.String();
+        orderCreated = driver.createInputTopic(TOPICS.orderCreated(), keys.serializer(),
+            serde(OrderCreatedEvent.class).serializer());
+        payments = driver.createInputTopic(TOPICS.payment(), keys.serializer(),
+            serde(OrderPaymentUpdatedEvent.class).serializer());
+        reservationResults = driver.createInputTopic(TOPICS.reservationResult(), keys.serializer(),
+            serde(InventoryReservationResultEvent.class).serializer());
+        transitions = driver.createOutputTopic(TOPICS.statusTransition(), keys.deserializer(),
+            serde(OrderStatusTransitionEvent.class).deserializer());
+        reservationRequests = driver.createOutputTopic(TOPICS.reservationRequest(), keys.deserializer(),
+            serde(InventoryReservationRequestedEvent.class).deserializer());
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    @DisplayName("should mark a paid order and request the reservation of all of its lines")
+    void shouldPayOrderAndRequestReservation() {
+        orderCreated.pipeInput("event-1", order("order-1"));
+        payments.pipeInput("event-2", payment("order-1", Status.SUCCESSFUL));
+
+        var transition = transitions.readKeyValue();
+        assertThat(transition.key).isEqualTo("order-1");
+        assertThat(transition.value.getFromStatus()).isEqualTo("CREATED");
+        assertThat(transition.value.getToStatus()).isEqualTo("PAID");
+        assertThat(transition.value.getUserId()).isEqualTo("user-1");
+        var request = reservationRequests.readValue();
+        assertThat(request.getOrderId()).isEqualTo("order-1");
+        assertThat(request.getLinesList())
+            .extracting(InventoryReservationRequestedEvent.Line::getSku)
+            .containsExactly("SKU-1", "SKU-2");
+    }
+
+    @Test
+    @DisplayName("should apply a payment that arrives before its order once the order arrives")
+    void shouldApplyEarlyPayment() {
+        payments.pipeInput("event-1", payment("order-1", Status.SUCCESSFUL));
+
+        assertThat(transitions.isEmpty()).isTrue();
+
+        orderCreated.pipeInput("event-2", order("order-1"));
+
+        assertThat(transitions.readValue().getToStatus()).isEqualTo("PAID");
+        assertThat(reservationRequests.readValue().getLinesCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should ignore redelivered order and payment events")
+    void shouldIgnoreDuplicates() {
+        orderCreated.pipeInput("event-1", order("order-1"));
+        payments.pipeInput("event-2", payment("order-1", Status.SUCCESSFUL));
+        orderCreated.pipeInput("event-1", order("order-1"));
+        payments.pipeInput("event-2", payment("order-1", Status.SUCCESSFUL));
+
+        assertThat(transitions.readValuesToList()).hasSize(1);
+        assertThat(reservationRequests.readValuesToList()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("should fail the order without reserving stock when the payment failed")
+    void shouldFailOrderOnFailedPayment() {
+        orderCreated.pipeInput("event-1", order("order-1"));
+        payments.pipeInput("event-2", payment("order-1", Status.FAILED));
+
+        assertThat(transitions.readValue().getToStatus()).isEqualTo("PAYMENT_FAILED");
+        assertThat(reservationRequests.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should cancel a paid order when inventory reports a shortfall and keep it paid otherwise")
+    void shouldCancelOrderOnShortfall() {
+        orderCreated.pipeInput("event-1", order("order-1"));
+        orderCreated.pipeInput("event-2", order("order-2"));
+        payments.pipeInput("event-3", payment("order-1", Status.SUCCESSFUL));
+        payments.pipeInput("event-4", payment("order-2", Status.SUCCESSFUL));
+        transitions.readValuesToList();
+
+        reservationResults.pipeInput("event-5", InventoryReservationResultEvent.newBuilder()
+            .setOrderId("order-1")
+            .setReserved(false)
+            .addShortfalls(InventoryReservationResultEvent.Shortfall.newBuilder()
+                .setSku("SKU-2").setRequested(2).setAvailable(1))
+            .build());
+        reservationResults.pipeInput("event-6", InventoryReservationResultEvent.newBuilder()
+            .setOrderId("order-2")
+            .setReserved(true)
+            .build());
+
+        var cancelled = transitions.readValue();
+        assertThat(cancelled.getOrderId()).isEqualTo("order-1");
+        assertThat(cancelled.getFromStatus()).isEqualTo("PAID");
+        assertThat(cancelled.getToStatus()).isEqualTo("CANCELLED");
+        assertThat(cancelled.getReason()).contains("SKU-2");
+        assertThat(transitions.isEmpty()).isTrue();
+    }
+
+    private static OrderCreatedEvent order(String orderId) {
+        return OrderCreatedEvent.newBuilder()
+            .setId(orderId)
+            .setUserId("user-1")
+            .setStatus(OrderCreatedEvent.Status.CREATED)
+            .addItems(OrderCreatedEvent.OrderItem.newBuilder()
+                .setSku("SKU-1").setProductTitle("Book 1").setQuantity(1).setPrice(10).setCurrency("EUR"))
+            .addItems(OrderCreatedEvent.OrderItem.newBuilder()
+                .setSku("SKU-2").setProductTitle("Book 2").setQuantity(2).setPrice(5).setCurrency("EUR"))
+            .build();
+    }
+
+    private static OrderPaymentUpdatedEvent payment(String orderId, Status status) {
+        return OrderPaymentUpdatedEvent.newBuilder()
+            .setOrderId(orderId)
+            .setPaymentId("payment-" + orderId)
+            .setStatus(status)
+            .build();
+    }
+
+    private static <T extends Message> Serde<T> serde(Class<T> type) {
+        var serde = new KafkaProtobufSerde<>(type);
+        serde.configure(new HashMap<>(SERDE_CONFIG), false);
+        return serde;
+    }
+}
@@ -17,6 +17,7 @@ import com.metao.book.order.presentation.dto.OrderResponseDto;
 import com.metao.shared.test.KafkaContainer;
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Currency;
 import java.util.List;
 import java.util.Set;
@@ -65,6 +66,13 @@ class OrderIntegrationContainerIT extends KafkaContainer {
         return orderId;
     }
 
+    private List<OrderResponseDto> customerOrders(UserId userId) {
+        List<OrderResponseDto> orders = new ArrayList<>();
+        orderService.forEachCustomerOrderChunk(userId, 10,
+            chunk -> chunk.forEach(order -> orders.add(OrderResponseDto.fromDomain(order))));
+        return orders;
+    }
+
     private void awaitOrderPersisted(OrderId orderId) {
         await().atMost(Duration.ofSeconds(20))
             .pollInterval(Duration.ofMillis(300))
@@ -263,9 +271,7 @@ class OrderIntegrationContainerIT extends KafkaContainer {
             shoppingCartService.clearCart(userId.value());
             createOrderWithCartItems(userId, "product-2", "Book 2", BigDecimal.TWO, BigDecimal.valueOf(15));
 
-            List<OrderResponseDto> orders = orderService.getCustomerOrders(userId).stream()
-                .map(OrderResponseDto::fromDomain)
-                .toList();
+            List<OrderResponseDto> orders = customerOrders(userId);
 
             assertThat(orders).hasSize(2);
             assertThat(orders).allSatisfy(order -> assertThat(order.getUserId()).isEqualTo(userId.value()));
@@ -273,10 +279,7 @@ class OrderIntegrationContainerIT extends KafkaContainer {
 
         @Test
         void shouldReturnEmptyListForNonExistentCustomer() {
-            List<OrderResponseDto> orders = orderService.getCustomerOrders(UserId.of("nonExistentCustomer"))
-                .stream()
-                .map(OrderResponseDto::fromDomain)
-                .toList();
+            List<OrderResponseDto> orders = customerOrders(UserId.of("nonExistentCustomer"));
 
             assertThat(orders).isEmpty();
         }
@@ -293,9 +296,7 @@ class OrderIntegrationContainerIT extends KafkaContainer {
                 )
             );
 
-            List<OrderResponseDto> orders = orderService.getCustomerOrders(userId).stream()
-                .map(OrderResponseDto::fromDomain)
-                .toList();
+            List<OrderResponseDto> orders = customerOrders(userId);
 
             assertThat(orders).hasSize(1);
             assertThat(orders.getFirst().getTotal().fixedPointAmount()).isEqualByComparingTo(BigDecimal.valueOf(47.60));
@@ -311,9 +312,7 @@ class OrderIntegrationContainerIT extends KafkaContainer {
 
             orderService.updateOrderStatus(paidOrderId, OrderStatus.PAID.name());
 
-            List<OrderResponseDto> allOrders = orderService.getCustomerOrders(userId).stream()
-                .map(OrderResponseDto::fromDomain)
-                .toList();
+            List<OrderResponseDto> allOrders = customerOrders(userId);
 
             List<OrderResponseDto> paidOrders = allOrders.stream()
                 .filter(order -> OrderStatus.PAID.name().equals(order.getStatus()))
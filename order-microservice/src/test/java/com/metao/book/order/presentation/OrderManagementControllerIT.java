@@ -2,8 +2,11 @@ package com.metao.book.order.presentation;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
 
 import com.metao.book.order.application.cart.ShoppingCartItem;
 import com.metao.book.order.application.cart.ShoppingCartService;
@@ -28,6 +31,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 @ActiveProfiles("test")
@@ -52,11 +56,15 @@ class OrderManagementControllerIT extends KafkaContainer {
     @Autowired
     private ShoppingCartService shoppingCartService;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         RestAssured.port = port;
         RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
         springDataOrderRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM order_history");
         shoppingCartService.clearCart(USER_ID);
     }
 
@@ -122,7 +130,9 @@ class OrderManagementControllerIT extends KafkaContainer {
                 .get("/api/order/customer/{userId}", USER_ID)
                 .then()
                 .statusCode(HttpStatus.OK.value())
-                .body("$", hasSize(1));
+                .body("$", hasSize(1))
+                .body("[0].id", equalTo("order123"))
+                .body("[0].items", hasSize(0));
         }
 
         @Test
@@ -141,9 +151,61 @@ class OrderManagementControllerIT extends KafkaContainer {
                 .body("items", hasSize(1))
                 .body("offset", equalTo(0))
                 .body("limit", equalTo(1))
-                .body("total", equalTo(2))
                 .body("hasNext", equalTo(true))
-                .body("hasPrevious", equalTo(false));
+                .body("hasPrevious", equalTo(false))
+                .body("nextCursor", notNullValue())
+                .body("$", not(hasKey("total")));
+        }
+
+        @Test
+        @DisplayName("Should walk the paged customer orders with the returned cursor")
+        void shouldWalkPagedCustomerOrdersWithCursor() {
+            orderRepository.save(new OrderAggregate(new OrderId("order123"), UserId.of(USER_ID)));
+            orderRepository.save(new OrderAggregate(new OrderId("order124"), UserId.of(USER_ID)));
+
+            String cursor = given()
+                .queryParam("limit", 1)
+                .get("/api/order/customer/{userId}/paged", USER_ID)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("nextCursor", notNullValue())
+                .extract()
+                .path("nextCursor");
+
+            given()
+                .queryParam("limit", 1)
+                .queryParam("cursor", cursor)
+                .get("/api/order/customer/{userId}/paged", USER_ID)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("items", hasSize(1))
+                .body("items[0].id", equalTo("order123"))
+                .body("hasNext", equalTo(false))
+                .body("hasPrevious", equalTo(true));
+        }
+
+        @Test
+        @DisplayName("Should get a single order from the order history")
+        void shouldGetSingleOrder() {
+            orderRepository.save(new OrderAggregate(new OrderId("order123"), UserId.of(USER_ID)));
+
+            given()
+                .get("/api/order/{orderId}", "order123")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("id", equalTo("order123"))
+                .body("userId", equalTo(USER_ID))
+                .body("status", equalTo("CREATED"))
+                .body("itemCount", equalTo(0));
+        }
+
+        @Test
+        @DisplayName("Should return not found for an unknown order")
+        void shouldReturnNotFoundForUnknownOrder() {
+            given()
+                .get("/api/order/{orderId}", "missing-order")
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
         }
     }
 }
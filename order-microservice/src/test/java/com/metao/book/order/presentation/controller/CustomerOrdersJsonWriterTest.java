@@ -0,0 +1,88 @@
+package com.metao.book.order.presentation.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import com.metao.book.order.domain.model.valueobject.UserId;
+import com.metao.book.order.domain.service.OrderManagementService;
+import com.metao.book.shared.domain.financial.Money;
+import com.metao.book.shared.domain.financial.VAT;
+import com.metao.book.shared.domain.product.ProductSku;
+import com.metao.book.shared.domain.product.ProductTitle;
+import com.metao.book.shared.domain.product.Quantity;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+@DisplayName("CustomerOrdersJsonWriter")
+@ExtendWith(MockitoExtension.class)
+class CustomerOrdersJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private OrderManagementService orderService;
+
+    private CustomerOrdersJsonWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new CustomerOrdersJsonWriter(orderService, JsonMapper.builder().build());
+        ReflectionTestUtils.setField(writer, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("should write every chunk of orders with their items into one JSON array with the MVC field names")
+    void shouldWriteChunksAsJsonArray() throws Exception {
+        var out = new ByteArrayOutputStream();
+        doAnswer(invocation -> {
+            Consumer<List<OrderAggregate>> action = invocation.getArgument(2);
+            action.accept(List.of(order("order-3"), order("order-2")));
+            assertThat(objectMapper.readTree(out.toString() + "]").size()).isEqualTo(2);
+            action.accept(List.of(order("order-1")));
+            return null;
+        }).when(orderService).forEachCustomerOrderChunk(eq(UserId.of("user-1")), eq(2), any());
+
+        writer.write("user-1", out);
+
+        JsonNode orders = objectMapper.readTree(out.toByteArray());
+        assertThat(orders.isArray()).isTrue();
+        assertThat(orders.size()).isEqualTo(3);
+        assertThat(orders.get(0).get("id").asText()).isEqualTo("order-3");
+        assertThat(orders.get(0).get("userId").asText()).isEqualTo("user-1");
+        assertThat(orders.get(0).get("items").get(0).get("sku").asText()).isEqualTo("SKU-1");
+    }
+
+    @Test
+    @DisplayName("should write an empty array for a user without orders")
+    void shouldWriteEmptyArray() throws Exception {
+        var out = new ByteArrayOutputStream();
+
+        writer.write("user-1", out);
+
+        assertThat(objectMapper.readTree(out.toByteArray()).isEmpty()).isTrue();
+    }
+
+    private static OrderAggregate order(String orderId) {
+        var order = new OrderAggregate(OrderId.of(orderId), UserId.of("user-1"), new VAT(10));
+        order.addItem(ProductSku.of("SKU-1"), ProductTitle.of("Book"), Quantity.of(BigDecimal.ONE),
+            Money.of(Currency.getInstance("EUR"), BigDecimal.TEN));
+        return order;
+    }
+}
@@ -0,0 +1,103 @@
+package com.metao.book.order.presentation.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.metao.book.order.domain.model.aggregate.OrderAggregate;
+import com.metao.book.order.domain.model.valueobject.OrderId;
+import com.metao.book.order.domain.model.valueobject.OrderStatus;
+import com.metao.book.order.domain.model.valueobject.UserId;
+import com.metao.book.order.domain.repository.OrderRepository;
+import com.metao.book.order.infrastructure.status.OrderStatusSubscriptionRegistry;
+import com.metao.book.order.infrastructure.status.OrderStatusUpdate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@DisplayName("OrderStatusStreamController")
+@ExtendWith(MockitoExtension.class)
+class OrderStatusStreamControllerTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2026-04-01T10:15:30Z");
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderStatusSubscriptionRegistry subscriptions;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        subscriptions = new OrderStatusSubscriptionRegistry(Duration.ofMinutes(1), 2, meterRegistry);
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new OrderStatusStreamController(orderRepository, subscriptions))
+            .build();
+    }
+
+    @Test
+    @DisplayName("should send the current status and then push later changes")
+    void shouldStreamCurrentStatusAndChanges() throws Exception {
+        when(orderRepository.findById(OrderId.of("order-1"))).thenReturn(order("order-1", OrderStatus.CREATED));
+
+        MvcResult result = mockMvc.perform(get("/api/order/order-1/status/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        subscriptions.publish(new OrderStatusUpdate("order-1", OrderStatus.PAID, CREATED_AT.plusSeconds(1)));
+        subscriptions.publish(new OrderStatusUpdate("order-2", OrderStatus.CANCELLED, CREATED_AT.plusSeconds(1)));
+
+        String body = result.getResponse().getContentAsString();
+        assertThat(body).contains("event:status");
+        assertThat(body.indexOf("\"status\":\"CREATED\"")).isNotNegative()
+            .isLessThan(body.indexOf("\"status\":\"PAID\""));
+        assertThat(body).doesNotContain("CANCELLED");
+    }
+
+    @Test
+    @DisplayName("should close the stream once the order reached a final status")
+    void shouldCloseStreamOnFinalStatus() throws Exception {
+        when(orderRepository.findById(OrderId.of("order-1")))
+            .thenReturn(order("order-1", OrderStatus.PAYMENT_FAILED));
+
+        MvcResult result = mockMvc.perform(get("/api/order/order-1/status/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        subscriptions.publish(new OrderStatusUpdate("order-1", OrderStatus.PAID, CREATED_AT.plusSeconds(1)));
+
+        String body = result.getResponse().getContentAsString();
+        assertThat(body).contains("\"status\":\"PAYMENT_FAILED\"").doesNotContain("\"status\":\"PAID\"");
+    }
+
+    @Test
+    @DisplayName("should refuse new streams when the node is at capacity")
+    void shouldRefuseStreamsOverCapacity() throws Exception {
+        for (String orderId : new String[]{"order-1", "order-2"}) {
+            when(orderRepository.findById(OrderId.of(orderId))).thenReturn(order(orderId, OrderStatus.CREATED));
+            mockMvc.perform(get("/api/order/{orderId}/status/stream", orderId))
+                .andExpect(request().asyncStarted());
+        }
+
+        mockMvc.perform(get("/api/order/order-3/status/stream"))
+            .andExpect(status().isServiceUnavailable());
+        assertThat(meterRegistry.get("order.status.subscriptions").gauge().value()).isEqualTo(2.0);
+    }
+
+    private static Optional<OrderAggregate> order(String orderId, OrderStatus status) {
+        return Optional.of(OrderAggregate.reconstitute(OrderId.of(orderId), UserId.of("user-1"), List.of(), status,
+            CREATED_AT, CREATED_AT));
+    }
+}
@@ -0,0 +1,47 @@
+package com.metao.book.payment.application.mapper;
+
+import com.google.protobuf.Timestamp;
+import com.metao.book.payment.application.dto.PaymentDTO;
+import com.metao.book.shared.PaymentMessage;
+import java.time.Instant;
+
+/**
+ * Maps payment DTOs to their protobuf representation
+ */
+public final class PaymentMessageMapper {
+
+    private PaymentMessageMapper() {
+    }
+
+    public static PaymentMessage toMessage(PaymentDTO payment) {
+        var builder = PaymentMessage.newBuilder()
+            .setPaymentId(payment.paymentId())
+            .setOrderId(payment.orderId())
+            .setAmount(payment.amount().toPlainString())
+            .setCurrency(payment.currency().getCurrencyCode())
+            .setPaymentMethod(payment.paymentMethodType())
+            .setStatus(payment.status())
+            .setIsCompleted(payment.isCompleted())
+            .setIsSuccessful(payment.isSuccessful());
+        if (payment.paymentMethodDetails() != null) {
+            builder.setPaymentMethodDetails(payment.paymentMethodDetails());
+        }
+        if (payment.failureReason() != null) {
+            builder.setFailureReason(payment.failureReason());
+        }
+        if (payment.processedAt() != null) {
+            builder.setProcessedAt(toTimestamp(payment.processedAt()));
+        }
+        if (payment.createdAt() != null) {
+            builder.setCreatedAt(toTimestamp(payment.createdAt()));
+        }
+        return builder.build();
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return Timestamp.newBuilder()
+            .setSeconds(instant.getEpochSecond())
+            .setNanos(instant.getNano())
+            .build();
+    }
+}
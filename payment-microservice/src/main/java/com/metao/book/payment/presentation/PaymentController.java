@@ -1,9 +1,13 @@
 package com.metao.book.payment.presentation;
 
+import static com.metao.book.shared.config.ProtobufHttpAutoConfiguration.APPLICATION_PROTOBUF_VALUE;
+
 import com.metao.book.payment.application.dto.CreatePaymentCommand;
 import com.metao.book.payment.application.dto.PaymentDTO;
+import com.metao.book.payment.application.mapper.PaymentMessageMapper;
 import com.metao.book.payment.application.service.PaymentApplicationService;
 import com.metao.book.payment.domain.service.PaymentDomainService;
+import com.metao.book.shared.PaymentMessage;
 import io.micrometer.core.annotation.Timed;
 import io.micrometer.observation.annotation.Observed;
 import java.util.List;
@@ -96,6 +100,18 @@ public class PaymentController {
             .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Get payment by order ID as protobuf
+     */
+    @GetMapping(value = "/order/{orderId}", produces = APPLICATION_PROTOBUF_VALUE)
+    @Timed(value = "payment.api.get-by-order-id")
+    public ResponseEntity<PaymentMessage> getPaymentMessageByOrderId(@PathVariable String orderId) {
+        return paymentApplicationService.getPaymentByOrderId(orderId)
+            .map(PaymentMessageMapper::toMessage)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Get payments by status
      */
@@ -38,6 +38,8 @@ final class ConsoleSummaryPrinter {
             + ", failures=" + result.failures());
         System.out.println("workflowThroughput(rps)=" + String.format("%.2f", result.throughputRps()));
         System.out.println("errorRatePct=" + String.format("%.3f", result.errorRatePct()));
+        System.out.println("responseBytes=" + result.responseBytes()
+            + ", responseBytesPerSec=" + String.format("%.1f", result.responseBytesPerSec()));
         if (result.paceMissCount() > 0) {
             // Pace misses indicate the generator (or the target) couldn't
             // sustain the configured rate. Print only when nonzero so closed-
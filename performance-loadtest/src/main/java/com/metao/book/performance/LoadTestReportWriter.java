@@ -128,6 +128,7 @@ final class LoadTestReportWriter {
         payload.put("latencyMs", latencyMs);
         payload.put("stepLatencyMs", result.stepLatencyMs());
         payload.put("responseBytes", result.responseBytes());
+        payload.put("responseBytesPerSec", result.responseBytesPerSec());
         payload.put("paceMissCount", result.paceMissCount());
         payload.put("errors", result.errors());
         return payload;
@@ -191,6 +192,9 @@ final class LoadTestReportWriter {
             .append(", failures=").append(result.failures()).append(System.lineSeparator());
         summary.append("workflowThroughputRps=").append(String.format("%.2f", result.throughputRps())).append(System.lineSeparator());
         summary.append("errorRatePct=").append(String.format("%.3f", result.errorRatePct())).append(System.lineSeparator());
+        summary.append("responseBytes=").append(result.responseBytes())
+            .append(", responseBytesPerSec=").append(String.format("%.1f", result.responseBytesPerSec()))
+            .append(System.lineSeparator());
         if (result.paceMissCount() > 0) {
             summary.append("paceMissCount=").append(result.paceMissCount()).append(System.lineSeparator());
         }
@@ -78,4 +78,10 @@ record LoadTestResult(
             Collections.unmodifiableMap(new LinkedHashMap<>(errorSnapshot))
         );
     }
+
+    // Response bytes per second of wall-clock run time, to compare payload
+    // shapes (e.g. sparse fieldsets) at equal load.
+    double responseBytesPerSec() {
+        return responseBytes * 1000.0 / Math.max(1, durationMs);
+    }
 }
@@ -69,5 +69,7 @@ class LoadTestReportWriterTest {
         assertTrue(Files.exists(artifacts.textReport()));
         assertTrue(Files.readString(artifacts.jsonReport()).contains("\"label\" : \"inventory-category-page\""));
         assertTrue(Files.readString(artifacts.textReport()).contains("thresholds=passed"));
+        assertTrue(Files.readString(artifacts.jsonReport()).contains("\"responseBytesPerSec\" : 3333.3"));
+        assertTrue(Files.readString(artifacts.textReport()).contains("responseBytesPerSec=3333.3"));
     }
 }
@@ -0,0 +1,80 @@
+package com.metao.book.shared.application.admission;
+
+import com.metao.book.shared.application.admission.AdmissionQueue.Decision;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Puts {@code POST} requests through the {@link AdmissionQueue} so that load above what the service sustains is
+ * turned away at the door instead of queueing for a database connection.
+ * <p>
+ * A request that finds no free slot is held for up to {@code maxHold} in case one frees up. If it is still not admitted
+ * it gets a 503 with {@code Retry-After}. When it was given a place in the waiting room the response also carries its
+ * {@code Queue-Token} and {@code Queue-Position}; retrying with the {@code Queue-Token} header keeps that place.
+ */
+@Slf4j
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    public static final String QUEUE_TOKEN_HEADER = "Queue-Token";
+    public static final String QUEUE_POSITION_HEADER = "Queue-Position";
+
+    private final AdmissionQueue queue;
+    private final Duration maxHold;
+
+    public AdmissionFilter(AdmissionQueue queue, Duration maxHold) {
+        this.queue = queue;
+        this.maxHold = maxHold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        Decision decision = queue.tryAdmit(request.getHeader(QUEUE_TOKEN_HEADER), maxHold);
+        if (!decision.admitted()) {
+            turnAway(decision, response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            queue.release(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private static void turnAway(Decision decision, HttpServletResponse response) throws IOException {
+        long retryAfter = decision.retryAfter().toSeconds();
+        String body;
+        if (decision.outcome() == Decision.Outcome.QUEUED) {
+            response.setHeader(QUEUE_TOKEN_HEADER, decision.token());
+            response.setHeader(QUEUE_POSITION_HEADER, String.valueOf(decision.position()));
+            body = "{\"status\":\"queued\",\"token\":\"" + decision.token() + "\",\"position\":"
+                + decision.position() + ",\"retryAfterSeconds\":" + retryAfter + "}";
+        } else {
+            body = "{\"status\":\"rejected\",\"retryAfterSeconds\":" + retryAfter + "}";
+            log.debug("Waiting room is full, rejected request");
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+}
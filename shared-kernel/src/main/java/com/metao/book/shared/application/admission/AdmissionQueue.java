@@ -0,0 +1,341 @@
+package com.metao.book.shared.application.admission;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control in front of endpoints that hold a database connection for the whole request.
+ * <p>
+ * At most {@link #limit()} admitted requests run at once. The limit adapts to what the service below actually
+ * sustains: every adjust interval it grows by one when the window ran at the limit with a mean latency within the
+ * target, and shrinks by a tenth when the mean latency went above it. The limit divided by the smoothed mean latency
+ * gives the admission rate the service sustains, which is used to tell waiting clients when to come back.
+ * <p>
+ * A request that finds no free slot gets a place in the waiting room and may be held for a short while, about one
+ * request latency, in case a slot frees up. If none does it gets a queue token and its position and is expected to
+ * retry with the token; it is admitted once the clients ahead of it have been admitted or gave up and a slot is free.
+ * A request without a token does not overtake a waiting one, unless a free slot was left unclaimed by the waiting
+ * clients for longer than the claim grace period. When the waiting room is full the request is rejected outright,
+ * and a token whose holder does not return within the token TTL loses its place.
+ */
+public class AdmissionQueue {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double LATENCY_SMOOTHING = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final Duration targetLatency;
+    private final Duration adjustInterval;
+    private final int maxWaiting;
+    private final Duration tokenTtl;
+    private final Duration claimGrace;
+    private final Duration maxRetryAfter;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+    private final Map<String, Ticket> tickets = new HashMap<>();
+    private final TreeMap<Long, Ticket> line = new TreeMap<>();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private long nextTicket;
+    private int limit;
+    private int inFlight;
+    private double meanLatencyNanos;
+    private Instant unclaimedSince;
+    private Instant windowStart;
+    private Instant lastSweep;
+    private int windowCompleted;
+    private long windowLatencyNanos;
+    private int windowPeakInFlight;
+
+    public AdmissionQueue(
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        Duration targetLatency,
+        Duration adjustInterval,
+        int maxWaiting,
+        Duration tokenTtl,
+        Duration claimGrace,
+        Duration maxRetryAfter,
+        Clock clock
+    ) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Admission limits must satisfy 0 < min <= initial <= max: "
+                + minLimit + ", " + initialLimit + ", " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatency = targetLatency;
+        this.adjustInterval = adjustInterval;
+        this.maxWaiting = maxWaiting;
+        this.tokenTtl = tokenTtl;
+        this.claimGrace = claimGrace;
+        this.maxRetryAfter = maxRetryAfter;
+        this.clock = clock;
+        this.limit = initialLimit;
+        this.meanLatencyNanos = Math.max(1, targetLatency.toNanos());
+        this.windowStart = clock.instant();
+        this.lastSweep = windowStart;
+    }
+
+    /**
+     * Admits the request, or places it in the waiting room without holding it. {@code token} is the queue token from
+     * an earlier attempt, or {@code null}. An admitted request must be followed by exactly one
+     * {@link #release(Duration)}.
+     */
+    public Decision tryAdmit(String token) {
+        return tryAdmit(token, Duration.ZERO);
+    }
+
+    /**
+     * Like {@link #tryAdmit(String)}, but a request that would be queued waits up to {@code maxHold} for its turn
+     * before it is answered.
+     */
+    public Decision tryAdmit(String token, Duration maxHold) {
+        long remainingNanos = maxHold.toNanos();
+        lock.lock();
+        try {
+            Instant now = clock.instant();
+            adjust(now);
+            sweep(now);
+            Ticket ticket = token != null ? tickets.get(token) : null;
+            if (ticket == null) {
+                if (free() > 0 && (line.isEmpty() || unclaimedFor(now).compareTo(claimGrace) >= 0)) {
+                    return admit(now);
+                }
+                if (line.size() >= maxWaiting) {
+                    rejected.increment();
+                    return Decision.rejected(retryAfter(line.size()));
+                }
+                ticket = new Ticket(UUID.randomUUID().toString(), nextTicket++);
+                tickets.put(ticket.token, ticket);
+                line.put(ticket.number, ticket);
+                noteUnclaimed(now);
+            }
+            while (true) {
+                int position = line.headMap(ticket.number).size();
+                if (position < free()) {
+                    line.remove(ticket.number);
+                    tickets.remove(ticket.token);
+                    unclaimedSince = null;
+                    return admit(now);
+                }
+                ticket.lastSeen = now;
+                if (remainingNanos <= 0) {
+                    queued.increment();
+                    return Decision.queued(ticket.token, position, retryAfter(position));
+                }
+                try {
+                    remainingNanos = slotFreed.awaitNanos(remainingNanos);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    remainingNanos = 0;
+                }
+                now = clock.instant();
+                adjust(now);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees the slot of an admitted request that took {@code latency} to complete.
+     */
+    public void release(Duration latency) {
+        lock.lock();
+        try {
+            Instant now = clock.instant();
+            inFlight--;
+            windowCompleted++;
+            windowLatencyNanos += latency.toNanos();
+            adjust(now);
+            noteUnclaimed(now);
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int waiting() {
+        lock.lock();
+        try {
+            return line.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Admissions per second the current limit sustains at the smoothed mean latency.
+     */
+    public double admissionRate() {
+        lock.lock();
+        try {
+            return capacity();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long admittedCount() {
+        return admitted.sum();
+    }
+
+    public long queuedCount() {
+        return queued.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    private int free() {
+        return limit - inFlight;
+    }
+
+    private double capacity() {
+        return limit * 1_000_000_000.0 / meanLatencyNanos;
+    }
+
+    private Decision admit(Instant now) {
+        inFlight++;
+        windowPeakInFlight = Math.max(windowPeakInFlight, inFlight);
+        admitted.increment();
+        noteUnclaimed(now);
+        return Decision.ADMITTED;
+    }
+
+    /**
+     * Remembers since when a slot has been free while clients are waiting, so newcomers can take it after the claim
+     * grace period.
+     */
+    private void noteUnclaimed(Instant now) {
+        if (free() <= 0 || line.isEmpty()) {
+            unclaimedSince = null;
+        } else if (unclaimedSince == null) {
+            unclaimedSince = now;
+        }
+    }
+
+    private Duration unclaimedFor(Instant now) {
+        return unclaimedSince == null ? Duration.ZERO : Duration.between(unclaimedSince, now);
+    }
+
+    private void adjust(Instant now) {
+        Duration elapsed = Duration.between(windowStart, now);
+        if (elapsed.compareTo(adjustInterval) < 0) {
+            return;
+        }
+        if (windowCompleted > 0) {
+            long windowMeanNanos = windowLatencyNanos / windowCompleted;
+            if (windowMeanNanos > targetLatency.toNanos()) {
+                limit = Math.max(minLimit, (int) (limit * BACKOFF_RATIO));
+            } else if (windowPeakInFlight >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+                slotFreed.signalAll();
+            }
+            meanLatencyNanos = Math.max(1,
+                LATENCY_SMOOTHING * windowMeanNanos + (1 - LATENCY_SMOOTHING) * meanLatencyNanos);
+        }
+        windowStart = now;
+        windowCompleted = 0;
+        windowLatencyNanos = 0;
+        windowPeakInFlight = inFlight;
+        noteUnclaimed(now);
+    }
+
+    private void sweep(Instant now) {
+        if (Duration.between(lastSweep, now).compareTo(Duration.ofSeconds(1)) < 0) {
+            return;
+        }
+        lastSweep = now;
+        Instant expiredBefore = now.minus(tokenTtl);
+        Iterator<Ticket> waiting = line.values().iterator();
+        while (waiting.hasNext()) {
+            Ticket ticket = waiting.next();
+            if (ticket.lastSeen.isBefore(expiredBefore)) {
+                waiting.remove();
+                tickets.remove(ticket.token);
+            }
+        }
+        noteUnclaimed(now);
+    }
+
+    private Duration retryAfter(int ahead) {
+        long seconds = (long) Math.ceil((ahead + 1) / Math.max(capacity(), 0.01));
+        return Duration.ofSeconds(Math.clamp(seconds, 1, Math.max(1, maxRetryAfter.toSeconds())));
+    }
+
+    private final class Ticket {
+
+        private final String token;
+        private final long number;
+        private Instant lastSeen;
+
+        private Ticket(String token, long number) {
+            this.token = token;
+            this.number = number;
+            this.lastSeen = clock.instant();
+        }
+    }
+
+    /**
+     * Outcome of {@link #tryAdmit(String)}. {@code token} and {@code position} are only set for a queued request;
+     * {@code position} counts the clients waiting ahead of it.
+     */
+    public record Decision(Outcome outcome, String token, int position, Duration retryAfter) {
+
+        static final Decision ADMITTED = new Decision(Outcome.ADMITTED, null, 0, Duration.ZERO);
+
+        static Decision queued(String token, int position, Duration retryAfter) {
+            return new Decision(Outcome.QUEUED, token, position, retryAfter);
+        }
+
+        static Decision rejected(Duration retryAfter) {
+            return new Decision(Outcome.REJECTED, null, 0, retryAfter);
+        }
+
+        public boolean admitted() {
+            return outcome == Outcome.ADMITTED;
+        }
+
+        public enum Outcome {
+            ADMITTED,
+            QUEUED,
+            REJECTED
+        }
+    }
+}
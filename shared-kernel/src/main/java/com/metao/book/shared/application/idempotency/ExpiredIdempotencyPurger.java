@@ -0,0 +1,38 @@
+package com.metao.book.shared.application.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes expired responses from the {@link IdempotencyStore} on its own daemon thread, so services do not need
+ * scheduling enabled to use the filter.
+ */
+@Slf4j
+public class ExpiredIdempotencyPurger implements AutoCloseable {
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "idempotency-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ExpiredIdempotencyPurger(IdempotencyStore store, Duration interval, Clock clock) {
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                int deleted = store.deleteExpired(clock.instant());
+                log.debug("Deleted {} expired idempotent responses", deleted);
+            } catch (RuntimeException ex) {
+                log.warn("Failed to delete expired idempotent responses", ex);
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,286 @@
+package com.metao.book.shared.application.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Makes {@code POST} requests carrying an {@code Idempotency-Key} header safe to retry.
+ * <p>
+ * The first request with a key runs normally and its response is stored with a fingerprint of the method, path,
+ * query and body. A later request with the same key is answered from the store, marked with
+ * {@code Idempotent-Replayed: true}, after a single lookup by key. A request that reuses a key with another
+ * fingerprint is rejected with 422.
+ * <p>
+ * Duplicates that arrive while the first request is still running wait for it in this instance and reuse its
+ * response without touching the store. Server errors are not stored, so they are retried, and a waiting duplicate
+ * whose first request failed that way runs the request itself. Duplicates on different instances are not
+ * serialized; the store keeps the first stored response.
+ * <p>
+ * The response reaches the client before it is stored. A failed save is logged and counted but does not fail the
+ * request, whose side effects have already happened; a retry with the key then runs the request again.
+ */
+@Slf4j
+public class IdempotencyKeyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Clock clock;
+    private final ConcurrentMap<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder saveFailures = new LongAdder();
+
+    public IdempotencyKeyFilter(IdempotencyStore store, Duration ttl, Duration waitTimeout, Clock clock) {
+        this.store = store;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.clock = clock;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).strip();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(),
+                IDEMPOTENCY_KEY_HEADER + " must have 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        var cachedRequest = new CachedBodyRequest(request, request.getInputStream().readAllBytes());
+        String fingerprint = fingerprint(cachedRequest);
+
+        while (true) {
+            var flight = new CompletableFuture<IdempotentResponse>();
+            var running = inFlight.putIfAbsent(key, flight);
+            if (running == null) {
+                try {
+                    lead(key, fingerprint, cachedRequest, response, chain, flight);
+                } finally {
+                    inFlight.remove(key, flight);
+                }
+                return;
+            }
+            IdempotentResponse completed = await(running, response);
+            if (completed != null) {
+                respond(completed, fingerprint, response);
+                return;
+            }
+            if (response.isCommitted()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Responses that could not be stored since startup.
+     */
+    public long saveFailureCount() {
+        return saveFailures.sum();
+    }
+
+    private void lead(
+        String key,
+        String fingerprint,
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain chain,
+        CompletableFuture<IdempotentResponse> flight
+    ) throws ServletException, IOException {
+        IdempotentResponse stored = null;
+        try {
+            Instant now = clock.instant();
+            stored = store.find(key, now).orElse(null);
+            if (stored != null) {
+                respond(stored, fingerprint, response);
+                return;
+            }
+            var cachingResponse = new ContentCachingResponseWrapper(response);
+            chain.doFilter(request, cachingResponse);
+            if (cachingResponse.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                stored = new IdempotentResponse(
+                    fingerprint,
+                    cachingResponse.getStatus(),
+                    cachingResponse.getContentType(),
+                    cachingResponse.getHeader(HttpHeaders.LOCATION),
+                    cachingResponse.getContentAsByteArray(),
+                    now.plus(ttl)
+                );
+            }
+            cachingResponse.copyBodyToResponse();
+            if (stored != null) {
+                save(key, stored, now);
+            }
+        } finally {
+            flight.complete(stored);
+        }
+    }
+
+    private void save(String key, IdempotentResponse response, Instant now) {
+        try {
+            store.save(key, response, now);
+        } catch (RuntimeException ex) {
+            saveFailures.increment();
+            log.warn("Could not store the response for an {}, a retry will run the request again",
+                IDEMPOTENCY_KEY_HEADER, ex);
+        }
+    }
+
+    /**
+     * Waits for the running request with the same key and returns its response, or {@code null} when it did not
+     * produce one worth replaying. Answers 409 and returns {@code null} when it does not finish in time.
+     */
+    private IdempotentResponse await(CompletableFuture<IdempotentResponse> running, HttpServletResponse response)
+        throws IOException {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + IDEMPOTENCY_KEY_HEADER
+                + " is still in progress");
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a request with the same " + IDEMPOTENCY_KEY_HEADER,
+                ex);
+        } catch (ExecutionException ex) {
+            return null;
+        }
+    }
+
+    private static void respond(IdempotentResponse stored, String fingerprint, HttpServletResponse response)
+        throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), IDEMPOTENCY_KEY_HEADER
+                + " was already used for a different request");
+            return;
+        }
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+        log.debug("Replayed stored response with status {}", stored.status());
+    }
+
+    private static String fingerprint(CachedBodyRequest request) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(request.body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Request whose body was read up front for the fingerprint and can be read again by the handler.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The whole body is already in memory, so it is available and read right away.
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException | RuntimeException ex) {
+                        readListener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.metao.book.shared.application.idempotency;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Stores the completed response of a request made with an {@code Idempotency-Key} header, so a retry with the same
+ * key is answered from the store instead of running the request again.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Returns the response stored for the key, unless it expired at {@code now}.
+     */
+    Optional<IdempotentResponse> find(String key, Instant now);
+
+    /**
+     * Stores the response for the key. A response that is already stored and not yet expired is kept.
+     */
+    void save(String key, IdempotentResponse response, Instant now);
+
+    /**
+     * Deletes the responses that expired at {@code now} and returns how many were deleted.
+     */
+    int deleteExpired(Instant now);
+}
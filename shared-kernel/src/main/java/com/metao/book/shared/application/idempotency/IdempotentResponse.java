@@ -0,0 +1,24 @@
+package com.metao.book.shared.application.idempotency;
+
+import java.time.Instant;
+
+/**
+ * A completed response kept for replay.
+ *
+ * @param fingerprint SHA-256 of the request that produced the response; a retry with another fingerprint is rejected
+ * @param status      HTTP status code
+ * @param contentType {@code Content-Type} header, or {@code null}
+ * @param location    {@code Location} header, or {@code null}
+ * @param body        response body, empty when there was none
+ * @param expiresAt   when the key may be used for a new request again
+ */
+public record IdempotentResponse(
+    String fingerprint,
+    int status,
+    String contentType,
+    String location,
+    byte[] body,
+    Instant expiresAt
+) {
+
+}
@@ -0,0 +1,82 @@
+package com.metao.book.shared.application.idempotency;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * {@link IdempotencyStore} on the {@code idempotency_response} table each service creates in its own schema.
+ * <p>
+ * A replay costs one primary-key lookup. Expired rows are ignored by the lookup and overwritten by the next request
+ * with the same key, so {@link #deleteExpired} only keeps the table small.
+ */
+@RequiredArgsConstructor
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final String FIND_SQL = """
+        SELECT fingerprint, status, content_type, location, body, expires_at
+        FROM idempotency_response
+        WHERE idempotency_key = ? AND expires_at > ?
+        """;
+
+    private static final String SAVE_SQL = """
+        INSERT INTO idempotency_response (idempotency_key, fingerprint, status, content_type, location, body, expires_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (idempotency_key) DO UPDATE
+        SET fingerprint = EXCLUDED.fingerprint,
+            status = EXCLUDED.status,
+            content_type = EXCLUDED.content_type,
+            location = EXCLUDED.location,
+            body = EXCLUDED.body,
+            expires_at = EXCLUDED.expires_at
+        WHERE idempotency_response.expires_at <= ?
+        """;
+
+    private static final String DELETE_EXPIRED_SQL = """
+        DELETE FROM idempotency_response WHERE expires_at <= ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<IdempotentResponse> find(String key, Instant now) {
+        return jdbcTemplate.query(FIND_SQL, JdbcIdempotencyStore::mapResponse, key, Timestamp.from(now))
+            .stream()
+            .findFirst();
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response, Instant now) {
+        jdbcTemplate.update(
+            SAVE_SQL,
+            key,
+            response.fingerprint(),
+            response.status(),
+            response.contentType(),
+            response.location(),
+            response.body(),
+            Timestamp.from(response.expiresAt()),
+            Timestamp.from(now)
+        );
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, Timestamp.from(now));
+    }
+
+    private static IdempotentResponse mapResponse(ResultSet rs, int rowNum) throws SQLException {
+        return new IdempotentResponse(
+            rs.getString("fingerprint"),
+            rs.getInt("status"),
+            rs.getString("content_type"),
+            rs.getString("location"),
+            rs.getBytes("body"),
+            rs.getTimestamp("expires_at").toInstant()
+        );
+    }
+}
@@ -0,0 +1,86 @@
+package com.metao.book.shared.config;
+
+import com.metao.book.shared.application.admission.AdmissionFilter;
+import com.metao.book.shared.application.admission.AdmissionQueue;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link AdmissionFilter} for the URL patterns in {@link AdmissionProperties}. It runs after the
+ * security filters and before the {@code Idempotency-Key} filter, so turned-away requests never reach the database.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "app.admission", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionAutoConfiguration {
+
+    @Bean
+    public AdmissionQueue admissionQueue(AdmissionProperties properties) {
+        return new AdmissionQueue(
+            properties.getInitialLimit(),
+            properties.getMinLimit(),
+            properties.getMaxLimit(),
+            properties.getTargetLatency(),
+            properties.getAdjustInterval(),
+            properties.getMaxWaiting(),
+            properties.getTokenTtl(),
+            properties.getClaimGrace(),
+            properties.getMaxRetryAfter(),
+            Clock.systemUTC()
+        );
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(
+        AdmissionQueue admissionQueue,
+        AdmissionProperties properties
+    ) {
+        var registration = new FilterRegistrationBean<>(new AdmissionFilter(admissionQueue, properties.getMaxHold()));
+        registration.setUrlPatterns(properties.getUrlPatterns());
+        registration.setOrder(0);
+        return registration;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class AdmissionMetricsConfiguration {
+
+        @Bean
+        MeterBinder admissionMeterBinder(AdmissionQueue queue) {
+            return registry -> {
+                Gauge.builder("admission.limit", queue, AdmissionQueue::limit)
+                    .description("Requests admitted to run at once")
+                    .register(registry);
+                Gauge.builder("admission.in.flight", queue, AdmissionQueue::inFlight)
+                    .description("Admitted requests still running")
+                    .register(registry);
+                Gauge.builder("admission.waiting", queue, AdmissionQueue::waiting)
+                    .description("Clients holding a place in the waiting room")
+                    .register(registry);
+                Gauge.builder("admission.rate", queue, AdmissionQueue::admissionRate)
+                    .description("Admissions per second the limit sustains at the measured latency")
+                    .register(registry);
+                FunctionCounter.builder("admission.decisions", queue, AdmissionQueue::admittedCount)
+                    .tag("outcome", "admitted")
+                    .register(registry);
+                FunctionCounter.builder("admission.decisions", queue, AdmissionQueue::queuedCount)
+                    .tag("outcome", "queued")
+                    .register(registry);
+                FunctionCounter.builder("admission.decisions", queue, AdmissionQueue::rejectedCount)
+                    .tag("outcome", "rejected")
+                    .register(registry);
+            };
+        }
+    }
+}
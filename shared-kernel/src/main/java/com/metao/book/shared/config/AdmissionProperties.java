@@ -0,0 +1,156 @@
+package com.metao.book.shared.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the shared admission filter, bound under {@code app.admission}.
+ *
+ * <pre>
+ * app:
+ *   admission:
+ *     enabled: true
+ *     url-patterns:
+ *       - /payments
+ *     target-latency: 500ms
+ * </pre>
+ *
+ * <p>Set {@code max-limit} around the connection pool size: a request admitted beyond it only waits for a connection.
+ */
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+
+    /** Whether the filter is registered at all. */
+    private boolean enabled;
+
+    /** Servlet URL patterns the filter applies to; only {@code POST} requests are admitted through it. */
+    private List<String> urlPatterns = new ArrayList<>(List.of("/*"));
+
+    /** Concurrent requests admitted at start-up, before any latency was measured. */
+    private int initialLimit = 10;
+
+    /** Lowest concurrency the limit backs off to. */
+    private int minLimit = 1;
+
+    /** Highest concurrency the limit grows to. */
+    private int maxLimit = 20;
+
+    /** Mean latency of admitted requests above which the limit is lowered. */
+    private Duration targetLatency = Duration.ofMillis(500);
+
+    /** How often the limit and the measured mean latency are updated. */
+    private Duration adjustInterval = Duration.ofSeconds(1);
+
+    /** Clients held in the waiting room; further requests are rejected. */
+    private int maxWaiting = 10_000;
+
+    /** How long a request without a free slot is held for one before it is answered with 503; about one latency. */
+    private Duration maxHold = Duration.ofMillis(500);
+
+    /** How long a free slot is kept for the waiting clients before a request without a token may take it. */
+    private Duration claimGrace = Duration.ofSeconds(2);
+
+    /** How long a queue token keeps its place when its holder does not retry. */
+    private Duration tokenTtl = Duration.ofSeconds(30);
+
+    /** Upper bound of the {@code Retry-After} given to waiting and rejected clients. */
+    private Duration maxRetryAfter = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getUrlPatterns() {
+        return urlPatterns;
+    }
+
+    public void setUrlPatterns(List<String> urlPatterns) {
+        this.urlPatterns = urlPatterns;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public Duration getTargetLatency() {
+        return targetLatency;
+    }
+
+    public void setTargetLatency(Duration targetLatency) {
+        this.targetLatency = targetLatency;
+    }
+
+    public Duration getAdjustInterval() {
+        return adjustInterval;
+    }
+
+    public void setAdjustInterval(Duration adjustInterval) {
+        this.adjustInterval = adjustInterval;
+    }
+
+    public int getMaxWaiting() {
+        return maxWaiting;
+    }
+
+    public void setMaxWaiting(int maxWaiting) {
+        this.maxWaiting = maxWaiting;
+    }
+
+    public Duration getMaxHold() {
+        return maxHold;
+    }
+
+    public void setMaxHold(Duration maxHold) {
+        this.maxHold = maxHold;
+    }
+
+    public Duration getClaimGrace() {
+        return claimGrace;
+    }
+
+    public void setClaimGrace(Duration claimGrace) {
+        this.claimGrace = claimGrace;
+    }
+
+    public Duration getTokenTtl() {
+        return tokenTtl;
+    }
+
+    public void setTokenTtl(Duration tokenTtl) {
+        this.tokenTtl = tokenTtl;
+    }
+
+    public Duration getMaxRetryAfter() {
+        return maxRetryAfter;
+    }
+
+    public void setMaxRetryAfter(Duration maxRetryAfter) {
+        this.maxRetryAfter = maxRetryAfter;
+    }
+}
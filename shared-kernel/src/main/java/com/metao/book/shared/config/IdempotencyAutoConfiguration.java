@@ -0,0 +1,75 @@
+package com.metao.book.shared.config;
+
+import com.metao.book.shared.application.idempotency.ExpiredIdempotencyPurger;
+import com.metao.book.shared.application.idempotency.IdempotencyKeyFilter;
+import com.metao.book.shared.application.idempotency.IdempotencyStore;
+import com.metao.book.shared.application.idempotency.JdbcIdempotencyStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Registers the {@link IdempotencyKeyFilter} for the URL patterns in {@link IdempotencyProperties}, backed by the
+ * JDBC store unless the service defines its own {@link IdempotencyStore}.
+ */
+@AutoConfiguration(afterName = "org.springframework.boot.jdbc.autoconfigure.JdbcTemplateAutoConfiguration")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "app.idempotency", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(IdempotencyStore.class)
+    @ConditionalOnBean(JdbcTemplate.class)
+    public JdbcIdempotencyStore idempotencyStore(JdbcTemplate jdbcTemplate) {
+        return new JdbcIdempotencyStore(jdbcTemplate);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyKeyFilter> idempotencyKeyFilter(
+        IdempotencyStore idempotencyStore,
+        IdempotencyProperties properties
+    ) {
+        var filter = new IdempotencyKeyFilter(
+            idempotencyStore,
+            properties.getTtl(),
+            properties.getWaitTimeout(),
+            Clock.systemUTC()
+        );
+        var registration = new FilterRegistrationBean<>(filter);
+        registration.setUrlPatterns(properties.getUrlPatterns());
+        return registration;
+    }
+
+    @Bean
+    public ExpiredIdempotencyPurger expiredIdempotencyPurger(
+        IdempotencyStore idempotencyStore,
+        IdempotencyProperties properties
+    ) {
+        return new ExpiredIdempotencyPurger(idempotencyStore, properties.getPurgeInterval(), Clock.systemUTC());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class IdempotencyMetricsConfiguration {
+
+        @Bean
+        MeterBinder idempotencyMeterBinder(FilterRegistrationBean<IdempotencyKeyFilter> idempotencyKeyFilter) {
+            return registry -> FunctionCounter.builder("idempotency.save.failures", idempotencyKeyFilter.getFilter(),
+                    IdempotencyKeyFilter::saveFailureCount)
+                .description("Responses that could not be stored for replay")
+                .register(registry);
+        }
+    }
+}
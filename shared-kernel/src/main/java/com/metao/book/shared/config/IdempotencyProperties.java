@@ -0,0 +1,79 @@
+package com.metao.book.shared.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the shared {@code Idempotency-Key} filter, bound under {@code app.idempotency}.
+ *
+ * <pre>
+ * app:
+ *   idempotency:
+ *     enabled: true
+ *     url-patterns:
+ *       - /payments
+ *     ttl: 24h
+ * </pre>
+ *
+ * <p>The filter is off by default because it needs the {@code idempotency_response} table in the service schema.
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    /** Whether the filter is registered at all. */
+    private boolean enabled;
+
+    /** Servlet URL patterns the filter applies to; only {@code POST} requests with the header are handled. */
+    private List<String> urlPatterns = new ArrayList<>(List.of("/*"));
+
+    /** How long a stored response is replayed before the key may be used for a new request. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** How long a duplicate waits for the running request with the same key before answering 409. */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /** How often expired responses are deleted. */
+    private Duration purgeInterval = Duration.ofMinutes(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getUrlPatterns() {
+        return urlPatterns;
+    }
+
+    public void setUrlPatterns(List<String> urlPatterns) {
+        this.urlPatterns = urlPatterns;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public void setWaitTimeout(Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+
+    public Duration getPurgeInterval() {
+        return purgeInterval;
+    }
+
+    public void setPurgeInterval(Duration purgeInterval) {
+        this.purgeInterval = purgeInterval;
+    }
+}
@@ -0,0 +1,29 @@
+package com.metao.book.shared.config;
+
+import com.google.protobuf.Message;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.converter.protobuf.ProtobufHttpMessageConverter;
+
+/**
+ * Lets controllers read and write protobuf {@link Message} bodies as {@code application/x-protobuf}.
+ *
+ * <p>Endpoints opt in per handler by declaring {@link #APPLICATION_PROTOBUF_VALUE} in {@code produces} or
+ * {@code consumes} next to their JSON mapping. Requests that do not ask for protobuf keep getting JSON.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass({Message.class, ProtobufHttpMessageConverter.class})
+public class ProtobufHttpAutoConfiguration {
+
+    public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ProtobufHttpMessageConverter protobufHttpMessageConverter() {
+        return new ProtobufHttpMessageConverter();
+    }
+}
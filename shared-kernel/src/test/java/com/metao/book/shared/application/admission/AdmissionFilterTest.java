@@ -0,0 +1,66 @@
+package com.metao.book.shared.application.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@DisplayName("AdmissionFilter")
+class AdmissionFilterTest {
+
+    private final AdmissionQueue queue = new AdmissionQueue(1, 1, 1, Duration.ofMillis(500), Duration.ofSeconds(1), 3,
+        Duration.ofSeconds(30), Duration.ofSeconds(2), Duration.ofSeconds(30), Clock.systemUTC());
+
+    @Test
+    @DisplayName("should answer a turned-away POST with 503, Retry-After and its place in the queue")
+    void shouldTurnAwayWith503() throws Exception {
+        queue.tryAdmit(null);
+        var request = new MockHttpServletRequest("POST", "/api/order");
+        var response = new MockHttpServletResponse();
+
+        new AdmissionFilter(queue, Duration.ZERO).doFilter(request, response, (req, res) -> {
+            throw new AssertionError("request should not run");
+        });
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isNotBlank();
+        assertThat(response.getHeader(AdmissionFilter.QUEUE_POSITION_HEADER)).isEqualTo("0");
+        assertThat(response.getContentAsString())
+            .contains("\"token\":\"" + response.getHeader(AdmissionFilter.QUEUE_TOKEN_HEADER) + "\"");
+    }
+
+    @Test
+    @DisplayName("should run an admitted POST and free its slot afterwards")
+    void shouldReleaseAfterTheRequest() throws Exception {
+        var executions = new AtomicInteger();
+
+        new AdmissionFilter(queue, Duration.ZERO).doFilter(new MockHttpServletRequest("POST", "/payments"),
+            new MockHttpServletResponse(), (req, res) -> {
+                executions.incrementAndGet();
+                assertThat(queue.inFlight()).isEqualTo(1);
+            });
+
+        assertThat(executions).hasValue(1);
+        assertThat(queue.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("should let other methods through without admission")
+    void shouldIgnoreGetRequests() throws Exception {
+        queue.tryAdmit(null);
+        var response = new MockHttpServletResponse();
+        var executions = new AtomicInteger();
+
+        new AdmissionFilter(queue, Duration.ZERO).doFilter(new MockHttpServletRequest("GET", "/payments/payment-1"),
+            response, (req, res) -> executions.incrementAndGet());
+
+        assertThat(executions).hasValue(1);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(queue.waiting()).isZero();
+    }
+}
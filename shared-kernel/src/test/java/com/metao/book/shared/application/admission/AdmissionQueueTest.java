@@ -0,0 +1,242 @@
+package com.metao.book.shared.application.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.metao.book.shared.application.admission.AdmissionQueue.Decision;
+import com.metao.book.shared.application.admission.AdmissionQueue.Decision.Outcome;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AdmissionQueue")
+class AdmissionQueueTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-04-01T10:15:30Z"));
+
+    @Test
+    @DisplayName("should admit up to the limit, then hand out places in arrival order")
+    void shouldQueueBeyondTheLimit() {
+        AdmissionQueue queue = queue(2, 1, 4, 3);
+
+        assertThat(queue.tryAdmit(null).admitted()).isTrue();
+        assertThat(queue.tryAdmit(null).admitted()).isTrue();
+        Decision first = queue.tryAdmit(null);
+        Decision second = queue.tryAdmit(null);
+
+        assertThat(first.outcome()).isEqualTo(Outcome.QUEUED);
+        assertThat(first.position()).isZero();
+        assertThat(second.position()).isEqualTo(1);
+        assertThat(first.retryAfter()).isPositive();
+        assertThat(queue.waiting()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should admit the head of the line once a slot frees and keep newcomers behind it")
+    void shouldAdmitWaitingClientsFirst() {
+        AdmissionQueue queue = queue(1, 1, 4, 3);
+        queue.tryAdmit(null);
+        Decision waiting = queue.tryAdmit(null);
+
+        queue.release(Duration.ofMillis(10));
+
+        assertThat(queue.tryAdmit(null).outcome()).isEqualTo(Outcome.QUEUED);
+        assertThat(queue.tryAdmit(waiting.token()).admitted()).isTrue();
+        assertThat(queue.waiting()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should reject with Retry-After when the waiting room is full")
+    void shouldRejectWhenWaitingRoomIsFull() {
+        AdmissionQueue queue = queue(1, 1, 4, 1);
+        queue.tryAdmit(null);
+        queue.tryAdmit(null);
+
+        Decision rejected = queue.tryAdmit(null);
+
+        assertThat(rejected.outcome()).isEqualTo(Outcome.REJECTED);
+        assertThat(rejected.token()).isNull();
+        assertThat(rejected.retryAfter()).isBetween(Duration.ofSeconds(1), Duration.ofSeconds(30));
+        assertThat(queue.rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should drop a place whose holder did not come back within the token TTL")
+    void shouldExpireAbandonedTokens() {
+        AdmissionQueue queue = queue(1, 1, 4, 3);
+        queue.tryAdmit(null);
+        Decision abandoned = queue.tryAdmit(null);
+
+        clock.advance(Duration.ofSeconds(31));
+        Decision next = queue.tryAdmit(null);
+
+        assertThat(next.outcome()).isEqualTo(Outcome.QUEUED);
+        assertThat(next.position()).isZero();
+        assertThat(next.token()).isNotEqualTo(abandoned.token());
+    }
+
+    @Test
+    @DisplayName("should raise the limit while saturated within the target latency and cut it when latency is high")
+    void shouldAdaptTheLimitToMeasuredLatency() {
+        AdmissionQueue queue = queue(2, 1, 4, 10);
+        queue.tryAdmit(null);
+        queue.tryAdmit(null);
+        clock.advance(Duration.ofSeconds(1));
+        queue.release(Duration.ofMillis(100));
+
+        assertThat(queue.limit()).isEqualTo(3);
+
+        queue.tryAdmit(null);
+        queue.tryAdmit(null);
+        clock.advance(Duration.ofSeconds(1));
+        queue.release(Duration.ofSeconds(2));
+
+        assertThat(queue.limit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should let a newcomer take a slot the waiting clients left unclaimed past the grace period")
+    void shouldHandUnclaimedSlotsToNewcomers() {
+        AdmissionQueue queue = queue(1, 1, 1, 3);
+        queue.tryAdmit(null);
+        queue.tryAdmit(null);
+        queue.release(Duration.ofMillis(10));
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(queue.tryAdmit(null).outcome()).isEqualTo(Outcome.QUEUED);
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(queue.tryAdmit(null).admitted()).isTrue();
+        assertThat(queue.waiting()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should derive Retry-After from the limit and the mean latency")
+    void shouldDeriveRetryAfterFromCapacity() {
+        AdmissionQueue queue = queue(2, 2, 2, 20);
+        queue.tryAdmit(null);
+        queue.tryAdmit(null);
+
+        Decision first = queue.tryAdmit(null);
+        for (int i = 1; i < 9; i++) {
+            queue.tryAdmit(null);
+        }
+        Decision tenth = queue.tryAdmit(null);
+
+        assertThat(queue.admissionRate()).isEqualTo(4.0);
+        assertThat(first.retryAfter()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(tenth.position()).isEqualTo(9);
+        assertThat(tenth.retryAfter()).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    @DisplayName("should hold a request until a slot frees instead of turning it away")
+    void shouldHoldUntilASlotFrees() throws Exception {
+        AdmissionQueue queue = queue(1, 1, 1, 3);
+        queue.tryAdmit(null);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Decision> held = executor.submit(() -> queue.tryAdmit(null, Duration.ofSeconds(5)));
+            while (queue.waiting() == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+
+            queue.release(Duration.ofMillis(10));
+
+            assertThat(held.get(5, TimeUnit.SECONDS).admitted()).isTrue();
+            assertThat(queue.waiting()).isZero();
+            assertThat(queue.queuedCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should keep throughput near limit / latency when many more clients than slots keep retrying")
+    void shouldSustainCapacityUnderLoad() {
+        int limit = 4;
+        int clients = 8 * limit;
+        Duration latency = Duration.ofMillis(20);
+        Duration run = Duration.ofSeconds(2);
+        AdmissionQueue queue = new AdmissionQueue(limit, limit, limit, latency, Duration.ofSeconds(1), 1000,
+            Duration.ofSeconds(30), Duration.ofSeconds(2), Duration.ofSeconds(30), clock);
+        Instant end = clock.instant().plus(run);
+        String[] tokens = new String[clients];
+        Instant[] busyUntil = new Instant[clients];
+        int[] completed = new int[clients];
+        int peak = 0;
+
+        // Every client retries once per millisecond and each admitted request takes exactly one latency.
+        while (clock.instant().isBefore(end)) {
+            Instant now = clock.instant();
+            for (int client = 0; client < clients; client++) {
+                if (busyUntil[client] != null && !busyUntil[client].isAfter(now)) {
+                    busyUntil[client] = null;
+                    queue.release(latency);
+                    completed[client]++;
+                }
+            }
+            for (int client = 0; client < clients; client++) {
+                if (busyUntil[client] != null) {
+                    continue;
+                }
+                Decision decision = queue.tryAdmit(tokens[client]);
+                if (decision.admitted()) {
+                    tokens[client] = null;
+                    busyUntil[client] = now.plus(latency);
+                } else {
+                    tokens[client] = decision.token();
+                }
+            }
+            peak = Math.max(peak, queue.inFlight());
+            clock.advance(Duration.ofMillis(1));
+        }
+
+        long capacity = limit * run.toNanos() / latency.toNanos();
+        assertThat(peak).isEqualTo(limit);
+        assertThat(Arrays.stream(completed).sum()).isGreaterThanOrEqualTo((int) (0.95 * capacity));
+        assertThat(Arrays.stream(completed).min().orElseThrow()).isGreaterThanOrEqualTo((int) (capacity / clients) - 1);
+    }
+
+    private AdmissionQueue queue(int initialLimit, int minLimit, int maxLimit, int maxWaiting) {
+        return new AdmissionQueue(initialLimit, minLimit, maxLimit, Duration.ofMillis(500), Duration.ofSeconds(1),
+            maxWaiting, Duration.ofSeconds(30), Duration.ofSeconds(2), Duration.ofSeconds(30), clock);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
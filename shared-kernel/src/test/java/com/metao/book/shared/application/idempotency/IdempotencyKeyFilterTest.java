@@ -0,0 +1,224 @@
+package com.metao.book.shared.application.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@DisplayName("IdempotencyKeyFilter")
+class IdempotencyKeyFilterTest {
+
+    private static final Instant NOW = Instant.parse("2026-04-01T10:15:30Z");
+
+    private final InMemoryStore store = new InMemoryStore();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private IdempotencyKeyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyKeyFilter(store, Duration.ofHours(1), Duration.ofSeconds(5),
+            Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("should replay the stored response without running the request again")
+    void shouldReplayStoredResponse() throws Exception {
+        FilterChain chain = created("{\"id\":\"payment-1\"}");
+
+        MockHttpServletResponse first = send("key-1", "{\"orderId\":\"order-1\"}", chain);
+        MockHttpServletResponse retry = send("key-1", "{\"orderId\":\"order-1\"}", chain);
+
+        assertThat(executions).hasValue(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getHeader("Location")).isEqualTo("/payments/payment-1");
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(store.responses.get("key-1").expiresAt()).isEqualTo(NOW.plus(Duration.ofHours(1)));
+    }
+
+    @Test
+    @DisplayName("should reject a key reused for a different request")
+    void shouldRejectKeyReusedForDifferentBody() throws Exception {
+        FilterChain chain = created("{}");
+        send("key-1", "{\"orderId\":\"order-1\"}", chain);
+
+        MockHttpServletResponse response = send("key-1", "{\"orderId\":\"order-2\"}", chain);
+
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should run the request again after a server error")
+    void shouldNotStoreServerErrors() throws Exception {
+        FilterChain failing = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        };
+
+        send("key-1", "{}", failing);
+        send("key-1", "{}", failing);
+
+        assertThat(executions).hasValue(2);
+        assertThat(store.responses).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should let a concurrent duplicate wait for the running request and reuse its response")
+    void shouldSerializeConcurrentDuplicates() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            executions.incrementAndGet();
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            ((HttpServletResponse) response).setStatus(201);
+            response.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> send("key-1", "{}", slow));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<MockHttpServletResponse> duplicate = executor.submit(() -> send("key-1", "{}", slow));
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+            assertThat(duplicate.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+            assertThat(executions).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should send the response and count the failure when it cannot be stored")
+    void shouldAnswerWhenSaveFails() throws Exception {
+        store.failSaves = true;
+
+        MockHttpServletResponse response = send("key-1", "{}", created("{\"id\":\"payment-1\"}"));
+
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":\"payment-1\"}");
+        assertThat(filter.saveFailureCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should hand the cached body to an asynchronous reader at once")
+    void shouldSupportReadListener() throws Exception {
+        var read = new ByteArrayOutputStream();
+        var completed = new AtomicInteger();
+        FilterChain asyncReader = (request, response) -> {
+            executions.incrementAndGet();
+            var input = request.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (input.isReady() && !input.isFinished()) {
+                        read.write(input.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    completed.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    throw new AssertionError(throwable);
+                }
+            });
+            ((HttpServletResponse) response).setStatus(201);
+        };
+
+        send("key-1", "{\"orderId\":\"order-1\"}", asyncReader);
+
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo("{\"orderId\":\"order-1\"}");
+        assertThat(completed).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should pass requests without a key straight through")
+    void shouldIgnoreRequestsWithoutKey() throws Exception {
+        var request = new MockHttpServletRequest("POST", "/payments");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+
+        filter.doFilter(request, new MockHttpServletResponse(), created("{}"));
+
+        assertThat(executions).hasValue(1);
+        assertThat(store.lookups).hasValue(0);
+    }
+
+    private FilterChain created(String body) {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            request.getInputStream().readAllBytes();
+            var httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(201);
+            httpResponse.setContentType("application/json");
+            httpResponse.setHeader("Location", "/payments/payment-1");
+            httpResponse.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+        var request = new MockHttpServletRequest("POST", "/payments");
+        request.addHeader(IdempotencyKeyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static final class InMemoryStore implements IdempotencyStore {
+
+        private final Map<String, IdempotentResponse> responses = new ConcurrentHashMap<>();
+        private final AtomicInteger lookups = new AtomicInteger();
+        private volatile boolean failSaves;
+
+        @Override
+        public Optional<IdempotentResponse> find(String key, Instant now) {
+            lookups.incrementAndGet();
+            return Optional.ofNullable(responses.get(key)).filter(response -> response.expiresAt().isAfter(now));
+        }
+
+        @Override
+        public void save(String key, IdempotentResponse response, Instant now) {
+            if (failSaves) {
+                throw new IllegalStateException("store is down");
+            }
+            responses.putIfAbsent(key, response);
+        }
+
+        @Override
+        public int deleteExpired(Instant now) {
+            return 0;
+        }
+    }
+}